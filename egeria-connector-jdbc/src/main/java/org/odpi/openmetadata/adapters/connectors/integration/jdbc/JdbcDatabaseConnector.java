@@ -2,27 +2,89 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.connectors.integration.jdbc;
 
+import org.odpi.openmetadata.adapters.connectors.integration.jdbc.transfer.AssetConnectionFingerprint;
 import org.odpi.openmetadata.adapters.connectors.integration.jdbc.transfer.JdbcMetadataTransfer;
+import org.odpi.openmetadata.adapters.connectors.integration.jdbc.transfer.PagedElementReader;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.CachingJdbcMetadata;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.JdbcMetadata;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.JdbcMetadataCache;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.RecordingJdbcMetadata;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.ReplayJdbcMetadata;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.integrationservices.database.connector.DatabaseIntegratorConnector;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.EXITING_ON_TRANSFER_FAIL;
 import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.EXITING_ON_COMPLETE;
 import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.EXITING_ON_CONNECTION_FAIL;
 import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.EXITING_ON_INTEGRATION_CONTEXT_FAIL;
+import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.METADATA_CACHE_STATISTICS;
 
 public class JdbcDatabaseConnector extends DatabaseIntegratorConnector{
 
     private JdbcMetadata jdbcMetadataConnector;
+    private JdbcMetadata jdbcMetadata;
+    private PagedElementReader omasReader;
+
+    // qualified names of the schemas the last refresh skipped, the next refresh reads them first
+    private Set<String> skippedSchemas = new HashSet<>();
+    // the asset connection set up by the last refresh, not set up again while nothing it depends on changes
+    private AssetConnectionFingerprint assetConnection;
+
+    @Override
+    public synchronized void start() throws ConnectorCheckedException {
+        super.start();
+        omasReader = new PagedElementReader(connectionProperties.getConfigurationProperties());
+        assetConnection = new AssetConnectionFingerprint(connectionProperties.getConfigurationProperties());
+    }
+
+    @Override
+    public synchronized void disconnect() throws ConnectorCheckedException {
+        if(omasReader != null){
+            omasReader.shutdown();
+        }
+        // the embedded connector holds the pooled connections to the database server
+        if(jdbcMetadataConnector instanceof Connector){
+            ((Connector) jdbcMetadataConnector).disconnect();
+        }
+        super.disconnect();
+    }
 
     @Override
     public void initializeEmbeddedConnectors(List<Connector> embeddedConnectors) {
         super.initializeEmbeddedConnectors(embeddedConnectors);
         jdbcMetadataConnector = (JdbcMetadata) embeddedConnectors.get(0);
+        jdbcMetadata = jdbcMetadataConnector;
+
+        // a recorded catalog may stand in for the database server, or the responses of the server may be recorded
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        ReplayJdbcMetadata replay = ReplayJdbcMetadata.configured(configurationProperties);
+        RecordingJdbcMetadata recording = RecordingJdbcMetadata.configured(jdbcMetadataConnector, configurationProperties);
+        if(replay != null){
+            jdbcMetadata = replay;
+        }else if(recording != null){
+            jdbcMetadata = recording;
+        }
+
+        // integration connectors that read the same database server, or replay the same recording, in this daemon share
+        // one cache. A recording connector has a cache of its own, so that every call it records reaches the server
+        String source = getSource(embeddedConnectors.get(0));
+        if(replay != null){
+            source = ReplayJdbcMetadata.REPLAY_FILE_PROPERTY + "|" + configurationProperties.get(ReplayJdbcMetadata.REPLAY_FILE_PROPERTY);
+        }else if(recording != null){
+            source = source + "|" + RecordingJdbcMetadata.RECORD_FILE_PROPERTY + "|"
+                    + configurationProperties.get(RecordingJdbcMetadata.RECORD_FILE_PROPERTY);
+        }
+        JdbcMetadataCache cache = JdbcMetadataCache.shared(source, configurationProperties);
+        if(cache != null){
+            jdbcMetadata = new CachingJdbcMetadata(jdbcMetadata, cache);
+        }
     }
 
     @Override
@@ -30,11 +92,14 @@ public class JdbcDatabaseConnector extends DatabaseIntegratorConnector{
         String methodName = "refresh";
         String exitAction = "Exiting " + methodName;
 
-        boolean successfulConnection = jdbcMetadataConnector.open();
+        boolean successfulConnection = jdbcMetadata.open();
         if(!successfulConnection){
             auditLog.logMessage(exitAction, EXITING_ON_CONNECTION_FAIL.getMessageDefinition(methodName));
             return;
         }
+        if(jdbcMetadata instanceof CachingJdbcMetadata){
+            ((CachingJdbcMetadata) jdbcMetadata).resetStatistics();
+        }
         JdbcMetadataTransfer jdbcMetadataTransfer = createJdbcMetadataTransfer();
         if(jdbcMetadataTransfer == null){
             auditLog.logMessage(exitAction, EXITING_ON_INTEGRATION_CONTEXT_FAIL.getMessageDefinition(methodName));
@@ -42,19 +107,40 @@ public class JdbcDatabaseConnector extends DatabaseIntegratorConnector{
         }
 
         boolean successfulTransfer = jdbcMetadataTransfer.execute();
+        skippedSchemas = new HashSet<>(jdbcMetadataTransfer.getSkippedSchemas());
 
         if(successfulTransfer) {
             auditLog.logMessage(exitAction, EXITING_ON_COMPLETE.getMessageDefinition(methodName));
         }else{
             auditLog.logMessage(exitAction, EXITING_ON_TRANSFER_FAIL.getMessageDefinition(methodName));
         }
-        jdbcMetadataConnector.close();
+        if(jdbcMetadata instanceof CachingJdbcMetadata){
+            // counted since the start of this refresh
+            CachingJdbcMetadata cachingJdbcMetadata = (CachingJdbcMetadata) jdbcMetadata;
+            auditLog.logMessage(exitAction, METADATA_CACHE_STATISTICS.getMessageDefinition(methodName,
+                    String.valueOf(cachingJdbcMetadata.getHitCount()), String.valueOf(cachingJdbcMetadata.getMissCount()),
+                    String.valueOf(cachingJdbcMetadata.getEvictionCount()), String.valueOf(cachingJdbcMetadata.getExpiredCount()),
+                    String.valueOf(cachingJdbcMetadata.getCache().size())));
+        }
+        jdbcMetadata.close();
+    }
+
+    /**
+     * Identifies the database server an embedded connector reads, by its url and user
+     */
+    private static String getSource(Connector connector) {
+        ConnectionProperties connection = connector.getConnection();
+        if(connection == null || connection.getConfigurationProperties() == null){
+            return connector.getConnectorInstanceId();
+        }
+        return connection.getConfigurationProperties().get("url") + "|" + connection.getUserId();
     }
 
     private JdbcMetadataTransfer createJdbcMetadataTransfer(){
         String methodName = "createJdbcMetadataTransfer";
         try{
-            return new JdbcMetadataTransfer(this.jdbcMetadataConnector, this.getContext(), auditLog);
+            return new JdbcMetadataTransfer(this.jdbcMetadata, this.getContext(), omasReader,
+                    connectionProperties.getConfigurationProperties(), auditLog, skippedSchemas, assetConnection);
         }catch (ConnectorCheckedException e) {
             auditLog.logException("Extracting integration context",
                     EXITING_ON_INTEGRATION_CONTEXT_FAIL.getMessageDefinition(methodName), e);
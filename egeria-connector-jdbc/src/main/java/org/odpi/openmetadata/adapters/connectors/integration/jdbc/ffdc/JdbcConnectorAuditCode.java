@@ -74,7 +74,37 @@ public enum JdbcConnectorAuditCode implements AuditLogMessageSet {
             OMRSAuditLogRecordSeverity.INFO,
             "Unknown error when setting up asset connection in method {0}.",
             "Setting up asset connection",
-            "Consult logs for further details");
+            "Consult logs for further details"),
+    BULK_COLUMNS_FALLBACK("JDBC-CONNECTOR-0012",
+            OMRSAuditLogRecordSeverity.INFO,
+            "Schema {0} has more than {1} columns, its columns are read one table at a time",
+            "Reading the columns of each table separately",
+            "Raise bulkColumnLimit if the connector has the memory to hold the columns of the schema"),
+    METADATA_CACHE_STATISTICS("JDBC-CONNECTOR-0013",
+            OMRSAuditLogRecordSeverity.INFO,
+            "Metadata cache during method {0}: {1} hits, {2} misses, {3} evictions and {4} expired since the start of the refresh, {5} entries",
+            "Continuing execution",
+            "Lower metadataCacheTtlMillis if changes to the database take too long to appear, raise metadataCacheMaxEntries if evictions are frequent"),
+    SCHEMA_TIMED_OUT("JDBC-CONNECTOR-0014",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "Reading schema {0} timed out, the schema is skipped: {1}",
+            "Continuing with the other schemas, the schema is read first on the next refresh",
+            "Look for long running transactions or locks on the schema, or raise queryTimeoutSeconds"),
+    REFRESH_DEADLINE_PASSED("JDBC-CONNECTOR-0015",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "Refresh deadline of {0} ms passed, the metadata calls under way are cancelled and {1} schemas are skipped",
+            "Skipping the schemas not yet transferred, they are read first on the next refresh",
+            "Raise refreshDeadlineMillis if the refresh regularly needs longer"),
+    WRITE_STATISTICS("JDBC-CONNECTOR-0016",
+            OMRSAuditLogRecordSeverity.INFO,
+            "Method {0} wrote {1} schemas, {2} tables and {3} columns and skipped {4} schemas, {5} tables and {6} columns that were unchanged",
+            "Continuing execution",
+            "No user actions necessary"),
+    PIPELINE_STATISTICS("JDBC-CONNECTOR-0017",
+            OMRSAuditLogRecordSeverity.INFO,
+            "Method {0} read {1} schemas on {2} readers at {3} schemas per second, the readers waited {4} ms for room in a queue of {5}, and wrote {6} schemas on {7} writers at {8} schemas per second, the writers waited {9} ms for schemas to be read, in {10} ms",
+            "Continuing execution",
+            "If the readers wait for room in the queue, raise omasWriters. If the writers wait for schemas, raise metadataSessions");
 
 
     private final AuditLogMessageDefinition messageDefinition;
@@ -0,0 +1,110 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.jdbc.transfer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the asset connection set up for the database across refreshes: the guids of the connector type, connection
+ * and endpoint, and a fingerprint of what they were set up from. While the fingerprint matches, the set up is skipped.
+ * Once the verify interval has passed the guids kept are checked against the elements the omas holds, and only if they
+ * no longer match is the whole set up done again. An interval of 0 sets it up on every refresh.
+ */
+public class AssetConnectionFingerprint {
+
+    public static final String VERIFY_INTERVAL_PROPERTY = "assetConnectionVerifyMillis";
+
+    private static final long DEFAULT_VERIFY_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final long verifyIntervalNanos;
+
+    private String fingerprint;
+    private long verifiedAt;
+    private String connectorTypeGuid;
+    private String connectionGuid;
+    private String endpointGuid;
+
+    public AssetConnectionFingerprint(Map<String, Object> configurationProperties) {
+        this.verifyIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, readVerifyInterval(configurationProperties)));
+    }
+
+    /**
+     * Builds the fingerprint of the values the asset connection is set up from
+     *
+     * @param url url of the database server, the address of the endpoint
+     * @param connectorTypeQualifiedName qualified name of the connector type of the connection
+     * @param databaseGuid guid of the database asset
+     * @param databaseQualifiedName qualified name of the database, the connection and endpoint are named after it
+     * @param databaseDescription description of the database, the summary of the asset connection
+     */
+    static String fingerprint(String url, String connectorTypeQualifiedName, String databaseGuid,
+                              String databaseQualifiedName, String databaseDescription) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (String value : new String[]{url, connectorTypeQualifiedName, databaseGuid, databaseQualifiedName, databaseDescription}) {
+            // a null value is told apart from the string "null"
+            fingerprint.append(value == null ? "\u0000" : value).append('\u001F');
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * @return true if the asset connection was set up from the same values and verified within the interval
+     */
+    synchronized boolean isCurrent(String fingerprint) {
+        return verifyIntervalNanos > 0 && fingerprint.equals(this.fingerprint)
+                && System.nanoTime() - verifiedAt < verifyIntervalNanos;
+    }
+
+    /**
+     * @return true if the asset connection was set up from the same values, however long ago it was verified
+     */
+    synchronized boolean isSetUpFrom(String fingerprint) {
+        return verifyIntervalNanos > 0 && fingerprint.equals(this.fingerprint);
+    }
+
+    /**
+     * Keeps the guids of an asset connection that has just been set up, or verified, in the omas
+     */
+    synchronized void verified(String fingerprint, String connectorTypeGuid, String connectionGuid, String endpointGuid) {
+        this.fingerprint = fingerprint;
+        this.verifiedAt = System.nanoTime();
+        this.connectorTypeGuid = connectorTypeGuid;
+        this.connectionGuid = connectionGuid;
+        this.endpointGuid = endpointGuid;
+    }
+
+    /**
+     * Forgets the asset connection, so it is set up again on the next refresh
+     */
+    synchronized void invalidate() {
+        this.fingerprint = null;
+        this.connectorTypeGuid = null;
+        this.connectionGuid = null;
+        this.endpointGuid = null;
+    }
+
+    synchronized String getConnectorTypeGuid() {
+        return connectorTypeGuid;
+    }
+
+    synchronized String getConnectionGuid() {
+        return connectionGuid;
+    }
+
+    synchronized String getEndpointGuid() {
+        return endpointGuid;
+    }
+
+    private static long readVerifyInterval(Map<String, Object> configurationProperties) {
+        Object value = configurationProperties == null ? null : configurationProperties.get(VERIFY_INTERVAL_PROPERTY);
+        if(value == null){
+            return DEFAULT_VERIFY_INTERVAL_MILLIS;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        }catch (NumberFormatException nfe){
+            return DEFAULT_VERIFY_INTERVAL_MILLIS;
+        }
+    }
+}
@@ -18,7 +18,6 @@ import org.odpi.openmetadata.integrationservices.database.connector.DatabaseInte
 
 import java.sql.SQLException;
 import java.util.List;
-import java.util.Optional;
 import java.util.function.Consumer;
 
 import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.ERROR_READING_JDBC;
@@ -28,13 +27,21 @@ import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.Jd
 class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
 
     private final DatabaseIntegratorContext databaseIntegratorContext;
+    private final PagedElementReader omasReader;
     private final AuditLog auditLog;
     private final JdbcMetadata jdbcMetadata;
+    private final AssetConnectionFingerprint assetConnection;
 
-    DatabaseConnectionConsumer(DatabaseIntegratorContext databaseIntegratorContext, AuditLog auditLog, JdbcMetadata jdbcMetadata){
+    /**
+     * @param assetConnection the asset connection set up by earlier refreshes, the set up is skipped while it is current
+     */
+    DatabaseConnectionConsumer(DatabaseIntegratorContext databaseIntegratorContext, PagedElementReader omasReader,
+                               AuditLog auditLog, JdbcMetadata jdbcMetadata, AssetConnectionFingerprint assetConnection){
         this.databaseIntegratorContext = databaseIntegratorContext;
+        this.omasReader = omasReader;
         this.auditLog = auditLog;
         this.jdbcMetadata = jdbcMetadata;
+        this.assetConnection = assetConnection;
     }
 
     @Override
@@ -47,12 +54,6 @@ class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
                     null);
             return;
         }
-        String connectorTypeGuid = determineConnectorTypeGuid(connectorTypeQualifiedName);
-        if(StringUtils.isBlank(connectorTypeGuid)){
-            auditLog.logMessage("Missing connector type guid. Skipping asset connection setup",
-                    null);
-            return;
-        }
 
         String databaseGuid = databaseElement.getElementHeader().getGUID();
         if(StringUtils.isBlank(databaseGuid)){
@@ -61,7 +62,31 @@ class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
             return;
         }
 
+        String url = readUrl();
+        String fingerprint = AssetConnectionFingerprint.fingerprint(url, connectorTypeQualifiedName, databaseGuid,
+                databaseElement.getDatabaseProperties().getQualifiedName(),
+                databaseElement.getDatabaseProperties().getDescription());
+        if(assetConnection.isCurrent(fingerprint)){
+            return;
+        }
         ConnectionProperties connectionProperties = createConnectionProperties(databaseElement);
+        EndpointProperties endpointProperties = createEndpointProperties(connectionProperties, url);
+        if(assetConnection.isSetUpFrom(fingerprint)
+                && isStillSetUp(connectorTypeQualifiedName, connectionProperties, endpointProperties)){
+            assetConnection.verified(fingerprint, assetConnection.getConnectorTypeGuid(),
+                    assetConnection.getConnectionGuid(), assetConnection.getEndpointGuid());
+            return;
+        }
+        // set up again from the start, the guids kept are only trusted once the set up succeeds
+        assetConnection.invalidate();
+
+        String connectorTypeGuid = determineConnectorTypeGuid(connectorTypeQualifiedName);
+        if(StringUtils.isBlank(connectorTypeGuid)){
+            auditLog.logMessage("Missing connector type guid. Skipping asset connection setup",
+                    null);
+            return;
+        }
+
         String connectionGuid = determineConnectionGuid(connectionProperties);
         if(StringUtils.isBlank(connectionGuid)){
             auditLog.logMessage("Missing connection guid. Skipping asset connection setup",
@@ -69,7 +94,6 @@ class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
             return;
         }
 
-        EndpointProperties endpointProperties = createEndpointProperties(connectionProperties);
         String endpointGuid = determineEndpointGuid(endpointProperties);
         if(StringUtils.isBlank(endpointGuid)){
             auditLog.logMessage("Missing endpoint guid. Skipping asset connection setup",
@@ -82,6 +106,7 @@ class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
             databaseIntegratorContext.setupAssetConnection(databaseGuid,
                     databaseElement.getDatabaseProperties().getDescription(), connectionGuid);
             databaseIntegratorContext.setupEndpoint(connectionGuid, endpointGuid);
+            assetConnection.verified(fingerprint, connectorTypeGuid, connectionGuid, endpointGuid);
         } catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException e) {
             auditLog.logMessage("Setting up connection (guid: " + connectionGuid
                             + "), connector type (guid: " + connectorTypeQualifiedName
@@ -90,6 +115,38 @@ class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
         }
     }
 
+    /**
+     * Checks that the connector type, connection and endpoint kept from the last set up are still the ones the omas
+     * holds under their qualified names. Only the elements are read, the links between them are not set up again.
+     */
+    private boolean isStillSetUp(String connectorTypeQualifiedName, ConnectionProperties connectionProperties,
+                                 EndpointProperties endpointProperties){
+        String methodName = "verifyAssetConnection";
+        try {
+            List<ConnectorTypeElement> connectorTypes = omasReader.readAll((startFrom, pageSize) ->
+                    databaseIntegratorContext.getConnectorTypesByName(connectorTypeQualifiedName, startFrom, pageSize));
+            if(connectorTypes.size() != 1
+                    || !assetConnection.getConnectorTypeGuid().equals(connectorTypes.get(0).getElementHeader().getGUID())){
+                return false;
+            }
+            List<ConnectionElement> connections = omasReader.readAll((startFrom, pageSize) ->
+                    databaseIntegratorContext.getConnectionsByName(connectionProperties.getQualifiedName(),
+                            startFrom, pageSize));
+            if(connections.size() != 1
+                    || !assetConnection.getConnectionGuid().equals(connections.get(0).getElementHeader().getGUID())){
+                return false;
+            }
+            List<EndpointElement> endpoints = omasReader.readAll((startFrom, pageSize) ->
+                    databaseIntegratorContext.findEndpoints(endpointProperties.getQualifiedName(), startFrom, pageSize));
+            return endpoints.size() == 1
+                    && assetConnection.getEndpointGuid().equals(endpoints.get(0).getElementHeader().getGUID());
+        } catch (UserNotAuthorizedException | InvalidParameterException | PropertyServerException e) {
+            auditLog.logMessage("Verifying asset connection",
+                    ERROR_WHEN_SETTING_ASSET_CONNECTION.getMessageDefinition(methodName));
+        }
+        return false;
+    }
+
     private ConnectionProperties createConnectionProperties(DatabaseElement databaseElement){
         ConnectionProperties connectionProperties = new ConnectionProperties();
         connectionProperties.setDisplayName(databaseElement.getDatabaseProperties().getDisplayName() + " Connection");
@@ -102,12 +159,12 @@ class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
     private String determineConnectionGuid(ConnectionProperties connectionProperties){
         String methodName = "determineConnectionGuid";
         try {
-            Optional<List<ConnectionElement>> connections = Optional.ofNullable(
+            List<ConnectionElement> connections = readAllOrNull((startFrom, pageSize) ->
                     databaseIntegratorContext.getConnectionsByName(connectionProperties.getQualifiedName(),
-                            0, 0));
-            if(connections.isPresent()){
-                if(connections.get().size() == 1){
-                    return connections.get().get(0).getElementHeader().getGUID();
+                            startFrom, pageSize));
+            if(connections != null){
+                if(connections.size() == 1){
+                    return connections.get(0).getElementHeader().getGUID();
                 }
             }else{
                 return databaseIntegratorContext.createConnection(connectionProperties);
@@ -123,12 +180,10 @@ class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
     private String determineConnectorTypeGuid(String connectorTypeQualifiedName){
         String methodName = "determineConnectorTypeGuid";
         try{
-            Optional<List<ConnectorTypeElement>> connectorTypes = Optional.ofNullable(
-                    databaseIntegratorContext.getConnectorTypesByName(connectorTypeQualifiedName, 0, 0));
-            if(connectorTypes.isPresent()){
-                if(connectorTypes.get().size() == 1){
-                    return connectorTypes.get().get(0).getElementHeader().getGUID();
-                }
+            List<ConnectorTypeElement> connectorTypes = omasReader.readAll((startFrom, pageSize) ->
+                    databaseIntegratorContext.getConnectorTypesByName(connectorTypeQualifiedName, startFrom, pageSize));
+            if(connectorTypes.size() == 1){
+                return connectorTypes.get(0).getElementHeader().getGUID();
             }
         } catch (UserNotAuthorizedException | InvalidParameterException | PropertyServerException e) {
             auditLog.logMessage("Determining connector type guid",
@@ -137,18 +192,22 @@ class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
         return null;
     }
 
-    private EndpointProperties createEndpointProperties(ConnectionProperties connectionProperties){
+    private String readUrl(){
         String methodName = "createEndpointProperties";
-
-        EndpointProperties endpointProperties = new EndpointProperties();
-        endpointProperties.setDisplayName(connectionProperties.getDisplayName() + " Endpoint");
-        endpointProperties.setQualifiedName(connectionProperties.getQualifiedName()+"::endpoint");
         try {
-            endpointProperties.setAddress(jdbcMetadata.getUrl());
+            return jdbcMetadata.getUrl();
         } catch (SQLException sqlException) {
             auditLog.logMessage("Reading url from jdbc metadata",
                     ERROR_READING_JDBC.getMessageDefinition(methodName, sqlException.getMessage()));
         }
+        return null;
+    }
+
+    private EndpointProperties createEndpointProperties(ConnectionProperties connectionProperties, String url){
+        EndpointProperties endpointProperties = new EndpointProperties();
+        endpointProperties.setDisplayName(connectionProperties.getDisplayName() + " Endpoint");
+        endpointProperties.setQualifiedName(connectionProperties.getQualifiedName()+"::endpoint");
+        endpointProperties.setAddress(url);
 
         return endpointProperties;
     }
@@ -156,11 +215,11 @@ class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
     private String determineEndpointGuid(EndpointProperties endpointProperties){
         String methodName = "determineEndpointGuid";
         try{
-            Optional<List<EndpointElement>> endpoints = Optional.ofNullable(
-                    databaseIntegratorContext.findEndpoints(endpointProperties.getQualifiedName(), 0, 0));
-            if(endpoints.isPresent()){
-                if(endpoints.get().size() == 1) {
-                    return endpoints.get().get(0).getElementHeader().getGUID();
+            List<EndpointElement> endpoints = readAllOrNull((startFrom, pageSize) ->
+                    databaseIntegratorContext.findEndpoints(endpointProperties.getQualifiedName(), startFrom, pageSize));
+            if(endpoints != null){
+                if(endpoints.size() == 1) {
+                    return endpoints.get(0).getElementHeader().getGUID();
                 }
             }else{
                 return databaseIntegratorContext.createEndpoint(endpointProperties);
@@ -172,4 +231,23 @@ class DatabaseConnectionConsumer implements Consumer<DatabaseElement> {
         return null;
     }
 
+    /**
+     * Reads every element returned by a paged getter. The determine methods create a missing element only when the
+     * omas returns no list at all, and leave it alone when the list is empty.
+     *
+     * @return the elements, or null if the omas returned null for the first page
+     */
+    private <T> List<T> readAllOrNull(PagedElementReader.Page<T> page)
+            throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        boolean[] noneFound = {false};
+        List<T> elements = omasReader.readAll((startFrom, pageSize) -> {
+            List<T> pageElements = page.read(startFrom, pageSize);
+            if(startFrom == 0 && pageElements == null){
+                noneFound[0] = true;
+            }
+            return pageElements;
+        });
+        return noneFound[0] ? null : elements;
+    }
+
 }
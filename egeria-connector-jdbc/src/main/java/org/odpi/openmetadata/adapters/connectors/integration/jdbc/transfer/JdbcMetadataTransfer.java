@@ -6,12 +6,19 @@ import org.odpi.openmetadata.accessservices.datamanager.metadataelements.Databas
 import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseElement;
 import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseSchemaElement;
 import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseTableElement;
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.ElementHeader;
 import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseColumnProperties;
+import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseForeignKeyProperties;
+import org.odpi.openmetadata.accessservices.datamanager.properties.DatabasePrimaryKeyProperties;
 import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseProperties;
 import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseSchemaProperties;
 import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseTableProperties;
+import org.odpi.openmetadata.accessservices.datamanager.properties.SchemaElementProperties;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.JdbcMetadata;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.JdbcRowConsumer;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcColumn;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcForeignKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcPrimaryKey;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcSchema;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcTable;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
@@ -22,37 +29,122 @@ import org.odpi.openmetadata.integrationservices.database.connector.DatabaseInte
 
 import java.sql.JDBCType;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.BULK_COLUMNS_FALLBACK;
 import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.ERROR_READING_JDBC;
 import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.ERROR_READING_OMAS;
 import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.ERROR_UPSERTING_INTO_OMAS;
 import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.EXITING_ON_METADATA_TRANSFER;
+import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.PIPELINE_STATISTICS;
+import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.REFRESH_DEADLINE_PASSED;
+import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.SCHEMA_TIMED_OUT;
 import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.UNKNOWN_ERROR_WHILE_METADATA_TRANSFER;
+import static org.odpi.openmetadata.adapters.connectors.integration.jdbc.ffdc.JdbcConnectorAuditCode.WRITE_STATISTICS;
 
 public class JdbcMetadataTransfer {
 
+    public static final String BULK_COLUMN_LIMIT_PROPERTY = "bulkColumnLimit";
+    public static final String REFRESH_DEADLINE_PROPERTY = "refreshDeadlineMillis";
+    public static final String SCHEMA_QUEUE_DEPTH_PROPERTY = "schemaQueueDepth";
+    public static final String OMAS_WRITERS_PROPERTY = "omasWriters";
+
+    private static final int DEFAULT_BULK_COLUMN_LIMIT = 100000;
+
     private final JdbcMetadata jdbcMetadata;
     private final DatabaseIntegratorContext databaseIntegratorContext;
+    private final PagedElementReader omasReader;
     private final AuditLog auditLog;
+    private final int bulkColumnLimit;
+    private final long refreshDeadlineMillis;
+    private final int schemaQueueDepth;
+    private final int omasWriters;
 
+    private final AssetConnectionFingerprint assetConnection;
     private final RemoveDatabaseSchemaConsumer removeDatabaseSchemaConsumer;
     private final RemoveDatabaseTableConsumer removeDatabaseTableConsumer;
     private final RemoveDatabaseColumnConsumer removeDatabaseColumnConsumer;
 
-    public JdbcMetadataTransfer(JdbcMetadata jdbcMetadata, DatabaseIntegratorContext databaseIntegratorContext, AuditLog auditLog) {
+    // guids of the columns that take part in keys, by qualified name, and the foreign keys linked once every schema is
+    // read, both added to by the omas writers at once
+    private final Map<String, String> keyColumnGuids = new ConcurrentHashMap<>();
+    private final List<JdbcForeignKey> foreignKeys = Collections.synchronizedList(new ArrayList<>());
+
+    // guids of the elements this refresh created, the omas holds no schemas, tables or columns under them yet, and the
+    // qualified names of referenced columns the omas does not hold, so that neither is read from the omas again
+    private final Set<String> createdGuids = ConcurrentHashMap.newKeySet();
+    private final Set<String> missingColumns = new HashSet<>();
+
+    // qualified names of the schemas skipped by the previous refresh, read first, and of those skipped by this one
+    private final Set<String> retrySchemas;
+    private final Set<String> skippedSchemas = Collections.synchronizedSet(new LinkedHashSet<>());
+    private long deadline;
+
+    // elements created or updated in the omas, and existing elements left alone because nothing changed
+    private final WriteCounts schemaWrites = new WriteCounts();
+    private final WriteCounts tableWrites = new WriteCounts();
+    private final WriteCounts columnWrites = new WriteCounts();
+
+    public JdbcMetadataTransfer(JdbcMetadata jdbcMetadata, DatabaseIntegratorContext databaseIntegratorContext,
+                                PagedElementReader omasReader, Map<String, Object> configurationProperties, AuditLog auditLog) {
+        this(jdbcMetadata, databaseIntegratorContext, omasReader, configurationProperties, auditLog, new HashSet<>());
+    }
+
+    public JdbcMetadataTransfer(JdbcMetadata jdbcMetadata, DatabaseIntegratorContext databaseIntegratorContext,
+                                PagedElementReader omasReader, Map<String, Object> configurationProperties, AuditLog auditLog,
+                                Set<String> retrySchemas) {
+        this(jdbcMetadata, databaseIntegratorContext, omasReader, configurationProperties, auditLog, retrySchemas,
+                new AssetConnectionFingerprint(configurationProperties));
+    }
+
+    /**
+     * @param retrySchemas qualified names of the schemas to read before the others, typically those skipped by the
+     *                     previous refresh
+     * @param assetConnection the asset connection set up by earlier refreshes, kept by the caller between refreshes
+     */
+    public JdbcMetadataTransfer(JdbcMetadata jdbcMetadata, DatabaseIntegratorContext databaseIntegratorContext,
+                                PagedElementReader omasReader, Map<String, Object> configurationProperties, AuditLog auditLog,
+                                Set<String> retrySchemas, AssetConnectionFingerprint assetConnection) {
         this.jdbcMetadata = jdbcMetadata;
         this.databaseIntegratorContext = databaseIntegratorContext;
+        this.omasReader = omasReader;
         this.auditLog = auditLog;
+        this.retrySchemas = retrySchemas;
+        this.assetConnection = assetConnection;
+        this.bulkColumnLimit = readBulkColumnLimit(configurationProperties);
+        this.refreshDeadlineMillis = readLong(configurationProperties, REFRESH_DEADLINE_PROPERTY, 0);
+        this.schemaQueueDepth = (int) readLong(configurationProperties, SCHEMA_QUEUE_DEPTH_PROPERTY, 0);
+        this.omasWriters = (int) Math.max(1, readLong(configurationProperties, OMAS_WRITERS_PROPERTY, 1));
         this.removeDatabaseSchemaConsumer = new RemoveDatabaseSchemaConsumer(databaseIntegratorContext, auditLog);
         this.removeDatabaseTableConsumer = new RemoveDatabaseTableConsumer(databaseIntegratorContext, auditLog);
         this.removeDatabaseColumnConsumer = new RemoveDatabaseColumnConsumer(databaseIntegratorContext, auditLog);
     }
 
+    /**
+     * @return qualified names of the schemas skipped because reading them timed out or the refresh deadline passed
+     */
+    public Set<String> getSkippedSchemas() {
+        return skippedSchemas;
+    }
+
     public boolean execute() {
         String methodName = "execute";
+        deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(refreshDeadlineMillis);
         try {
             DatabaseElement databaseElement = transferDatabase();
             if (databaseElement == null) {
@@ -65,6 +157,11 @@ public class JdbcMetadataTransfer {
 
             List<DatabaseSchemaElement> schemas = transferSchemas(databaseElement);
             transferTables(schemas);
+            transferForeignKeys(databaseElement);
+            auditLog.logMessage("Transferring metadata", WRITE_STATISTICS.getMessageDefinition(methodName,
+                    String.valueOf(schemaWrites.written.get()), String.valueOf(tableWrites.written.get()),
+                    String.valueOf(columnWrites.written.get()), String.valueOf(schemaWrites.unchanged.get()),
+                    String.valueOf(tableWrites.unchanged.get()), String.valueOf(columnWrites.unchanged.get())));
             return true;
         }catch (Exception e){
             auditLog.logException("Transferring metadata",
@@ -73,58 +170,158 @@ public class JdbcMetadataTransfer {
         return false;
     }
 
-    private void transferTables(List<DatabaseSchemaElement> schemas) {
-        for(DatabaseSchemaElement schemaElement : schemas){
-            DatabaseSchemaProperties databaseSchemaProperties = schemaElement.getDatabaseSchemaProperties();
-
-            List<JdbcTable> jdbcTables = getJdbcTables(databaseSchemaProperties.getDisplayName());
-            List<DatabaseTableElement> omasTables = this.getOmasTables(schemaElement.getElementHeader().getGUID());
-
-            for(JdbcTable jdbcTable : jdbcTables){
-                DatabaseTableProperties jdbcTableProperties = new DatabaseTableProperties();
-                jdbcTableProperties.setDisplayName(jdbcTable.getTableName());
-                String databaseTableQualifiedName = databaseSchemaProperties.getQualifiedName() + "::" + jdbcTable.getTableName();
-                jdbcTableProperties.setQualifiedName(databaseTableQualifiedName);
-
-                Optional<DatabaseTableElement> omasTable = omasTables.stream()
-                        .filter(dte -> dte.getDatabaseTableProperties().getQualifiedName().equals(databaseTableQualifiedName))
-                        .findFirst();
-
-                if(omasTable.isPresent()){
-                    this.updateOmasTable(omasTable.get(), jdbcTableProperties);
-                    omasTables.remove(omasTable.get());
-                }else{
-                    Optional<String> tableGuid = this.createOmasTable(schemaElement, jdbcTableProperties);
-                    if(tableGuid.isPresent()){
-                        omasTable = this.getOmasTable(tableGuid.get());
-                    }else{
-                        // move on to the next table, as something happened with saving the new table
-                        continue;
-                    }
-                }
-                omasTable.ifPresent(tableElement -> transferColumns(schemaElement, tableElement));
+    /**
+     * Transfers the tables of each schema, those skipped by the previous refresh first and the others in the order they
+     * are listed. The tables, columns and keys of each schema are read on one of as many reader threads as the jdbc
+     * metadata has sessions, and handed through a queue to the omas writers, which update the omas while the readers
+     * read the schemas after them. The readers stop when the queue is full until a writer takes a schema. A schema whose
+     * read times out is skipped. Once the refresh deadline has passed the calls under way are cancelled and the schemas
+     * not yet transferred are skipped, the skipped schemas are read first on the next refresh.
+     */
+    private void transferTables(List<DatabaseSchemaElement> schemaElements) {
+        String methodName = "transferTables";
+        List<DatabaseSchemaElement> schemas = new ArrayList<>(schemaElements);
+        schemas.sort(Comparator.comparing(schema -> !retrySchemas.contains(schema.getDatabaseSchemaProperties().getQualifiedName())));
+
+        int sessions = Math.max(1, jdbcMetadata.getMetadataSessions());
+        SchemaPipeline<DatabaseSchemaElement, SchemaRead> pipeline = new SchemaPipeline<>(sessions,
+                schemaQueueDepth > 0 ? schemaQueueDepth : sessions, omasWriters);
+        List<DatabaseSchemaElement> skipped = pipeline.run(schemas, this::readJdbcSchema, this::transferSchemaTables,
+                refreshDeadlineMillis > 0 ? deadline : null, jdbcMetadata::cancelRunningCalls);
+
+        auditLog.logMessage("Transferring tables", PIPELINE_STATISTICS.getMessageDefinition(methodName,
+                String.valueOf(pipeline.getSchemasRead()), String.valueOf(pipeline.getReaders()),
+                String.format("%.1f", pipeline.getReadRate()), String.valueOf(pipeline.getReaderWaitMillis()),
+                String.valueOf(pipeline.getQueueDepth()), String.valueOf(pipeline.getSchemasWritten()),
+                String.valueOf(pipeline.getWriters()), String.format("%.1f", pipeline.getWriteRate()),
+                String.valueOf(pipeline.getWriterWaitMillis()), String.valueOf(pipeline.getElapsedMillis())));
+
+        if(!skipped.isEmpty()){
+            skipped.forEach(schema -> skippedSchemas.add(schema.getDatabaseSchemaProperties().getQualifiedName()));
+            auditLog.logMessage("Transferring tables", REFRESH_DEADLINE_PASSED.getMessageDefinition(
+                    String.valueOf(refreshDeadlineMillis), String.valueOf(skipped.size())));
+        }
+    }
+
+    /**
+     * Transfers the tables of a schema on an omas writer
+     *
+     * @param schemaRead what was read for the schema, or null if it could not be read
+     */
+    private void transferSchemaTables(DatabaseSchemaElement schemaElement, SchemaRead schemaRead) {
+        if(schemaRead == null){
+            return;
+        }
+        try {
+            MergeJoinReconciler<DatabaseTableElement> omasTables = new MergeJoinReconciler<>(
+                    this.getOmasTables(schemaElement.getElementHeader().getGUID()),
+                    dte -> dte.getDatabaseTableProperties().getQualifiedName());
+            Set<String> foreignKeyColumns = this.collectJdbcForeignKeys(schemaElement, schemaRead.foreignKeys);
+
+            for(JdbcTable jdbcTable : schemaRead.tables){
+                transferTable(schemaElement, jdbcTable, omasTables, schemaRead.columns, schemaRead.primaryKeys, foreignKeyColumns);
             }
-            omasTables.forEach(removeDatabaseTableConsumer);
+
+            // tables are only removed once every table of the schema has been read
+            if(schemaRead.tablesComplete) {
+                omasTables.forEachUnmatched(removeDatabaseTableConsumer);
+            }
+        } catch (SchemaReadTimeoutException e) {
+            skipSchema(schemaElement, e.getCause());
         }
     }
 
-    private Optional<DatabaseTableElement> getOmasTable(String tableGuid){
-        String methodName = "getDatabaseTable";
-        try{
-            return Optional.ofNullable(databaseIntegratorContext.getDatabaseTableByGUID(tableGuid));
-        } catch (UserNotAuthorizedException | InvalidParameterException | PropertyServerException e) {
-            auditLog.logException("Error reading table from OMAS for guid: " + tableGuid,
-                    ERROR_READING_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
+    /**
+     * Reads the tables, columns and keys of a schema from the database server, on a reader thread
+     *
+     * @return what was read, or null if the read failed or timed out
+     */
+    private SchemaRead readJdbcSchema(DatabaseSchemaElement schemaElement) {
+        String methodName = "readJdbcSchema";
+        String schemaName = schemaElement.getDatabaseSchemaProperties().getDisplayName();
+        try {
+            SchemaRead schemaRead = new SchemaRead();
+            schemaRead.tablesComplete = streamJdbcTables(schemaName, schemaRead.tables::add);
+            schemaRead.columns = this.getJdbcColumnsByTable(schemaName);
+            schemaRead.primaryKeys = this.getJdbcPrimaryKeysByTable(schemaName);
+            schemaRead.foreignKeys = this.getJdbcForeignKeys(schemaName);
+            return schemaRead;
+        } catch (SchemaReadTimeoutException e) {
+            // a read cut short by the deadline is not reported, the schema is skipped with the others left
+            if(!isDeadlinePassed()){
+                skipSchema(schemaElement, e.getCause());
+            }
+        } catch (RuntimeException e) {
+            auditLog.logException("Error reading schema from JDBC: " + schemaName,
+                    ERROR_READING_JDBC.getMessageDefinition(methodName, e.getMessage()), e);
         }
-        return Optional.empty();
+        return null;
+    }
+
+    private void skipSchema(DatabaseSchemaElement schemaElement, Throwable timeout) {
+        skippedSchemas.add(schemaElement.getDatabaseSchemaProperties().getQualifiedName());
+        auditLog.logException("Reading schema " + schemaElement.getDatabaseSchemaProperties().getDisplayName(),
+                SCHEMA_TIMED_OUT.getMessageDefinition(schemaElement.getDatabaseSchemaProperties().getDisplayName(),
+                        timeout.getMessage()), timeout);
+    }
+
+    private boolean isDeadlinePassed() {
+        return refreshDeadlineMillis > 0 && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * What was read from the database server for one schema
+     */
+    private static class SchemaRead {
+        private final List<JdbcTable> tables = new ArrayList<>();
+        private boolean tablesComplete;
+        private Map<String, List<JdbcColumn>> columns;
+        private Map<String, Map<String, JdbcPrimaryKey>> primaryKeys;
+        private List<JdbcForeignKey> foreignKeys;
+    }
+
+    private void transferTable(DatabaseSchemaElement schemaElement, JdbcTable jdbcTable,
+                               MergeJoinReconciler<DatabaseTableElement> omasTables,
+                               Map<String, List<JdbcColumn>> schemaColumns,
+                               Map<String, Map<String, JdbcPrimaryKey>> schemaPrimaryKeys, Set<String> foreignKeyColumns) {
+        DatabaseSchemaProperties databaseSchemaProperties = schemaElement.getDatabaseSchemaProperties();
+
+        DatabaseTableProperties jdbcTableProperties = new DatabaseTableProperties();
+        jdbcTableProperties.setDisplayName(jdbcTable.getTableName());
+        String databaseTableQualifiedName = databaseSchemaProperties.getQualifiedName() + "::" + jdbcTable.getTableName();
+        jdbcTableProperties.setQualifiedName(databaseTableQualifiedName);
+
+        Optional<DatabaseTableElement> omasTable = Optional.ofNullable(omasTables.match(databaseTableQualifiedName));
+
+        if(omasTable.isPresent()){
+            this.updateOmasTable(omasTable.get(), jdbcTableProperties);
+        }else{
+            Optional<String> tableGuid = this.createOmasTable(schemaElement, jdbcTableProperties);
+            if(tableGuid.isPresent()){
+                omasTable = Optional.of(tableElement(tableGuid.get(), jdbcTableProperties));
+            }else{
+                // move on to the next table, as something happened with saving the new table
+                return;
+            }
+        }
+        // a table missing from the columns read for the whole schema is read on its own
+        List<JdbcColumn> tableColumns = schemaColumns == null ? null : schemaColumns.get(jdbcTable.getTableName());
+        // the keys of the table are unknown if those of the schema could not be read
+        Map<String, JdbcPrimaryKey> tablePrimaryKeys = schemaPrimaryKeys == null ? null
+                : schemaPrimaryKeys.getOrDefault(jdbcTable.getTableName(), new HashMap<>());
+        omasTable.ifPresent(tableElement -> transferColumns(schemaElement, tableElement, tableColumns, tablePrimaryKeys,
+                foreignKeyColumns));
     }
 
     private Optional<String> createOmasTable(DatabaseSchemaElement omasSchema, DatabaseTableProperties newTableProperties){
         String methodName = "createDatabaseTable";
 
         try {
-            return Optional.ofNullable(databaseIntegratorContext
-                    .createDatabaseTable(omasSchema.getElementHeader().getGUID(), newTableProperties));
+            String tableGuid = databaseIntegratorContext.createDatabaseTable(omasSchema.getElementHeader().getGUID(),
+                    newTableProperties);
+            tableWrites.written.incrementAndGet();
+            createdGuids.add(tableGuid);
+            return Optional.ofNullable(tableGuid);
         } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException e) {
             auditLog.logException("Error creating schema in OMAS: " + newTableProperties.getQualifiedName(),
                     ERROR_UPSERTING_INTO_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
@@ -134,32 +331,42 @@ public class JdbcMetadataTransfer {
 
     private void updateOmasTable(DatabaseTableElement omasTable, DatabaseTableProperties tableProperties){
         String methodName = "updateDatabaseTable";
+        DatabaseTableProperties omasTableProperties = omasTable.getDatabaseTableProperties();
+        if(isUnchanged(omasTableProperties, tableProperties)){
+            tableWrites.unchanged.incrementAndGet();
+            return;
+        }
         try {
             databaseIntegratorContext.updateDatabaseTable(omasTable.getElementHeader().getGUID(), tableProperties);
+            tableWrites.written.incrementAndGet();
         } catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException e) {
             auditLog.logException("Error updating table in OMAS for qualifiedName: " + tableProperties.getQualifiedName(),
                     ERROR_UPSERTING_INTO_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
         }
     }
 
-    private List<JdbcTable> getJdbcTables(String schemaName) {
+    private boolean streamJdbcTables(String schemaName, JdbcRowConsumer<JdbcTable> consumer) {
         String methodName = "getJdbcTables";
         try {
-            return Optional.ofNullable(
-                    jdbcMetadata.getTables(null, schemaName, null, new String[]{"TABLE"}))
-                    .orElseGet(ArrayList::new);
+            jdbcMetadata.streamTables(null, schemaName, null, new String[]{"TABLE"}, consumer);
+            return true;
+        } catch (SQLTimeoutException e) {
+            throw new SchemaReadTimeoutException(e);
         } catch (SQLException sqlException) {
             auditLog.logException("Error reading tables from JDBC for schema: " + schemaName,
                     ERROR_READING_JDBC.getMessageDefinition(methodName, sqlException.getMessage()), sqlException);
         }
-        return new ArrayList<>();
+        return false;
     }
 
     private List<DatabaseTableElement> getOmasTables(String schemaGuid){
         String methodName = "getOmasTables";
+        if(createdGuids.contains(schemaGuid)){
+            return new ArrayList<>();
+        }
         try{
-            return Optional.ofNullable(databaseIntegratorContext
-                    .getTablesForDatabaseAsset(schemaGuid, 0, 0)).orElseGet(ArrayList::new);
+            return omasReader.readAll((startFrom, pageSize) ->
+                    databaseIntegratorContext.getTablesForDatabaseAsset(schemaGuid, startFrom, pageSize));
         } catch (UserNotAuthorizedException | InvalidParameterException | PropertyServerException e) {
             auditLog.logException("Error reading tables from OMAS for schemaGuid: " + schemaGuid,
                     ERROR_READING_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
@@ -167,13 +374,15 @@ public class JdbcMetadataTransfer {
         return new ArrayList<>();
     }
 
-    private void transferColumns(DatabaseSchemaElement schemaElement, DatabaseTableElement tableElement) {
+    private void transferColumns(DatabaseSchemaElement schemaElement, DatabaseTableElement tableElement, List<JdbcColumn> jdbcColumns,
+                                 Map<String, JdbcPrimaryKey> tablePrimaryKeys, Set<String> foreignKeyColumns) {
         String schemaElementName = schemaElement.getDatabaseSchemaProperties().getDisplayName();
         String tableElementName = tableElement.getDatabaseTableProperties().getDisplayName();
-        List<JdbcColumn> jdbcColumns = this.getJdbcColumns(schemaElementName, tableElementName);
-        List<DatabaseColumnElement> omasColumns = this.getOmasColumns(tableElement.getElementHeader().getGUID());
+        MergeJoinReconciler<DatabaseColumnElement> omasColumns = new MergeJoinReconciler<>(
+                this.getOmasColumns(tableElement.getElementHeader().getGUID()),
+                dce -> dce.getDatabaseColumnProperties().getQualifiedName());
 
-        for(JdbcColumn jdbcColumn : jdbcColumns){
+        Consumer<JdbcColumn> columnTransfer = jdbcColumn -> {
             DatabaseColumnProperties databaseColumnProperties = new DatabaseColumnProperties();
             databaseColumnProperties.setDisplayName(jdbcColumn.getColumnName());
             String databaseColumnQualifiedName = tableElement.getDatabaseTableProperties().getQualifiedName()
@@ -181,46 +390,174 @@ public class JdbcMetadataTransfer {
             databaseColumnProperties.setQualifiedName(databaseColumnQualifiedName);
             databaseColumnProperties.setDataType(extractDataType(jdbcColumn.getDataType()));
 
-            Optional<DatabaseColumnElement> omasColumn = omasColumns.stream()
-                    .filter(dce -> dce.getDatabaseColumnProperties().getQualifiedName().equals(databaseColumnQualifiedName))
-                    .findFirst();
+            Optional<DatabaseColumnElement> omasColumn = Optional.ofNullable(omasColumns.match(databaseColumnQualifiedName));
 
+            String columnGuid;
+            DatabasePrimaryKeyProperties omasPrimaryKey = null;
             if(omasColumn.isPresent()){
                 this.updateOmasColumn(omasColumn.get(), databaseColumnProperties);
-                omasColumns.remove(omasColumn.get());
+                columnGuid = omasColumn.get().getElementHeader().getGUID();
+                omasPrimaryKey = omasColumn.get().getPrimaryKeyProperties();
             }else{
-                this.createOmasColumn(tableElement, databaseColumnProperties);
+                columnGuid = this.createOmasColumn(tableElement, databaseColumnProperties).orElse(null);
             }
+            if(columnGuid == null || tablePrimaryKeys == null){
+                return;
+            }
+
+            JdbcPrimaryKey jdbcPrimaryKey = tablePrimaryKeys.get(jdbcColumn.getColumnName());
+            if(jdbcPrimaryKey != null){
+                if(omasPrimaryKey == null || !Objects.equals(omasPrimaryKey.getName(), jdbcPrimaryKey.getPkName())){
+                    this.setOmasPrimaryKey(columnGuid, databaseColumnQualifiedName, jdbcPrimaryKey);
+                }
+            }else if(omasPrimaryKey != null){
+                this.removeOmasPrimaryKey(columnGuid, databaseColumnQualifiedName);
+            }
+            if(jdbcPrimaryKey != null || foreignKeyColumns.contains(databaseColumnQualifiedName)){
+                keyColumnGuids.put(databaseColumnQualifiedName, columnGuid);
+            }
+        };
+
+        boolean complete = true;
+        if(jdbcColumns == null){
+            complete = this.streamJdbcColumns(schemaElementName, tableElementName, columnTransfer::accept);
+        }else{
+            jdbcColumns.forEach(columnTransfer);
+        }
+
+        // columns are only removed once every column of the table has been read
+        if(complete) {
+            omasColumns.forEachUnmatched(removeDatabaseColumnConsumer);
         }
-        omasColumns.forEach(removeDatabaseColumnConsumer);
     }
 
     private void updateOmasColumn(DatabaseColumnElement omasColumn, DatabaseColumnProperties columnProperties){
         String methodName = "updateDatabaseColumn";
+        DatabaseColumnProperties omasColumnProperties = omasColumn.getDatabaseColumnProperties();
+        if(isUnchanged(omasColumnProperties, columnProperties)
+                && Objects.equals(omasColumnProperties.getDataType(), columnProperties.getDataType())){
+            columnWrites.unchanged.incrementAndGet();
+            return;
+        }
         try {
             databaseIntegratorContext.updateDatabaseColumn(omasColumn.getElementHeader().getGUID(), columnProperties);
+            columnWrites.written.incrementAndGet();
         } catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException e) {
             auditLog.logException("Error updating column in OMAS for qualifiedName: " + columnProperties.getQualifiedName(),
                     ERROR_UPSERTING_INTO_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
         }
     }
 
-    private void createOmasColumn(DatabaseTableElement tableElement, DatabaseColumnProperties newColumnProperties){
+    private Optional<String> createOmasColumn(DatabaseTableElement tableElement, DatabaseColumnProperties newColumnProperties){
         String methodName = "createDatabaseColumn";
         try {
-            databaseIntegratorContext.createDatabaseColumn(tableElement.getElementHeader().getGUID(), newColumnProperties);
+            String columnGuid = databaseIntegratorContext.createDatabaseColumn(tableElement.getElementHeader().getGUID(),
+                    newColumnProperties);
+            columnWrites.written.incrementAndGet();
+            createdGuids.add(columnGuid);
+            return Optional.ofNullable(columnGuid);
         } catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException e) {
             auditLog.logException("Error creating column in OMAS: " + newColumnProperties.getQualifiedName(),
                     ERROR_UPSERTING_INTO_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
         }
+        return Optional.empty();
+    }
+
+    private void setOmasPrimaryKey(String columnGuid, String columnQualifiedName, JdbcPrimaryKey jdbcPrimaryKey){
+        String methodName = "setPrimaryKeyOnColumn";
+        DatabasePrimaryKeyProperties primaryKeyProperties = new DatabasePrimaryKeyProperties();
+        primaryKeyProperties.setName(jdbcPrimaryKey.getPkName());
+        try {
+            databaseIntegratorContext.setPrimaryKeyOnColumn(columnGuid, primaryKeyProperties);
+        } catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException e) {
+            auditLog.logException("Error setting primary key in OMAS for column: " + columnQualifiedName,
+                    ERROR_UPSERTING_INTO_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
+        }
+    }
+
+    private void removeOmasPrimaryKey(String columnGuid, String columnQualifiedName){
+        String methodName = "removePrimaryKeyFromColumn";
+        try {
+            databaseIntegratorContext.removePrimaryKeyFromColumn(columnGuid);
+        } catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException e) {
+            auditLog.logException("Error removing primary key in OMAS for column: " + columnQualifiedName,
+                    ERROR_UPSERTING_INTO_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Links the columns of the foreign keys read from every schema to the columns they refer to. The columns of a key
+     * are known by the time every schema is read, a referenced column that is not part of a primary key is looked up
+     */
+    private void transferForeignKeys(DatabaseElement databaseElement) {
+        String databaseQualifiedName = databaseElement.getDatabaseProperties().getQualifiedName();
+        for(JdbcForeignKey jdbcForeignKey : foreignKeys){
+            String foreignKeyColumn = columnQualifiedName(databaseQualifiedName, jdbcForeignKey.getFktableSchem(),
+                    jdbcForeignKey.getFktableName(), jdbcForeignKey.getFkcolumnName());
+            String primaryKeyColumn = columnQualifiedName(databaseQualifiedName, jdbcForeignKey.getPktableSchem(),
+                    jdbcForeignKey.getPktableName(), jdbcForeignKey.getPkcolumnName());
+
+            String foreignKeyColumnGuid = keyColumnGuids.get(foreignKeyColumn);
+            String primaryKeyColumnGuid = keyColumnGuids.get(primaryKeyColumn);
+            if(primaryKeyColumnGuid == null && missingColumns.add(primaryKeyColumn)){
+                primaryKeyColumnGuid = this.getOmasColumnGuid(primaryKeyColumn);
+                if(primaryKeyColumnGuid != null){
+                    missingColumns.remove(primaryKeyColumn);
+                    keyColumnGuids.put(primaryKeyColumn, primaryKeyColumnGuid);
+                }
+            }
+            if(foreignKeyColumnGuid == null || primaryKeyColumnGuid == null){
+                continue;
+            }
+
+            DatabaseForeignKeyProperties foreignKeyProperties = new DatabaseForeignKeyProperties();
+            foreignKeyProperties.setName(jdbcForeignKey.getFkName());
+            this.updateOmasForeignKey(primaryKeyColumnGuid, foreignKeyColumnGuid, foreignKeyColumn, foreignKeyProperties);
+        }
+    }
+
+    private void updateOmasForeignKey(String primaryKeyColumnGuid, String foreignKeyColumnGuid, String foreignKeyColumn,
+                                      DatabaseForeignKeyProperties foreignKeyProperties){
+        String methodName = "updateForeignKeyRelationship";
+        try {
+            // the relationship is created when the columns are not linked yet, so it is not duplicated on the next refresh
+            databaseIntegratorContext.updateForeignKeyRelationship(primaryKeyColumnGuid, foreignKeyColumnGuid,
+                    foreignKeyProperties);
+        } catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException e) {
+            auditLog.logException("Error linking foreign key in OMAS for column: " + foreignKeyColumn,
+                    ERROR_UPSERTING_INTO_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
+        }
+    }
+
+    private String getOmasColumnGuid(String columnQualifiedName){
+        String methodName = "getDatabaseColumnsByName";
+        try{
+            return omasReader.readAll((startFrom, pageSize) ->
+                    databaseIntegratorContext.getDatabaseColumnsByName(columnQualifiedName, startFrom, pageSize))
+                    .stream()
+                    .filter(dce -> columnQualifiedName.equals(dce.getDatabaseColumnProperties().getQualifiedName()))
+                    .map(dce -> dce.getElementHeader().getGUID())
+                    .findFirst().orElse(null);
+        } catch (UserNotAuthorizedException | InvalidParameterException | PropertyServerException e) {
+            auditLog.logException("Error reading column from OMAS for qualifiedName: " + columnQualifiedName,
+                    ERROR_READING_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
+        }
+        return null;
+    }
+
+    private static String columnQualifiedName(String databaseQualifiedName, String schemaName, String tableName,
+                                              String columnName) {
+        return databaseQualifiedName + "::" + schemaName + "::" + tableName + "::" + columnName;
     }
 
     private List<DatabaseColumnElement> getOmasColumns(String tableGuid){
         String methodName = "getOmasColumns";
+        if(createdGuids.contains(tableGuid)){
+            return new ArrayList<>();
+        }
         try{
-            return Optional.ofNullable(
-                    databaseIntegratorContext.getColumnsForDatabaseTable(tableGuid, 0, 0))
-                    .orElseGet(ArrayList::new);
+            return omasReader.readAll((startFrom, pageSize) ->
+                    databaseIntegratorContext.getColumnsForDatabaseTable(tableGuid, startFrom, pageSize));
         } catch (UserNotAuthorizedException | InvalidParameterException | PropertyServerException e) {
             auditLog.logException("Error reading columns from OMAS for table guid: " + tableGuid ,
                     ERROR_READING_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
@@ -228,17 +565,210 @@ public class JdbcMetadataTransfer {
         return new ArrayList<>();
     }
 
-    private List<JdbcColumn> getJdbcColumns(String schemaName, String tableName){
+    /**
+     * Reads the columns of every table of a schema in one call and groups them by table name
+     *
+     * @return the columns by table name, or null if bulk reads are switched off, the schema has more columns than the
+     * bulk column limit or the columns could not be read
+     */
+    private Map<String, List<JdbcColumn>> getJdbcColumnsByTable(String schemaName) {
+        String methodName = "getJdbcColumnsByTable";
+        if(bulkColumnLimit <= 0){
+            return null;
+        }
+
+        Map<String, List<JdbcColumn>> columnsByTable = new HashMap<>();
+        int[] count = {0};
+        try {
+            jdbcMetadata.streamColumns(null, schemaName, null, null, jdbcColumn -> {
+                if(++count[0] > bulkColumnLimit){
+                    throw new BulkColumnLimitException();
+                }
+                // the schema name is a pattern, so other schemas may match it
+                if(schemaName.equals(jdbcColumn.getTableSchem())) {
+                    columnsByTable.computeIfAbsent(jdbcColumn.getTableName(), tableName -> new ArrayList<>()).add(jdbcColumn);
+                }
+            });
+            return columnsByTable;
+        } catch (BulkColumnLimitException e) {
+            auditLog.logMessage("Reading columns of schema " + schemaName,
+                    BULK_COLUMNS_FALLBACK.getMessageDefinition(schemaName, String.valueOf(bulkColumnLimit)));
+        } catch (SQLTimeoutException e) {
+            throw new SchemaReadTimeoutException(e);
+        } catch (SQLException sqlException) {
+            auditLog.logException("Error reading columns from JDBC for schema " + schemaName,
+                    ERROR_READING_JDBC.getMessageDefinition(methodName, sqlException.getMessage()), sqlException);
+        }
+        return null;
+    }
+
+    /**
+     * Reads the primary keys of every table of a schema in one call, or in parallel calls if the driver needs a table
+     *
+     * @return the primary key columns by column name, by table name, or null if the keys could not be read
+     */
+    private Map<String, Map<String, JdbcPrimaryKey>> getJdbcPrimaryKeysByTable(String schemaName) {
+        String methodName = "getJdbcPrimaryKeysByTable";
+        Map<String, Map<String, JdbcPrimaryKey>> primaryKeysByTable = new HashMap<>();
+        try {
+            jdbcMetadata.streamPrimaryKeys(null, schemaName, null, jdbcPrimaryKey -> {
+                // with a null table some drivers match the schema name as a pattern, so other schemas may match it
+                if(schemaName.equals(jdbcPrimaryKey.getTableSchem())) {
+                    primaryKeysByTable.computeIfAbsent(jdbcPrimaryKey.getTableName(), tableName -> new HashMap<>())
+                            .put(jdbcPrimaryKey.getColumnName(), jdbcPrimaryKey);
+                }
+            });
+            return primaryKeysByTable;
+        } catch (SQLTimeoutException e) {
+            throw new SchemaReadTimeoutException(e);
+        } catch (SQLException sqlException) {
+            auditLog.logException("Error reading primary keys from JDBC for schema " + schemaName,
+                    ERROR_READING_JDBC.getMessageDefinition(methodName, sqlException.getMessage()), sqlException);
+        }
+        return null;
+    }
+
+    /**
+     * Reads the foreign keys of every table of a schema in one call, or in parallel calls if the driver needs a table
+     *
+     * @return the foreign key columns, or null if the keys could not be read
+     */
+    private List<JdbcForeignKey> getJdbcForeignKeys(String schemaName) {
+        String methodName = "getJdbcForeignKeys";
+        List<JdbcForeignKey> schemaForeignKeys = new ArrayList<>();
+        try {
+            jdbcMetadata.streamImportedKeys(null, schemaName, null, jdbcForeignKey -> {
+                if(schemaName.equals(jdbcForeignKey.getFktableSchem())) {
+                    schemaForeignKeys.add(jdbcForeignKey);
+                }
+            });
+            return schemaForeignKeys;
+        } catch (SQLTimeoutException e) {
+            throw new SchemaReadTimeoutException(e);
+        } catch (SQLException sqlException) {
+            auditLog.logException("Error reading foreign keys from JDBC for schema " + schemaName,
+                    ERROR_READING_JDBC.getMessageDefinition(methodName, sqlException.getMessage()), sqlException);
+        }
+        return null;
+    }
+
+    /**
+     * Keeps the foreign keys of a schema, they are linked once every schema has been transferred
+     *
+     * @return the qualified names of the foreign key columns of the schema
+     */
+    private Set<String> collectJdbcForeignKeys(DatabaseSchemaElement schemaElement, List<JdbcForeignKey> schemaForeignKeys) {
+        Set<String> foreignKeyColumns = new HashSet<>();
+        if(schemaForeignKeys == null){
+            return foreignKeyColumns;
+        }
+        String schemaQualifiedName = schemaElement.getDatabaseSchemaProperties().getQualifiedName();
+        for(JdbcForeignKey jdbcForeignKey : schemaForeignKeys){
+            foreignKeyColumns.add(schemaQualifiedName + "::" + jdbcForeignKey.getFktableName() + "::" + jdbcForeignKey.getFkcolumnName());
+        }
+        foreignKeys.addAll(schemaForeignKeys);
+        return foreignKeyColumns;
+    }
+
+    /**
+     * Builds the element for a schema the transfer has just created, from its guid and the properties sent, rather than
+     * reading it back from the omas
+     */
+    private static DatabaseSchemaElement schemaElement(String schemaGuid, DatabaseSchemaProperties schemaProperties) {
+        DatabaseSchemaElement schemaElement = new DatabaseSchemaElement();
+        schemaElement.setElementHeader(elementHeader(schemaGuid));
+        schemaElement.setDatabaseSchemaProperties(schemaProperties);
+        return schemaElement;
+    }
+
+    /**
+     * Builds the element for a table the transfer has just created, from its guid and the properties sent
+     */
+    private static DatabaseTableElement tableElement(String tableGuid, DatabaseTableProperties tableProperties) {
+        DatabaseTableElement tableElement = new DatabaseTableElement();
+        tableElement.setElementHeader(elementHeader(tableGuid));
+        tableElement.setDatabaseTableProperties(tableProperties);
+        return tableElement;
+    }
+
+    private static ElementHeader elementHeader(String guid) {
+        ElementHeader elementHeader = new ElementHeader();
+        elementHeader.setGUID(guid);
+        return elementHeader;
+    }
+
+    /**
+     * Compares the properties the transfer sets on tables and columns, the omas holds other properties that the
+     * transfer leaves alone
+     */
+    private static boolean isUnchanged(SchemaElementProperties omasProperties, SchemaElementProperties jdbcProperties) {
+        return omasProperties != null
+                && Objects.equals(omasProperties.getQualifiedName(), jdbcProperties.getQualifiedName())
+                && Objects.equals(omasProperties.getDisplayName(), jdbcProperties.getDisplayName());
+    }
+
+    /**
+     * Counts the elements of one kind written to the omas and those skipped because they were unchanged
+     */
+    private static class WriteCounts {
+        private final AtomicInteger written = new AtomicInteger();
+        private final AtomicInteger unchanged = new AtomicInteger();
+    }
+
+    private static long readLong(Map<String, Object> configurationProperties, String name, long defaultValue) {
+        Object value = configurationProperties == null ? null : configurationProperties.get(name);
+        if(value == null){
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        }catch (NumberFormatException nfe){
+            return defaultValue;
+        }
+    }
+
+    private static int readBulkColumnLimit(Map<String, Object> configurationProperties) {
+        Object value = configurationProperties == null ? null : configurationProperties.get(BULK_COLUMN_LIMIT_PROPERTY);
+        if(value == null){
+            return DEFAULT_BULK_COLUMN_LIMIT;
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        }catch (NumberFormatException nfe){
+            return DEFAULT_BULK_COLUMN_LIMIT;
+        }
+    }
+
+    /**
+     * Stops a bulk column read that has gone over the bulk column limit
+     */
+    private static class BulkColumnLimitException extends SQLException {
+        private BulkColumnLimitException() {
+            super("Bulk column limit exceeded");
+        }
+    }
+
+    /**
+     * Stops the read or transfer of a schema whose metadata calls timed out, the cause is the timeout
+     */
+    private static class SchemaReadTimeoutException extends RuntimeException {
+        private SchemaReadTimeoutException(SQLTimeoutException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    private boolean streamJdbcColumns(String schemaName, String tableName, JdbcRowConsumer<JdbcColumn> consumer){
         String methodName = "getJdbcColumns";
         try{
-            return Optional.ofNullable(
-                    jdbcMetadata.getColumns(null, schemaName, tableName, null))
-                    .orElseGet(ArrayList::new);
+            jdbcMetadata.streamColumns(null, schemaName, tableName, null, consumer);
+            return true;
+        } catch (SQLTimeoutException e) {
+            throw new SchemaReadTimeoutException(e);
         } catch (SQLException sqlException) {
             auditLog.logException("Error reading tables from JDBC for schema " + schemaName + " and table " + tableName,
                     ERROR_READING_JDBC.getMessageDefinition(methodName, sqlException.getMessage()), sqlException);
         }
-        return new ArrayList<>();
+        return false;
     }
 
     private String extractDataType(int jdbcDataType){
@@ -251,11 +781,20 @@ public class JdbcMetadataTransfer {
         return dataType;
     }
 
+    /**
+     * Creates, updates and removes the schemas of the database. Schemas are only removed once every schema of the
+     * database has been read.
+     *
+     * @return the schemas of the database, as held by the omas once the changes are made
+     */
     private List<DatabaseSchemaElement> transferSchemas(DatabaseElement databaseElement) {
 
-        List<JdbcSchema> jdbcSchemas = this.getJdbcSchemas();
-        List<DatabaseSchemaElement> omasSchemas = this.getOmasSchemas(databaseElement);
+        List<JdbcSchema> jdbcSchemas = new ArrayList<>();
+        boolean schemasComplete = this.streamJdbcSchemas(jdbcSchemas::add);
+        MergeJoinReconciler<DatabaseSchemaElement> omasSchemas = new MergeJoinReconciler<>(
+                this.getOmasSchemas(databaseElement), dse -> dse.getDatabaseSchemaProperties().getQualifiedName());
 
+        List<DatabaseSchemaElement> schemas = new ArrayList<>();
         for (JdbcSchema jdbcSchema : jdbcSchemas) {
             DatabaseSchemaProperties jdbcSchemaProperties = new DatabaseSchemaProperties();
             jdbcSchemaProperties.setDisplayName(jdbcSchema.getTableSchem());
@@ -263,60 +802,82 @@ public class JdbcMetadataTransfer {
                     databaseElement.getDatabaseProperties().getQualifiedName() + "::" + jdbcSchema.getTableSchem();
             jdbcSchemaProperties.setQualifiedName(databaseSchemaQualifiedName);
 
-            Optional<DatabaseSchemaElement> omasSchema = omasSchemas.stream()
-                    .filter(dse -> dse.getDatabaseSchemaProperties().getQualifiedName().equals(databaseSchemaQualifiedName))
-                    .findFirst();
-            if (omasSchema.isPresent()) {
-                updateOmasSchema(omasSchema.get(), jdbcSchemaProperties);
-                omasSchemas.remove(omasSchema.get());
+            DatabaseSchemaElement omasSchema = omasSchemas.match(databaseSchemaQualifiedName);
+            if (omasSchema != null) {
+                updateOmasSchema(omasSchema, jdbcSchemaProperties);
+                schemas.add(omasSchema);
             } else {
-                createOmasSchema(databaseElement, jdbcSchemaProperties);
+                createOmasSchema(databaseElement, jdbcSchemaProperties).ifPresent(schemaGuid ->
+                        schemas.add(schemaElement(schemaGuid, jdbcSchemaProperties)));
             }
         }
-        omasSchemas.forEach(removeDatabaseSchemaConsumer);
+        // a failed read would otherwise remove every schema it did not get to
+        if(schemasComplete) {
+            omasSchemas.forEachUnmatched(removeDatabaseSchemaConsumer);
+        }
 
-        return getOmasSchemas(databaseElement);
+        return schemas;
 
     }
 
-    private void createOmasSchema(DatabaseElement databaseElement, DatabaseSchemaProperties newSchemaProperties){
+    private Optional<String> createOmasSchema(DatabaseElement databaseElement, DatabaseSchemaProperties newSchemaProperties){
         String methodName = "createDatabaseSchema";
         try {
-            databaseIntegratorContext.createDatabaseSchema(databaseElement.getElementHeader().getGUID(),
+            String schemaGuid = databaseIntegratorContext.createDatabaseSchema(databaseElement.getElementHeader().getGUID(),
                     newSchemaProperties);
+            schemaWrites.written.incrementAndGet();
+            createdGuids.add(schemaGuid);
+            return Optional.ofNullable(schemaGuid);
         } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException e) {
             auditLog.logException("Error creating schema in OMAS: " + newSchemaProperties.getQualifiedName(),
                     ERROR_UPSERTING_INTO_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
         }
+        return Optional.empty();
     }
 
     private void updateOmasSchema(DatabaseSchemaElement omasSchema, DatabaseSchemaProperties schemaProperties){
         String methodName = "updateDatabaseSchema";
+        DatabaseSchemaProperties omasSchemaProperties = omasSchema.getDatabaseSchemaProperties();
+        if(omasSchemaProperties != null
+                && Objects.equals(omasSchemaProperties.getQualifiedName(), schemaProperties.getQualifiedName())
+                && Objects.equals(omasSchemaProperties.getDisplayName(), schemaProperties.getDisplayName())){
+            schemaWrites.unchanged.incrementAndGet();
+            return;
+        }
         try {
             databaseIntegratorContext.updateDatabaseSchema(omasSchema.getElementHeader().getGUID(), schemaProperties);
+            schemaWrites.written.incrementAndGet();
+            // the element now stands for the schema as updated
+            if(omasSchemaProperties == null){
+                omasSchema.setDatabaseSchemaProperties(schemaProperties);
+            }else{
+                omasSchemaProperties.setQualifiedName(schemaProperties.getQualifiedName());
+                omasSchemaProperties.setDisplayName(schemaProperties.getDisplayName());
+            }
         } catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException e) {
             auditLog.logException("Error updating schema in OMAS for qualifiedName: " + schemaProperties.getQualifiedName(),
                     ERROR_UPSERTING_INTO_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
         }
     }
 
-    private List<JdbcSchema> getJdbcSchemas(){
+    private boolean streamJdbcSchemas(JdbcRowConsumer<JdbcSchema> consumer){
         String methodName = "getJdbcSchemas";
         try {
-            return Optional.ofNullable(jdbcMetadata.getSchemas()).orElseGet(ArrayList::new);
+            jdbcMetadata.streamSchemas(null, null, consumer);
+            return true;
         } catch (SQLException sqlException) {
             auditLog.logException("Error reading schemas from JDBC",
                     ERROR_READING_JDBC.getMessageDefinition(methodName, sqlException.getMessage()), sqlException);
         }
-        return new ArrayList<>();
+        return false;
     }
 
     private List<DatabaseSchemaElement> getOmasSchemas(DatabaseElement databaseElement){
         String methodName = "getOmasSchemas";
         try{
-            return Optional.ofNullable(
-                    databaseIntegratorContext.getSchemasForDatabase(databaseElement.getElementHeader().getGUID(), 0, 0))
-                    .orElseGet(ArrayList::new);
+            String databaseGuid = databaseElement.getElementHeader().getGUID();
+            return omasReader.readAll((startFrom, pageSize) ->
+                    databaseIntegratorContext.getSchemasForDatabase(databaseGuid, startFrom, pageSize));
         } catch (UserNotAuthorizedException | InvalidParameterException | PropertyServerException e) {
             auditLog.logException("Error reading schemas from OMAS",
                     ERROR_READING_OMAS.getMessageDefinition(methodName, e.getMessage()), e);
@@ -330,15 +891,30 @@ public class JdbcMetadataTransfer {
         try {
             DatabaseIntegratorContext context = databaseIntegratorContext;
             DatabaseProperties databaseProperties = buildDatabaseProperties();
-            List<DatabaseElement> databasesInOmas = Optional.ofNullable(
-                    context.getDatabasesByName(databaseProperties.getQualifiedName(), 0, 0))
-                    .orElseGet(ArrayList::new);
+            List<DatabaseElement> databasesInOmas = getOmasDatabases(databaseProperties.getQualifiedName());
             if (databasesInOmas.isEmpty()) {
-                context.createDatabase(databaseProperties);
-            } else {
-                context.updateDatabase(databasesInOmas.get(0).getElementHeader().getGUID(), databaseProperties);
+                String databaseGuid = context.createDatabase(databaseProperties);
+                createdGuids.add(databaseGuid);
+                DatabaseElement databaseElement = new DatabaseElement();
+                databaseElement.setElementHeader(elementHeader(databaseGuid));
+                databaseElement.setDatabaseProperties(databaseProperties);
+                return databaseElement;
             }
-            return context.getDatabasesByName(databaseProperties.getQualifiedName(), 0, 0).get(0);
+            DatabaseElement databaseElement = databasesInOmas.get(0);
+            context.updateDatabase(databaseElement.getElementHeader().getGUID(), databaseProperties);
+            // the properties the transfer does not set, such as the description, keep the values held by the omas
+            DatabaseProperties omasDatabaseProperties = databaseElement.getDatabaseProperties();
+            if(omasDatabaseProperties == null){
+                databaseElement.setDatabaseProperties(databaseProperties);
+            }else{
+                omasDatabaseProperties.setQualifiedName(databaseProperties.getQualifiedName());
+                omasDatabaseProperties.setDisplayName(databaseProperties.getDisplayName());
+                omasDatabaseProperties.setDatabaseInstance(databaseProperties.getDatabaseInstance());
+                omasDatabaseProperties.setDatabaseVersion(databaseProperties.getDatabaseVersion());
+                omasDatabaseProperties.setDatabaseType(databaseProperties.getDatabaseType());
+                omasDatabaseProperties.setDatabaseImportedFrom(databaseProperties.getDatabaseImportedFrom());
+            }
+            return databaseElement;
         }catch (SQLException sqlException){
             auditLog.logException("Error reading database properties from JDBC",
                     ERROR_READING_JDBC.getMessageDefinition(methodName, sqlException.getMessage()), sqlException);
@@ -349,6 +925,12 @@ public class JdbcMetadataTransfer {
         return null;
     }
 
+    private List<DatabaseElement> getOmasDatabases(String qualifiedName)
+            throws InvalidParameterException, UserNotAuthorizedException, PropertyServerException {
+        return omasReader.readAll((startFrom, pageSize) ->
+                databaseIntegratorContext.getDatabasesByName(qualifiedName, startFrom, pageSize));
+    }
+
     private DatabaseProperties buildDatabaseProperties() throws SQLException {
         String user = jdbcMetadata.getUserName();
         String driverName = jdbcMetadata.getDriverName();
@@ -369,7 +951,8 @@ public class JdbcMetadataTransfer {
 
     private void createAssetConnection(DatabaseElement databaseElement){
         DatabaseConnectionConsumer databaseConnectionConsumer =
-                new DatabaseConnectionConsumer(databaseIntegratorContext, auditLog, jdbcMetadata);
+                new DatabaseConnectionConsumer(databaseIntegratorContext, omasReader, auditLog, jdbcMetadata,
+                        assetConnection);
         databaseConnectionConsumer.accept(databaseElement);
     }
 
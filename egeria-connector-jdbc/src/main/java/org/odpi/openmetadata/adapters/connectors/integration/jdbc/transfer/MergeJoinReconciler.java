@@ -0,0 +1,115 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.jdbc.transfer;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Matches the elements read from the database server, one at a time and in the order they are read, against the
+ * elements held by the omas. The omas elements are sorted by qualified name once, and a cursor walks them as the
+ * database elements arrive. Tables and schemas arrive sorted by name, so matching them is a single merge of the two
+ * sorted sequences. The cursor moves forward in doubling steps and a name that sorts before the one before it is found
+ * by binary search, so names that arrive out of order, such as columns in ordinal position or names the database
+ * server collates differently, cost a logarithmic search each. The omas elements no database element matched are left
+ * to be removed.
+ *
+ * @param <T> the omas element type
+ */
+class MergeJoinReconciler<T> {
+
+    private final T[] elements;
+    private final String[] keys;
+    private final boolean[] matched;
+
+    private int cursor = 0;
+    private String previousKey = null;
+
+    /**
+     * @param omasElements the elements held by the omas, the list is not changed
+     * @param key the qualified name of an element
+     */
+    @SuppressWarnings("unchecked")
+    MergeJoinReconciler(List<T> omasElements, Function<T, String> key) {
+        this.elements = (T[]) omasElements.toArray();
+        Arrays.sort(elements, Comparator.comparing(key));
+        this.keys = new String[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = key.apply(elements[i]);
+        }
+        this.matched = new boolean[elements.length];
+    }
+
+    /**
+     * Finds the omas element with a qualified name, each element is matched at most once
+     *
+     * @param key qualified name of the element read from the database server
+     *
+     * @return the element, or null if the omas holds no element with that name that is not already matched
+     */
+    T match(String key) {
+        if(previousKey != null && key.compareTo(previousKey) < 0){
+            cursor = lowerBound(key, 0, cursor);
+        }else{
+            cursor = gallop(key);
+        }
+        previousKey = key;
+        // an element held twice is matched once, the copy is removed
+        for (int i = cursor; i < keys.length && keys[i].equals(key); i++) {
+            if(!matched[i]){
+                matched[i] = true;
+                return elements[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Passes on the omas elements that no database element matched, in qualified name order
+     */
+    void forEachUnmatched(Consumer<T> consumer) {
+        for (int i = 0; i < elements.length; i++) {
+            if(!matched[i]){
+                consumer.accept(elements[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the first position from the cursor on whose name is not before the key. The positions looked at double
+     * in distance, so a name next to the cursor is found at once and one further on in a number of steps that grows
+     * with the logarithm of the distance.
+     */
+    private int gallop(String key) {
+        int low = cursor;
+        int step = 1;
+        while (low < keys.length && keys[low].compareTo(key) < 0) {
+            int high = Math.min(keys.length, low + step);
+            if(keys[high - 1].compareTo(key) >= 0){
+                return lowerBound(key, low + 1, high - 1);
+            }
+            low = high;
+            step <<= 1;
+        }
+        return low;
+    }
+
+    /**
+     * @return the first position from low up to, but not including, high whose name is not before the key, or high if
+     * every name in between is before it
+     */
+    private int lowerBound(String key, int low, int high) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if(keys[middle].compareTo(key) < 0){
+                low = middle + 1;
+            }else{
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
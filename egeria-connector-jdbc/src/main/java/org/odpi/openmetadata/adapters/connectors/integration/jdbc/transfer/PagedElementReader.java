@@ -0,0 +1,213 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.jdbc.transfer;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads lists of elements from the omas a page at a time rather than in one unbounded request. While the caller works
+ * through one page the next page is read on a background thread. A page size of 0 restores the single unbounded request.
+ */
+public class PagedElementReader {
+
+    public static final String PAGE_SIZE_PROPERTY = "egeriaPageSize";
+    public static final String PREFETCH_PROPERTY = "egeriaPrefetch";
+
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
+    /**
+     * One of the paged getters of the DatabaseIntegratorContext
+     */
+    public interface Page<T> {
+        List<T> read(int startFrom, int pageSize) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException;
+    }
+
+    private final int pageSize;
+    private final ExecutorService prefetcher;
+
+    public PagedElementReader(Map<String, Object> configurationProperties) {
+        this.pageSize = Math.max(0, readPageSize(configurationProperties));
+
+        Object prefetch = configurationProperties == null ? null : configurationProperties.get(PREFETCH_PROPERTY);
+        if(pageSize > 0 && (prefetch == null || Boolean.parseBoolean(prefetch.toString()))){
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.prefetcher = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "JdbcConnector-prefetch-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }else{
+            this.prefetcher = null;
+        }
+    }
+
+    /**
+     * Reads every element returned by a paged getter
+     *
+     * @param page the getter
+     * @return the elements, never null
+     * @throws InvalidParameterException one of the parameters passed to the omas is invalid
+     * @throws PropertyServerException there is a problem in the omas
+     * @throws UserNotAuthorizedException the user is not authorized to read from the omas
+     */
+    public <T> List<T> readAll(Page<T> page) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        List<T> all = new ArrayList<>();
+        Elements<T> elements = read(page);
+        try {
+            while (elements.hasNext()) {
+                all.add(elements.next());
+            }
+        } finally {
+            elements.close();
+        }
+        return all;
+    }
+
+    /**
+     * Starts reading the elements returned by a paged getter
+     *
+     * @param page the getter
+     * @return the elements, read as they are needed
+     */
+    public <T> Elements<T> read(Page<T> page) {
+        return new Elements<>(page);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Stops the prefetch threads, pages being read are abandoned
+     */
+    public void shutdown() {
+        if(prefetcher != null){
+            prefetcher.shutdownNow();
+        }
+    }
+
+    private static int readPageSize(Map<String, Object> configurationProperties) {
+        Object value = configurationProperties == null ? null : configurationProperties.get(PAGE_SIZE_PROPERTY);
+        if(value instanceof Number){
+            return ((Number) value).intValue();
+        }
+        if(value == null){
+            return DEFAULT_PAGE_SIZE;
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        }catch (NumberFormatException nfe){
+            return DEFAULT_PAGE_SIZE;
+        }
+    }
+
+    /**
+     * The elements of one paged getter. The pages are read in order and a page shorter than the page size is the last one.
+     */
+    public class Elements<T> {
+
+        private final Page<T> page;
+
+        private List<T> current = Collections.emptyList();
+        private int position = 0;
+        private int nextStart = 0;
+        private boolean lastPage = false;
+        private Future<List<T>> nextPage = null;
+
+        private Elements(Page<T> page) {
+            this.page = page;
+        }
+
+        /**
+         * @return true if there is another element, reading the next page from the omas if needed
+         * @throws InvalidParameterException one of the parameters passed to the omas is invalid
+         * @throws PropertyServerException there is a problem in the omas
+         * @throws UserNotAuthorizedException the user is not authorized to read from the omas
+         */
+        public boolean hasNext() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+            while (position == current.size() && !lastPage) {
+                current = takeNextPage();
+                position = 0;
+            }
+            return position < current.size();
+        }
+
+        /**
+         * @return the next element, hasNext must have returned true
+         */
+        public T next() {
+            return current.get(position++);
+        }
+
+        /**
+         * Abandons any page being read in the background
+         */
+        public void close() {
+            if(nextPage != null){
+                nextPage.cancel(true);
+                nextPage = null;
+            }
+            lastPage = true;
+        }
+
+        private List<T> takeNextPage() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+            int start = nextStart;
+            List<T> elements = nextPage == null ? readPage(start) : waitForPage(start);
+            nextPage = null;
+
+            if(pageSize == 0 || elements.size() < pageSize){
+                lastPage = true;
+            }else{
+                nextStart = start + elements.size();
+                if(prefetcher != null){
+                    int prefetchStart = nextStart;
+                    nextPage = prefetcher.submit(() -> readPage(prefetchStart));
+                }
+            }
+            return elements;
+        }
+
+        private List<T> readPage(int start) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+            List<T> elements = page.read(start, pageSize);
+            return elements == null ? Collections.emptyList() : elements;
+        }
+
+        private List<T> waitForPage(int start) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+            try {
+                return nextPage.get();
+            } catch (InterruptedException e) {
+                // the page is read on this thread instead, leaving the interrupt for the caller to act on
+                nextPage.cancel(true);
+                Thread.currentThread().interrupt();
+                return readPage(start);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if(cause instanceof InvalidParameterException){
+                    throw (InvalidParameterException) cause;
+                }
+                if(cause instanceof PropertyServerException){
+                    throw (PropertyServerException) cause;
+                }
+                if(cause instanceof UserNotAuthorizedException){
+                    throw (UserNotAuthorizedException) cause;
+                }
+                if(cause instanceof Error){
+                    throw (Error) cause;
+                }
+                throw (RuntimeException) cause;
+            }
+        }
+    }
+}
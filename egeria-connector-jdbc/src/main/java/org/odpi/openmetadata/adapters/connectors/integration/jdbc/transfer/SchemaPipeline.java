@@ -0,0 +1,307 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.jdbc.transfer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reads schemas from the database server on one pool of threads and writes them to the omas on another, so that neither
+ * side waits for the other while there is work to do. The readers take the schemas in the order given and hand what
+ * they read to the writers through a bounded queue. A reader that finds the queue full waits for a writer to take a
+ * schema, so no more than the queue depth plus one schema per reader is held in memory however far the writers fall
+ * behind. With one writer the schemas are written in the order they are read.
+ *
+ * @param <S> the schema
+ * @param <R> what is read for a schema
+ */
+class SchemaPipeline<S, R> {
+
+    // how long a stopped pipeline waits for the reads under way to give up
+    private static final long READER_STOP_SECONDS = 10;
+
+    private final int readers;
+    private final int queueDepth;
+    private final int writers;
+
+    private final AtomicInteger schemasRead = new AtomicInteger();
+    private final AtomicInteger schemasWritten = new AtomicInteger();
+    private final AtomicLong readNanos = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+    // time the readers waited for room in the queue, and the writers for a schema to be read
+    private final AtomicLong readerWaitNanos = new AtomicLong();
+    private final AtomicLong writerWaitNanos = new AtomicLong();
+    private long elapsedNanos;
+    private boolean readersStopped = true;
+
+    /**
+     * @param readers threads reading from the database server
+     * @param queueDepth schemas read and not yet taken by a writer
+     * @param writers threads writing to the omas
+     */
+    SchemaPipeline(int readers, int queueDepth, int writers) {
+        this.readers = Math.max(1, readers);
+        this.queueDepth = Math.max(1, queueDepth);
+        this.writers = Math.max(1, writers);
+    }
+
+    /**
+     * Reads and writes the schemas. Once the deadline has passed the writers take no further schemas, those being
+     * written are finished, and the readers are interrupted. An exception thrown by a read or a write stops the
+     * pipeline, and the first one thrown is thrown on once the writers have stopped. When the pipeline stops with reads
+     * under way, stopReads is called to cancel them, and the readers are given a bounded time to finish.
+     *
+     * @param schemas the schemas, in the order they are to be read
+     * @param read reads a schema, returns null if it could not be read
+     * @param write writes a schema and what was read for it, null if it could not be read
+     * @param deadline {@link System#nanoTime()} after which no schema is written, or null for none
+     * @param stopReads cancels the reads under way, called from the thread running the pipeline
+     *
+     * @return the schemas not written because the deadline passed, in the order given
+     */
+    List<S> run(List<S> schemas, Function<S, R> read, BiConsumer<S, R> write, Long deadline, Runnable stopReads) {
+        long start = System.nanoTime();
+        readersStopped = true;
+        BlockingQueue<Read<S, R>> queue = new ArrayBlockingQueue<>(queueDepth);
+        boolean[] taken = new boolean[schemas.size()];
+        AtomicInteger claimed = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        ExecutorService readerPool = createPool(readers, "JdbcConnector-schema-reader-");
+        ExecutorService writerPool = createPool(writers, "JdbcConnector-omas-writer-");
+        Consumer<RuntimeException> fail = e -> {
+            failure.compareAndSet(null, e);
+            stopped.set(true);
+            // the writers may be waiting for schemas that are no longer read
+            writerPool.shutdownNow();
+        };
+        try {
+            for (int i = 0; i < schemas.size(); i++) {
+                Read<S, R> schemaRead = new Read<>(i, schemas.get(i));
+                readerPool.execute(() -> readInto(queue, schemaRead, read, stopped, fail));
+            }
+            List<Future<?>> writes = new ArrayList<>(writers);
+            for (int i = 0; i < Math.min(writers, schemas.size()) && !stopped.get(); i++) {
+                try {
+                    writes.add(writerPool.submit(() -> {
+                        writeFrom(queue, taken, claimed, stopped, schemas.size(), write, deadline, fail);
+                        return null;
+                    }));
+                } catch (RejectedExecutionException e) {
+                    // a read has already failed and stopped the writers
+                    break;
+                }
+            }
+            for (Future<?> writerDone : writes) {
+                try {
+                    writerDone.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stopped.set(true);
+                    throw new IllegalStateException("Interrupted while transferring schemas", e);
+                } catch (ExecutionException e) {
+                    fail.accept(e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                            : new IllegalStateException(e.getCause()));
+                } catch (CancellationException e) {
+                    // a writer that had not started when the pipeline failed
+                }
+            }
+            if(failure.get() != null){
+                throw failure.get();
+            }
+        } finally {
+            stopped.set(true);
+            readerPool.shutdownNow();
+            writerPool.shutdownNow();
+            awaitReaders(readerPool, stopReads);
+            elapsedNanos = System.nanoTime() - start;
+        }
+
+        List<S> notWritten = new ArrayList<>();
+        synchronized (taken) {
+            for (int i = 0; i < taken.length; i++) {
+                if(!taken[i]){
+                    notWritten.add(schemas.get(i));
+                }
+            }
+        }
+        return notWritten;
+    }
+
+    /**
+     * Cancels the reads still under way once the readers have been interrupted, and waits a bounded time for them
+     */
+    private void awaitReaders(ExecutorService readerPool, Runnable stopReads) {
+        if(readerPool.isTerminated()){
+            return;
+        }
+        boolean interrupted = Thread.interrupted();
+        try {
+            stopReads.run();
+            readersStopped = readerPool.awaitTermination(READER_STOP_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+            readersStopped = readerPool.isTerminated();
+        } finally {
+            if(interrupted){
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void readInto(BlockingQueue<Read<S, R>> queue, Read<S, R> schemaRead, Function<S, R> read,
+                          AtomicBoolean stopped, Consumer<RuntimeException> fail) {
+        if(stopped.get() || Thread.currentThread().isInterrupted()){
+            return;
+        }
+        long readStart = System.nanoTime();
+        try {
+            schemaRead.read = read.apply(schemaRead.schema);
+        } catch (RuntimeException e) {
+            fail.accept(e);
+            return;
+        } finally {
+            readNanos.addAndGet(System.nanoTime() - readStart);
+            schemasRead.incrementAndGet();
+        }
+        // a schema that could not be read is still handed over, so that no writer waits for it
+        long readEnd = System.nanoTime();
+        try {
+            queue.put(schemaRead);
+        } catch (InterruptedException e) {
+            // the pipeline has stopped, nobody takes the schema
+            Thread.currentThread().interrupt();
+        } finally {
+            readerWaitNanos.addAndGet(System.nanoTime() - readEnd);
+        }
+    }
+
+    private void writeFrom(BlockingQueue<Read<S, R>> queue, boolean[] taken, AtomicInteger claimed, AtomicBoolean stopped,
+                           int schemas, BiConsumer<S, R> write, Long deadline, Consumer<RuntimeException> fail) {
+        // each writer claims a schema before it waits, so the writers together take exactly as many as are read
+        while (!stopped.get() && claimed.getAndIncrement() < schemas) {
+            long waitStart = System.nanoTime();
+            Read<S, R> schemaRead;
+            try {
+                schemaRead = deadline == null ? queue.take() : queue.poll(deadline - waitStart, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                // the pipeline has stopped
+                return;
+            }
+            long writeStart = System.nanoTime();
+            writerWaitNanos.addAndGet(writeStart - waitStart);
+            if(schemaRead == null || stopped.get() || (deadline != null && writeStart - deadline >= 0)){
+                return;
+            }
+            synchronized (taken) {
+                taken[schemaRead.index] = true;
+            }
+            try {
+                write.accept(schemaRead.schema, schemaRead.read);
+            } catch (RuntimeException e) {
+                fail.accept(e);
+                return;
+            } finally {
+                writeNanos.addAndGet(System.nanoTime() - writeStart);
+                schemasWritten.incrementAndGet();
+            }
+        }
+    }
+
+    private static ExecutorService createPool(int threads, String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, name + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    int getReaders() {
+        return readers;
+    }
+
+    int getQueueDepth() {
+        return queueDepth;
+    }
+
+    int getWriters() {
+        return writers;
+    }
+
+    int getSchemasRead() {
+        return schemasRead.get();
+    }
+
+    int getSchemasWritten() {
+        return schemasWritten.get();
+    }
+
+    /**
+     * @return schemas read per second while every reader is busy
+     */
+    double getReadRate() {
+        return rate(schemasRead.get(), readNanos.get(), readers);
+    }
+
+    /**
+     * @return schemas written per second while every writer is busy
+     */
+    double getWriteRate() {
+        return rate(schemasWritten.get(), writeNanos.get(), writers);
+    }
+
+    long getReaderWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(readerWaitNanos.get());
+    }
+
+    long getWriterWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(writerWaitNanos.get());
+    }
+
+    long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * @return false if reads were still under way when the last run gave up waiting for them
+     */
+    boolean isReadersStopped() {
+        return readersStopped;
+    }
+
+    private static double rate(int schemas, long busyNanos, int threads) {
+        return busyNanos == 0 ? 0 : schemas * 1e9 * threads / busyNanos;
+    }
+
+    /**
+     * A schema and what was read for it, in the position it was given
+     */
+    private static class Read<S, R> {
+        private final int index;
+        private final S schema;
+        private R read;
+
+        private Read(int index, S schema) {
+            this.index = index;
+            this.schema = schema;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.jdbc.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class MergeJoinReconcilerTest {
+
+    private static final Function<String, String> NAME = Function.identity();
+
+    private static List<String> tables(int count) {
+        List<String> tables = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tables.add(String.format("db::schema::table%06d", i));
+        }
+        return tables;
+    }
+
+    private static List<String> unmatched(MergeJoinReconciler<String> reconciler) {
+        List<String> unmatched = new ArrayList<>();
+        reconciler.forEachUnmatched(unmatched::add);
+        return unmatched;
+    }
+
+    @Test
+    void matchesInAnyOrder() {
+        List<String> omas = List.of("c", "a", "e", "b", "d");
+        MergeJoinReconciler<String> reconciler = new MergeJoinReconciler<>(omas, NAME);
+
+        for (String name : List.of("d", "a", "x", "e", "b")) {
+            if(name.equals("x")){
+                assertNull(reconciler.match(name));
+            }else{
+                assertSame(omas.get(omas.indexOf(name)), reconciler.match(name));
+            }
+        }
+
+        assertEquals(List.of("c"), unmatched(reconciler));
+        assertEquals(List.of("c", "a", "e", "b", "d"), omas);
+    }
+
+    @Test
+    void elementHeldTwiceIsMatchedOnce() {
+        MergeJoinReconciler<String> reconciler = new MergeJoinReconciler<>(List.of("a", "b", "b"), NAME);
+
+        assertEquals("b", reconciler.match("b"));
+        assertEquals("a", reconciler.match("a"));
+
+        assertEquals(List.of("b"), unmatched(reconciler));
+    }
+
+    @Test
+    void nothingHeld() {
+        MergeJoinReconciler<String> reconciler = new MergeJoinReconciler<>(Collections.emptyList(), NAME);
+
+        assertNull(reconciler.match("a"));
+        assertEquals(Collections.emptyList(), unmatched(reconciler));
+    }
+
+    /*
+    The list based matching this replaced took about a minute for 100,000 names out of order, the merge join takes under
+    a second. The limit is generous so the test only fails if matching stops being close to linear.
+     */
+    @Test
+    void scalesToHundredThousandTables() {
+        List<String> omas = tables(100_000);
+        List<String> shuffled = new ArrayList<>(omas);
+        Collections.shuffle(shuffled, new Random(21));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // tables arrive sorted, every other one is still held by the omas
+            MergeJoinReconciler<String> sorted = new MergeJoinReconciler<>(shuffled, NAME);
+            for (int i = 0; i < omas.size(); i += 2) {
+                assertSame(omas.get(i), sorted.match(omas.get(i)));
+            }
+            assertEquals(omas.size() / 2, unmatched(sorted).size());
+
+            // columns arrive by ordinal position, out of name order
+            MergeJoinReconciler<String> unsorted = new MergeJoinReconciler<>(omas, NAME);
+            for (String name : shuffled) {
+                assertSame(name, unsorted.match(name));
+            }
+            assertEquals(0, unmatched(unsorted).size());
+        });
+    }
+}
@@ -0,0 +1,113 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.jdbc.transfer;
+
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.ExceptionMessageDefinition;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PagedElementReaderTest {
+
+    private static PagedElementReader reader(Object pageSize, boolean prefetch) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(PagedElementReader.PAGE_SIZE_PROPERTY, pageSize);
+        props.put(PagedElementReader.PREFETCH_PROPERTY, String.valueOf(prefetch));
+        return new PagedElementReader(props);
+    }
+
+    private static PagedElementReader.Page<Integer> numbers(int count, List<Integer> starts) {
+        return (startFrom, pageSize) -> {
+            starts.add(startFrom);
+            if(startFrom >= count){
+                return null;
+            }
+            List<Integer> page = new ArrayList<>();
+            int end = pageSize == 0 ? count : Math.min(count, startFrom + pageSize);
+            for (int i = startFrom; i < end; i++) {
+                page.add(i);
+            }
+            return page;
+        };
+    }
+
+    @Test
+    void readsEveryPage() throws Exception {
+        for (boolean prefetch : new boolean[]{false, true}) {
+            PagedElementReader reader = reader("3", prefetch);
+            List<Integer> starts = new CopyOnWriteArrayList<>();
+
+            assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), reader.readAll(numbers(10, starts)));
+            assertEquals(List.of(0, 3, 6, 9), starts);
+            reader.shutdown();
+        }
+    }
+
+    @Test
+    void fullLastPage() throws Exception {
+        PagedElementReader reader = reader("5", true);
+        List<Integer> starts = new CopyOnWriteArrayList<>();
+
+        assertEquals(10, reader.readAll(numbers(10, starts)).size());
+        assertEquals(List.of(0, 5, 10), starts);
+        reader.shutdown();
+    }
+
+    @Test
+    void unpaged() throws Exception {
+        PagedElementReader reader = reader("0", true);
+        List<Integer> starts = new CopyOnWriteArrayList<>();
+
+        assertEquals(10, reader.readAll(numbers(10, starts)).size());
+        assertEquals(List.of(0), starts);
+    }
+
+    @Test
+    void pageSizeProperty() {
+        assertEquals(7, reader(7, true).getPageSize());
+        assertEquals(7, reader(" 7 ", false).getPageSize());
+        assertEquals(500, reader("many", false).getPageSize());
+        assertEquals(0, reader("-1", false).getPageSize());
+        assertEquals(500, new PagedElementReader(null).getPageSize());
+    }
+
+    @Test
+    void closeStopsReading() throws Exception {
+        PagedElementReader reader = reader("2", true);
+        List<Integer> starts = new CopyOnWriteArrayList<>();
+
+        PagedElementReader.Elements<Integer> elements = reader.read(numbers(10, starts));
+        assertEquals(true, elements.hasNext());
+        assertEquals(0, elements.next());
+        elements.close();
+
+        // the page already read is finished, no further page is taken
+        assertEquals(true, elements.hasNext());
+        assertEquals(1, elements.next());
+        assertEquals(false, elements.hasNext());
+        reader.shutdown();
+    }
+
+    @Test
+    void prefetchFailureIsRethrown() {
+        PagedElementReader reader = reader("2", true);
+        PagedElementReader.Page<Integer> failing = (startFrom, pageSize) -> {
+            if(startFrom > 0){
+                throw new PropertyServerException(new ExceptionMessageDefinition(500, "TEST-500-001",
+                        "The page could not be read", "", ""), "test", "page");
+            }
+            return List.of(1, 2);
+        };
+
+        assertThrows(PropertyServerException.class, () -> reader.readAll(failing));
+        reader.shutdown();
+    }
+}
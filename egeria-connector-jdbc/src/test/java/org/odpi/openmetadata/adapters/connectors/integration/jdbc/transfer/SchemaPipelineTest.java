@@ -0,0 +1,202 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.jdbc.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaPipelineTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Runnable NO_CALLS = () -> {
+    };
+
+    private static List<Integer> schemas(int count) {
+        List<Integer> schemas = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            schemas.add(i);
+        }
+        return schemas;
+    }
+
+    private static Long inMillis(long millis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void writesEverySchemaInOrder() {
+        SchemaPipeline<Integer, String> pipeline = new SchemaPipeline<>(1, 2, 1);
+        List<Integer> written = new ArrayList<>();
+
+        List<Integer> notWritten = pipeline.run(schemas(100), schema -> "read " + schema, (schema, read) -> {
+            assertEquals("read " + schema, read);
+            written.add(schema);
+        }, null, NO_CALLS);
+
+        assertEquals(schemas(100), written);
+        assertEquals(Collections.emptyList(), notWritten);
+        assertEquals(100, pipeline.getSchemasRead());
+        assertEquals(100, pipeline.getSchemasWritten());
+    }
+
+    @Test
+    void writesEverySchemaOnce() {
+        SchemaPipeline<Integer, String> pipeline = new SchemaPipeline<>(4, 2, 3);
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+
+        List<Integer> notWritten = pipeline.run(schemas(100), schema -> "read " + schema, (schema, read) -> {
+            assertEquals("read " + schema, read);
+            written.add(schema);
+        }, null, NO_CALLS);
+
+        Collections.sort(written);
+        assertEquals(schemas(100), written);
+        assertEquals(Collections.emptyList(), notWritten);
+        assertEquals(100, pipeline.getSchemasRead());
+        assertEquals(100, pipeline.getSchemasWritten());
+    }
+
+    @Test
+    void unreadSchemaIsWrittenAsNull() {
+        SchemaPipeline<Integer, String> pipeline = new SchemaPipeline<>(2, 1, 2);
+        List<Integer> unread = Collections.synchronizedList(new ArrayList<>());
+
+        pipeline.run(schemas(10), schema -> schema % 3 == 0 ? null : "read", (schema, read) -> {
+            if(read == null){
+                unread.add(schema);
+            }
+        }, null, NO_CALLS);
+
+        Collections.sort(unread);
+        assertEquals(List.of(0, 3, 6, 9), unread);
+        assertEquals(10, pipeline.getSchemasWritten());
+    }
+
+    /**
+     * The read of schema 3 holds out against interrupts until its call is cancelled, so the pipeline only returns once
+     * it has cancelled the reads under way
+     */
+    @Test
+    void deadlineStopsThePipeline() {
+        SchemaPipeline<Integer, String> pipeline = new SchemaPipeline<>(1, 1, 1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        List<Integer> written = new ArrayList<>();
+
+        List<Integer> notWritten = assertTimeoutPreemptively(TIMEOUT, () -> pipeline.run(schemas(10), schema -> {
+            if(schema == 3){
+                while (cancelled.getCount() > 0) {
+                    sleep(10);
+                }
+            }
+            return "read";
+        }, (schema, read) -> written.add(schema), inMillis(300), cancelled::countDown));
+
+        assertEquals(0, cancelled.getCount());
+        assertTrue(pipeline.isReadersStopped());
+        assertEquals(List.of(0, 1, 2), written);
+        assertEquals(List.of(3, 4, 5, 6, 7, 8, 9), notWritten);
+    }
+
+    /**
+     * A schema taken by a writer before the deadline is written, the schemas after it are reported as not written
+     */
+    @Test
+    void takenSchemasAreWritten() {
+        SchemaPipeline<Integer, String> pipeline = new SchemaPipeline<>(1, 2, 1);
+        List<Integer> written = new ArrayList<>();
+
+        List<Integer> notWritten = assertTimeoutPreemptively(TIMEOUT, () -> pipeline.run(schemas(6),
+                schema -> "read", (schema, read) -> {
+                    if(schema == 1){
+                        sleep(500);
+                    }
+                    written.add(schema);
+                }, inMillis(200), NO_CALLS));
+
+        assertEquals(List.of(0, 1), written);
+        assertEquals(List.of(2, 3, 4, 5), notWritten);
+        assertEquals(2, pipeline.getSchemasWritten());
+        assertEquals(6, pipeline.getSchemasWritten() + notWritten.size());
+    }
+
+    @Test
+    void readFailureIsThrown() {
+        SchemaPipeline<Integer, String> pipeline = new SchemaPipeline<>(2, 2, 2);
+        IllegalStateException failure = new IllegalStateException("read failed");
+
+        IllegalStateException thrown = assertTimeoutPreemptively(TIMEOUT, () -> assertThrows(IllegalStateException.class,
+                () -> pipeline.run(schemas(20), schema -> {
+                    if(schema == 5){
+                        throw failure;
+                    }
+                    return "read";
+                }, (schema, read) -> {
+                }, null, NO_CALLS)));
+
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    void writeFailureIsThrown() {
+        SchemaPipeline<Integer, String> pipeline = new SchemaPipeline<>(2, 2, 2);
+        IllegalStateException failure = new IllegalStateException("write failed");
+
+        IllegalStateException thrown = assertTimeoutPreemptively(TIMEOUT, () -> assertThrows(IllegalStateException.class,
+                () -> pipeline.run(schemas(20), schema -> "read", (schema, read) -> {
+                    if(schema == 5){
+                        throw failure;
+                    }
+                }, null, NO_CALLS)));
+
+        assertSame(failure, thrown);
+    }
+
+    /**
+     * The read of schema 1 fails while schema 0 is being written, and the write of schema 0 fails after it
+     */
+    @Test
+    void firstFailureIsThrown() {
+        SchemaPipeline<Integer, String> pipeline = new SchemaPipeline<>(1, 1, 1);
+        IllegalStateException readFailure = new IllegalStateException("read failed");
+        AtomicBoolean readFailed = new AtomicBoolean();
+
+        IllegalStateException thrown = assertTimeoutPreemptively(TIMEOUT, () -> assertThrows(IllegalStateException.class,
+                () -> pipeline.run(schemas(5), schema -> {
+                    if(schema == 1){
+                        readFailed.set(true);
+                        throw readFailure;
+                    }
+                    return "read";
+                }, (schema, read) -> {
+                    while (!readFailed.get()) {
+                        sleep(10);
+                    }
+                    sleep(200);
+                    throw new IllegalStateException("write failed");
+                }, null, NO_CALLS)));
+
+        assertSame(readFailure, thrown);
+    }
+}
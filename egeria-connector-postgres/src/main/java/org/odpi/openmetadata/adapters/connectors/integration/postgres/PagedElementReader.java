@@ -0,0 +1,239 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+The PagedElementReader reads lists of elements from Egeria a page at a time rather than in one unbounded request. While
+the caller works through one page the next page is read on a background thread, so the caller rarely waits on Egeria.
+A page size of 0 restores the single unbounded request.
+ */
+class PagedElementReader
+{
+    static final String PAGE_SIZE_PROPERTY = "egeriaPageSize";
+    static final String PREFETCH_PROPERTY = "egeriaPrefetch";
+
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
+    /*
+    One of the paged getters of the DatabaseIntegratorContext
+     */
+    interface Page<T>
+    {
+        List<T> read(int startFrom, int pageSize) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException;
+    }
+
+    private final int pageSize;
+
+    /* null when prefetching is switched off */
+    private final ExecutorService prefetcher;
+
+    PagedElementReader(Map<String, Object> configurationProperties)
+    {
+        this.pageSize = Math.max(0, (int) PostgresConnectionPool.getLong(configurationProperties, PAGE_SIZE_PROPERTY, DEFAULT_PAGE_SIZE));
+
+        Object prefetch = configurationProperties.get(PREFETCH_PROPERTY);
+        if (pageSize > 0 && (prefetch == null || Boolean.parseBoolean(prefetch.toString())))
+        {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.prefetcher = Executors.newCachedThreadPool(runnable ->
+            {
+                Thread thread = new Thread(runnable, "PostgresConnector-prefetch-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        else
+        {
+            this.prefetcher = null;
+        }
+    }
+
+    /**
+     * Starts reading the elements returned by a paged getter
+     *
+     * @param page the getter
+     * @return the elements, read as they are needed
+     */
+    <T> Elements<T> read(Page<T> page)
+    {
+        return new Elements<>(page);
+    }
+
+    /**
+     * Reads every element returned by a paged getter
+     *
+     * @param page the getter
+     * @return the elements, never null
+     * @throws InvalidParameterException  one of the parameters passed to Egeria is invalid
+     * @throws PropertyServerException    there is a problem in the Egeria property server
+     * @throws UserNotAuthorizedException the user is not authorized to read from Egeria
+     */
+    <T> List<T> readAll(Page<T> page) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException
+    {
+        List<T> all = new ArrayList<>();
+        Elements<T> elements = read(page);
+        try
+        {
+            while (elements.hasNext())
+            {
+                all.add(elements.next());
+            }
+        }
+        finally
+        {
+            elements.close();
+        }
+        return all;
+    }
+
+    int getPageSize()
+    {
+        return pageSize;
+    }
+
+    /**
+     * Stops the prefetch threads, pages being read are abandoned
+     */
+    void shutdown()
+    {
+        if (prefetcher != null)
+        {
+            prefetcher.shutdownNow();
+        }
+    }
+
+    /*
+    The elements of one paged getter. The pages are read in order and a page shorter than the page size is the last one.
+     */
+    class Elements<T>
+    {
+        private final Page<T> page;
+
+        private List<T> current = Collections.emptyList();
+        private int position = 0;
+        private int nextStart = 0;
+        private boolean lastPage = false;
+        private Future<List<T>> nextPage = null;
+
+        private Elements(Page<T> page)
+        {
+            this.page = page;
+        }
+
+        /**
+         * @return true if there is another element, reading the next page from Egeria if needed
+         * @throws InvalidParameterException  one of the parameters passed to Egeria is invalid
+         * @throws PropertyServerException    there is a problem in the Egeria property server
+         * @throws UserNotAuthorizedException the user is not authorized to read from Egeria
+         */
+        boolean hasNext() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException
+        {
+            while (position == current.size() && !lastPage)
+            {
+                current = takeNextPage();
+                position = 0;
+            }
+            return position < current.size();
+        }
+
+        /**
+         * @return the next element, hasNext must have returned true
+         */
+        T next()
+        {
+            return current.get(position++);
+        }
+
+        /**
+         * Abandons any page being read in the background
+         */
+        void close()
+        {
+            if (nextPage != null)
+            {
+                nextPage.cancel(true);
+                nextPage = null;
+            }
+            lastPage = true;
+        }
+
+        private List<T> takeNextPage() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException
+        {
+            int start = nextStart;
+            List<T> elements = nextPage == null ? readPage(start) : waitForPage(start);
+            nextPage = null;
+
+            if (pageSize == 0 || elements.size() < pageSize)
+            {
+                lastPage = true;
+            }
+            else
+            {
+                nextStart = start + elements.size();
+                if (prefetcher != null)
+                {
+                    int prefetchStart = nextStart;
+                    nextPage = prefetcher.submit(() -> readPage(prefetchStart));
+                }
+            }
+            return elements;
+        }
+
+        private List<T> readPage(int start) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException
+        {
+            List<T> elements = page.read(start, pageSize);
+            return elements == null ? Collections.emptyList() : elements;
+        }
+
+        private List<T> waitForPage(int start) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException
+        {
+            try
+            {
+                return nextPage.get();
+            }
+            catch (InterruptedException error)
+            {
+                /* the page is read on this thread instead, leaving the interrupt for the caller to act on */
+                nextPage.cancel(true);
+                Thread.currentThread().interrupt();
+                return readPage(start);
+            }
+            catch (ExecutionException error)
+            {
+                Throwable cause = error.getCause();
+                if (cause instanceof InvalidParameterException)
+                {
+                    throw (InvalidParameterException) cause;
+                }
+                if (cause instanceof PropertyServerException)
+                {
+                    throw (PropertyServerException) cause;
+                }
+                if (cause instanceof UserNotAuthorizedException)
+                {
+                    throw (UserNotAuthorizedException) cause;
+                }
+                if (cause instanceof Error)
+                {
+                    throw (Error) cause;
+                }
+                throw (RuntimeException) cause;
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresColumn;
+import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresForeignKeyLinks;
+import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresSchema;
+import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+The PostgresCatalogSnapshot holds the structure of a single Postgres database, its schemas, tables, views, columns and keys,
+read in a handful of set based queries over pg_catalog. It is built by PostgresSourceDatabase and serves the lookups
+made during a refresh from memory rather than with a query per schema or per table.
+ */
+class PostgresCatalogSnapshot
+{
+    private final String databaseName;
+
+    private final List<PostgresSchema> schemas = new ArrayList<>();
+    private final Map<String, List<PostgresTable>> relationsBySchema = new HashMap<>();
+    private final Map<String, List<PostgresColumn>> columnsByTable = new HashMap<>();
+    private final Map<String, List<String>> primaryKeysByTable = new HashMap<>();
+    private final Map<String, List<String>> foreignKeysByTable = new HashMap<>();
+    private final Map<String, List<PostgresForeignKeyLinks>> foreignKeyLinksByTable = new HashMap<>();
+    private final Map<String, List<PostgresForeignKeyLinks>> foreignKeyLinksBySchema = new HashMap<>();
+
+    PostgresCatalogSnapshot(String databaseName)
+    {
+        this.databaseName = databaseName;
+    }
+
+    String getDatabaseName()
+    {
+        return databaseName;
+    }
+
+    void addSchema(PostgresSchema schema)
+    {
+        schemas.add(schema);
+    }
+
+    void addRelation(PostgresTable table)
+    {
+        relationsBySchema.computeIfAbsent(table.getTable_schema(), k -> new ArrayList<>()).add(table);
+    }
+
+    void addColumn(PostgresColumn column)
+    {
+        columnsByTable.computeIfAbsent(key(column.getTable_schema(), column.getTable_name()), k -> new ArrayList<>()).add(column);
+    }
+
+    void addPrimaryKeyColumn(String schemaName, String tableName, String columnName)
+    {
+        primaryKeysByTable.computeIfAbsent(key(schemaName, tableName), k -> new ArrayList<>()).add(columnName);
+    }
+
+    void addForeignKeyLink(PostgresForeignKeyLinks link, String schemaName, String tableName, String columnName)
+    {
+        String tableKey = key(schemaName, tableName);
+        foreignKeyLinksByTable.computeIfAbsent(tableKey, k -> new ArrayList<>()).add(link);
+        foreignKeysByTable.computeIfAbsent(tableKey, k -> new ArrayList<>()).add(columnName);
+        foreignKeyLinksBySchema.computeIfAbsent(schemaName, k -> new ArrayList<>()).add(link);
+    }
+
+    List<PostgresSchema> getSchemas()
+    {
+        return schemas;
+    }
+
+    /**
+     * Lists the tables or views of a schema
+     * @param schemaName the name of the schema
+     * @param type the information_schema table type, "BASE TABLE" or "VIEW"
+     * @return the matching relations, empty if there are none
+     */
+    List<PostgresTable> getRelations(String schemaName, String type)
+    {
+        List<PostgresTable> result = new ArrayList<>();
+        for (PostgresTable table : relationsBySchema.getOrDefault(schemaName, Collections.emptyList()))
+        {
+            if (type.equals(table.getTable_type()))
+            {
+                result.add(table);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Mirrors the per-table isSchemaInUse check, a schema is in use if it holds any relation
+     * @param schemaName the name of the schema
+     * @return true if the schema holds a table, view or foreign table
+     */
+    boolean isSchemaInUse(String schemaName)
+    {
+        return !relationsBySchema.getOrDefault(schemaName, Collections.emptyList()).isEmpty();
+    }
+
+    List<PostgresColumn> getColumns(String schemaName, String tableName)
+    {
+        return new ArrayList<>(columnsByTable.getOrDefault(key(schemaName, tableName), Collections.emptyList()));
+    }
+
+    List<String> getPrimaryKeyColumnNames(String schemaName, String tableName)
+    {
+        return new ArrayList<>(primaryKeysByTable.getOrDefault(key(schemaName, tableName), Collections.emptyList()));
+    }
+
+    List<String> getForeignKeyColumnNames(String schemaName, String tableName)
+    {
+        return new ArrayList<>(foreignKeysByTable.getOrDefault(key(schemaName, tableName), Collections.emptyList()));
+    }
+
+    List<PostgresForeignKeyLinks> getForeignKeyLinks(String schemaName, String tableName)
+    {
+        return new ArrayList<>(foreignKeyLinksByTable.getOrDefault(key(schemaName, tableName), Collections.emptyList()));
+    }
+
+    List<PostgresForeignKeyLinks> getForeignKeyLinks(String schemaName)
+    {
+        return new ArrayList<>(foreignKeyLinksBySchema.getOrDefault(schemaName, Collections.emptyList()));
+    }
+
+    private static String key(String schemaName, String tableName)
+    {
+        return schemaName + "::" + tableName;
+    }
+}
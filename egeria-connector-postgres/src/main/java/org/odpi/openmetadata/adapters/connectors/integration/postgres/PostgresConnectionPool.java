@@ -0,0 +1,510 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.postgresql.PGStatement;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+The PostgresConnectionPool holds a bounded set of long-lived connections to the Postgres server.
+It is owned by the connector for its lifetime, opened in start() and drained in disconnect(),
+and is shared by all the catalog queries issued by PostgresSourceDatabase.
+ */
+public class PostgresConnectionPool
+{
+    static final String MAX_SIZE_PROPERTY = "poolMaxSize";
+    static final String MAX_LIFETIME_PROPERTY = "poolMaxLifetimeMs";
+    static final String IDLE_TIMEOUT_PROPERTY = "poolIdleTimeoutMs";
+    static final String ACQUIRE_TIMEOUT_PROPERTY = "poolAcquireTimeoutMs";
+    static final String VALIDATION_TIMEOUT_PROPERTY = "poolValidationTimeoutSec";
+    static final String QUERY_TIMEOUT_PROPERTY = "queryTimeoutSec";
+
+    private static final int DEFAULT_MAX_SIZE = 4;
+    private static final long DEFAULT_MAX_LIFETIME_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final int DEFAULT_VALIDATION_TIMEOUT_SEC = 5;
+    private static final int DEFAULT_QUERY_TIMEOUT_SEC = 120;
+
+    /* the SQL state Postgres reports for a statement cancelled by a timeout or by Statement.cancel */
+    private static final String QUERY_CANCELED_STATE = "57014";
+
+    /* connections returned to the pool within this window are handed out again without a validation round trip */
+    private static final long VALIDATION_BYPASS_MS = 500;
+
+    /* prepared statements kept open on each physical connection, least recently used are closed first */
+    private static final int STATEMENT_CACHE_SIZE = 32;
+
+    private final String url;
+    private final Properties postgresProps = new Properties();
+
+    private final int maxSize;
+    private final long maxLifetimeMs;
+    private final long idleTimeoutMs;
+    private final long acquireTimeoutMs;
+    private final int validationTimeoutSec;
+    private final int queryTimeoutSec;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Set<PooledConnection> leased = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private volatile boolean closed = false;
+
+    public PostgresConnectionPool(ConnectionProperties egeriaProps)
+    {
+        //TODO Can the configuration properties be <String,String> to avoid the conversion
+        Map<String, Object> objProps = egeriaProps.getConfigurationProperties();
+
+        for (Map.Entry<String, Object> obj : objProps.entrySet())
+        {
+            if (obj.getValue() instanceof String)
+            {
+                postgresProps.put(obj.getKey(), String.valueOf(obj.getValue()));
+            }
+        }
+        postgresProps.setProperty("user", egeriaProps.getUserId());
+        postgresProps.setProperty("password", egeriaProps.getClearPassword());
+
+        this.url = postgresProps.getProperty("url");
+        this.maxSize = Math.max(1, (int) getLong(objProps, MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+        this.maxLifetimeMs = getLong(objProps, MAX_LIFETIME_PROPERTY, DEFAULT_MAX_LIFETIME_MS);
+        this.idleTimeoutMs = getLong(objProps, IDLE_TIMEOUT_PROPERTY, DEFAULT_IDLE_TIMEOUT_MS);
+        this.acquireTimeoutMs = getLong(objProps, ACQUIRE_TIMEOUT_PROPERTY, DEFAULT_ACQUIRE_TIMEOUT_MS);
+        this.validationTimeoutSec = (int) getLong(objProps, VALIDATION_TIMEOUT_PROPERTY, DEFAULT_VALIDATION_TIMEOUT_SEC);
+        this.queryTimeoutSec = Math.max(0, (int) getLong(objProps, QUERY_TIMEOUT_PROPERTY, DEFAULT_QUERY_TIMEOUT_SEC));
+
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Leases a connection from the pool, opening a new one if no valid idle connection is available.
+     * The lease must be closed to hand the connection back to the pool.
+     *
+     * @return a leased connection
+     * @throws SQLException the pool is closed, no connection became free in time or the JDBC driver failed to connect
+     */
+    public PooledConnection getConnection() throws SQLException
+    {
+        if (closed)
+        {
+            throw new SQLException("The Postgres connection pool has been closed");
+        }
+
+        long waitStart = System.nanoTime();
+        try
+        {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS))
+            {
+                throw new SQLTimeoutException("Timed out after " + acquireTimeoutMs + " ms waiting for a Postgres connection");
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a Postgres connection", error);
+        }
+        recordWait(System.nanoTime() - waitStart);
+
+        try
+        {
+            PooledConnection pooled;
+            while ((pooled = pollIdle()) != null)
+            {
+                if (isUsable(pooled))
+                {
+                    pooled.leased = true;
+                    active.incrementAndGet();
+                    leased.add(pooled);
+                    return pooled;
+                }
+                pooled.closePhysical();
+            }
+
+            pooled = new PooledConnection(DriverManager.getConnection(url, postgresProps));
+            active.incrementAndGet();
+            leased.add(pooled);
+            return pooled;
+        }
+        catch (SQLException | RuntimeException error)
+        {
+            permits.release();
+            throw error;
+        }
+    }
+
+    /**
+     * Closes any idle connection that has passed its idle timeout or maximum lifetime.
+     */
+    public void evictIdle()
+    {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> evicted = new ArrayList<>();
+
+        synchronized (idle)
+        {
+            for (Iterator<PooledConnection> itr = idle.iterator(); itr.hasNext(); )
+            {
+                PooledConnection pooled = itr.next();
+                if (isExpired(pooled, now))
+                {
+                    itr.remove();
+                    evicted.add(pooled);
+                }
+            }
+        }
+        evicted.forEach(PooledConnection::closePhysical);
+    }
+
+    /**
+     * Drains the pool. Idle connections are closed straight away, leased connections are closed as they are returned.
+     */
+    public void close()
+    {
+        closed = true;
+
+        List<PooledConnection> drained;
+        synchronized (idle)
+        {
+            drained = new ArrayList<>(idle);
+            idle.clear();
+        }
+        drained.forEach(PooledConnection::closePhysical);
+    }
+
+    /**
+     * Cancels the statement each leased connection is running, if any, with Statement.cancel.
+     * The cancelled statements fail with a query_canceled error and their connections remain usable.
+     */
+    public void cancelRunningQueries()
+    {
+        for (PooledConnection pooled : leased)
+        {
+            pooled.cancel();
+        }
+    }
+
+    /**
+     * Returns true if the error, or one of its causes, reports a statement that did not complete in time: a query timeout,
+     * a query cancelled by cancelRunningQueries or a wait for a connection that timed out.
+     *
+     * @param error the error raised while reading from Postgres
+     * @return true if the error is a timeout
+     */
+    public static boolean isTimeout(Throwable error)
+    {
+        for (Throwable cause = error; cause != null; cause = cause.getCause())
+        {
+            if (cause instanceof SQLTimeoutException
+                    || (cause instanceof SQLException && QUERY_CANCELED_STATE.equals(((SQLException) cause).getSQLState())))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getQueryTimeoutSeconds()
+    {
+        return queryTimeoutSec;
+    }
+
+    public int getActiveCount()
+    {
+        return active.get();
+    }
+
+    public int getIdleCount()
+    {
+        synchronized (idle)
+        {
+            return idle.size();
+        }
+    }
+
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+    public long getAcquisitions()
+    {
+        return acquisitions.get();
+    }
+
+    public long getTotalWaitMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+    }
+
+    public long getMaxWaitMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    /**
+     * Restarts the wait time statistics, typically at the beginning of a refresh
+     */
+    public void resetStatistics()
+    {
+        acquisitions.set(0);
+        totalWaitNanos.set(0);
+        maxWaitNanos.set(0);
+    }
+
+    private void recordWait(long waitNanos)
+    {
+        acquisitions.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private PooledConnection pollIdle()
+    {
+        synchronized (idle)
+        {
+            return idle.pollFirst();
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now)
+    {
+        return (now - pooled.createdAt > maxLifetimeMs) || (now - pooled.lastReturnedAt > idleTimeoutMs);
+    }
+
+    private boolean isUsable(PooledConnection pooled)
+    {
+        long now = System.currentTimeMillis();
+        if (isExpired(pooled, now))
+        {
+            return false;
+        }
+        if (now - pooled.lastReturnedAt < VALIDATION_BYPASS_MS)
+        {
+            return true;
+        }
+        try
+        {
+            return pooled.connection.isValid(validationTimeoutSec);
+        }
+        catch (SQLException error)
+        {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pooled)
+    {
+        leased.remove(pooled);
+        active.decrementAndGet();
+
+        boolean reusable;
+        try
+        {
+            reusable = !closed && !pooled.broken && !pooled.connection.isClosed()
+                    && System.currentTimeMillis() - pooled.createdAt <= maxLifetimeMs;
+        }
+        catch (SQLException error)
+        {
+            reusable = false;
+        }
+
+        if (reusable)
+        {
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            synchronized (idle)
+            {
+                idle.offerFirst(pooled);
+            }
+        }
+        else
+        {
+            pooled.closePhysical();
+        }
+        permits.release();
+    }
+
+    static long getLong(Map<String, Object> configurationProperties, String name, long defaultValue)
+    {
+        Object value = configurationProperties.get(name);
+        if (value instanceof Number)
+        {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String)
+        {
+            try
+            {
+                return Long.parseLong(((String) value).trim());
+            }
+            catch (NumberFormatException error)
+            {
+                // fall through to the default
+            }
+        }
+        return defaultValue;
+    }
+
+    /*
+    A connection leased from the pool. Closing the lease returns the connection to the pool.
+    Prepared statements are cached on the physical connection and outlive the lease, so callers
+    close the result sets they open but never the statements handed out by prepareStatement.
+    Every statement carries the query timeout of the pool, a statement that runs longer is cancelled by the driver.
+     */
+    public class PooledConnection implements AutoCloseable
+    {
+        private final Connection connection;
+        private final long createdAt;
+        private long lastReturnedAt;
+        private boolean broken = false;
+        private boolean leased = true;
+
+        /* the statement most recently handed out, the one cancel() interrupts */
+        private volatile PreparedStatement current = null;
+
+        private final Map<String, PreparedStatement> statementCache = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest)
+            {
+                if (size() > STATEMENT_CACHE_SIZE)
+                {
+                    closeStatement(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        private PooledConnection(Connection connection)
+        {
+            this.connection = connection;
+            this.createdAt = System.currentTimeMillis();
+            this.lastReturnedAt = createdAt;
+        }
+
+        public Connection getConnection()
+        {
+            return connection;
+        }
+
+        /**
+         * Returns a prepared statement for the SQL, reusing the one already prepared on this connection if there is one.
+         *
+         * @param sql the statement text with ? placeholders for the bind parameters
+         * @param serverPrepared true for statements issued many times per refresh, these are prepared on the server
+         *                       from their first execution rather than after the driver's default threshold
+         * @return the prepared statement with its parameters cleared
+         * @throws SQLException thrown by the JDBC Driver
+         */
+        public PreparedStatement prepareStatement(String sql, boolean serverPrepared) throws SQLException
+        {
+            PreparedStatement statement = statementCache.get(sql);
+            if (statement != null && !statement.isClosed())
+            {
+                statement.clearParameters();
+                current = statement;
+                return statement;
+            }
+
+            statement = connection.prepareStatement(sql);
+            statement.setQueryTimeout(queryTimeoutSec);
+            if (serverPrepared && statement.isWrapperFor(PGStatement.class))
+            {
+                statement.unwrap(PGStatement.class).setPrepareThreshold(1);
+            }
+            statementCache.put(sql, statement);
+            current = statement;
+            return statement;
+        }
+
+        /**
+         * Marks the underlying connection as unusable, it is closed rather than pooled when the lease ends
+         */
+        public void invalidate()
+        {
+            broken = true;
+        }
+
+        /**
+         * Cancels the statement running on this connection, called from a thread other than the one that leased it
+         */
+        private void cancel()
+        {
+            PreparedStatement statement = current;
+            if (statement != null)
+            {
+                try
+                {
+                    statement.cancel();
+                }
+                catch (SQLException error)
+                {
+                    // the statement may have completed or been closed in the meantime
+                }
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            if (leased)
+            {
+                leased = false;
+                release(this);
+            }
+        }
+
+        private void closePhysical()
+        {
+            statementCache.values().forEach(this::closeStatement);
+            statementCache.clear();
+            try
+            {
+                connection.close();
+            }
+            catch (SQLException error)
+            {
+                // the connection is being discarded
+            }
+        }
+
+        private void closeStatement(PreparedStatement statement)
+        {
+            try
+            {
+                statement.close();
+            }
+            catch (SQLException error)
+            {
+                // the statement is being discarded
+            }
+        }
+    }
+}
@@ -19,28 +19,168 @@ import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties
 import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresForeignKeyLinks;
 import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresSchema;
 import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresTable;
+import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PropertyDigest;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.integrationservices.database.connector.DatabaseIntegratorConnector;
+import org.odpi.openmetadata.integrationservices.database.connector.DatabaseIntegratorContext;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 {
-    final int startFrom = 0;
-    final int pageSize = 0;
+    /* connections to the Postgres server are pooled for the lifetime of the connector */
+    private PostgresConnectionPool connectionPool = null;
+    private PostgresSourceDatabase source = null;
+
+    /* lists of elements are read from Egeria a page at a time */
+    private PagedElementReader egeriaReader = null;
+
+    /* schemas, and optionally tables, are synchronised concurrently by these workers */
+    private SynchronisationWorkers workers = null;
+
+    /* what was last synchronised to Egeria, null unless the syncStateFile configuration property is set */
+    private SyncStateStore stateStore = null;
+
+    /* true when the current refresh diffs against the state store rather than reading Egeria */
+    private volatile boolean localDiff = false;
+
+    /* number of primary key classifications set or removed during the current refresh */
+    private final AtomicLong primaryKeyWrites = new AtomicLong();
+
+    /* GUIDs of the Egeria columns created or read during the current refresh, keyed by the qualified name of the column */
+    private final Map<String, String> columnGUIDs = new ConcurrentHashMap<>();
+
+    /* schemas created or updated during the current refresh, their foreign keys are linked once all the columns are known */
+    private final Queue<PostgresSchema> foreignKeySchemas = new ConcurrentLinkedQueue<>();
+
+    /* foreign key relationships already added to Egeria by this connector, as importedGUID::exportedGUID */
+    private final Set<String> foreignKeyLinks = ConcurrentHashMap.newKeySet();
+
+    /* bounds the time each refresh may take, null until the connector is started */
+    private RefreshDeadline refreshDeadline = null;
+
+    /* qualified names of the schemas the current refresh has not finished synchronising */
+    private final Set<String> unfinishedSchemas = ConcurrentHashMap.newKeySet();
+
+    /* qualified names of the schemas the last refresh skipped, they are synchronised before the others */
+    private final Set<String> retrySchemas = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Indicates that the connector is completely configured and can begin processing.
+     * Opens the pool of connections to the Postgres server used by each refresh.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public synchronized void start() throws ConnectorCheckedException
+    {
+        super.start();
+
+        connectionPool = new PostgresConnectionPool(connectionProperties);
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        if (configurationProperties == null)
+        {
+            configurationProperties = Collections.emptyMap();
+        }
+
+        Object extractionMode = configurationProperties.get(PostgresSourceDatabase.CATALOG_EXTRACTION_MODE_PROPERTY);
+        source = new PostgresSourceDatabase(connectionPool, !PostgresSourceDatabase.PER_TABLE_EXTRACTION.equals(extractionMode));
+        workers = new SynchronisationWorkers(configurationProperties);
+        refreshDeadline = new RefreshDeadline(configurationProperties);
+        egeriaReader = new PagedElementReader(configurationProperties);
+
+        Object stateFile = configurationProperties.get(SyncStateStore.SYNC_STATE_FILE_PROPERTY);
+        if (stateFile != null)
+        {
+            stateStore = new SyncStateStore(Paths.get(stateFile.toString()));
+        }
+    }
+
+    /**
+     * Free up any resources held since the connector is no longer needed.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public synchronized void disconnect() throws ConnectorCheckedException
+    {
+        if (workers != null)
+        {
+            workers.shutdown();
+        }
+        if (refreshDeadline != null)
+        {
+            refreshDeadline.shutdown();
+        }
+        if (egeriaReader != null)
+        {
+            egeriaReader.shutdown();
+        }
+        if (stateStore != null)
+        {
+            stateStore.close();
+        }
+        if (connectionPool != null)
+        {
+            connectionPool.close();
+        }
+
+        super.disconnect();
+    }
 
     @Override
     public void refresh() throws ConnectorCheckedException
     {
         String methodName = "PostgresConnector.refresh";
 
-        PostgresSourceDatabase source = new PostgresSourceDatabase(connectionProperties);
+        long refreshStart = System.nanoTime();
+        connectionPool.resetStatistics();
+        workers.resetStatistics();
+        primaryKeyWrites.set(0);
+        columnGUIDs.clear();
+        foreignKeySchemas.clear();
+        unfinishedSchemas.clear();
+        source.clearSnapshot();
+
+        /*
+        once the deadline passes no new schema or table is started and the catalog queries still running are cancelled,
+        the schemas left unfinished are synchronised first on the next refresh
+         */
+        refreshDeadline.start(() ->
+                              {
+                                  workers.stop();
+                                  connectionPool.cancelRunningQueries();
+                              });
+        /* resumed once start has returned, no expiry action of the previous refresh can stop the workers after this */
+        workers.resume();
+
+        boolean completed = false;
+        localDiff = stateStore != null && stateStore.beginRefresh();
+        if (stateStore != null && !localDiff && this.auditLog != null)
+        {
+            auditLog.logMessage(methodName,
+                    PostgresConnectorAuditCode.SYNC_STATE_RESCAN.getMessageDefinition(methodName,
+                            connectionProperties.getConfigurationProperties().get(SyncStateStore.SYNC_STATE_FILE_PROPERTY).toString(),
+                            stateStore.getUnusableReason()));
+        }
         try
         {
             /*
@@ -48,58 +188,66 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
             and a list of databases already known by Egeria
              */
             List<PostgresDatabase> postgresDatabases = source.getDabases();
-            List<DatabaseElement> egeriaDatabases = getContext().getMyDatabases(startFrom, pageSize);
+            List<SyncStateStore.Entry> knownDatabases = getKnownDatabases();
+
+            QualifiedNameReconciler.Result<PostgresDatabase, SyncStateStore.Entry> databases =
+                    QualifiedNameReconciler.reconcile(postgresDatabases,
+                                                      PostgresDatabase::getQualifiedName,
+                                                      knownDatabases,
+                                                      SyncStateStore.Entry::getQualifiedName,
+                                                      (postgresDatabase, known) -> known.getDigest() == postgresDatabase.getPropertyDigest());
 
             /*
             first we remove any Egeria databases that are no longer present in Postgres
              */
-            egeriaDatabases = deleteDatabases( postgresDatabases, egeriaDatabases );
+            deleteDatabases(databases.getRemoved());
+
+            /*
+            then update the databases known to Egeria and add the new ones
+             */
+            for (QualifiedNameReconciler.Match<PostgresDatabase, SyncStateStore.Entry> match : databases.getMatched())
+            {
+                updateDatabase(match.getSource(), match.getElement(), match.isChanged());
+            }
 
-            for (PostgresDatabase postgresDatabase : postgresDatabases)
+            for (PostgresDatabase postgresDatabase : databases.getAdded())
             {
-                boolean found = false;
-                if (egeriaDatabases == null  )
+                addDatabase(postgresDatabase);
+            }
+
+            /*
+            finally link the foreign keys, a key may refer to a column in a schema processed after its own
+             */
+            for (PostgresSchema postgresSchema : foreignKeySchemas)
+            {
+                schemaTask(postgresSchema, () -> addForeignKeys(postgresSchema)).run();
+            }
+
+            if (stateStore != null && !unfinishedSchemas.isEmpty())
+            {
+                /*
+                the tables and columns of an unfinished schema are missing from the state, a local diff against it would
+                see them as added and create them in Egeria again, so the next refresh rescans Egeria instead
+                 */
+                stateStore.abandonRefresh();
+            }
+            else if (stateStore != null)
+            {
+                try
                 {
-                    if( postgresDatabases.size() > 0 )
-                    {
-                        /*
-                    we have no databases in Egeria
-                    so all databases are new
-                     */
-                        addDatabase(postgresDatabase);
-                    }
+                    stateStore.completeRefresh();
                 }
-                else
+                catch (IOException error)
                 {
-                    /*
-                    check if the database is known to Egeria
-                    and needs to be updated
-                     */
-                    for (DatabaseElement egeriaDatabase : egeriaDatabases)
+                    if (this.auditLog != null)
                     {
-
-                        String egeriaQN =  egeriaDatabase.getDatabaseProperties().getQualifiedName();
-                        String postgresQN = postgresDatabase.getQualifiedName();
-
-                        if (egeriaQN.equals(postgresQN))
-                        {
-                        /*
-                        we have found an exact instance to update
-                         */
-                            found = true;
-                            updateDatabase(postgresDatabase, egeriaDatabase);
-                            break;
-                        }
-                    }
-                    /*
-                    this is a new database so add it
-                     */
-                    if (!found)
-                    {
-                        addDatabase(postgresDatabase);
+                        auditLog.logException(methodName,
+                                PostgresConnectorAuditCode.SYNC_STATE_WRITE_FAILED.getMessageDefinition(methodName, error.getClass().getName(), error.getMessage()),
+                                error);
                     }
                 }
             }
+            completed = true;
         }
         catch (SQLException error)
         {
@@ -179,36 +327,323 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
                     methodName, error);
 
         }
+        finally
+        {
+            refreshDeadline.finish();
+            if (stateStore != null && !completed)
+            {
+                stateStore.abandonRefresh();
+            }
+            localDiff = false;
+            columnGUIDs.clear();
+            foreignKeySchemas.clear();
+            retrySchemas.clear();
+            retrySchemas.addAll(unfinishedSchemas);
+            unfinishedSchemas.clear();
+            boolean snapshotTimedOut = source.isSnapshotTimedOut();
+            source.clearSnapshot();
+            connectionPool.evictIdle();
+
+            if (this.auditLog != null)
+            {
+                if (snapshotTimedOut)
+                {
+                    auditLog.logMessage(methodName,
+                            PostgresConnectorAuditCode.CATALOG_SNAPSHOT_TIMED_OUT.getMessageDefinition(methodName,
+                                    String.valueOf(connectionPool.getQueryTimeoutSeconds())));
+                }
+                if (refreshDeadline.isExpired())
+                {
+                    auditLog.logMessage(methodName,
+                            PostgresConnectorAuditCode.REFRESH_DEADLINE_PASSED.getMessageDefinition(methodName,
+                                    String.valueOf(refreshDeadline.getDeadlineMillis())));
+                }
+                if (!retrySchemas.isEmpty())
+                {
+                    auditLog.logMessage(methodName,
+                            PostgresConnectorAuditCode.SCHEMAS_DEFERRED.getMessageDefinition(methodName,
+                                    String.valueOf(retrySchemas.size()),
+                                    String.join(", ", new TreeSet<>(retrySchemas))));
+                }
+                auditLog.logMessage(methodName,
+                        PostgresConnectorAuditCode.CONNECTION_POOL_STATISTICS.getMessageDefinition(methodName,
+                                String.valueOf(connectionPool.getActiveCount()),
+                                String.valueOf(connectionPool.getIdleCount()),
+                                String.valueOf(connectionPool.getMaxSize()),
+                                String.valueOf(connectionPool.getAcquisitions()),
+                                String.valueOf(connectionPool.getTotalWaitMillis()),
+                                String.valueOf(connectionPool.getMaxWaitMillis())));
+                auditLog.logMessage(methodName,
+                        PostgresConnectorAuditCode.PRIMARY_KEY_STATISTICS.getMessageDefinition(methodName,
+                                String.valueOf(primaryKeyWrites.get())));
+                auditLog.logMessage(methodName,
+                        PostgresConnectorAuditCode.SYNCHRONISATION_TIMING.getMessageDefinition(methodName,
+                                String.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - refreshStart)),
+                                String.valueOf(workers.getTaskCount()),
+                                String.valueOf(workers.getTaskMillis()),
+                                String.valueOf(workers.getWorkerCount())));
+            }
+        }
+
+    }
+
+
+    /**
+     * Lists the databases already known to Egeria, from the sync state when the refresh can diff against it
+     *
+     * @return the known databases
+     * @throws InvalidParameterException  one of the parameters passed to Egeria is invalid
+     * @throws PropertyServerException    there is a problem in the Egeria property server
+     * @throws UserNotAuthorizedException the user is not authorized to read from Egeria
+     * @throws ConnectorCheckedException  the connector is not able to reach Egeria
+     */
+    private List<SyncStateStore.Entry> getKnownDatabases() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException, ConnectorCheckedException
+    {
+        if (localDiff)
+        {
+            return stateStore.getChildren(SyncStateStore.Kind.DATABASE, null);
+        }
 
+        List<SyncStateStore.Entry> known = new ArrayList<>();
+        PagedElementReader.Elements<DatabaseElement> egeriaDatabases = egeriaReader.read(getContext()::getMyDatabases);
+        try
+        {
+            while (egeriaDatabases.hasNext())
+            {
+                DatabaseElement egeriaDatabase = egeriaDatabases.next();
+                known.add(recordState(SyncStateStore.Kind.DATABASE,
+                                      egeriaDatabase.getDatabaseProperties().getQualifiedName(),
+                                      egeriaDatabase.getElementHeader().getGUID(),
+                                      null,
+                                      PropertyDigest.fromAdditionalProperties(egeriaDatabase.getDatabaseProperties().getAdditionalProperties()),
+                                      false));
+            }
+        }
+        finally
+        {
+            egeriaDatabases.close();
+        }
+        return known;
     }
 
+    /**
+     * Lists the schemas of a database already known to Egeria
+     *
+     * @param databaseGUID the GUID of the Egeria database
+     * @return the known schemas
+     * @throws InvalidParameterException  one of the parameters passed to Egeria is invalid
+     * @throws PropertyServerException    there is a problem in the Egeria property server
+     * @throws UserNotAuthorizedException the user is not authorized to read from Egeria
+     * @throws ConnectorCheckedException  the connector is not able to reach Egeria
+     */
+    private List<SyncStateStore.Entry> getKnownSchemas(String databaseGUID) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException, ConnectorCheckedException
+    {
+        if (localDiff)
+        {
+            return stateStore.getChildren(SyncStateStore.Kind.SCHEMA, databaseGUID);
+        }
+
+        List<SyncStateStore.Entry> known = new ArrayList<>();
+        DatabaseIntegratorContext context = getContext();
+        PagedElementReader.Elements<DatabaseSchemaElement> egeriaSchemas = egeriaReader.read((startFrom, pageSize) -> context.getSchemasForDatabase(databaseGUID, startFrom, pageSize));
+        try
+        {
+            while (egeriaSchemas.hasNext())
+            {
+                DatabaseSchemaElement egeriaSchema = egeriaSchemas.next();
+                known.add(recordState(SyncStateStore.Kind.SCHEMA,
+                                      egeriaSchema.getDatabaseSchemaProperties().getQualifiedName(),
+                                      egeriaSchema.getElementHeader().getGUID(),
+                                      databaseGUID,
+                                      PropertyDigest.fromAdditionalProperties(egeriaSchema.getDatabaseSchemaProperties().getAdditionalProperties()),
+                                      false));
+            }
+        }
+        finally
+        {
+            egeriaSchemas.close();
+        }
+        return known;
+    }
+
+    /**
+     * Lists the tables of a schema already known to Egeria
+     *
+     * @param schemaGUID the GUID of the Egeria schema
+     * @return the known tables
+     * @throws InvalidParameterException  one of the parameters passed to Egeria is invalid
+     * @throws PropertyServerException    there is a problem in the Egeria property server
+     * @throws UserNotAuthorizedException the user is not authorized to read from Egeria
+     * @throws ConnectorCheckedException  the connector is not able to reach Egeria
+     */
+    private List<SyncStateStore.Entry> getKnownTables(String schemaGUID) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException, ConnectorCheckedException
+    {
+        if (localDiff)
+        {
+            return stateStore.getChildren(SyncStateStore.Kind.TABLE, schemaGUID);
+        }
+
+        List<SyncStateStore.Entry> known = new ArrayList<>();
+        DatabaseIntegratorContext context = getContext();
+        PagedElementReader.Elements<DatabaseTableElement> egeriaTables = egeriaReader.read((startFrom, pageSize) -> context.getTablesForDatabaseSchema(schemaGUID, startFrom, pageSize));
+        try
+        {
+            while (egeriaTables.hasNext())
+            {
+                DatabaseTableElement egeriaTable = egeriaTables.next();
+                known.add(recordState(SyncStateStore.Kind.TABLE,
+                                      egeriaTable.getDatabaseTableProperties().getQualifiedName(),
+                                      egeriaTable.getElementHeader().getGUID(),
+                                      schemaGUID,
+                                      PropertyDigest.fromAdditionalProperties(egeriaTable.getDatabaseTableProperties().getAdditionalProperties()),
+                                      false));
+            }
+        }
+        finally
+        {
+            egeriaTables.close();
+        }
+        return known;
+    }
+
+    /**
+     * Lists the views of a schema already known to Egeria
+     *
+     * @param schemaGUID the GUID of the Egeria schema
+     * @return the known views
+     * @throws InvalidParameterException  one of the parameters passed to Egeria is invalid
+     * @throws PropertyServerException    there is a problem in the Egeria property server
+     * @throws UserNotAuthorizedException the user is not authorized to read from Egeria
+     * @throws ConnectorCheckedException  the connector is not able to reach Egeria
+     */
+    private List<SyncStateStore.Entry> getKnownViews(String schemaGUID) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException, ConnectorCheckedException
+    {
+        if (localDiff)
+        {
+            return stateStore.getChildren(SyncStateStore.Kind.VIEW, schemaGUID);
+        }
+
+        List<SyncStateStore.Entry> known = new ArrayList<>();
+        DatabaseIntegratorContext context = getContext();
+        PagedElementReader.Elements<DatabaseViewElement> egeriaViews = egeriaReader.read((startFrom, pageSize) -> context.getViewsForDatabaseSchema(schemaGUID, startFrom, pageSize));
+        try
+        {
+            while (egeriaViews.hasNext())
+            {
+                DatabaseViewElement egeriaView = egeriaViews.next();
+                known.add(recordState(SyncStateStore.Kind.VIEW,
+                                      egeriaView.getDatabaseViewProperties().getQualifiedName(),
+                                      egeriaView.getElementHeader().getGUID(),
+                                      schemaGUID,
+                                      PropertyDigest.fromAdditionalProperties(egeriaView.getDatabaseViewProperties().getAdditionalProperties()),
+                                      false));
+            }
+        }
+        finally
+        {
+            egeriaViews.close();
+        }
+        return known;
+    }
+
+    /**
+     * Lists the columns of a table or view already known to Egeria
+     *
+     * @param tableGUID the GUID of the Egeria table or view
+     * @return the known columns
+     * @throws InvalidParameterException  one of the parameters passed to Egeria is invalid
+     * @throws PropertyServerException    there is a problem in the Egeria property server
+     * @throws UserNotAuthorizedException the user is not authorized to read from Egeria
+     * @throws ConnectorCheckedException  the connector is not able to reach Egeria
+     */
+    private List<SyncStateStore.Entry> getKnownColumns(String tableGUID) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException, ConnectorCheckedException
+    {
+        if (localDiff)
+        {
+            return stateStore.getChildren(SyncStateStore.Kind.COLUMN, tableGUID);
+        }
+
+        List<SyncStateStore.Entry> known = new ArrayList<>();
+        DatabaseIntegratorContext context = getContext();
+        PagedElementReader.Elements<DatabaseColumnElement> egeriaColumns = egeriaReader.read((startFrom, pageSize) -> context.getColumnsForDatabaseTable(tableGUID, startFrom, pageSize));
+        try
+        {
+            while (egeriaColumns.hasNext())
+            {
+                DatabaseColumnElement egeriaColumn = egeriaColumns.next();
+                known.add(recordState(SyncStateStore.Kind.COLUMN,
+                                      egeriaColumn.getDatabaseColumnProperties().getQualifiedName(),
+                                      egeriaColumn.getElementHeader().getGUID(),
+                                      tableGUID,
+                                      PropertyDigest.fromAdditionalProperties(egeriaColumn.getDatabaseColumnProperties().getAdditionalProperties()),
+                                      egeriaColumn.getPrimaryKeyProperties() != null));
+            }
+        }
+        finally
+        {
+            egeriaColumns.close();
+        }
+        return known;
+    }
+
+    /**
+     * Records what has just been read from, created in or updated in Egeria
+     *
+     * @return the recorded state
+     */
+    private SyncStateStore.Entry recordState(SyncStateStore.Kind kind, String qualifiedName, String guid, String parentGUID, long digest, boolean primaryKey)
+    {
+        if (stateStore != null)
+        {
+            stateStore.put(kind, qualifiedName, guid, parentGUID, digest, primaryKey);
+        }
+        return new SyncStateStore.Entry(kind, qualifiedName, guid, parentGUID, digest, primaryKey, 0);
+    }
+
+    private void recordPrimaryKey(String qualifiedName, boolean primaryKey)
+    {
+        if (stateStore != null)
+        {
+            stateStore.putPrimaryKey(qualifiedName, primaryKey);
+        }
+    }
+
+    private void forgetState(String qualifiedName)
+    {
+        if (stateStore != null)
+        {
+            stateStore.remove(qualifiedName);
+        }
+    }
 
     /**
      * Trawls through a database updating a database where necessary
      *
      * @param postgresDatabase the bean properties of a Postgres Database
-     * @param egeriaDatabase   the Egeria database
+     * @param knownDatabase    the database as last synchronised to Egeria
+     * @param changed          true if the properties of the database differ from those held by Egeria
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private void updateDatabase(PostgresDatabase postgresDatabase, DatabaseElement egeriaDatabase) throws AlreadyHandledException
+    private void updateDatabase(PostgresDatabase postgresDatabase, SyncStateStore.Entry knownDatabase, boolean changed) throws AlreadyHandledException
     {
         String methodName = "updateDatabase";
 
         try
         {
-            if (egeriaDatabase != null)
+            if (knownDatabase != null)
             {
-                String guid = egeriaDatabase.getElementHeader().getGUID();
+                String guid = knownDatabase.getGUID();
                 /*
                 have the properties of the database entity changed
                  */
-                if (!postgresDatabase.isEquivalent(egeriaDatabase))
+                if (changed)
                 {
                     /*
                     then we need to update the entity properties
                      */
                     DatabaseProperties props = PostgresMapper.getDatabaseProperties(postgresDatabase);
                     getContext().updateDatabase(guid, props);
+                    recordState(SyncStateStore.Kind.DATABASE, postgresDatabase.getQualifiedName(), guid, null, postgresDatabase.getPropertyDigest(), false);
 
                 }
 
@@ -274,7 +709,6 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
     private void updateSchemas(String databaseGUID, String name) throws AlreadyHandledException
     {
         String methodName = "updateSchemas";
-        PostgresSourceDatabase source = new PostgresSourceDatabase(this.connectionProperties);
 
         try
         {
@@ -283,54 +717,41 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
             and remove any databases schemas that have been dropped since the last refresh
              */
             List<PostgresSchema> postgresSchemas = source.getDatabaseSchema(name);
-            List<DatabaseSchemaElement> egeriaSchemas = getContext().getSchemasForDatabase(databaseGUID, startFrom, pageSize);
+            List<SyncStateStore.Entry> knownSchemas = getKnownSchemas(databaseGUID);
+
+            QualifiedNameReconciler.Result<PostgresSchema, SyncStateStore.Entry> schemas =
+                    QualifiedNameReconciler.reconcile(postgresSchemas,
+                                                      PostgresSchema::getQualifiedName,
+                                                      knownSchemas,
+                                                      SyncStateStore.Entry::getQualifiedName,
+                                                      (postgresSchema, known) -> known.getDigest() == postgresSchema.getPropertyDigest());
 
-            if( egeriaSchemas != null )
+            deleteSchemas(schemas.getRemoved());
+
+            /*
+            each schema is synchronised as a separate task, a failure in one does not stop the others
+            and the schemas skipped by the last refresh go first
+             */
+            List<SynchronisationWorkers.Task> tasks = new ArrayList<>();
+            List<SynchronisationWorkers.Task> retryTasks = new ArrayList<>();
+            for (QualifiedNameReconciler.Match<PostgresSchema, SyncStateStore.Entry> match : schemas.getMatched())
             {
-                egeriaSchemas = deleteSchemas( postgresSchemas, egeriaSchemas);
+                PostgresSchema postgresSchema = match.getSource();
+                (retrySchemas.contains(postgresSchema.getQualifiedName()) ? retryTasks : tasks)
+                        .add(schemaTask(postgresSchema, () -> updateSchema(postgresSchema, match.getElement(), match.isChanged())));
             }
 
-            for (PostgresSchema postgresSchema : postgresSchemas)
+            for (PostgresSchema postgresSchema : schemas.getAdded())
             {
-                boolean found = false;
-                /*
-                we have no schemas in Egeria
-                so all schemas are new
-                 */
-                if (egeriaSchemas == null)
-                {
-                    if( postgresSchemas.size() > 0 )
-                    {
-                        addSchemas(name, databaseGUID);
-                    }
-                }
-                else
-                {
-                    /*
-                    check if the schema is known to Egeria
-                    and needs to be updated
-                     */
-                    for (DatabaseSchemaElement egeriaSchema : egeriaSchemas)
-                    {
-                        if (egeriaSchema.getDatabaseSchemaProperties().getQualifiedName().equals(postgresSchema.getQualifiedName()))
-                        {
-                        /*
-                        we have found an exact instance to update
-                         */
-                            found = true;
-                            updateSchema(postgresSchema, egeriaSchema);
-                            break;
-                        }
-                    }
-                    /*
-                    this is a new database so add it
-                     */
-                    if (!found)
-                    {
-                        addSchema(postgresSchema, databaseGUID);
-                    }
-                }
+                (retrySchemas.contains(postgresSchema.getQualifiedName()) ? retryTasks : tasks)
+                        .add(schemaTask(postgresSchema, () -> addSchema(postgresSchema, databaseGUID)));
             }
+            retryTasks.addAll(tasks);
+            workers.runAll(retryTasks);
+        }
+        catch (AlreadyHandledException error)
+        {
+            throw error;
         }
         catch (SQLException error)
         {
@@ -392,25 +813,77 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 
     }
 
+    /**
+     * Wraps the synchronisation of a schema so that a catalog query that times out, or a refresh that runs out of time,
+     * skips the schema rather than failing the refresh. The schema is recorded as unfinished until the task completes,
+     * including when the workers are stopped before it starts, and unfinished schemas are retried first on the next refresh.
+     *
+     * @param postgresSchema the schema being synchronised
+     * @param task           the synchronisation of the schema
+     * @return the task to run
+     */
+    private SynchronisationWorkers.Task schemaTask(PostgresSchema postgresSchema, SynchronisationWorkers.Task task)
+    {
+        String methodName = "schemaTask";
+        String qualifiedName = postgresSchema.getQualifiedName();
+
+        unfinishedSchemas.add(qualifiedName);
+        return () ->
+        {
+            if (refreshDeadline.isExpired())
+            {
+                return;
+            }
+
+            try
+            {
+                task.run();
+            }
+            catch (AlreadyHandledException error)
+            {
+                if (!PostgresConnectionPool.isTimeout(error))
+                {
+                    unfinishedSchemas.remove(qualifiedName);
+                    throw error;
+                }
+                if (auditLog != null && !refreshDeadline.isExpired())
+                {
+                    auditLog.logMessage(methodName,
+                            PostgresConnectorAuditCode.SCHEMA_TIMED_OUT.getMessageDefinition(methodName, qualifiedName, error.getMessage()));
+                }
+                return;
+            }
+
+            /* a schema finished after the deadline may have had some of its tables skipped */
+            if (!refreshDeadline.isExpired())
+            {
+                unfinishedSchemas.remove(qualifiedName);
+            }
+        };
+    }
+
     /**
      * Changes the properties of an Egeria schema entity
      *
      * @param postgresSchema            the Postgres Schema properties
-     * @param egeriaSchema          the Egeria schema
+     * @param knownSchema           the schema as last synchronised to Egeria
+     * @param changed               true if the properties of the schema differ from those held by Egeria
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private void updateSchema( PostgresSchema postgresSchema, DatabaseSchemaElement egeriaSchema) throws AlreadyHandledException
+    private void updateSchema( PostgresSchema postgresSchema, SyncStateStore.Entry knownSchema, boolean changed) throws AlreadyHandledException
     {
         String methodName = "updateSchema";
         try
         {
-            if ( !postgresSchema.isEquivalent(egeriaSchema) )
+            if ( changed )
             {
                 DatabaseSchemaProperties props = PostgresMapper.getSchemaProperties(postgresSchema);
-                getContext().updateDatabaseSchema(egeriaSchema.getElementHeader().getGUID(), props);
+                getContext().updateDatabaseSchema(knownSchema.getGUID(), props);
+                recordState(SyncStateStore.Kind.SCHEMA, postgresSchema.getQualifiedName(), knownSchema.getGUID(), knownSchema.getParentGUID(), postgresSchema.getPropertyDigest(), false);
             }
-            updateTables(postgresSchema, egeriaSchema);
-            updateViews(postgresSchema, egeriaSchema);
+            updateTables(postgresSchema, knownSchema.getGUID());
+            updateViews(postgresSchema, knownSchema.getGUID());
+            foreignKeySchemas.add(postgresSchema);
 
         }
         catch (InvalidParameterException error)
@@ -460,17 +933,14 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 
     /**
      * @param postgresSchema the Postgres schema bean
-     * @param egeriaSchema   the Egeria schema bean
+     * @param schemaGuid     the GUID of the Egeria schema
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private void updateTables(PostgresSchema postgresSchema, DatabaseSchemaElement egeriaSchema) throws AlreadyHandledException
+    private void updateTables(PostgresSchema postgresSchema, String schemaGuid) throws AlreadyHandledException
     {
 
         final String methodName = "updateTables";
 
-        String schemaGuid = egeriaSchema.getElementHeader().getGUID();
-        PostgresSourceDatabase source = new PostgresSourceDatabase(this.connectionProperties);
-
         try
         {
             /*
@@ -478,54 +948,35 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
             and remove any tables that have been dropped since the last refresh
              */
             List<PostgresTable> postgresTables = source.getTables(postgresSchema.getSchema_name());
-            List<DatabaseTableElement> egeriaTables = getContext().getTablesForDatabaseSchema(schemaGuid, startFrom, pageSize);
+            List<SyncStateStore.Entry> knownTables = getKnownTables(schemaGuid);
+
+            QualifiedNameReconciler.Result<PostgresTable, SyncStateStore.Entry> tables =
+                    QualifiedNameReconciler.reconcile(postgresTables,
+                                                      PostgresTable::getQualifiedName,
+                                                      knownTables,
+                                                      SyncStateStore.Entry::getQualifiedName,
+                                                      (postgresTable, known) -> known.getDigest() == postgresTable.getPropertyDigest());
 
             /*
             remove tables from Egeria that are no longer needed
              */
-            egeriaTables = deleteTables( postgresTables, egeriaTables);
+            deleteTables(tables.getRemoved());
 
-            for (PostgresTable postgresTable : postgresTables)
+            List<SynchronisationWorkers.Task> tasks = new ArrayList<>();
+            for (QualifiedNameReconciler.Match<PostgresTable, SyncStateStore.Entry> match : tables.getMatched())
             {
-                boolean found = false;
-                /*
-                we have no tables in Egeria but we do have tables in Postgres
-                so all tables are new
-                 */
-                if (egeriaTables == null)
-                {
-                    if( postgresTables.size() > 0 )
-                    {
-                        addTable(postgresTable, schemaGuid);
-                    }
-                }
-                else
-                {
-                    /*
-                    check if the database table is known to Egeria
-                    and needs to be updated
-                     */
-                    for (DatabaseTableElement egeriaTable : egeriaTables)
-                    {
-                        if (egeriaTable.getDatabaseTableProperties().getQualifiedName().equals(postgresTable.getQualifiedName()))
-                        {
-                        /*
-                        we have found an exact instance to update
-                         */
-                            found = true;
-                            updateTable(postgresTable, egeriaTable);
-                            break;
-                        }
-                    }
-                    /*
-                    this is a new database so add it
-                     */
-                    if (!found)
-                    {
-                       addTable(postgresTable, schemaGuid);
-                    }
-                }
+                tasks.add(() -> updateTable(match.getSource(), match.getElement(), match.isChanged()));
+            }
+
+            for (PostgresTable postgresTable : tables.getAdded())
+            {
+                tasks.add(() -> addTable(postgresTable, schemaGuid));
             }
+            workers.runTables(tasks);
+        }
+        catch (AlreadyHandledException error)
+        {
+            throw error;
         }
         catch (SQLException error)
         {
@@ -582,22 +1033,24 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 
     /**
      * @param postgresTable  the Postgres table attributes to be added
-     * @param egeriaTable    the GUID of the schema to which the table will be linked
+     * @param knownTable     the table as last synchronised to Egeria
+     * @param changed        true if the properties of the table differ from those held by Egeria
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private void updateTable(PostgresTable postgresTable, DatabaseTableElement egeriaTable) throws AlreadyHandledException
+    private void updateTable(PostgresTable postgresTable, SyncStateStore.Entry knownTable, boolean changed) throws AlreadyHandledException
     {
         String methodName = "updateTable";
 
         try
         {
-            if( postgresTable.isEquivalent( egeriaTable) )
+            if( changed )
             {
                 DatabaseTableProperties props = PostgresMapper.getTableProperties(postgresTable);
-                getContext().updateDatabaseTable(egeriaTable.getElementHeader().getGUID(), props);
+                getContext().updateDatabaseTable(knownTable.getGUID(), props);
+                recordState(SyncStateStore.Kind.TABLE, postgresTable.getQualifiedName(), knownTable.getGUID(), knownTable.getParentGUID(), postgresTable.getPropertyDigest(), false);
             }
 
-            updateTableColumns(postgresTable, egeriaTable);
+            updateTableColumns(postgresTable, knownTable.getGUID());
         }
         catch (InvalidParameterException error)
         {
@@ -649,17 +1102,14 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 
     /**
      * @param postgresSchema the Postgres schema bean
-     * @param egeriaSchema   the Egeria schema bean
+     * @param schemaGuid     the GUID of the Egeria schema
      * @throws AlreadyHandledException this exception has already been logged
      */
 
-    private void updateViews(PostgresSchema postgresSchema, DatabaseSchemaElement egeriaSchema) throws AlreadyHandledException
+    private void updateViews(PostgresSchema postgresSchema, String schemaGuid) throws AlreadyHandledException
     {
         final String methodName = "updateViews";
 
-        String schemaGuid = egeriaSchema.getElementHeader().getGUID();
-        PostgresSourceDatabase source = new PostgresSourceDatabase(this.connectionProperties);
-
         try
         {
             /*
@@ -667,49 +1117,25 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
             and remove any tables that have been dropped since the last refresh
              */
             List<PostgresTable> postgresViews = source.getViews(postgresSchema.getSchema_name());
-            List<DatabaseViewElement> egeriaViews = getContext().getViewsForDatabaseSchema(schemaGuid, startFrom, pageSize);
+            List<SyncStateStore.Entry> knownViews = getKnownViews(schemaGuid);
+
+            QualifiedNameReconciler.Result<PostgresTable, SyncStateStore.Entry> views =
+                    QualifiedNameReconciler.reconcile(postgresViews,
+                                                      PostgresTable::getQualifiedName,
+                                                      knownViews,
+                                                      SyncStateStore.Entry::getQualifiedName,
+                                                      (postgresView, known) -> known.getDigest() == postgresView.getPropertyDigest());
+
+            deleteViews(views.getRemoved());
 
-            egeriaViews = deleteViews( postgresViews, egeriaViews);
-            for (PostgresTable postgresView : postgresViews)
+            for (QualifiedNameReconciler.Match<PostgresTable, SyncStateStore.Entry> match : views.getMatched())
             {
-                boolean found = false;
-                /*
-                we have no views in Egeria
-                so all views are new
-                 */
-                if (egeriaViews == null)
-                {
-                    if( postgresViews.size() > 0)
-                    {
-                        addView(postgresView, schemaGuid);
-                    }
-                }
-                else
-                {
-                    /*
-                    check if the database table is known to Egeria
-                    and needs to be updated
-                     */
-                    for (DatabaseViewElement egeriaView : egeriaViews)
-                    {
-                        if (egeriaView.getDatabaseViewProperties().getQualifiedName().equals(postgresView.getQualifiedName()))
-                        {
-                        /*
-                        we have found an exact instance to update
-                         */
-                            found = true;
-                            updateView(postgresView, egeriaView);
-                            break;
-                        }
-                    }
-                    /*
-                    this is a new database view so add it
-                     */
-                    if (!found)
-                    {
-                        addView(postgresView, schemaGuid);
-                    }
-                }
+                updateView(match.getSource(), match.getElement(), match.isChanged());
+            }
+
+            for (PostgresTable postgresView : views.getAdded())
+            {
+                addView(postgresView, schemaGuid);
             }
         }
         catch (SQLException error)
@@ -767,21 +1193,23 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 
     /**
      * @param postgresTable         the Postgres table attributes to be added
-     * @param egeriaView    te GUID of the schema to which the table will be linked
+     * @param knownView     the view as last synchronised to Egeria
+     * @param changed       true if the properties of the view differ from those held by Egeria
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private void updateView(PostgresTable postgresTable, DatabaseViewElement egeriaView) throws AlreadyHandledException
+    private void updateView(PostgresTable postgresTable, SyncStateStore.Entry knownView, boolean changed) throws AlreadyHandledException
     {
         String methodName = "updateView";
 
         try
         {
-            if( !postgresTable.isEquivalent(egeriaView) )
+            if( changed )
             {
                 DatabaseViewProperties props = PostgresMapper.getViewProperties(postgresTable);
-                getContext().updateDatabaseView(egeriaView.getElementHeader().getGUID(), props);
+                getContext().updateDatabaseView(knownView.getGUID(), props);
+                recordState(SyncStateStore.Kind.VIEW, postgresTable.getQualifiedName(), knownView.getGUID(), knownView.getParentGUID(), postgresTable.getPropertyDigest(), false);
             }
-            updateViewColumns(postgresTable, egeriaView);
+            updateViewColumns(postgresTable, knownView.getGUID());
         }
         catch (InvalidParameterException error)
         {
@@ -833,83 +1261,38 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 
     /**
      * @param postgresTable         the Postgres table which contains the columns to be updates
-     * @param  egeriaTable  the column data from Egeria
+     * @param tableGuid     the GUID of the Egeria table
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private void updateTableColumns(PostgresTable postgresTable, DatabaseTableElement egeriaTable) throws AlreadyHandledException
+    private void updateTableColumns(PostgresTable postgresTable, String tableGuid) throws AlreadyHandledException
     {
         final String methodName = "updateTableColumns";
-        PostgresSourceDatabase source = new PostgresSourceDatabase(this.connectionProperties);
-        String tableGuid = egeriaTable.getElementHeader().getGUID();
         try
         {
-            List<PostgresColumn> postgresColumns = source.getColumns(postgresTable.getTable_name());
-            List<DatabaseColumnElement> egeriaColumns = getContext().getColumnsForDatabaseTable(tableGuid, startFrom, pageSize);
-            List<String> primarykeys = source.getPrimaryKeyColumnNamesForTable( postgresTable.getTable_name());
+            List<PostgresColumn> postgresColumns = source.getColumns(postgresTable.getTable_schema(), postgresTable.getTable_name());
+            List<SyncStateStore.Entry> knownColumns = getKnownColumns(tableGuid);
+            Set<String> primarykeys = new HashSet<>(source.getPrimaryKeyColumnNamesForTable( postgresTable.getTable_schema(), postgresTable.getTable_name()));
 
-                if( egeriaColumns != null && postgresColumns.size() > 0)
-                {
-                    egeriaColumns = deleteTableColumns(postgresColumns, egeriaColumns);
-                }
+            QualifiedNameReconciler.Result<PostgresColumn, SyncStateStore.Entry> columns =
+                    QualifiedNameReconciler.reconcile(postgresColumns,
+                                                      PostgresColumn::getQualifiedName,
+                                                      knownColumns,
+                                                      SyncStateStore.Entry::getQualifiedName,
+                                                      (postgresColumn, known) -> known.getDigest() == postgresColumn.getPropertyDigest());
 
-                for (PostgresColumn postgresColumn : postgresColumns)
-                {
-                    boolean found = false;
-                    /*
-                    we have no columns in Egeria
-                    so all columns are new
-                     */
-                    if (egeriaColumns == null)
-                    {
-                        if( postgresColumns.size() > 0 )
-                        {
-                            addColumn(postgresColumn, tableGuid);
-                        }
-                    }
-                    else
-                    {
-                        /*
-                        check if the database table is known to Egeria
-                        and needs to be updated
-                         */
-                        for (DatabaseColumnElement egeriaColumn : egeriaColumns)
-                        {
-                            if (egeriaColumn.getDatabaseColumnProperties().getQualifiedName().equals(postgresColumn.getQualifiedName()))
-                            {
-                            /*
-                            we have found an exact instance to update
-                             */
-                                found = true;
-                                //TODO
-                             //   updateColumn(postgresColumn, egeriaColumn);
-                                break;
-                            }
-
-                            if( primarykeys.contains(egeriaColumn.getDatabaseColumnProperties().getDisplayName() ))
-                            {
-                                DatabasePrimaryKeyProperties props = new DatabasePrimaryKeyProperties();
-                                getContext().setPrimaryKeyOnColumn(egeriaColumn.getElementHeader().getGUID(), props);
-                            }
-                            else
-                            {
-                                //was this a primary key previously.
-                                if( egeriaColumn.getPrimaryKeyProperties() != null )
-                                {
-                                    getContext().removePrimaryKeyFromColumn( egeriaColumn.getElementHeader().getGUID());
-                                }
-
-                            }
-
-                        }
-                        /*
-                        this is a new database so add it
-                         */
-                        if (!found)
-                        {
-                           addColumn(postgresColumn, tableGuid);
-                        }
-                    }
-                }
+            deleteTableColumns(columns.getRemoved());
+
+            for (QualifiedNameReconciler.Match<PostgresColumn, SyncStateStore.Entry> match : columns.getMatched())
+            {
+                updateColumn(match.getSource(), match.getElement(), match.isChanged());
+                updatePrimaryKey(match.getElement(), primarykeys.contains(match.getSource().getColumn_name()));
+                columnGUIDs.put(match.getSource().getQualifiedName(), match.getElement().getGUID());
+            }
+
+            for (PostgresColumn postgresColumn : columns.getAdded())
+            {
+                addColumn(postgresColumn, tableGuid);
+            }
         }
         catch (SQLException error)
         {
@@ -966,72 +1349,109 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
     }
 
     /**
-     * @param postgresTable         the Postgres table which contains the columns to be updates
-     * @param  egeriaTable  the column data from Egeria
+     * Brings the primary key classification of a column into line with Postgres.
+     * Only a column whose primary key state differs from the Postgres keys is written to Egeria.
+     *
+     * @param knownColumn    the column as last synchronised to Egeria
+     * @param isKey          true if the column is part of the primary key of the Postgres table
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private void updateViewColumns(PostgresTable postgresTable, DatabaseViewElement egeriaTable) throws AlreadyHandledException
+    private void updatePrimaryKey(SyncStateStore.Entry knownColumn, boolean isKey) throws AlreadyHandledException
     {
-        final String methodName = "updateViewColumns";
+        final String methodName = "updatePrimaryKey";
 
-        PostgresSourceDatabase source = new PostgresSourceDatabase(this.connectionProperties);
-        String guid = egeriaTable.getElementHeader().getGUID();
         try
         {
-            List<PostgresColumn> postgresColumns = source.getColumns(postgresTable.getTable_name());
-            List<DatabaseColumnElement> egeriaColumns = getContext().getColumnsForDatabaseTable(egeriaTable.getElementHeader().getGUID(), startFrom, pageSize);
+            boolean wasKey = knownColumn.isPrimaryKey();
 
-            if( egeriaColumns != null )
+            if (isKey && !wasKey)
             {
-                egeriaColumns= deleteViewColumns(postgresColumns, egeriaColumns);
+                getContext().setPrimaryKeyOnColumn(knownColumn.getGUID(), new DatabasePrimaryKeyProperties());
+                primaryKeyWrites.incrementAndGet();
+                recordPrimaryKey(knownColumn.getQualifiedName(), true);
             }
-
-            for (PostgresColumn postgresColumn : postgresColumns)
+            else if (!isKey && wasKey)
             {
-                boolean found = false;
-                /*
-                we have no tables in Egeria
-                so all tables are new
-                 */
-                if (egeriaColumns == null)
-                {
-                    if(postgresColumns.size() > 0 )
-                    {
-                        addColumn(postgresColumn, guid);
-                    }
-                }
-                else
-                {
-                    /*
-                    check if the database table is known to Egeria
-                    and needs to be updated
-                     */
-                    for (DatabaseColumnElement egeriaColumn : egeriaColumns)
-                    {
-                        if (egeriaColumn.getDatabaseColumnProperties().getQualifiedName().equals(postgresColumn.getQualifiedName()))
-                        {
-                        /*
-                        we have found an exact instance to update
-                         */
-                            found = true;
-                            updateColumn(postgresColumn, egeriaColumn);
-                            break;
-                        }
+                getContext().removePrimaryKeyFromColumn(knownColumn.getGUID());
+                primaryKeyWrites.incrementAndGet();
+                recordPrimaryKey(knownColumn.getQualifiedName(), false);
+            }
+        }
+        catch (InvalidParameterException error)
+        {
+            ExceptionHandler.handleException(auditLog,
+                    this.getClass().getName(),
+                    methodName, error,
+                    PostgresConnectorAuditCode.INVALID_PARAMETER_EXCEPTION.getMessageDefinition(methodName, error.getClass().getName(), error.getMessage()),
+                    PostgresConnectorErrorCode.INVALID_PARAMETER_EXCEPTION.getMessageDefinition(methodName));
+        }
+        catch (PropertyServerException error)
+        {
+            ExceptionHandler.handleException(auditLog,
+                    this.getClass().getName(),
+                    methodName, error,
+                    PostgresConnectorAuditCode.PROPERTY_SERVER_EXCEPTION.getMessageDefinition(methodName, error.getClass().getName(), error.getMessage()),
+                    PostgresConnectorErrorCode.PROPERTY_SERVER_EXCEPTION.getMessageDefinition(methodName));
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            ExceptionHandler.handleException(auditLog,
+                    this.getClass().getName(),
+                    methodName, error,
+                    PostgresConnectorAuditCode.USER_NOT_AUTHORIZED_EXCEPTION.getMessageDefinition(methodName, error.getClass().getName(), error.getMessage()),
+                    PostgresConnectorErrorCode.USER_NOT_AUTHORIZED_EXCEPTION.getMessageDefinition(methodName));
+        }
+        catch (ConnectorCheckedException error)
+        {
+            ExceptionHandler.handleException(auditLog,
+                    this.getClass().getName(),
+                    methodName, error,
+                    PostgresConnectorAuditCode.CONNECTOR_CHECKED_EXCEPTION.getMessageDefinition(methodName, error.getClass().getName(), error.getMessage()),
+                    PostgresConnectorErrorCode.CONNECTOR_CHECKED_EXCEPTION.getMessageDefinition(methodName));
+        }
+        catch (Exception error)
+        {
+            ExceptionHandler.handleException(auditLog,
+                    this.getClass().getName(),
+                    methodName, error,
+                    PostgresConnectorAuditCode.UNEXPECTED_ERROR.getMessageDefinition(methodName, error.getClass().getName(), error.getMessage()),
+                    PostgresConnectorErrorCode.UNEXPECTED_ERROR.getMessageDefinition(methodName));
+        }
+    }
 
-                    }
-                    /*
-                    this is a new column so add it
-                     */
-                    if (!found)
-                    {
-                        addColumn(postgresColumn, guid);
-                    }
+    /**
+     * @param postgresTable         the Postgres table which contains the columns to be updates
+     * @param guid          the GUID of the Egeria view
+     * @throws AlreadyHandledException this exception has already been logged
+     */
+    private void updateViewColumns(PostgresTable postgresTable, String guid) throws AlreadyHandledException
+    {
+        final String methodName = "updateViewColumns";
 
-                }
+        try
+        {
+            List<PostgresColumn> postgresColumns = source.getColumns(postgresTable.getTable_schema(), postgresTable.getTable_name());
+            List<SyncStateStore.Entry> knownColumns = getKnownColumns(guid);
+
+            QualifiedNameReconciler.Result<PostgresColumn, SyncStateStore.Entry> columns =
+                    QualifiedNameReconciler.reconcile(postgresColumns,
+                                                      PostgresColumn::getQualifiedName,
+                                                      knownColumns,
+                                                      SyncStateStore.Entry::getQualifiedName,
+                                                      (postgresColumn, known) -> known.getDigest() == postgresColumn.getPropertyDigest());
 
+            deleteViewColumns(columns.getRemoved());
 
+            for (QualifiedNameReconciler.Match<PostgresColumn, SyncStateStore.Entry> match : columns.getMatched())
+            {
+                updateColumn(match.getSource(), match.getElement(), match.isChanged());
+                columnGUIDs.put(match.getSource().getQualifiedName(), match.getElement().getGUID());
             }
 
+            for (PostgresColumn postgresColumn : columns.getAdded())
+            {
+                addColumn(postgresColumn, guid);
+            }
         }
         catch (SQLException error)
         {
@@ -1090,19 +1510,21 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 
     /**
      * @param postgresCol           the Postgres column
-     * @param  egeriaCol            the column data from Egeria
+     * @param  knownColumn          the column as last synchronised to Egeria
+     * @param changed               true if the properties of the column differ from those held by Egeria
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private void updateColumn(PostgresColumn postgresCol, DatabaseColumnElement egeriaCol ) throws AlreadyHandledException
+    private void updateColumn(PostgresColumn postgresCol, SyncStateStore.Entry knownColumn, boolean changed ) throws AlreadyHandledException
     {
         String methodName = "updateColumn";
 
         try
         {
-            if( !postgresCol.isEquivalent( egeriaCol))
+            if( changed )
             {
                 DatabaseColumnProperties props = PostgresMapper.getColumnProperties( postgresCol );
-                getContext().updateDatabaseColumn(egeriaCol.getElementHeader().getGUID(), props);
+                getContext().updateDatabaseColumn(knownColumn.getGUID(), props);
+                recordState(SyncStateStore.Kind.COLUMN, postgresCol.getQualifiedName(), knownColumn.getGUID(), knownColumn.getParentGUID(), postgresCol.getPropertyDigest(), knownColumn.isPrimaryKey());
             }
 
         }
@@ -1169,6 +1591,7 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
          */
             DatabaseProperties dbProps = PostgresMapper.getDatabaseProperties(db);
             String guid = this.getContext().createDatabase(dbProps);
+            recordState(SyncStateStore.Kind.DATABASE, db.getQualifiedName(), guid, null, db.getPropertyDigest(), false);
             addSchemas(db.getName(), guid);
 
         }
@@ -1231,14 +1654,23 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 
         try
         {
-            PostgresSourceDatabase sourceDB = new PostgresSourceDatabase(this.connectionProperties);
-            List<PostgresSchema> schemas = sourceDB.getDatabaseSchema(dbName);
+            List<PostgresSchema> schemas = source.getDatabaseSchema(dbName);
+            List<SynchronisationWorkers.Task> tasks = new ArrayList<>();
+            List<SynchronisationWorkers.Task> retryTasks = new ArrayList<>();
             for (PostgresSchema sch : schemas)
             {
-                addSchema(sch, dbGUID);
+                (retrySchemas.contains(sch.getQualifiedName()) ? retryTasks : tasks)
+                        .add(schemaTask(sch, () -> addSchema(sch, dbGUID)));
             }
+            retryTasks.addAll(tasks);
+            workers.runAll(retryTasks);
 
-        } catch (SQLException error)
+        }
+        catch (AlreadyHandledException error)
+        {
+            throw error;
+        }
+        catch (SQLException error)
         {
             ExceptionHandler.handleException(auditLog,
                     this.getClass().getName(),
@@ -1246,6 +1678,14 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
                     PostgresConnectorAuditCode.ERROR_READING_POSTGRES.getMessageDefinition(methodName, error.getClass().getName(), error.getMessage()),
                     PostgresConnectorErrorCode.ERROR_READING_FROM_POSTGRES.getMessageDefinition(methodName));
         }
+        catch (Exception error)
+        {
+            ExceptionHandler.handleException(auditLog,
+                    this.getClass().getName(),
+                    methodName, error,
+                    PostgresConnectorAuditCode.UNEXPECTED_ERROR.getMessageDefinition(methodName, error.getClass().getName(), error.getMessage()),
+                    PostgresConnectorErrorCode.UNEXPECTED_ERROR.getMessageDefinition(methodName));
+        }
     }
 
     /**
@@ -1265,9 +1705,10 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
             DatabaseSchemaProperties schemaProps = PostgresMapper.getSchemaProperties(sch);
 
             String schemaGUID = getContext().createDatabaseSchema(dbGuidd, schemaProps);
+            recordState(SyncStateStore.Kind.SCHEMA, sch.getQualifiedName(), schemaGUID, dbGuidd, sch.getPropertyDigest(), false);
             addTables(sch.getSchema_name(), schemaGUID);
             addViews( sch.getSchema_name(), schemaGUID);
-            addForeignKeys(sch);
+            foreignKeySchemas.add(sch);
         }
         catch (InvalidParameterException error)
         {
@@ -1326,16 +1767,21 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
     {
         String methodName = "addTables";
 
-        PostgresSourceDatabase source = new PostgresSourceDatabase(this.connectionProperties);
 
         try
         {
             /* add the schema tables */
             List<PostgresTable> tables = source.getTables(schemaName);
+            List<SynchronisationWorkers.Task> tasks = new ArrayList<>();
             for (PostgresTable table : tables)
             {
-                addTable(table, schemaGUID);
+                tasks.add(() -> addTable(table, schemaGUID));
             }
+            workers.runTables(tasks);
+        }
+        catch (AlreadyHandledException error)
+        {
+            throw error;
         }
         catch (SQLException error)
         {
@@ -1373,7 +1819,8 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
         {
             DatabaseTableProperties props = PostgresMapper.getTableProperties(table);
             String tableGUID = this.getContext().createDatabaseTable(schemaGUID, props);
-            addColumns(table.getTable_name(), tableGUID);
+            recordState(SyncStateStore.Kind.TABLE, table.getQualifiedName(), tableGUID, schemaGUID, table.getPropertyDigest(), false);
+            addColumns(table.getTable_schema(), table.getTable_name(), tableGUID);
         }
         catch (InvalidParameterException error)
         {
@@ -1437,7 +1884,8 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
         {
             DatabaseViewProperties props = PostgresMapper.getViewProperties(view);
             String tableGUID = this.getContext().createDatabaseView(schemaGUID, props);
-            addColumns(view.getTable_name(), tableGUID);
+            recordState(SyncStateStore.Kind.VIEW, view.getQualifiedName(), tableGUID, schemaGUID, view.getPropertyDigest(), false);
+            addColumns(view.getTable_schema(), view.getTable_name(), tableGUID);
         } catch (InvalidParameterException error)
         {
             ExceptionHandler.handleException(auditLog,
@@ -1484,7 +1932,9 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 
     /**
      * add the foreign keys to Egeria
-     * for a schema from Postgres and adds the data to Egeria
+     * for a schema from Postgres and adds the data to Egeria.
+     * The columns are found by qualified name among those created or read during this refresh,
+     * and relationships this connector has already added are skipped.
      *
      * @param schema the attributes of the schema which owns the tables
      * @throws AlreadyHandledException this exception has already been logged
@@ -1493,48 +1943,28 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
     {
         String methodName = "addForeignKeys";
 
-        PostgresSourceDatabase source = new PostgresSourceDatabase(this.connectionProperties);
 
         try
         {
 
-            List<PostgresTable> tables = source.getTables(schema.getSchema_name());
-            for (PostgresTable table : tables)
+            /*
+            the link names omit the database, which is always that of the schema
+             */
+            String prefix = schema.getCatalog_name() + "::";
+
+            for (PostgresForeignKeyLinks link : source.getForeignKeyLinksForSchema(schema.getSchema_name()))
             {
-                List<PostgresForeignKeyLinks> foreignKeys = source.getForeginKeyLinksForTable(table.getTable_name());
+                String importedGUID = columnGUIDs.get(prefix + link.getImportedColumnQualifiedName());
+                String exportedGUID = columnGUIDs.get(prefix + link.getExportedColumnQualifiedName());
 
-                for (PostgresForeignKeyLinks link : foreignKeys)
+                if (importedGUID != null && exportedGUID != null)
                 {
-                    List<String> importedGuids = new ArrayList<>();
-                    List<String> exportedGuids = new ArrayList<>();
-                    List<DatabaseColumnElement> importedEntities = getContext().findDatabaseColumns(".*" + link.getImportedColumnQualifiedName(), startFrom, pageSize);
-
-                    if (importedEntities != null)
-                    {
-                        for (DatabaseColumnElement col : importedEntities)
-                        {
-                            importedGuids.add(col.getElementHeader().getGUID());
-                        }
-                    }
-
-                    List<DatabaseColumnElement> exportedEntities = this.getContext().findDatabaseColumns(".*" + link.getExportedColumnQualifiedName(), startFrom, pageSize);
-
-                    if (exportedEntities != null)
+                    String pair = importedGUID + "::" + exportedGUID;
+                    if (!foreignKeyLinks.contains(pair))
                     {
-                        for (DatabaseColumnElement col : exportedEntities)
-                        {
-                            exportedGuids.add(col.getElementHeader().getGUID());
-                        }
+                        getContext().addForeignKeyRelationship(importedGUID, exportedGUID, new DatabaseForeignKeyProperties());
+                        foreignKeyLinks.add(pair);
                     }
-
-
-                    for (String str : importedGuids)
-                    {
-                        DatabaseForeignKeyProperties linkProps = new DatabaseForeignKeyProperties();
-                        for (String s : exportedGuids)
-                            getContext().addForeignKeyRelationship(str, s, linkProps);
-                    }
-
                 }
             }
         }
@@ -1604,7 +2034,6 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
     {
         String methodName = "addViews";
 
-        PostgresSourceDatabase source = new PostgresSourceDatabase(this.connectionProperties);
 
         try
         {
@@ -1640,18 +2069,18 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
      * mapping function that reads tables, columns and primary keys
      * for a schema from Postgres and adds the data to Egeria
      *
+     * @param schemaName the name of the schema holding the parent table
      * @param tableName the name of the parent table
      * @param tableGUID the GUID of the owning table
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private void addColumns(String tableName, String tableGUID) throws AlreadyHandledException
+    private void addColumns(String schemaName, String tableName, String tableGUID) throws AlreadyHandledException
     {
         String methodName = "addColumns";
 
-        PostgresSourceDatabase source = new PostgresSourceDatabase(this.connectionProperties);
         try
         {
-            List<PostgresColumn> cols = source.getColumns(tableName);
+            List<PostgresColumn> cols = source.getColumns(schemaName, tableName);
 
             for (PostgresColumn col : cols)
             {
@@ -1693,7 +2122,9 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
         try
         {
             DatabaseColumnProperties colProps = PostgresMapper.getColumnProperties(col);
-            this.getContext().createDatabaseColumn(guid, colProps);
+            String columnGUID = this.getContext().createDatabaseColumn(guid, colProps);
+            recordState(SyncStateStore.Kind.COLUMN, col.getQualifiedName(), columnGUID, guid, col.getPropertyDigest(), false);
+            columnGUIDs.put(col.getQualifiedName(), columnGUID);
 
         }
         catch (InvalidParameterException error)
@@ -1745,55 +2176,22 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
 
 
     /**
-     * Checks if any databases need to be removed from Egeria
+     * Removes the databases that no longer exist in Postgres from Egeria
      *
-     * @param postgresDatabases            a list of the bean properties of a Postgres Database
-     * @param egeriaDatabases    a list of the Databases already known to Egeria
+     * @param knownDatabases    the databases known to Egeria but no longer present in Postgres
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private  List<DatabaseElement> deleteDatabases(List<PostgresDatabase> postgresDatabases, List<DatabaseElement> egeriaDatabases) throws AlreadyHandledException
+    private void deleteDatabases(List<SyncStateStore.Entry> knownDatabases) throws AlreadyHandledException
     {
         String methodName = "deleteDatabases";
 
         try
         {
-            if (egeriaDatabases != null)
+            for (SyncStateStore.Entry knownDatabase : knownDatabases)
             {
-                /*
-                for each database already known to Egeria
-                 */
-                for (Iterator<DatabaseElement> itr = egeriaDatabases.iterator(); itr.hasNext();)
-                {
-                    boolean found = false;
-                    DatabaseElement egeriaDatabase = itr.next();
-                    String knownName = egeriaDatabase.getDatabaseProperties().getQualifiedName();
-                    /*
-                    check that the database is still present in Postgres
-                     */
-                    for (PostgresDatabase postgresDatabase : postgresDatabases)
-                    {
-                        String sourceName = postgresDatabase.getQualifiedName();
-                        if (sourceName.equals(knownName))
-                        {
-                            /*
-                            if found then check the next database
-                             */
-                            found = true;
-                            break;
-                        }
-                    }
-                        /*
-                        not found in Postgres , so delete the database from Egeria
-                         */
-                    if( !found)
-                    {
-                        getContext().removeDatabase(egeriaDatabase.getElementHeader().getGUID(), knownName);
-                        itr.remove();
-                    }
-
-                }
+                getContext().removeDatabase(knownDatabase.getGUID(), knownDatabase.getQualifiedName());
+                forgetState(knownDatabase.getQualifiedName());
             }
-
         }
         catch (InvalidParameterException error)
         {
@@ -1837,59 +2235,24 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
                     PostgresConnectorErrorCode.UNEXPECTED_ERROR.getMessageDefinition(methodName));
 
         }
-
-        return egeriaDatabases;
     }
 
     /**
-     * Checks if any schemas need to be removed from Egeria
+     * Removes the schemas that no longer exist in Postgres from Egeria
      *
-     * @param postgresSchemas            a list of the bean properties of a Postgres schemas
-     * @param egeriaSchemas    a list of the Databases already known to Egeria
+     * @param knownSchemas    the schemas known to Egeria but no longer present in Postgres
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private List<DatabaseSchemaElement> deleteSchemas(List<PostgresSchema> postgresSchemas, List<DatabaseSchemaElement> egeriaSchemas) throws AlreadyHandledException
+    private void deleteSchemas(List<SyncStateStore.Entry> knownSchemas) throws AlreadyHandledException
     {
         String methodName = "deleteSchemas";
 
         try
         {
-            if (egeriaSchemas != null)
+            for (SyncStateStore.Entry knownSchema : knownSchemas)
             {
-                /*
-                for each schema already known to Egeria
-                 */
-                for (Iterator<DatabaseSchemaElement> itr = egeriaSchemas.iterator(); itr.hasNext();)
-                {
-                    boolean found = false;
-                    DatabaseSchemaElement egeriaSchema = itr.next();
-
-                    String knownName = egeriaSchema.getDatabaseSchemaProperties().getQualifiedName();
-                    /*
-                    check that the database is still present in Postgres
-                     */
-                    for (PostgresSchema postgresSchema : postgresSchemas)
-                    {
-                        String sourceName = postgresSchema.getQualifiedName();
-                        if (sourceName.equals(knownName))
-                        {
-                            /*
-                            if found then check the next schema
-                             */
-                            found = true;
-                            break;
-                        }
-                    }
-                        /*
-                        not found in Postgres , so delete the schema from Egeria
-                         */
-                    if( !found)
-                    {
-                        getContext().removeDatabaseSchema(egeriaSchema.getElementHeader().getGUID(), knownName);
-                        itr.remove();
-                    }
-
-                }
+                getContext().removeDatabaseSchema(knownSchema.getGUID(), knownSchema.getQualifiedName());
+                forgetState(knownSchema.getQualifiedName());
             }
         }
         catch (InvalidParameterException error)
@@ -1934,57 +2297,24 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
                     PostgresConnectorErrorCode.UNEXPECTED_ERROR.getMessageDefinition(methodName));
 
         }
-
-        return egeriaSchemas;
     }
 
     /**
-     * Checks if any schemas need to be removed from Egeria
+     * Removes the tables that no longer exist in Postgres from Egeria
      *
-     * @param postgresTables            a list of the bean properties of a Postgres schemas
-     * @param egeriaTables    a list of the Databases already known to Egeria
+     * @param knownTables    the tables known to Egeria but no longer present in Postgres
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private List<DatabaseTableElement> deleteTables(List<PostgresTable> postgresTables, List<DatabaseTableElement> egeriaTables) throws AlreadyHandledException
+    private void deleteTables(List<SyncStateStore.Entry> knownTables) throws AlreadyHandledException
     {
         String methodName = "deleteTables";
+
         try
         {
-            if (egeriaTables != null)
+            for (SyncStateStore.Entry knownTable : knownTables)
             {
-                /*
-                for each table already known to Egeria
-                 */
-                for (Iterator<DatabaseTableElement> itr = egeriaTables.iterator(); itr.hasNext();)
-                {
-                    boolean found = false;
-                    DatabaseTableElement egeriaTable = itr.next();
-                    String knownName = egeriaTable.getDatabaseTableProperties().getQualifiedName();
-                    /*
-                    check that the database is still present in Postgres
-                     */
-                    for (PostgresTable postgresTable : postgresTables)
-                    {
-                        String sourceName = postgresTable.getQualifiedName();
-                        if (sourceName.equals(knownName))
-                        {
-                            /*
-                            if found then check the next table
-                             */
-                            found = true;
-                            break;
-                        }
-                    }
-                        /*
-                        not found in Postgres , so delete the table from Egeria
-                         */
-                    if( !found)
-                    {
-                        getContext().removeDatabaseTable(egeriaTable.getElementHeader().getGUID(), knownName);
-                        itr.remove();
-                    }
-
-                }
+                getContext().removeDatabaseTable(knownTable.getGUID(), knownTable.getQualifiedName());
+                forgetState(knownTable.getQualifiedName());
             }
         }
         catch (InvalidParameterException error)
@@ -2029,59 +2359,24 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
                     PostgresConnectorErrorCode.UNEXPECTED_ERROR.getMessageDefinition(methodName));
 
         }
-
-        return egeriaTables;
     }
 
     /**
-     * Checks if any views need to be removed from Egeria
+     * Removes the views that no longer exist in Postgres from Egeria
      *
-     * @param postgresViews            a list of the bean properties of a Postgres views
-     * @param egeriaViews               a list of the  views already known to Egeria
+     * @param knownViews    the views known to Egeria but no longer present in Postgres
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private List<DatabaseViewElement> deleteViews(List<PostgresTable> postgresViews, List<DatabaseViewElement> egeriaViews) throws AlreadyHandledException
+    private void deleteViews(List<SyncStateStore.Entry> knownViews) throws AlreadyHandledException
     {
         String methodName = "deleteViews";
 
         try
         {
-            if (egeriaViews != null)
+            for (SyncStateStore.Entry knownView : knownViews)
             {
-                /*
-                for each view already known to Egeria
-                 */
-                for (Iterator<DatabaseViewElement> itr = egeriaViews.iterator(); itr.hasNext();)
-                {
-                    boolean found = false;
-                    DatabaseViewElement egeriaView = itr.next();
-
-                    String knownName = egeriaView.getDatabaseViewProperties().getQualifiedName();
-                    /*
-                    check that the database is still present in Postgres
-                     */
-                    for (PostgresTable postgresView : postgresViews)
-                    {
-                        String sourceName = postgresView.getQualifiedName();
-                        if (sourceName.equals(knownName))
-                        {
-                            /*
-                            if found then check the next table
-                             */
-                            found = true;
-                            break;
-                        }
-                    }
-                        /*
-                        not found in Postgres , so delete the table from Egeria
-                         */
-                    if( !found)
-                    {
-                        getContext().removeDatabaseView(egeriaView.getElementHeader().getGUID(), knownName);
-                        itr.remove();
-                    }
-
-                }
+                getContext().removeDatabaseView(knownView.getGUID(), knownView.getQualifiedName());
+                forgetState(knownView.getQualifiedName());
             }
         }
         catch (InvalidParameterException error)
@@ -2126,60 +2421,25 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
                     PostgresConnectorErrorCode.UNEXPECTED_ERROR.getMessageDefinition(methodName));
 
         }
-
-        return egeriaViews;
     }
 
 
     /**
-     * Checks if any columns need to be removed from Egeria
+     * Removes the table columns that no longer exist in Postgres from Egeria
      *
-     * @param postgresColumns            a list of the bean properties of a Postgres cols
-     * @param egeriaColumns               a list of the  cols already known to Egeria
+     * @param knownColumns    the table columns known to Egeria but no longer present in Postgres
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private List<DatabaseColumnElement> deleteTableColumns(List<PostgresColumn> postgresColumns, List<DatabaseColumnElement> egeriaColumns) throws AlreadyHandledException
+    private void deleteTableColumns(List<SyncStateStore.Entry> knownColumns) throws AlreadyHandledException
     {
         String methodName = "deleteTableColumns";
 
         try
         {
-            if (egeriaColumns != null)
+            for (SyncStateStore.Entry knownColumn : knownColumns)
             {
-                /*
-                for each column already known to Egeria
-                 */
-                for (Iterator<DatabaseColumnElement> itr = egeriaColumns.iterator(); itr.hasNext();)
-                {
-                    boolean found = false;
-                    DatabaseColumnElement egeriaColumn = itr.next();
-
-                    String knownName = egeriaColumn.getDatabaseColumnProperties().getQualifiedName();
-                    /*
-                    check that the database is still present in Postgres
-                     */
-                    for (PostgresColumn postgresColumn : postgresColumns)
-                    {
-                        String sourceName = postgresColumn.getQualifiedName();
-                        if (sourceName.equals(knownName))
-                        {
-                            /*
-                            if found then check the next column
-                             */
-                            found = true;
-                            break;
-                        }
-                    }
-                        /*
-                        not found in Postgres , so delete the table from Egeria
-                         */
-                    if( !found)
-                    {
-                        getContext().removeDatabaseView(egeriaColumn.getElementHeader().getGUID(), knownName);
-                        itr.remove();
-                    }
-
-                }
+                getContext().removeDatabaseColumn(knownColumn.getGUID(), knownColumn.getQualifiedName());
+                forgetState(knownColumn.getQualifiedName());
             }
         }
         catch (InvalidParameterException error)
@@ -2224,60 +2484,25 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
                     PostgresConnectorErrorCode.UNEXPECTED_ERROR.getMessageDefinition(methodName));
 
         }
-
-        return egeriaColumns;
     }
 
 
     /**
-     * Checks if any columns need to be removed from Egeria
+     * Removes the view columns that no longer exist in Postgres from Egeria
      *
-     * @param postgresColumns            a list of the bean properties of a Postgres cols
-     * @param egeriaColumns               a list of the  cols already known to Egeria
+     * @param knownColumns    the view columns known to Egeria but no longer present in Postgres
      * @throws AlreadyHandledException this exception has already been logged
      */
-    private List<DatabaseColumnElement> deleteViewColumns(List<PostgresColumn> postgresColumns, List<DatabaseColumnElement> egeriaColumns) throws AlreadyHandledException
+    private void deleteViewColumns(List<SyncStateStore.Entry> knownColumns) throws AlreadyHandledException
     {
         String methodName = "deleteViewColumns";
 
         try
         {
-            if (egeriaColumns != null)
+            for (SyncStateStore.Entry knownColumn : knownColumns)
             {
-                /*
-                for each column already known to Egeria
-                 */
-                for (Iterator<DatabaseColumnElement> itr = egeriaColumns.iterator(); itr.hasNext();)
-                {
-                    boolean found = false;
-                    DatabaseColumnElement egeriaColumn = itr.next();
-
-                    String knownName = egeriaColumn.getDatabaseColumnProperties().getQualifiedName();
-                    /*
-                    check that the database is still present in Postgres
-                     */
-                    for (PostgresColumn postgresColumn : postgresColumns)
-                    {
-                        String sourceName = postgresColumn.getQualifiedName();
-                        if (sourceName.equals(knownName))
-                        {
-                            /*
-                            if found then check the next column
-                             */
-                            found = true;
-                            break;
-                        }
-                    }
-                        /*
-                        not found in Postgres , so delete the table from Egeria
-                         */
-                    if( !found)
-                    {
-                        getContext().removeDatabaseView(egeriaColumn.getElementHeader().getGUID(), knownName);
-                        itr.remove();
-                    }
-
-                }
+                getContext().removeDatabaseColumn(knownColumn.getGUID(), knownColumn.getQualifiedName());
+                forgetState(knownColumn.getQualifiedName());
             }
         }
         catch (InvalidParameterException error)
@@ -2322,6 +2547,5 @@ public class PostgresDatabaseConnector extends DatabaseIntegratorConnector
                     PostgresConnectorErrorCode.UNEXPECTED_ERROR.getMessageDefinition(methodName));
 
         }
-        return egeriaColumns;
     }
 }
@@ -8,42 +8,201 @@ import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties
 import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresForeignKeyLinks;
 import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresSchema;
 import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresTable;
-import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Properties;
 
 /*
 The PostgresSourceDatabase class abstracts away the connection to the database host system which is needed to gain a list of databases
+
+The structure of a database is read in one of two ways, selected with the catalogExtractionMode configuration property:
+"bulk" (the default) reads the whole database from pg_catalog in a few set based queries and serves the refresh from a
+PostgresCatalogSnapshot, "perTable" issues an INFORMATION_SCHEMA query for each schema and table as it is visited.
+The bulk queries need Postgres 12 or later. If the bulk queries do not complete within the query timeout the refresh
+carries on in "perTable" mode, so that a relation blocked by a lock only holds up its own schema.
  */
 public class PostgresSourceDatabase
 {
+    static final String CATALOG_EXTRACTION_MODE_PROPERTY = "catalogExtractionMode";
+    static final String BULK_EXTRACTION = "bulk";
+    static final String PER_TABLE_EXTRACTION = "perTable";
+
+    /* the relation level privilege test applied by the information_schema views */
+    private static final String RELATION_PRIVILEGE_FILTER =
+            "(pg_has_role(c.relowner, 'USAGE') " +
+            "OR has_table_privilege(c.oid, 'SELECT, INSERT, UPDATE, DELETE, TRUNCATE, REFERENCES, TRIGGER') " +
+            "OR has_any_column_privilege(c.oid, 'SELECT, INSERT, UPDATE, REFERENCES'))";
+
+    private static final String BULK_SCHEMAS_SQL =
+            "SELECT current_database() AS catalog_name, " +
+            "n.nspname AS schema_name, " +
+            "pg_get_userbyid(n.nspowner) AS schema_owner, " +
+            "NULL AS default_character_set_catalog, " +
+            "NULL AS default_character_set_schema, " +
+            "NULL AS default_character_set_name, " +
+            "NULL AS sql_path " +
+            "FROM pg_namespace n " +
+            "WHERE pg_has_role(n.nspowner, 'USAGE') OR has_schema_privilege(n.oid, 'CREATE, USAGE') " +
+            "ORDER BY n.nspname;";
+
+    private static final String BULK_TABLES_SQL =
+            "SELECT current_database() AS table_catalog, " +
+            "nc.nspname AS table_schema, " +
+            "c.relname AS table_name, " +
+            "CASE WHEN nc.oid = pg_my_temp_schema() THEN 'LOCAL TEMPORARY' " +
+            "     WHEN c.relkind IN ('r', 'p') THEN 'BASE TABLE' " +
+            "     WHEN c.relkind = 'v' THEN 'VIEW' " +
+            "     WHEN c.relkind = 'f' THEN 'FOREIGN' END AS table_type, " +
+            "NULL AS self_referencing_column_name, " +
+            "NULL AS reference_generation, " +
+            "CASE WHEN t.typname IS NOT NULL THEN current_database() END AS user_defined_type_catalog, " +
+            "nt.nspname AS user_defined_type_schema, " +
+            "t.typname AS user_defined_type_name, " +
+            "CASE WHEN c.relkind IN ('r', 'p') OR (c.relkind IN ('v', 'f') AND (pg_relation_is_updatable(c.oid, false) & 8) = 8) " +
+            "     THEN 'YES' ELSE 'NO' END AS is_insertable_into, " +
+            "CASE WHEN t.typname IS NOT NULL THEN 'YES' ELSE 'NO' END AS is_typed, " +
+            "CASE WHEN nc.oid = pg_my_temp_schema() THEN 'PRESERVE' END AS commit_action " +
+            "FROM pg_class c " +
+            "JOIN pg_namespace nc ON nc.oid = c.relnamespace " +
+            "LEFT JOIN (pg_type t JOIN pg_namespace nt ON nt.oid = t.typnamespace) ON c.reloftype = t.oid " +
+            "WHERE c.relkind IN ('r', 'v', 'f', 'p') " +
+            "AND NOT pg_is_other_temp_schema(nc.oid) " +
+            "AND " + RELATION_PRIVILEGE_FILTER + " " +
+            "ORDER BY nc.nspname, c.relname;";
+
+    private static final String BULK_COLUMNS_SQL =
+            "SELECT current_database() AS table_catalog, " +
+            "nc.nspname AS table_schema, " +
+            "c.relname AS table_name, " +
+            "a.attname AS column_name, " +
+            "a.attnum AS ordinal_position, " +
+            "CASE WHEN a.attgenerated = '' THEN pg_get_expr(ad.adbin, ad.adrelid) END AS column_default, " +
+            "CASE WHEN a.attnotnull OR (t.typtype = 'd' AND t.typnotnull) THEN 'NO' ELSE 'YES' END AS is_nullable, " +
+            "CASE WHEN t.typtype = 'd' THEN " +
+            "       CASE WHEN bt.typelem <> 0 AND bt.typlen = -1 THEN 'ARRAY' " +
+            "            WHEN nbt.nspname = 'pg_catalog' THEN format_type(t.typbasetype, NULL) " +
+            "            ELSE 'USER-DEFINED' END " +
+            "     ELSE " +
+            "       CASE WHEN t.typelem <> 0 AND t.typlen = -1 THEN 'ARRAY' " +
+            "            WHEN nt.nspname = 'pg_catalog' THEN format_type(a.atttypid, NULL) " +
+            "            ELSE 'USER-DEFINED' END " +
+            "     END AS data_type, " +
+            "information_schema._pg_char_max_length(information_schema._pg_truetypid(a, t), information_schema._pg_truetypmod(a, t)) AS character_maximum_length, " +
+            "information_schema._pg_char_octet_length(information_schema._pg_truetypid(a, t), information_schema._pg_truetypmod(a, t)) AS character_octet_length, " +
+            "information_schema._pg_numeric_precision(information_schema._pg_truetypid(a, t), information_schema._pg_truetypmod(a, t)) AS numeric_precision, " +
+            "information_schema._pg_numeric_precision_radix(information_schema._pg_truetypid(a, t), information_schema._pg_truetypmod(a, t)) AS numeric_precision_radix, " +
+            "information_schema._pg_numeric_scale(information_schema._pg_truetypid(a, t), information_schema._pg_truetypmod(a, t)) AS numeric_scale, " +
+            "information_schema._pg_datetime_precision(information_schema._pg_truetypid(a, t), information_schema._pg_truetypmod(a, t)) AS datetime_precision, " +
+            "information_schema._pg_interval_type(information_schema._pg_truetypid(a, t), information_schema._pg_truetypmod(a, t)) AS interval_type, " +
+            "NULL AS interval_precision, " +
+            "NULL AS character_set_catalog, " +
+            "NULL AS character_set_schema, " +
+            "NULL AS character_set_name, " +
+            "CASE WHEN nco.nspname IS NOT NULL THEN current_database() END AS collation_catalog, " +
+            "nco.nspname AS collation_schema, " +
+            "co.collname AS collation_name, " +
+            "CASE WHEN t.typtype = 'd' THEN current_database() END AS domain_catalog, " +
+            "CASE WHEN t.typtype = 'd' THEN nt.nspname END AS domain_schema, " +
+            "CASE WHEN t.typtype = 'd' THEN t.typname END AS domain_name, " +
+            "current_database() AS udt_catalog, " +
+            "coalesce(nbt.nspname, nt.nspname) AS udt_schema, " +
+            "coalesce(bt.typname, t.typname) AS udt_name, " +
+            "NULL AS scope_catalog, " +
+            "NULL AS scope_schema, " +
+            "NULL AS scope_name, " +
+            "NULL AS maximum_cardinality, " +
+            "a.attnum AS dtd_identifier, " +
+            "'NO' AS is_self_referencing, " +
+            "CASE WHEN a.attidentity IN ('a', 'd') THEN 'YES' ELSE 'NO' END AS is_identity, " +
+            "CASE a.attidentity WHEN 'a' THEN 'ALWAYS' WHEN 'd' THEN 'BY DEFAULT' END AS identity_generation, " +
+            "seq.seqstart AS identity_start, " +
+            "seq.seqincrement AS identity_increment, " +
+            "seq.seqmax AS identity_maximum, " +
+            "seq.seqmin AS identity_minimum, " +
+            "CASE WHEN seq.seqcycle THEN 'YES' ELSE 'NO' END AS identity_cycle, " +
+            "CASE WHEN a.attgenerated <> '' THEN 'ALWAYS' ELSE 'NEVER' END AS is_generated, " +
+            "CASE WHEN a.attgenerated <> '' THEN pg_get_expr(ad.adbin, ad.adrelid) END AS generation_expression, " +
+            "CASE WHEN c.relkind IN ('r', 'p') OR (c.relkind IN ('v', 'f') AND pg_column_is_updatable(c.oid, a.attnum, false)) " +
+            "     THEN 'YES' ELSE 'NO' END AS is_updatable " +
+            "FROM (pg_attribute a LEFT JOIN pg_attrdef ad ON a.attrelid = ad.adrelid AND a.attnum = ad.adnum) " +
+            "JOIN (pg_class c JOIN pg_namespace nc ON c.relnamespace = nc.oid) ON a.attrelid = c.oid " +
+            "JOIN (pg_type t JOIN pg_namespace nt ON t.typnamespace = nt.oid) ON a.atttypid = t.oid " +
+            "LEFT JOIN (pg_type bt JOIN pg_namespace nbt ON bt.typnamespace = nbt.oid) ON t.typtype = 'd' AND t.typbasetype = bt.oid " +
+            "LEFT JOIN (pg_collation co JOIN pg_namespace nco ON co.collnamespace = nco.oid) " +
+            "       ON a.attcollation = co.oid AND (nco.nspname, co.collname) <> ('pg_catalog', 'default') " +
+            "LEFT JOIN (pg_depend dep JOIN pg_sequence seq ON dep.classid = 'pg_class'::regclass AND dep.objid = seq.seqrelid AND dep.deptype = 'i') " +
+            "       ON dep.refclassid = 'pg_class'::regclass AND dep.refobjid = c.oid AND dep.refobjsubid = a.attnum " +
+            "WHERE a.attnum > 0 AND NOT a.attisdropped " +
+            "AND c.relkind IN ('r', 'v', 'f', 'p') " +
+            "AND NOT pg_is_other_temp_schema(nc.oid) " +
+            "AND " + RELATION_PRIVILEGE_FILTER + " " +
+            "ORDER BY nc.nspname, c.relname, a.attnum;";
+
+    /* one row per constrained column, multi-column foreign keys are paired position by position */
+    private static final String BULK_KEYS_SQL =
+            "SELECT nc.nspname AS table_schema, " +
+            "con.conname AS constraint_name, " +
+            "con.contype AS constraint_type, " +
+            "c.relname AS table_name, " +
+            "a.attname AS column_name, " +
+            "nf.nspname AS ftschema, " +
+            "cf.relname AS ftname, " +
+            "af.attname AS fcolumn " +
+            "FROM pg_constraint con " +
+            "JOIN pg_class c ON c.oid = con.conrelid " +
+            "JOIN pg_namespace nc ON nc.oid = c.relnamespace " +
+            "CROSS JOIN LATERAL unnest(con.conkey, con.confkey) WITH ORDINALITY AS k(attnum, fattnum, position) " +
+            "JOIN pg_attribute a ON a.attrelid = con.conrelid AND a.attnum = k.attnum " +
+            "LEFT JOIN pg_class cf ON cf.oid = con.confrelid " +
+            "LEFT JOIN pg_namespace nf ON nf.oid = cf.relnamespace " +
+            "LEFT JOIN pg_attribute af ON af.attrelid = con.confrelid AND af.attnum = k.fattnum " +
+            "WHERE con.contype IN ('p', 'f') " +
+            "AND NOT pg_is_other_temp_schema(nc.oid) " +
+            "AND " + RELATION_PRIVILEGE_FILTER + " " +
+            "ORDER BY nc.nspname, c.relname, con.conname, k.position;";
+
     /* used to cache the resilts of the getDatabaseInstance() */
     String instance = null;
 
-    Properties postgresProps = new Properties();
+    /* pool of connections to the Postgres server shared across calls */
+    private final PostgresConnectionPool pool;
+
+    private final boolean bulkExtraction;
+
+    /* the structure of the connected database, read on first use when bulkExtraction is set */
+    private PostgresCatalogSnapshot snapshot = null;
+
+    /* true when the snapshot could not be read in time, the rest of the refresh queries each schema and table */
+    private boolean snapshotTimedOut = false;
 
-    public PostgresSourceDatabase(ConnectionProperties egeriaProps )
+    public PostgresSourceDatabase(PostgresConnectionPool pool )
     {
+        this(pool, true);
+    }
 
-        //TODO Can the configuration properties be <String,String> to avoid the conversion
-        Map<String, Object> objProps = egeriaProps.getConfigurationProperties();
+    public PostgresSourceDatabase(PostgresConnectionPool pool, boolean bulkExtraction )
+    {
+        this.pool = pool;
+        this.bulkExtraction = bulkExtraction;
+    }
 
-        for(Map.Entry<String,Object> obj : objProps.entrySet())
-        {
-            if(obj.getValue() instanceof String)
-            {
-                postgresProps.put(obj.getKey(), String.valueOf(obj.getValue()));
-            }
-        }
-        //TODO YIKES and YUK
-        postgresProps.setProperty("user", egeriaProps.getUserId());
-        postgresProps.setProperty("password", egeriaProps.getClearPassword());
-       //  postgresProps.setProperty("password", "password");
+    /**
+     * Discards the catalog snapshot so that the next lookup reads the database structure afresh.
+     * Called at the start and end of each refresh.
+     */
+    public synchronized void clearSnapshot()
+    {
+        snapshot = null;
+        snapshotTimedOut = false;
+    }
 
+    /**
+     * @return true if the snapshot of the current refresh could not be read within the query timeout
+     */
+    public synchronized boolean isSnapshotTimedOut()
+    {
+        return snapshotTimedOut;
     }
 
     /*
@@ -60,9 +219,8 @@ public class PostgresSourceDatabase
         String sql = "SELECT CURRENT_USER usr ,inet_server_addr() host, inet_server_port() port;";
         /*
          */
-        try( Connection connection  = DriverManager.getConnection( postgresProps.getProperty("url"), postgresProps );
-             PreparedStatement ps = connection.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()
+        try( PostgresConnectionPool.PooledConnection pooled = pool.getConnection();
+             ResultSet rs = pooled.prepareStatement(sql, false).executeQuery()
         )
         {
 
@@ -92,9 +250,8 @@ public class PostgresSourceDatabase
         /*
          */
         String sql = "SELECT VERSION(), * FROM pg_database WHERE datistemplate = false;";
-        try(Connection connection  = DriverManager.getConnection( postgresProps.getProperty("url"), postgresProps );
-             PreparedStatement ps = connection.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()
+        try(PostgresConnectionPool.PooledConnection pooled = pool.getConnection();
+             ResultSet rs = pooled.prepareStatement(sql, false).executeQuery()
         )
         {
 
@@ -118,27 +275,36 @@ public class PostgresSourceDatabase
      */
     public List<PostgresSchema> getDatabaseSchema(String databaseName ) throws SQLException
     {
-        String sql = "SELECT *  FROM information_schema.schemata where catalog_name = '%s' ;";
+        if (useSnapshot())
+        {
+            PostgresCatalogSnapshot catalog = getSnapshot();
 
-        sql = String.format( sql, databaseName );
+            /* as with information_schema, only the connected database is visible */
+            List<PostgresSchema> schemas = new ArrayList<>();
+            if (catalog.getDatabaseName().equals(databaseName))
+            {
+                for (PostgresSchema attributes : catalog.getSchemas())
+                {
+                    if (!attributes.getSchema_name().equals("public") || catalog.isSchemaInUse("public"))
+                    {
+                        schemas.add(attributes);
+                    }
+                }
+            }
+            return schemas;
+        }
+
+        String sql = "SELECT *  FROM information_schema.schemata where catalog_name = ? ;";
 
         /* list of the attributes of the schemas */
         List<PostgresSchema> schemas = new ArrayList<>();
 
         try (
-                Connection conn = DriverManager.getConnection(postgresProps.getProperty("url"), postgresProps);
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql);
+                PostgresConnectionPool.PooledConnection pooled = pool.getConnection();
+                ResultSet rs = executeQuery(pooled, sql, false, databaseName);
         ) {
             while (rs.next()) {
-                PostgresSchema attributes = new PostgresSchema(
-                        rs.getString("catalog_name"),
-                        rs.getString("schema_name"),
-                        rs.getString("schema_owner"),
-                        rs.getString("default_character_set_catalog"),
-                        rs.getString("default_character_set_schema"),
-                        rs.getString("default_character_set_name"),
-                        rs.getString("sql_path"));
+                PostgresSchema attributes = toSchema(rs);
 
                 if ((attributes.getSchema_name().equals("public"))) {
                     if (isSchemaInUse("public") == true) {
@@ -164,14 +330,11 @@ public class PostgresSourceDatabase
         boolean result = false;
         String sql = "SELECT count(table_schema) AS rowcount " +
                 "FROM INFORMATION_SCHEMA.TABLES " +
-                "WHERE table_schema = '%s' ;";
-
-        sql = String.format(sql, schema);
+                "WHERE table_schema = ? ;";
 
         try (
-                Connection conn = DriverManager.getConnection(postgresProps.getProperty("url"), postgresProps);
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql);
+                PostgresConnectionPool.PooledConnection pooled = pool.getConnection();
+                ResultSet rs = executeQuery(pooled, sql, false, schema);
         ) {
             rs.next();
             if (rs.getInt("rowcount") != 0) {
@@ -190,31 +353,20 @@ public class PostgresSourceDatabase
      * @throws SQLException thrown by the JDBC Driver
      */
     private List<PostgresTable> getTables(String schemaName, String type) throws SQLException {
-        String sql = "SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE table_schema = '%s' AND table_type = '%s';";
-        sql = String.format(sql, schemaName,type);
+        if (useSnapshot())
+        {
+            return getSnapshot().getRelations(schemaName, type);
+        }
+
+        String sql = "SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE table_schema = ? AND table_type = ?;";
         List<PostgresTable> attributes = new ArrayList<>();
 
         try (
-                Connection conn = DriverManager.getConnection(postgresProps.getProperty("url"), postgresProps);
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql);
+                PostgresConnectionPool.PooledConnection pooled = pool.getConnection();
+                ResultSet rs = executeQuery(pooled, sql, false, schemaName, type);
         ) {
             while (rs.next()) {
-                PostgresTable attr = new PostgresTable(
-                        rs.getString("table_catalog"),
-                        rs.getString("table_schema"),
-                        rs.getString("table_name"),
-                        rs.getString("table_type"),
-                        rs.getString("self_referencing_column_name"),
-                        rs.getString("reference_generation"),
-                        rs.getString("user_defined_type_catalog"),
-                        rs.getString("user_defined_type_schema"),
-                        rs.getString("user_defined_type_name"),
-                        rs.getString("user_defined_type_name"),
-                        rs.getString("is_insertable_into"),
-                        rs.getString("commit_action")
-                );
-                attributes.add(attr);
+                attributes.add(toTable(rs));
             }
 
         }
@@ -224,69 +376,26 @@ public class PostgresSourceDatabase
 
     /**
      * Lists the Postgres column attributes for a given table
-     * @param tableName the name of the database to find the schemas
+     * @param schemaName the name of the schema holding the table
+     * @param tableName the name of the table
      * @return A list of columns for the given table
      * @throws SQLException thrown by the JDBC Driver
      */
-    List<PostgresColumn> getColumns(String tableName) throws SQLException {
-        String sql = "SELECT * FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = '%s';";
-        sql = String.format(sql, tableName);
+    List<PostgresColumn> getColumns(String schemaName, String tableName) throws SQLException {
+        if (useSnapshot())
+        {
+            return getSnapshot().getColumns(schemaName, tableName);
+        }
+
+        String sql = "SELECT * FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?;";
         List<PostgresColumn> cols = new ArrayList<PostgresColumn>();
 
         try (
-                Connection conn = DriverManager.getConnection(postgresProps.getProperty("url"), postgresProps);
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql);
+                PostgresConnectionPool.PooledConnection pooled = pool.getConnection();
+                ResultSet rs = executeQuery(pooled, sql, true, schemaName, tableName);
         ) {
             while (rs.next()) {
-
-                PostgresColumn attr = new PostgresColumn(
-                        rs.getString("table_catalog"),
-                        rs.getString("table_schema"),
-                        rs.getString("table_name"),
-                        rs.getString("column_name"),
-                        rs.getString("ordinal_position"),
-                        rs.getString("column_default"),
-                        rs.getString("is_nullable"),
-                        rs.getString("data_type"),
-                        rs.getString("character_maximum_length"),
-                        rs.getString("character_octet_length"),
-                        rs.getString("numeric_precision"),
-                        rs.getString("numeric_precision_radix"),
-                        rs.getString("numeric_scale"),
-                        rs.getString("datetime_precision"),
-                        rs.getString("interval_type"),
-                        rs.getString("interval_precision"),
-                        rs.getString("character_set_catalog"),
-                        rs.getString("character_set_schema"),
-                        rs.getString("character_set_name"),
-                        rs.getString("collation_catalog"),
-                        rs.getString("collation_schema"),
-                        rs.getString("collation_name"),
-                        rs.getString("domain_catalog"),
-                        rs.getString("domain_schema"),
-                        rs.getString("domain_name"),
-                        rs.getString("udt_catalog"),
-                        rs.getString("udt_schema"),
-                        rs.getString("udt_name"),
-                        rs.getString("scope_catalog"),
-                        rs.getString("scope_schema"),
-                        rs.getString("scope_name"),
-                        rs.getString("maximum_cardinality"),
-                        rs.getString("dtd_identifier"),
-                        rs.getString("is_self_referencing"),
-                        rs.getString("is_identity"),
-                        rs.getString("identity_generation"),
-                        rs.getString("identity_start"),
-                        rs.getString("identity_increment"),
-                        rs.getString("identity_maximum"),
-                        rs.getString("identity_minimum"),
-                        rs.getString("identity_cycle"),
-                        rs.getString("is_generated"),
-                        rs.getString("generation_expression"),
-                        rs.getString("is_updatable")
-                );
-                cols.add(attr);
+                cols.add(toColumn(rs));
             }
 
         }
@@ -321,41 +430,50 @@ public class PostgresSourceDatabase
 
     /**
      * Wrapper function which lists the Postgres primary key attributes for a given table name
-     * @param tableName the name of the database to find the schemas
+     * @param schemaName the name of the schema holding the table
+     * @param tableName the name of the table
      * @return A list of primary keys for the given database
      * @throws SQLException thrown by the JDBC Driver
      */
-    public List<String> getPrimaryKeyColumnNamesForTable(String tableName) throws SQLException {
-        return getKeyNamesForTable(tableName, "PRIMARY KEY");
+    public List<String> getPrimaryKeyColumnNamesForTable(String schemaName, String tableName) throws SQLException {
+        if (useSnapshot())
+        {
+            return getSnapshot().getPrimaryKeyColumnNames(schemaName, tableName);
+        }
+        return getKeyNamesForTable(schemaName, tableName, "PRIMARY KEY");
     }
 
     /**
      * Wrapper function which lists the Postgres foreign key attributes for views for a given table
+     * @param schemaName the name of the schema holding the table
      * @param tableName the name of the table
      * @return A list of foreign keys for the given table
      * @throws SQLException thrown by the JDBC Driver
      */
-    public List<String> getForeignKeyColumnNamesForTable(String tableName) throws SQLException {
-        return getKeyNamesForTable(tableName, "FOREIGN KEY");
+    public List<String> getForeignKeyColumnNamesForTable(String schemaName, String tableName) throws SQLException {
+        if (useSnapshot())
+        {
+            return getSnapshot().getForeignKeyColumnNames(schemaName, tableName);
+        }
+        return getKeyNamesForTable(schemaName, tableName, "FOREIGN KEY");
     }
 
     /**
      * Primary keys and foregin keys are treated the same in Postgres
-     * @param tableName the name of the database to find the schemas
+     * @param schemaName the name of the schema holding the table
+     * @param tableName the name of the table
      * @param type "PRIMARY KEY" or "FOREGIN KEY"
      * @return A list of keys for the given table
      * @throws SQLException thrown by the JDBC Driver
      */
-    private List<String> getKeyNamesForTable(String tableName, String type) throws SQLException {
+    private List<String> getKeyNamesForTable(String schemaName, String tableName, String type) throws SQLException {
         List<String> names = new ArrayList<>();
 
-        String sql = "SELECT c.column_name AS name FROM information_schema.table_constraints tc JOIN information_schema.constraint_column_usage AS ccu USING (constraint_schema, constraint_name) JOIN information_schema.columns AS c ON c.table_schema = tc.constraint_schema AND tc.table_name = c.table_name AND ccu.column_name = c.column_name WHERE constraint_type = '%s' and tc.table_name = '%s';";
-        sql = String.format(sql, type, tableName);
+        String sql = "SELECT c.column_name AS name FROM information_schema.table_constraints tc JOIN information_schema.constraint_column_usage AS ccu USING (constraint_schema, constraint_name) JOIN information_schema.columns AS c ON c.table_schema = tc.constraint_schema AND tc.table_name = c.table_name AND ccu.column_name = c.column_name WHERE constraint_type = ? and tc.table_schema = ? and tc.table_name = ?;";
 
         try (
-                Connection conn = DriverManager.getConnection(postgresProps.getProperty("url"), postgresProps);
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql);
+                PostgresConnectionPool.PooledConnection pooled = pool.getConnection();
+                ResultSet rs = executeQuery(pooled, sql, true, type, schemaName, tableName);
         ) {
             while (rs.next()) {
 
@@ -370,11 +488,17 @@ public class PostgresSourceDatabase
 
     /**
      * lists the foreign key attributes needed to create an enetity relationship between the database columns
+     * @param schemaName the name of the schema holding the table
      * @param tableName the name of the table containimng the foregin keys
      * @return A list of foregin key links attributes for the given table
      * @throws SQLException thrown by the JDBC Driver
      */
-    public List<PostgresForeignKeyLinks> getForeginKeyLinksForTable(String tableName) throws SQLException {
+    public List<PostgresForeignKeyLinks> getForeginKeyLinksForTable(String schemaName, String tableName) throws SQLException {
+
+        if (useSnapshot())
+        {
+            return getSnapshot().getForeignKeyLinks(schemaName, tableName);
+        }
 
         String sql = "SELECT\n" +
                 "    tc.table_schema, \n" +
@@ -392,34 +516,291 @@ public class PostgresSourceDatabase
                 "    JOIN information_schema.constraint_column_usage AS ccu\n" +
                 "      ON ccu.constraint_name = tc.constraint_name\n" +
                 "      AND ccu.table_schema = tc.table_schema\n" +
-                "WHERE tc.constraint_type = 'FOREIGN KEY' AND tc.table_name='%s';\n";
+                "WHERE tc.constraint_type = 'FOREIGN KEY' AND tc.table_schema=? AND tc.table_name=?;\n";
+
+        List<PostgresForeignKeyLinks> results = new ArrayList<>();
+
+        try (
+                PostgresConnectionPool.PooledConnection pooled = pool.getConnection();
+                ResultSet rs = executeQuery(pooled, sql, true, schemaName, tableName);
+        )
+        {
+            while (rs.next()) {
+                results.add(toForeignKeyLink(rs));
+            }
+
+            return results;
+
+        }
+    }
 
+    /**
+     * lists the foreign key attributes of every table in a schema, read in a single query
+     * @param schemaName the name of the schema holding the tables containing the foreign keys
+     * @return A list of foreign key links attributes for the given schema
+     * @throws SQLException thrown by the JDBC Driver
+     */
+    public List<PostgresForeignKeyLinks> getForeignKeyLinksForSchema(String schemaName) throws SQLException {
 
-        sql = String.format(sql, tableName);
+        if (useSnapshot())
+        {
+            return getSnapshot().getForeignKeyLinks(schemaName);
+        }
+
+        String sql = "SELECT\n" +
+                "    tc.table_schema, \n" +
+                "    tc.constraint_name, \n" +
+                "    tc.table_name, \n" +
+                "    kcu.column_name, \n" +
+                "    ccu.table_schema AS ftschema,\n" +
+                "    ccu.table_name AS ftname,\n" +
+                "    ccu.column_name AS fcolumn \n" +
+                "FROM \n" +
+                "    information_schema.table_constraints AS tc \n" +
+                "    JOIN information_schema.key_column_usage AS kcu\n" +
+                "      ON tc.constraint_name = kcu.constraint_name\n" +
+                "      AND tc.table_schema = kcu.table_schema\n" +
+                "    JOIN information_schema.constraint_column_usage AS ccu\n" +
+                "      ON ccu.constraint_name = tc.constraint_name\n" +
+                "      AND ccu.table_schema = tc.table_schema\n" +
+                "WHERE tc.constraint_type = 'FOREIGN KEY' AND tc.table_schema=?;\n";
 
         List<PostgresForeignKeyLinks> results = new ArrayList<>();
 
         try (
-                Connection conn = DriverManager.getConnection(postgresProps.getProperty("url"), postgresProps);
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql);
+                PostgresConnectionPool.PooledConnection pooled = pool.getConnection();
+                ResultSet rs = executeQuery(pooled, sql, false, schemaName);
         )
         {
             while (rs.next()) {
-                PostgresForeignKeyLinks link = new PostgresForeignKeyLinks(
-                        rs.getString("table_schema"),
-                        rs.getString("constraint_name"),
-                        rs.getString("table_name"),
-                        rs.getString("column_name"),
-                        rs.getString("ftschema"),
-                        rs.getString("ftname"),
-                        rs.getString("fcolumn"));
-
-                results.add(link);
+                results.add(toForeignKeyLink(rs));
             }
 
             return results;
+        }
+    }
+
+    /**
+     * Returns true if the lookups of the current refresh are served from the snapshot, reading it if it is not already held.
+     * A snapshot that times out is given up on until the next refresh.
+     * @return true to use the snapshot, false to query each schema and table as it is visited
+     * @throws SQLException thrown by the JDBC Driver for anything other than a timeout
+     */
+    private synchronized boolean useSnapshot() throws SQLException
+    {
+        if (!bulkExtraction || snapshotTimedOut)
+        {
+            return false;
+        }
+        try
+        {
+            getSnapshot();
+            return true;
+        }
+        catch (SQLException error)
+        {
+            if (!PostgresConnectionPool.isTimeout(error))
+            {
+                throw error;
+            }
+            snapshotTimedOut = true;
+            return false;
+        }
+    }
+
+    /**
+     * Returns the snapshot of the connected database, reading it from pg_catalog if it is not already held
+     * @return the structure of the connected database
+     * @throws SQLException thrown by the JDBC Driver
+     */
+    private synchronized PostgresCatalogSnapshot getSnapshot() throws SQLException
+    {
+        if (snapshot == null)
+        {
+            snapshot = readSnapshot();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reads the schemas, relations, columns and keys of the connected database in four queries over a single connection
+     * @return the structure of the connected database
+     * @throws SQLException thrown by the JDBC Driver
+     */
+    private PostgresCatalogSnapshot readSnapshot() throws SQLException
+    {
+        try (PostgresConnectionPool.PooledConnection pooled = pool.getConnection())
+        {
+            /* information_schema reports the database name as the catalog of every object */
+            String databaseName;
+            try (ResultSet rs = executeQuery(pooled, "SELECT current_database() AS catalog_name;", false))
+            {
+                rs.next();
+                databaseName = rs.getString("catalog_name");
+            }
+
+            PostgresCatalogSnapshot catalog = new PostgresCatalogSnapshot(databaseName);
+
+            try (ResultSet rs = executeQuery(pooled, BULK_SCHEMAS_SQL, false))
+            {
+                while (rs.next())
+                {
+                    catalog.addSchema(toSchema(rs));
+                }
+            }
+
+            try (ResultSet rs = executeQuery(pooled, BULK_TABLES_SQL, false))
+            {
+                while (rs.next())
+                {
+                    catalog.addRelation(toTable(rs));
+                }
+            }
 
+            try (ResultSet rs = executeQuery(pooled, BULK_COLUMNS_SQL, false))
+            {
+                while (rs.next())
+                {
+                    catalog.addColumn(toColumn(rs));
+                }
+            }
+
+            try (ResultSet rs = executeQuery(pooled, BULK_KEYS_SQL, false))
+            {
+                while (rs.next())
+                {
+                    String schemaName = rs.getString("table_schema");
+                    String tableName = rs.getString("table_name");
+                    String columnName = rs.getString("column_name");
+
+                    if ("p".equals(rs.getString("constraint_type")))
+                    {
+                        catalog.addPrimaryKeyColumn(schemaName, tableName, columnName);
+                    }
+                    else
+                    {
+                        catalog.addForeignKeyLink(toForeignKeyLink(rs), schemaName, tableName, columnName);
+                    }
+                }
+            }
+
+            return catalog;
+        }
+    }
+
+    /**
+     * Runs a query through the statement cache of the leased connection, binding the parameters in order
+     * @param pooled the leased connection
+     * @param sql the query with ? placeholders
+     * @param serverPrepared true for the queries issued once per schema or table
+     * @param parameters the values bound to the placeholders
+     * @return the result set, to be closed by the caller
+     * @throws SQLException thrown by the JDBC Driver
+     */
+    private static ResultSet executeQuery(PostgresConnectionPool.PooledConnection pooled,
+                                          String sql,
+                                          boolean serverPrepared,
+                                          String... parameters) throws SQLException
+    {
+        PreparedStatement ps = pooled.prepareStatement(sql, serverPrepared);
+        for (int i = 0; i < parameters.length; i++)
+        {
+            ps.setString(i + 1, parameters[i]);
         }
+        return ps.executeQuery();
+    }
+
+    /*
+    The row mappers below are shared by the information_schema and pg_catalog queries, which return the same column labels
+     */
+
+    private static PostgresSchema toSchema(ResultSet rs) throws SQLException
+    {
+        return new PostgresSchema(
+                rs.getString("catalog_name"),
+                rs.getString("schema_name"),
+                rs.getString("schema_owner"),
+                rs.getString("default_character_set_catalog"),
+                rs.getString("default_character_set_schema"),
+                rs.getString("default_character_set_name"),
+                rs.getString("sql_path"));
+    }
+
+    private static PostgresTable toTable(ResultSet rs) throws SQLException
+    {
+        return new PostgresTable(
+                rs.getString("table_catalog"),
+                rs.getString("table_schema"),
+                rs.getString("table_name"),
+                rs.getString("table_type"),
+                rs.getString("self_referencing_column_name"),
+                rs.getString("reference_generation"),
+                rs.getString("user_defined_type_catalog"),
+                rs.getString("user_defined_type_schema"),
+                rs.getString("user_defined_type_name"),
+                rs.getString("is_insertable_into"),
+                rs.getString("is_typed"),
+                rs.getString("commit_action"));
+    }
+
+    private static PostgresColumn toColumn(ResultSet rs) throws SQLException
+    {
+        return new PostgresColumn(
+                rs.getString("table_catalog"),
+                rs.getString("table_schema"),
+                rs.getString("table_name"),
+                rs.getString("column_name"),
+                rs.getString("ordinal_position"),
+                rs.getString("column_default"),
+                rs.getString("is_nullable"),
+                rs.getString("data_type"),
+                rs.getString("character_maximum_length"),
+                rs.getString("character_octet_length"),
+                rs.getString("numeric_precision"),
+                rs.getString("numeric_precision_radix"),
+                rs.getString("numeric_scale"),
+                rs.getString("datetime_precision"),
+                rs.getString("interval_type"),
+                rs.getString("interval_precision"),
+                rs.getString("character_set_catalog"),
+                rs.getString("character_set_schema"),
+                rs.getString("character_set_name"),
+                rs.getString("collation_catalog"),
+                rs.getString("collation_schema"),
+                rs.getString("collation_name"),
+                rs.getString("domain_catalog"),
+                rs.getString("domain_schema"),
+                rs.getString("domain_name"),
+                rs.getString("udt_catalog"),
+                rs.getString("udt_schema"),
+                rs.getString("udt_name"),
+                rs.getString("scope_catalog"),
+                rs.getString("scope_schema"),
+                rs.getString("scope_name"),
+                rs.getString("maximum_cardinality"),
+                rs.getString("dtd_identifier"),
+                rs.getString("is_self_referencing"),
+                rs.getString("is_identity"),
+                rs.getString("identity_generation"),
+                rs.getString("identity_start"),
+                rs.getString("identity_increment"),
+                rs.getString("identity_maximum"),
+                rs.getString("identity_minimum"),
+                rs.getString("identity_cycle"),
+                rs.getString("is_generated"),
+                rs.getString("generation_expression"),
+                rs.getString("is_updatable"));
+    }
+
+    private static PostgresForeignKeyLinks toForeignKeyLink(ResultSet rs) throws SQLException
+    {
+        return new PostgresForeignKeyLinks(
+                rs.getString("table_schema"),
+                rs.getString("constraint_name"),
+                rs.getString("table_name"),
+                rs.getString("column_name"),
+                rs.getString("ftschema"),
+                rs.getString("ftname"),
+                rs.getString("fcolumn"));
     }
 }
@@ -0,0 +1,162 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/*
+The QualifiedNameReconciler matches the objects read from Postgres against the elements already known to Egeria at one level
+of the hierarchy (databases, schemas, tables, views or columns). The Egeria elements are indexed by qualified name and the
+Postgres objects are looked up in a single pass, so each level costs O(n + m) rather than a nested loop.
+ */
+public class QualifiedNameReconciler
+{
+    private QualifiedNameReconciler()
+    {
+    }
+
+    /**
+     * Sorts the Postgres objects and Egeria elements of one level into added, changed, unchanged and removed
+     *
+     * @param sourceObjects  the objects read from Postgres
+     * @param sourceName     returns the qualified name of a Postgres object
+     * @param egeriaElements the elements known to Egeria, may be null if there are none
+     * @param egeriaName     returns the qualified name of an Egeria element
+     * @param equivalent     true if the Postgres object and the Egeria element have the same properties
+     * @param <S>            type of the Postgres object
+     * @param <E>            type of the Egeria element
+     * @return the outcome of the reconciliation
+     */
+    public static <S, E> Result<S, E> reconcile(List<S>             sourceObjects,
+                                                Function<S, String> sourceName,
+                                                List<E>             egeriaElements,
+                                                Function<E, String> egeriaName,
+                                                BiPredicate<S, E>   equivalent)
+    {
+        Map<String, E> known = new LinkedHashMap<>();
+        if (egeriaElements != null)
+        {
+            for (E element : egeriaElements)
+            {
+                /* if Egeria holds duplicates the first is reconciled and the others are left alone */
+                known.putIfAbsent(egeriaName.apply(element), element);
+            }
+        }
+
+        Result<S, E> result = new Result<>();
+        if (sourceObjects != null)
+        {
+            for (S sourceObject : sourceObjects)
+            {
+                E element = known.remove(sourceName.apply(sourceObject));
+                if (element == null)
+                {
+                    result.added.add(sourceObject);
+                }
+                else if (equivalent.test(sourceObject, element))
+                {
+                    result.unchanged.add(new Match<>(sourceObject, element, false));
+                }
+                else
+                {
+                    result.changed.add(new Match<>(sourceObject, element, true));
+                }
+            }
+        }
+        result.removed.addAll(known.values());
+
+        return result;
+    }
+
+    /*
+    The outcome of reconciling one level of the hierarchy
+     */
+    public static class Result<S, E>
+    {
+        private final List<S>           added     = new ArrayList<>();
+        private final List<Match<S, E>> changed   = new ArrayList<>();
+        private final List<Match<S, E>> unchanged = new ArrayList<>();
+        private final List<E>           removed   = new ArrayList<>();
+
+        /**
+         * @return the Postgres objects not yet known to Egeria
+         */
+        public List<S> getAdded()
+        {
+            return Collections.unmodifiableList(added);
+        }
+
+        /**
+         * @return the matched pairs whose properties differ
+         */
+        public List<Match<S, E>> getChanged()
+        {
+            return Collections.unmodifiableList(changed);
+        }
+
+        /**
+         * @return the matched pairs whose properties are the same
+         */
+        public List<Match<S, E>> getUnchanged()
+        {
+            return Collections.unmodifiableList(unchanged);
+        }
+
+        /**
+         * @return every matched pair, changed ones first
+         */
+        public List<Match<S, E>> getMatched()
+        {
+            List<Match<S, E>> matched = new ArrayList<>(changed);
+            matched.addAll(unchanged);
+            return matched;
+        }
+
+        /**
+         * @return the Egeria elements that no longer exist in Postgres
+         */
+        public List<E> getRemoved()
+        {
+            return Collections.unmodifiableList(removed);
+        }
+    }
+
+    /*
+    A Postgres object paired with the Egeria element of the same qualified name
+     */
+    public static class Match<S, E>
+    {
+        private final S       source;
+        private final E       element;
+        private final boolean changed;
+
+        private Match(S source, E element, boolean changed)
+        {
+            this.source = source;
+            this.element = element;
+            this.changed = changed;
+        }
+
+        public S getSource()
+        {
+            return source;
+        }
+
+        public E getElement()
+        {
+            return element;
+        }
+
+        public boolean isChanged()
+        {
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+The RefreshDeadline bounds the time a refresh may take. When the refreshDeadlineMs configuration property is set, a timer
+thread owned by the connector runs the expiry action once the refresh has been running that long, and the refresh checks
+isExpired to stop starting new work. Without the property a refresh has no deadline. The expiry action runs under the
+lock of the deadline and only for the refresh it was started for, so once finish or start returns the expiry action of an
+earlier refresh has either completed or will never run.
+ */
+class RefreshDeadline
+{
+    static final String REFRESH_DEADLINE_PROPERTY = "refreshDeadlineMs";
+
+    private final long deadlineMs;
+
+    /* null when there is no deadline */
+    private final ScheduledExecutorService timer;
+
+    private ScheduledFuture<?> expiry = null;
+    private volatile boolean expired = false;
+
+    /* counts the refreshes started and finished, an expiry action runs only while it is unchanged since its start */
+    private long generation = 0;
+
+    RefreshDeadline(Map<String, Object> configurationProperties)
+    {
+        this.deadlineMs = Math.max(0, PostgresConnectionPool.getLong(configurationProperties, REFRESH_DEADLINE_PROPERTY, 0));
+
+        if (deadlineMs > 0)
+        {
+            this.timer = Executors.newSingleThreadScheduledExecutor(runnable ->
+                                                                    {
+                                                                        Thread thread = new Thread(runnable, "PostgresConnector-deadline");
+                                                                        thread.setDaemon(true);
+                                                                        return thread;
+                                                                    });
+        }
+        else
+        {
+            this.timer = null;
+        }
+    }
+
+    /**
+     * Starts the clock for a refresh
+     *
+     * @param onExpiry run on the timer thread if the refresh is still running when the deadline passes
+     */
+    synchronized void start(Runnable onExpiry)
+    {
+        finish();
+        expired = false;
+        if (timer != null)
+        {
+            long startedGeneration = generation;
+            expiry = timer.schedule(() -> expire(startedGeneration, onExpiry),
+                                    deadlineMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the clock at the end of a refresh, isExpired keeps its value until the next start
+     */
+    synchronized void finish()
+    {
+        generation++;
+        if (expiry != null)
+        {
+            expiry.cancel(false);
+            expiry = null;
+        }
+    }
+
+    /**
+     * Runs on the timer thread, holding the lock so that finish and start wait for an expiry action already running
+     */
+    private synchronized void expire(long startedGeneration, Runnable onExpiry)
+    {
+        if (startedGeneration != generation)
+        {
+            return;
+        }
+        expired = true;
+        onExpiry.run();
+    }
+
+    /**
+     * @return true if the deadline of the current refresh has passed
+     */
+    boolean isExpired()
+    {
+        return expired;
+    }
+
+    long getDeadlineMillis()
+    {
+        return deadlineMs;
+    }
+
+    /**
+     * Stops the timer thread
+     */
+    void shutdown()
+    {
+        if (timer != null)
+        {
+            timer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,587 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/*
+The SyncStateStore keeps, in a local file, what the connector last synchronised to Egeria: the GUID, parent GUID and
+property digest of every database, schema, table, view and column, keyed by qualified name. When the previous refresh
+completed the connector diffs Postgres against this state and only contacts Egeria for real changes. When the file is
+missing, corrupt or was left by a refresh that did not complete, the connector rescans Egeria and the store is rebuilt.
+
+The file is an append-only log of checksummed records. A refresh appends one record per change and a completion marker,
+and the log is rewritten as a snapshot after a rescan or once it has grown well beyond the number of live entries.
+ */
+class SyncStateStore
+{
+    static final String SYNC_STATE_FILE_PROPERTY = "syncStateFile";
+
+    enum Kind { DATABASE, SCHEMA, TABLE, VIEW, COLUMN }
+
+    private static final int MAGIC = 0x50475353;
+    /* version 2 holds PropertyDigest values, a version 1 file is rescanned */
+    private static final int VERSION = 2;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte COMPLETE = 3;
+
+    private static final int MAX_RECORD_LENGTH = 1024 * 1024;
+
+    /* the log is compacted once it holds this many times more records than there are live entries */
+    private static final int COMPACTION_RATIO = 4;
+    private static final int COMPACTION_MINIMUM = 1024;
+
+    private static final String ROOT = "";
+
+    private final Path file;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<String>> childrenByParent = new HashMap<>();
+
+    private boolean loaded = false;
+    private boolean usable = false;
+    private boolean rescanning = false;
+    private String unusableReason = null;
+
+    private long lastRefreshId = 0;
+    private long refreshId = 0;
+
+    private DataOutputStream log = null;
+    private FileOutputStream logFile = null;
+    private long logRecords = 0;
+    private IOException writeFailure = null;
+
+    SyncStateStore(Path file)
+    {
+        this.file = file;
+    }
+
+    /*
+    What the connector last synchronised for one element
+     */
+    static class Entry
+    {
+        private final Kind kind;
+        private final String qualifiedName;
+        private final String guid;
+        private final String parentGUID;
+        private final long digest;
+        private final boolean primaryKey;
+        private final long lastSeen;
+
+        Entry(Kind kind, String qualifiedName, String guid, String parentGUID, long digest, boolean primaryKey, long lastSeen)
+        {
+            this.kind = kind;
+            this.qualifiedName = qualifiedName;
+            this.guid = guid;
+            this.parentGUID = parentGUID;
+            this.digest = digest;
+            this.primaryKey = primaryKey;
+            this.lastSeen = lastSeen;
+        }
+
+        Kind getKind()
+        {
+            return kind;
+        }
+
+        String getQualifiedName()
+        {
+            return qualifiedName;
+        }
+
+        String getGUID()
+        {
+            return guid;
+        }
+
+        String getParentGUID()
+        {
+            return parentGUID;
+        }
+
+        long getDigest()
+        {
+            return digest;
+        }
+
+        boolean isPrimaryKey()
+        {
+            return primaryKey;
+        }
+
+        long getLastSeen()
+        {
+            return lastSeen;
+        }
+    }
+
+    /**
+     * Starts a refresh, loading the file the first time it is called
+     *
+     * @return true if the state describes what Egeria holds and can be diffed against, false if Egeria must be rescanned
+     */
+    synchronized boolean beginRefresh()
+    {
+        if (!loaded)
+        {
+            loaded = true;
+            usable = load();
+        }
+
+        refreshId = lastRefreshId + 1;
+        rescanning = !usable;
+        if (rescanning)
+        {
+            entries.clear();
+            childrenByParent.clear();
+        }
+
+        /* until this refresh completes the state may no longer match Egeria */
+        usable = false;
+        return !rescanning;
+    }
+
+    /**
+     * @return why the last call to beginRefresh returned false
+     */
+    synchronized String getUnusableReason()
+    {
+        return unusableReason;
+    }
+
+    synchronized long getRefreshId()
+    {
+        return refreshId;
+    }
+
+    synchronized int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Lists the elements of one kind whose parent is the given element
+     *
+     * @param kind the kind of child
+     * @param parentGUID the GUID of the parent, null for the databases
+     * @return the children, empty if there are none
+     */
+    synchronized List<Entry> getChildren(Kind kind, String parentGUID)
+    {
+        List<Entry> children = new ArrayList<>();
+        Set<String> names = childrenByParent.get(parentGUID == null ? ROOT : parentGUID);
+        if (names != null)
+        {
+            for (String name : names)
+            {
+                Entry entry = entries.get(name);
+                if (entry.kind == kind)
+                {
+                    children.add(entry);
+                }
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Records the state of an element after it has been read from, created in or updated in Egeria
+     */
+    synchronized void put(Kind kind, String qualifiedName, String guid, String parentGUID, long digest, boolean primaryKey)
+    {
+        Entry entry = new Entry(kind, qualifiedName, guid, parentGUID, digest, primaryKey, refreshId);
+        apply(entry);
+        if (!rescanning)
+        {
+            append(PUT, encode(entry));
+        }
+    }
+
+    /**
+     * Records a change of primary key state for a column
+     */
+    synchronized void putPrimaryKey(String qualifiedName, boolean primaryKey)
+    {
+        Entry old = entries.get(qualifiedName);
+        if (old != null)
+        {
+            put(old.kind, old.qualifiedName, old.guid, old.parentGUID, old.digest, primaryKey);
+        }
+    }
+
+    /**
+     * Forgets an element removed from Egeria, along with everything beneath it
+     */
+    synchronized void remove(String qualifiedName)
+    {
+        if (entries.containsKey(qualifiedName))
+        {
+            removeTree(qualifiedName);
+            if (!rescanning)
+            {
+                append(REMOVE, encodeName(qualifiedName));
+            }
+        }
+    }
+
+    /**
+     * Marks the refresh as complete so the next refresh can diff against the state
+     *
+     * @throws IOException the state could not be written, the next refresh rescans Egeria
+     */
+    synchronized void completeRefresh() throws IOException
+    {
+        lastRefreshId = refreshId;
+        try
+        {
+            if (writeFailure != null)
+            {
+                throw writeFailure;
+            }
+
+            if (rescanning || logRecords > (long) COMPACTION_RATIO * entries.size() + COMPACTION_MINIMUM)
+            {
+                compact();
+            }
+            else
+            {
+                append(COMPLETE, encodeRefreshId(refreshId));
+                if (writeFailure != null)
+                {
+                    throw writeFailure;
+                }
+                log.flush();
+                logFile.getFD().sync();
+            }
+        }
+        catch (IOException error)
+        {
+            writeFailure = null;
+            closeLog();
+            unusableReason = "the state could not be written, " + error.getMessage();
+            throw error;
+        }
+        rescanning = false;
+        usable = true;
+    }
+
+    /**
+     * Records that the refresh failed part way through, the next refresh rescans Egeria
+     */
+    synchronized void abandonRefresh()
+    {
+        usable = false;
+        unusableReason = "the previous refresh did not complete";
+    }
+
+    synchronized void close()
+    {
+        closeLog();
+    }
+
+    private boolean load()
+    {
+        if (!Files.exists(file))
+        {
+            unusableReason = "the file does not exist";
+            return false;
+        }
+
+        boolean complete = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+        {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+            {
+                return corrupt("the file format is not recognised");
+            }
+
+            int type;
+            while ((type = in.read()) >= 0)
+            {
+                int length = in.readInt();
+                if (length < 0 || length > MAX_RECORD_LENGTH)
+                {
+                    return corrupt("a record has an invalid length");
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (in.readInt() != checksum((byte) type, payload))
+                {
+                    return corrupt("a record checksum does not match");
+                }
+
+                replay((byte) type, payload);
+                complete = (type == COMPLETE);
+                logRecords++;
+            }
+        }
+        catch (EOFException error)
+        {
+            return corrupt("the file is truncated");
+        }
+        catch (IOException | RuntimeException error)
+        {
+            return corrupt(error.getClass().getName() + " " + error.getMessage());
+        }
+
+        if (!complete)
+        {
+            return corrupt("the last refresh did not complete");
+        }
+        return true;
+    }
+
+    private boolean corrupt(String reason)
+    {
+        unusableReason = reason;
+        entries.clear();
+        childrenByParent.clear();
+        return false;
+    }
+
+    private void replay(byte type, byte[] payload) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        if (type == PUT)
+        {
+            Kind kind = Kind.values()[in.readByte()];
+            String qualifiedName = in.readUTF();
+            String guid = in.readUTF();
+            String parentGUID = in.readUTF();
+            apply(new Entry(kind, qualifiedName, guid, parentGUID.isEmpty() ? null : parentGUID,
+                            in.readLong(), in.readBoolean(), in.readLong()));
+        }
+        else if (type == REMOVE)
+        {
+            String qualifiedName = in.readUTF();
+            if (entries.containsKey(qualifiedName))
+            {
+                removeTree(qualifiedName);
+            }
+        }
+        else if (type == COMPLETE)
+        {
+            lastRefreshId = in.readLong();
+        }
+        else
+        {
+            throw new IOException("Unknown record type " + type);
+        }
+    }
+
+    private void apply(Entry entry)
+    {
+        Entry old = entries.put(entry.qualifiedName, entry);
+        if (old != null && !parentKey(old).equals(parentKey(entry)))
+        {
+            unlink(old);
+        }
+        childrenByParent.computeIfAbsent(parentKey(entry), k -> new LinkedHashSet<>()).add(entry.qualifiedName);
+    }
+
+    private void removeTree(String qualifiedName)
+    {
+        Entry entry = entries.remove(qualifiedName);
+        unlink(entry);
+
+        Set<String> children = childrenByParent.remove(entry.guid);
+        if (children != null)
+        {
+            for (String child : children)
+            {
+                if (entries.containsKey(child))
+                {
+                    removeTree(child);
+                }
+            }
+        }
+    }
+
+    private void unlink(Entry entry)
+    {
+        Set<String> siblings = childrenByParent.get(parentKey(entry));
+        if (siblings != null)
+        {
+            siblings.remove(entry.qualifiedName);
+            if (siblings.isEmpty())
+            {
+                childrenByParent.remove(parentKey(entry));
+            }
+        }
+    }
+
+    private static String parentKey(Entry entry)
+    {
+        return entry.parentGUID == null ? ROOT : entry.parentGUID;
+    }
+
+    private void append(byte type, byte[] payload)
+    {
+        if (writeFailure != null)
+        {
+            return;
+        }
+        try
+        {
+            if (log == null)
+            {
+                openLog();
+            }
+            writeRecord(log, type, payload);
+            logRecords++;
+        }
+        catch (IOException error)
+        {
+            writeFailure = error;
+        }
+    }
+
+    private void openLog() throws IOException
+    {
+        if (file.getParent() != null)
+        {
+            Files.createDirectories(file.getParent());
+        }
+        boolean empty = !Files.exists(file) || Files.size(file) == 0;
+
+        logFile = new FileOutputStream(file.toFile(), true);
+        log = new DataOutputStream(new BufferedOutputStream(logFile));
+        if (empty)
+        {
+            log.writeInt(MAGIC);
+            log.writeInt(VERSION);
+        }
+    }
+
+    private void closeLog()
+    {
+        if (log != null)
+        {
+            try
+            {
+                log.close();
+            }
+            catch (IOException error)
+            {
+                // the log is being discarded
+            }
+            log = null;
+            logFile = null;
+        }
+    }
+
+    /*
+    Rewrites the whole state as a new file and moves it over the log in one step
+     */
+    private void compact() throws IOException
+    {
+        closeLog();
+        if (file.getParent() != null)
+        {
+            Files.createDirectories(file.getParent());
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temporary.toFile()))
+        {
+            DataOutputStream snapshot = new DataOutputStream(new BufferedOutputStream(out));
+            snapshot.writeInt(MAGIC);
+            snapshot.writeInt(VERSION);
+            for (Entry entry : entries.values())
+            {
+                writeRecord(snapshot, PUT, encode(entry));
+            }
+            writeRecord(snapshot, COMPLETE, encodeRefreshId(refreshId));
+            snapshot.flush();
+            out.getFD().sync();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logRecords = entries.size() + 1L;
+    }
+
+    private static void writeRecord(DataOutputStream out, byte type, byte[] payload) throws IOException
+    {
+        out.writeByte(type);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeInt(checksum(type, payload));
+    }
+
+    private static int checksum(byte type, byte[] payload)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(Entry entry)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes))
+        {
+            out.writeByte(entry.kind.ordinal());
+            out.writeUTF(entry.qualifiedName);
+            out.writeUTF(entry.guid);
+            out.writeUTF(entry.parentGUID == null ? ROOT : entry.parentGUID);
+            out.writeLong(entry.digest);
+            out.writeBoolean(entry.primaryKey);
+            out.writeLong(entry.lastSeen);
+        }
+        catch (IOException error)
+        {
+            throw new IllegalStateException(error);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeName(String qualifiedName)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes))
+        {
+            out.writeUTF(qualifiedName);
+        }
+        catch (IOException error)
+        {
+            throw new IllegalStateException(error);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeRefreshId(long id)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8);
+        try (DataOutputStream out = new DataOutputStream(bytes))
+        {
+            out.writeLong(id);
+        }
+        catch (IOException error)
+        {
+            throw new IllegalStateException(error);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,316 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import org.odpi.openmetadata.adapters.connectors.integration.postgres.ffdc.AlreadyHandledException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+The SynchronisationWorkers run the independent parts of a refresh, the schemas of a database and optionally the tables
+of a schema, on a bounded pool of threads owned by the connector. Each task is isolated, a task that fails does not stop
+its siblings and the first failure is rethrown once they have all finished. With a single worker, the default, the
+tasks run one after another on the calling thread exactly as before. Once stopped, typically because the refresh has
+run out of time, tasks that have not started are skipped until the workers are resumed.
+ */
+class SynchronisationWorkers
+{
+    static final String WORKER_COUNT_PROPERTY = "syncWorkers";
+    static final String QUEUE_DEPTH_PROPERTY = "syncWorkerQueueDepth";
+    static final String PARALLEL_TABLES_PROPERTY = "syncTablesInParallel";
+
+    private static final int DEFAULT_WORKER_COUNT = 1;
+    private static final int DEFAULT_QUEUE_DEPTH = 64;
+
+    /*
+    A unit of synchronisation work, errors have already been logged by the time they are thrown
+     */
+    interface Task
+    {
+        void run() throws AlreadyHandledException;
+    }
+
+    private final int workerCount;
+    private final boolean parallelTables;
+
+    /* null when there is a single worker */
+    private final ThreadPoolExecutor executor;
+
+    private volatile boolean stopped = false;
+
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong taskNanos = new AtomicLong();
+
+    SynchronisationWorkers(Map<String, Object> configurationProperties)
+    {
+        this.workerCount = Math.max(1, (int) PostgresConnectionPool.getLong(configurationProperties, WORKER_COUNT_PROPERTY, DEFAULT_WORKER_COUNT));
+        int queueDepth = Math.max(1, (int) PostgresConnectionPool.getLong(configurationProperties, QUEUE_DEPTH_PROPERTY, DEFAULT_QUEUE_DEPTH));
+        this.parallelTables = Boolean.parseBoolean(String.valueOf(configurationProperties.get(PARALLEL_TABLES_PROPERTY)));
+
+        if (workerCount > 1)
+        {
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadFactory threadFactory = runnable ->
+            {
+                Thread thread = new Thread(runnable, "PostgresConnector-sync-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+
+            /*
+            when the queue is full the submitting thread runs the task itself, which throttles the producer. Once the
+            workers are shut down the task is cancelled instead, so nobody waits on it
+             */
+            this.executor = new ThreadPoolExecutor(workerCount, workerCount,
+                                                   60, TimeUnit.SECONDS,
+                                                   new ArrayBlockingQueue<>(queueDepth),
+                                                   threadFactory,
+                                                   (runnable, rejectedBy) ->
+                                                   {
+                                                       if (rejectedBy.isShutdown())
+                                                       {
+                                                           cancel(runnable);
+                                                       }
+                                                       else
+                                                       {
+                                                           runnable.run();
+                                                       }
+                                                   });
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+        else
+        {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Runs the tasks for the schemas of a database
+     *
+     * @param schemaTasks one task per schema
+     * @throws AlreadyHandledException the first task failure, raised once every task has finished
+     * @throws InterruptedException the calling thread was interrupted while waiting for the tasks
+     */
+    void runAll(List<Task> schemaTasks) throws AlreadyHandledException, InterruptedException
+    {
+        if (executor == null || schemaTasks.size() < 2)
+        {
+            runInline(schemaTasks);
+        }
+        else
+        {
+            runConcurrently(schemaTasks);
+        }
+    }
+
+    /**
+     * Runs the tasks for the tables of a schema, concurrently only if syncTablesInParallel is set
+     *
+     * @param tableTasks one task per table
+     * @throws AlreadyHandledException the first task failure, raised once every task has finished
+     * @throws InterruptedException the calling thread was interrupted while waiting for the tasks
+     */
+    void runTables(List<Task> tableTasks) throws AlreadyHandledException, InterruptedException
+    {
+        if (parallelTables)
+        {
+            runAll(tableTasks);
+        }
+        else
+        {
+            runInline(tableTasks);
+        }
+    }
+
+    /**
+     * Skips the tasks that have not started yet, whether queued or not yet submitted. Running tasks are left to finish.
+     * Called from any thread.
+     */
+    void stop()
+    {
+        stopped = true;
+    }
+
+    /**
+     * Runs tasks again after a stop, typically at the beginning of a refresh
+     */
+    void resume()
+    {
+        stopped = false;
+    }
+
+    boolean isStopped()
+    {
+        return stopped;
+    }
+
+    int getWorkerCount()
+    {
+        return workerCount;
+    }
+
+    long getTaskCount()
+    {
+        return tasks.get();
+    }
+
+    long getTaskMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(taskNanos.get());
+    }
+
+    /**
+     * Restarts the task statistics, typically at the beginning of a refresh
+     */
+    void resetStatistics()
+    {
+        tasks.set(0);
+        taskNanos.set(0);
+    }
+
+    /**
+     * Stops the worker threads, tasks already queued or submitted afterwards are skipped
+     */
+    void shutdown()
+    {
+        if (executor != null)
+        {
+            for (Runnable queued : executor.shutdownNow())
+            {
+                cancel(queued);
+            }
+        }
+    }
+
+    private void runInline(List<Task> inlineTasks) throws AlreadyHandledException
+    {
+        Throwable firstFailure = null;
+        for (Task task : inlineTasks)
+        {
+            try
+            {
+                timed(task);
+            }
+            catch (AlreadyHandledException | RuntimeException error)
+            {
+                if (firstFailure == null)
+                {
+                    firstFailure = error;
+                }
+            }
+        }
+        rethrow(firstFailure);
+    }
+
+    private void runConcurrently(List<Task> concurrentTasks) throws AlreadyHandledException, InterruptedException
+    {
+        List<FutureTask<Void>> futures = new ArrayList<>();
+        for (Task task : concurrentTasks)
+        {
+            FutureTask<Void> future = new FutureTask<>(() ->
+                                                       {
+                                                           timed(task);
+                                                           return null;
+                                                       });
+            futures.add(future);
+            executor.execute(future);
+        }
+
+        Throwable firstFailure = null;
+        try
+        {
+            for (FutureTask<Void> future : futures)
+            {
+                /*
+                a task still in the queue is run here rather than waited for, so a worker waiting on
+                the tables of its schema never waits on work that needs a free worker
+                 */
+                if (executor.remove(future))
+                {
+                    future.run();
+                }
+
+                try
+                {
+                    future.get();
+                }
+                catch (CancellationException error)
+                {
+                    /* skipped because the workers were shut down, as a stopped task is */
+                }
+                catch (ExecutionException error)
+                {
+                    if (firstFailure == null)
+                    {
+                        firstFailure = error.getCause();
+                    }
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            for (FutureTask<Void> future : futures)
+            {
+                future.cancel(true);
+            }
+            throw error;
+        }
+        rethrow(firstFailure);
+    }
+
+    private void timed(Task task) throws AlreadyHandledException
+    {
+        if (stopped)
+        {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try
+        {
+            task.run();
+        }
+        finally
+        {
+            tasks.incrementAndGet();
+            taskNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private static void cancel(Runnable task)
+    {
+        if (task instanceof Future)
+        {
+            ((Future<?>) task).cancel(false);
+        }
+    }
+
+    private static void rethrow(Throwable failure) throws AlreadyHandledException
+    {
+        if (failure instanceof AlreadyHandledException)
+        {
+            throw (AlreadyHandledException) failure;
+        }
+        if (failure instanceof RuntimeException)
+        {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error)
+        {
+            throw (Error) failure;
+        }
+    }
+}
@@ -56,6 +56,60 @@ public enum PostgresConnectorAuditCode implements AuditLogMessageSet
             "Examine the system logs to identify the issue.",
             "Use the information in the event and the exception message, along with other messages to determine the source of the error."),
 
+    CONNECTION_POOL_STATISTICS("POSTGRES-CONNECTOR-0007",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The method {0} completed. The Postgres connection pool has {1} active and {2} idle connections of a maximum of {3}; {4} connection requests waited a total of {5} ms, longest wait {6} ms",
+            "The connector continues to reuse the pooled connections.",
+            "If the waits are long, increase the poolMaxSize configuration property."),
+
+    PRIMARY_KEY_STATISTICS("POSTGRES-CONNECTOR-0008",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The method {0} set or removed {1} primary key classifications",
+            "Only the columns whose primary key state changed in Postgres were updated.",
+            "No action is required."),
+
+    SYNCHRONISATION_TIMING("POSTGRES-CONNECTOR-0009",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The method {0} took {1} ms; {2} synchronisation tasks ran for a total of {3} ms on {4} workers",
+            "The connector completed the refresh.",
+            "If the total task time is well above the refresh time the workers are busy; if it is close, consider increasing syncWorkers."),
+
+    SYNC_STATE_RESCAN("POSTGRES-CONNECTOR-0010",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The method {0} is reading the metadata held by Egeria because the sync state in {1} cannot be used: {2}",
+            "The connector compares Postgres with Egeria and rebuilds the sync state file.",
+            "No action is required unless this message appears on every refresh."),
+
+    SYNC_STATE_WRITE_FAILED("POSTGRES-CONNECTOR-0011",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "The method {0} could not write the sync state file. {1} {2}",
+            "The refresh has completed, the next refresh reads the metadata held by Egeria.",
+            "Check that the location named by the syncStateFile configuration property is writable."),
+
+    SCHEMA_TIMED_OUT("POSTGRES-CONNECTOR-0012",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "The method {0} skipped the schema {1} because a catalog query did not complete in time. {2}",
+            "The rest of the refresh continues, the schema is synchronised first on the next refresh.",
+            "Look for long running transactions or locks held on the catalog of the schema, or raise the queryTimeoutSec configuration property."),
+
+    REFRESH_DEADLINE_PASSED("POSTGRES-CONNECTOR-0013",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "The method {0} stopped the refresh after {1} ms, the refresh deadline, and cancelled the catalog queries still running",
+            "The schemas not yet synchronised are synchronised first on the next refresh.",
+            "Raise the refreshDeadlineMs configuration property if the refresh regularly needs longer."),
+
+    SCHEMAS_DEFERRED("POSTGRES-CONNECTOR-0014",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The method {0} left {1} schemas to be synchronised first on the next refresh: {2}",
+            "The schemas are retried before the others on the next refresh.",
+            "No action is required unless the same schemas are deferred on every refresh."),
+
+    CATALOG_SNAPSHOT_TIMED_OUT("POSTGRES-CONNECTOR-0015",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The method {0} could not read the catalog of the database in bulk within {1} seconds and read it schema by schema instead",
+            "The refresh queries each schema and table as it is visited.",
+            "Look for long running transactions or locks held on the catalog, or raise the queryTimeoutSec configuration property."),
+
     ;
 
 
@@ -11,6 +11,9 @@ import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties
 import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresDatabase;
 import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresSchema;
 import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PostgresTable;
+import org.odpi.openmetadata.adapters.connectors.integration.postgres.properties.PropertyDigest;
+
+import java.util.Map;
 
 /**
  * Utility class that provides bean mapping functions
@@ -35,7 +38,7 @@ public class PostgresMapper
             dbProps.setDatabaseVersion(db.getVersion());
             dbProps.setEncodingType(db.getEncoding());
             dbProps.setEncodingLanguage(db.getCtype());
-            dbProps.setAdditionalProperties(db.getProperties());
+            dbProps.setAdditionalProperties(withDigest(db.getProperties(), db.getPropertyDigest()));
 
             return dbProps;
     }
@@ -53,7 +56,7 @@ public class PostgresMapper
         schemaProps.setDisplayName(sch.getQualifiedName());
         schemaProps.setQualifiedName(sch.getQualifiedName());
         //schemaProps.setOwner(sch.getSchema_owner());
-        schemaProps.setAdditionalProperties(sch.getProperties());
+        schemaProps.setAdditionalProperties(withDigest(sch.getProperties(), sch.getPropertyDigest()));
 
         return schemaProps;
     }
@@ -70,7 +73,7 @@ public class PostgresMapper
         DatabaseTableProperties tableProps = new DatabaseTableProperties();
         tableProps.setDisplayName(table.getTable_name());
         tableProps.setQualifiedName(table.getQualifiedName());
-        tableProps.setAdditionalProperties( table.getProperties());
+        tableProps.setAdditionalProperties(withDigest(table.getProperties(), table.getPropertyDigest()));
 
         return tableProps;
     }
@@ -87,7 +90,7 @@ public class PostgresMapper
         DatabaseViewProperties tableProps = new DatabaseViewProperties();
         tableProps.setDisplayName(table.getTable_name());
         tableProps.setQualifiedName(table.getQualifiedName());
-        tableProps.setAdditionalProperties( table.getProperties());
+        tableProps.setAdditionalProperties(withDigest(table.getProperties(), table.getPropertyDigest()));
 
         return tableProps;
     }
@@ -120,9 +123,19 @@ public class PostgresMapper
             }
         }
 
-        colProps.setAdditionalProperties(col.getProperties());
+        colProps.setAdditionalProperties(withDigest(col.getProperties(), col.getPropertyDigest()));
 
         return colProps;
     }
 
+    /*
+    the digest is stored alongside the properties it summarises, so that a later refresh can tell
+    whether the element has changed without comparing every property
+     */
+    private static Map<String, String> withDigest(Map<String, String> properties, long digest)
+    {
+        properties.put(PropertyDigest.PROPERTY_NAME, PropertyDigest.toString(digest));
+        return properties;
+    }
+
 }
@@ -6,9 +6,13 @@ import org.odpi.openmetadata.accessservices.datamanager.metadataelements.Databas
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 public class PostgresColumn
 {
+    /* digest of the properties, computed on first use */
+    private Long propertyDigest = null;
+
     private final String table_catalog;
     private final String table_schema;
     private final String table_name;
@@ -105,56 +109,76 @@ public class PostgresColumn
 
     public Map<String, String> getProperties()
     {
-
         Map<String, String> props = new HashMap<>();
-            props.put("table_catalog", getTable_catalog());
-            props.put("table_schema", getTable_schema());
-            props.put("table_name", getTable_name());
-            props.put("column_name", getColumn_name());
-            props.put("ordinal_position", getOrdinal_position());
-            props.put("column_default", getColumn_default());
-            props.put("is_nullable", getIs_nullable());
-            props.put("data_type", getData_type());
-            props.put("character_maximum_length", getCharacter_maximum_length());
-            props.put("character_octet_length", getCharacter_octet_length());
-            props.put("numeric_precision", getNumeric_precision());
-            props.put("numeric_precision_radix", getNumeric_precision_radix() );
-            props.put("numeric_scale", getNumeric_scale());
-            props.put("datetime_precision", getDatetime_precision());
-            props.put("interval_type", getInterval_type());
-            props.put("interval_precision", getInterval_precision());
-            props.put("character_set_catalog", getCharacter_set_catalog());
-            props.put("character_set_schema", getCharacter_set_schema());
-            props.put("character_set_name", getCharacter_set_name());
-            props.put("collation_catalog", getCollation_catalog());
-            props.put("collation_schema", getCollation_schema());
-            props.put("collation_name", getCollation_name());
-            props.put("domain_catalog", getDomain_catalog());
-            props.put("domain_schema", getDomain_schema());
-            props.put("domain_name", getDomain_name());
-            props.put("udt_catalog", getUdt_catalog());
-            props.put("udt_schema", getUdt_schema());
-            props.put("udt_name", getUdt_name());
-            props.put("scope_catalog", getScope_catalog());
-            props.put("scope_schema", getScope_schema());
-            props.put("scope_name", getScope_name());
-            props.put("maximum_cardinality", getMaximum_cardinality());
-            props.put("dtd_identifier", getDtd_identifier());
-            props.put("is_self_referencing", getIs_self_referencing());
-            props.put("is_identity", getIs_identity());
-            props.put("identity_generation", getIdentity_generation());
-            props.put("identity_start", getIdentity_start());
-            props.put("identity_increment", getIdentity_increment());
-            props.put("identity_maximum", getIdentity_maximum());
-            props.put("identity_minimum", getIdentity_minimum());
-            props.put("identity_cycle", getIdentity_cycle());
-            props.put("is_generated", getIs_generated());
-            props.put("generation_expression", getGeneration_expression() );
-            props.put("is_updatable", getIs_updatable());
+        addProperties(props::put);
 
         return props;
     }
 
+    /**
+     * Returns the digest of the properties returned by getProperties, computed on first use
+     *
+     * @return the property digest
+     */
+    public long getPropertyDigest()
+    {
+        if (propertyDigest == null)
+        {
+            PropertyDigest digest = new PropertyDigest();
+            addProperties(digest::add);
+            propertyDigest = digest.getValue();
+        }
+        return propertyDigest;
+    }
+
+    private void addProperties(BiConsumer<String, String> sink)
+    {
+        sink.accept("table_catalog", getTable_catalog());
+        sink.accept("table_schema", getTable_schema());
+        sink.accept("table_name", getTable_name());
+        sink.accept("column_name", getColumn_name());
+        sink.accept("ordinal_position", getOrdinal_position());
+        sink.accept("column_default", getColumn_default());
+        sink.accept("is_nullable", getIs_nullable());
+        sink.accept("data_type", getData_type());
+        sink.accept("character_maximum_length", getCharacter_maximum_length());
+        sink.accept("character_octet_length", getCharacter_octet_length());
+        sink.accept("numeric_precision", getNumeric_precision());
+        sink.accept("numeric_precision_radix", getNumeric_precision_radix() );
+        sink.accept("numeric_scale", getNumeric_scale());
+        sink.accept("datetime_precision", getDatetime_precision());
+        sink.accept("interval_type", getInterval_type());
+        sink.accept("interval_precision", getInterval_precision());
+        sink.accept("character_set_catalog", getCharacter_set_catalog());
+        sink.accept("character_set_schema", getCharacter_set_schema());
+        sink.accept("character_set_name", getCharacter_set_name());
+        sink.accept("collation_catalog", getCollation_catalog());
+        sink.accept("collation_schema", getCollation_schema());
+        sink.accept("collation_name", getCollation_name());
+        sink.accept("domain_catalog", getDomain_catalog());
+        sink.accept("domain_schema", getDomain_schema());
+        sink.accept("domain_name", getDomain_name());
+        sink.accept("udt_catalog", getUdt_catalog());
+        sink.accept("udt_schema", getUdt_schema());
+        sink.accept("udt_name", getUdt_name());
+        sink.accept("scope_catalog", getScope_catalog());
+        sink.accept("scope_schema", getScope_schema());
+        sink.accept("scope_name", getScope_name());
+        sink.accept("maximum_cardinality", getMaximum_cardinality());
+        sink.accept("dtd_identifier", getDtd_identifier());
+        sink.accept("is_self_referencing", getIs_self_referencing());
+        sink.accept("is_identity", getIs_identity());
+        sink.accept("identity_generation", getIdentity_generation());
+        sink.accept("identity_start", getIdentity_start());
+        sink.accept("identity_increment", getIdentity_increment());
+        sink.accept("identity_maximum", getIdentity_maximum());
+        sink.accept("identity_minimum", getIdentity_minimum());
+        sink.accept("identity_cycle", getIdentity_cycle());
+        sink.accept("is_generated", getIs_generated());
+        sink.accept("generation_expression", getGeneration_expression() );
+        sink.accept("is_updatable", getIs_updatable());
+    }
+
 
     public String getTable_catalog()
     {
@@ -343,13 +367,7 @@ public class PostgresColumn
 
     public boolean isEquivalent(DatabaseColumnElement element)
     {
-        boolean result = false;
-        Map<String, String> props = element.getDatabaseColumnProperties().getAdditionalProperties();
-        if ( props.equals( this.getProperties()))
-        {
-            result = true;
-        }
-        return result;
+        return PropertyDigest.fromAdditionalProperties(element.getDatabaseColumnProperties().getAdditionalProperties()) == getPropertyDigest();
     }
 
 }
@@ -9,6 +9,7 @@ import org.odpi.openmetadata.accessservices.datamanager.properties.DatabasePrope
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.Properties;
 
 /*
@@ -19,6 +20,9 @@ The class is immutable
  */
 public class PostgresDatabase
 {
+    /* digest of the properties, computed on first use */
+    private Long propertyDigest = null;
+
     private String Name;
     private String Encoding;
     private String Collate;
@@ -62,16 +66,36 @@ public class PostgresDatabase
     public Map<String, String> getProperties()
     {
         Map<String, String> props = new HashMap<>();
-
-            props.put("name", getName());
-            props.put("encoding", getEncoding());
-            props.put("collate", getCollate());
-            props.put("ctype", getCtype());
-            props.put("version", getVersion());
+        addProperties(props::put);
 
         return props;
     }
 
+    /**
+     * Returns the digest of the properties returned by getProperties, computed on first use
+     *
+     * @return the property digest
+     */
+    public long getPropertyDigest()
+    {
+        if (propertyDigest == null)
+        {
+            PropertyDigest digest = new PropertyDigest();
+            addProperties(digest::add);
+            propertyDigest = digest.getValue();
+        }
+        return propertyDigest;
+    }
+
+    private void addProperties(BiConsumer<String, String> sink)
+    {
+        sink.accept("name", getName());
+        sink.accept("encoding", getEncoding());
+        sink.accept("collate", getCollate());
+        sink.accept("ctype", getCtype());
+        sink.accept("version", getVersion());
+    }
+
     public String getQualifiedName()
     {
         return getName();
@@ -79,13 +103,7 @@ public class PostgresDatabase
 
     public boolean isEquivalent(DatabaseElement element)
     {
-        boolean result = false;
-        Map<String, String> props = element.getDatabaseProperties().getAdditionalProperties();
-        if ( props.equals( this.getProperties()))
-        {
-            result = true;
-        }
-        return result;
+        return PropertyDigest.fromAdditionalProperties(element.getDatabaseProperties().getAdditionalProperties()) == getPropertyDigest();
     }
 
 }
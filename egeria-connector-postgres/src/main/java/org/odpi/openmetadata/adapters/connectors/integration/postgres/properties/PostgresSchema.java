@@ -7,8 +7,11 @@ import org.odpi.openmetadata.accessservices.datamanager.metadataelements.Databas
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 public class PostgresSchema {
+    /* digest of the properties, computed on first use */
+    private Long propertyDigest = null;
 
     final private String catalog_name;
     final private String schema_name;
@@ -54,19 +57,39 @@ public class PostgresSchema {
 
     public Map<String, String> getProperties()
     {
-        Map<String,String> props = new HashMap<>();
-
-            props.put("catalog_name", getCatalog_name());
-            props.put("schema_name", getSchema_name());
-            props.put("schema_owner", getSchema_owner());
-            props.put("default_character_set_catalog", getDefault_character_set_catalog());
-            props.put("default_character_set_schema", getDefault_character_set_schema());
-            props.put("default_character_set_name", getDefault_character_set_name());
-            props.put("sql_path", getSql_path());
+        Map<String, String> props = new HashMap<>();
+        addProperties(props::put);
 
         return props;
     }
 
+    /**
+     * Returns the digest of the properties returned by getProperties, computed on first use
+     *
+     * @return the property digest
+     */
+    public long getPropertyDigest()
+    {
+        if (propertyDigest == null)
+        {
+            PropertyDigest digest = new PropertyDigest();
+            addProperties(digest::add);
+            propertyDigest = digest.getValue();
+        }
+        return propertyDigest;
+    }
+
+    private void addProperties(BiConsumer<String, String> sink)
+    {
+        sink.accept("catalog_name", getCatalog_name());
+        sink.accept("schema_name", getSchema_name());
+        sink.accept("schema_owner", getSchema_owner());
+        sink.accept("default_character_set_catalog", getDefault_character_set_catalog());
+        sink.accept("default_character_set_schema", getDefault_character_set_schema());
+        sink.accept("default_character_set_name", getDefault_character_set_name());
+        sink.accept("sql_path", getSql_path());
+    }
+
     public String getQualifiedName ( )
     {
         return getSchema_owner() + "::" + catalog_name + "::" + schema_name;
@@ -74,12 +97,6 @@ public class PostgresSchema {
 
     public boolean isEquivalent(DatabaseSchemaElement element)
     {
-        boolean result = false;
-        Map<String, String> props = element.getDatabaseSchemaProperties().getAdditionalProperties();
-        if ( props.equals( this.getProperties()))
-        {
-            result = true;
-        }
-        return result;
+        return PropertyDigest.fromAdditionalProperties(element.getDatabaseSchemaProperties().getAdditionalProperties()) == getPropertyDigest();
     }
 }
@@ -7,8 +7,11 @@ import org.odpi.openmetadata.accessservices.datamanager.metadataelements.Databas
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 public class PostgresTable {
+    /* digest of the properties, computed on first use */
+    private Long propertyDigest = null;
 
     private final String table_catalog;
     private final String table_schema;
@@ -87,54 +90,59 @@ public class PostgresTable {
         return commit_action;
     }
 
-    public Map<String,String> getProperties()
-    {
-        HashMap<String,String> props = new HashMap<>();
-        props.put("table_catalog", this.table_catalog);
-        props.put("table_schema", this.table_schema);
-        props.put("table_name", table_name);
-        props.put("table_type", table_type);
-        props.put("self_referencing_column_name", self_referencing_column_name);
-        props.put("reference_generation", reference_generation );
-        props.put("user_defined_type_catalog", user_defined_type_catalog );
-        props.put("user_defined_type_schema", user_defined_type_schema );
-        props.put("user_defined_type_name", user_defined_type_name );
-        props.put("is_insertable_into", is_insertable_into );
-        props.put( "is_typed", is_typed );
-        props.put( "commit_action", commit_action );
+    public Map<String, String> getProperties()
+    {
+        Map<String, String> props = new HashMap<>();
+        addProperties(props::put);
 
         return props;
     }
 
+    /**
+     * Returns the digest of the properties returned by getProperties, computed on first use
+     *
+     * @return the property digest
+     */
+    public long getPropertyDigest()
+    {
+        if (propertyDigest == null)
+        {
+            PropertyDigest digest = new PropertyDigest();
+            addProperties(digest::add);
+            propertyDigest = digest.getValue();
+        }
+        return propertyDigest;
+    }
+
+    private void addProperties(BiConsumer<String, String> sink)
+    {
+        sink.accept("table_catalog", this.table_catalog);
+        sink.accept("table_schema", this.table_schema);
+        sink.accept("table_name", table_name);
+        sink.accept("table_type", table_type);
+        sink.accept("self_referencing_column_name", self_referencing_column_name);
+        sink.accept("reference_generation", reference_generation );
+        sink.accept("user_defined_type_catalog", user_defined_type_catalog );
+        sink.accept("user_defined_type_schema", user_defined_type_schema );
+        sink.accept("user_defined_type_name", user_defined_type_name );
+        sink.accept("is_insertable_into", is_insertable_into );
+        sink.accept("is_typed", is_typed );
+        sink.accept("commit_action", commit_action );
+    }
+
     public String getQualifiedName ( ) {
         return table_catalog + "::" + table_schema + "::" + table_type.substring(0,4) + "::" + table_name;
     }
 
     public boolean isEquivalent(DatabaseTableElement element)
     {
-        boolean result = false;
-        Map<String, String> postgresProps = this.getProperties();
-        Map<String, String> egeriaProps = element.getDatabaseTableProperties().getAdditionalProperties();
-
-        if ( egeriaProps.equals( postgresProps))
-        {
-            result = true;
-        }
-        return result;
+        return PropertyDigest.fromAdditionalProperties(element.getDatabaseTableProperties().getAdditionalProperties()) == getPropertyDigest();
     }
 
 
     public boolean isEquivalent(DatabaseViewElement element)
     {
-        boolean result = false;
-        Map<String, String> postgresProps = this.getProperties();
-        Map<String, String> egeriaProps = element.getDatabaseViewProperties().getAdditionalProperties();
-
-        if ( egeriaProps.equals( postgresProps))
-        {
-            result = true;
-        }
-        return result;
+        return PropertyDigest.fromAdditionalProperties(element.getDatabaseViewProperties().getAdditionalProperties()) == getPropertyDigest();
     }
 
 }
@@ -0,0 +1,131 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.postgres.properties;
+
+import java.util.Map;
+
+/**
+ * A stable 64-bit digest of a set of name/value properties. Each property is hashed with FNV-1a over its chars and
+ * mixed, and the results are summed, so the digest does not depend on the order the properties are added.
+ * The digest of a Postgres object is written to Egeria as one additional property, so that detecting
+ * a change is a single comparison of two longs rather than a comparison of two property maps.
+ */
+public final class PropertyDigest
+{
+    /* name of the additional property holding the digest on the Egeria element */
+    public static final String PROPERTY_NAME = "propertyDigest";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private long sum = 0;
+    private int count = 0;
+
+    /**
+     * Adds one property to the digest
+     *
+     * @param name  the property name
+     * @param value the property value, may be null
+     * @return this digest
+     */
+    public PropertyDigest add(String name, String value)
+    {
+        long hash = fnv(FNV_OFFSET, name);
+        hash = fnv(hash, value);
+        sum += mix(hash);
+        count++;
+        return this;
+    }
+
+    /**
+     * @return the digest of the properties added so far
+     */
+    public long getValue()
+    {
+        return mix(sum + count);
+    }
+
+    /**
+     * Computes the digest of a property map, ignoring any digest property it holds
+     *
+     * @param properties the properties, may be null
+     * @return the digest
+     */
+    public static long of(Map<String, String> properties)
+    {
+        PropertyDigest digest = new PropertyDigest();
+        if (properties != null)
+        {
+            for (Map.Entry<String, String> property : properties.entrySet())
+            {
+                if (!PROPERTY_NAME.equals(property.getKey()))
+                {
+                    digest.add(property.getKey(), property.getValue());
+                }
+            }
+        }
+        return digest.getValue();
+    }
+
+    /**
+     * Returns the digest held in the additional properties of an Egeria element, computing it
+     * from the properties themselves for elements written before digests were stored
+     *
+     * @param additionalProperties the additional properties of the Egeria element, may be null
+     * @return the digest
+     */
+    public static long fromAdditionalProperties(Map<String, String> additionalProperties)
+    {
+        if (additionalProperties != null)
+        {
+            String stored = additionalProperties.get(PROPERTY_NAME);
+            if (stored != null)
+            {
+                try
+                {
+                    return Long.parseUnsignedLong(stored, 16);
+                }
+                catch (NumberFormatException error)
+                {
+                    // fall through and compute the digest
+                }
+            }
+        }
+        return of(additionalProperties);
+    }
+
+    /**
+     * @param digest a digest
+     * @return the digest as written to the additional properties of an Egeria element
+     */
+    public static String toString(long digest)
+    {
+        return Long.toHexString(digest);
+    }
+
+    private static long fnv(long hash, String value)
+    {
+        if (value == null)
+        {
+            hash ^= 0xffff;
+            return hash * FNV_PRIME;
+        }
+        /* hashing the UTF-16 chars directly avoids encoding every string to bytes */
+        for (int i = 0; i < value.length(); i++)
+        {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        /* a separator, so that ("ab", "c") and ("a", "bc") differ */
+        hash ^= 0x10000;
+        return hash * FNV_PRIME;
+    }
+
+    /* the splitmix64 finaliser, it spreads each bit of the input across the whole result */
+    private static long mix(long value)
+    {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,119 @@
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.adapters.connectors.integration.postgres.ffdc.PostgresConnectorErrorCode;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PagedElementReaderTest {
+
+    private static PagedElementReader reader(int pageSize, boolean prefetch)
+    {
+        Map<String, Object> props = new HashMap<>();
+        props.put(PagedElementReader.PAGE_SIZE_PROPERTY, String.valueOf(pageSize));
+        props.put(PagedElementReader.PREFETCH_PROPERTY, String.valueOf(prefetch));
+        return new PagedElementReader(props);
+    }
+
+    private static PagedElementReader.Page<Integer> numbers(int count, List<Integer> starts)
+    {
+        return (startFrom, pageSize) ->
+        {
+            starts.add(startFrom);
+            if (startFrom >= count)
+            {
+                return null;
+            }
+            List<Integer> page = new ArrayList<>();
+            int end = pageSize == 0 ? count : Math.min(count, startFrom + pageSize);
+            for (int i = startFrom; i < end; i++)
+            {
+                page.add(i);
+            }
+            return page;
+        };
+    }
+
+    private static List<Integer> readAll(PagedElementReader.Elements<Integer> elements) throws Exception
+    {
+        List<Integer> all = new ArrayList<>();
+        while (elements.hasNext())
+        {
+            all.add(elements.next());
+        }
+        return all;
+    }
+
+    @Test
+    void readsEveryPage() throws Exception {
+        for (boolean prefetch : new boolean[] { false, true })
+        {
+            PagedElementReader reader = reader(3, prefetch);
+            List<Integer> starts = new CopyOnWriteArrayList<>();
+
+            List<Integer> all = readAll(reader.read(numbers(10, starts)));
+
+            assertEquals(10, all.size());
+            for (int i = 0; i < 10; i++)
+            {
+                assertEquals(i, all.get(i));
+            }
+            assertEquals(List.of(0, 3, 6, 9), starts);
+            reader.shutdown();
+        }
+    }
+
+    @Test
+    void fullLastPage() throws Exception {
+        PagedElementReader reader = reader(5, true);
+        List<Integer> starts = new CopyOnWriteArrayList<>();
+
+        assertEquals(10, readAll(reader.read(numbers(10, starts))).size());
+        assertEquals(List.of(0, 5, 10), starts);
+        reader.shutdown();
+    }
+
+    @Test
+    void readAllReadsEveryPage() throws Exception {
+        PagedElementReader reader = reader(4, true);
+        List<Integer> starts = new CopyOnWriteArrayList<>();
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), reader.readAll(numbers(10, starts)));
+        assertEquals(List.of(0, 4, 8), starts);
+        reader.shutdown();
+    }
+
+    @Test
+    void unpaged() throws Exception {
+        PagedElementReader reader = reader(0, true);
+        List<Integer> starts = new CopyOnWriteArrayList<>();
+
+        assertEquals(10, readAll(reader.read(numbers(10, starts))).size());
+        assertEquals(List.of(0), starts);
+    }
+
+    @Test
+    void prefetchFailureIsRethrown() {
+        PagedElementReader reader = reader(2, true);
+        PagedElementReader.Page<Integer> failing = (startFrom, pageSize) ->
+        {
+            if (startFrom > 0)
+            {
+                throw new PropertyServerException(PostgresConnectorErrorCode.UNEXPECTED_ERROR.getMessageDefinition("page"),
+                                                  "test", "page");
+            }
+            return List.of(1, 2);
+        };
+
+        assertThrows(PropertyServerException.class, () -> readAll(reader.read(failing)));
+        reader.shutdown();
+    }
+}
@@ -0,0 +1,82 @@
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QualifiedNameReconcilerTest {
+
+    /* source objects and Egeria elements are both "name=value" strings, equivalent when the whole string matches */
+    private static final Function<String, String> NAME = s -> s.substring(0, s.indexOf('='));
+
+    private static QualifiedNameReconciler.Result<String, String> reconcile(List<String> source, List<String> egeria)
+    {
+        return QualifiedNameReconciler.reconcile(source, NAME, egeria, NAME, String::equals);
+    }
+
+    @Test
+    void getAdded() {
+        QualifiedNameReconciler.Result<String, String> result = reconcile(Arrays.asList("a=1", "b=1"), Collections.singletonList("a=1"));
+
+        assertEquals(Collections.singletonList("b=1"), result.getAdded());
+    }
+
+    @Test
+    void getRemoved() {
+        QualifiedNameReconciler.Result<String, String> result = reconcile(Collections.singletonList("a=1"), Arrays.asList("a=1", "c=1"));
+
+        assertEquals(Collections.singletonList("c=1"), result.getRemoved());
+    }
+
+    @Test
+    void getChanged() {
+        QualifiedNameReconciler.Result<String, String> result = reconcile(Arrays.asList("a=1", "b=2"), Arrays.asList("a=1", "b=1"));
+
+        assertEquals(1, result.getChanged().size());
+        assertEquals("b=2", result.getChanged().get(0).getSource());
+        assertEquals("b=1", result.getChanged().get(0).getElement());
+        assertTrue(result.getChanged().get(0).isChanged());
+    }
+
+    @Test
+    void getUnchanged() {
+        QualifiedNameReconciler.Result<String, String> result = reconcile(Arrays.asList("a=1", "b=2"), Arrays.asList("a=1", "b=1"));
+
+        assertEquals(1, result.getUnchanged().size());
+        assertEquals("a=1", result.getUnchanged().get(0).getElement());
+        assertFalse(result.getUnchanged().get(0).isChanged());
+    }
+
+    @Test
+    void getMatched() {
+        QualifiedNameReconciler.Result<String, String> result = reconcile(Arrays.asList("a=1", "b=2"), Arrays.asList("a=1", "b=1"));
+
+        assertEquals(2, result.getMatched().size());
+        assertEquals("b=2", result.getMatched().get(0).getSource());
+        assertEquals("a=1", result.getMatched().get(1).getSource());
+    }
+
+    @Test
+    void nothingKnownToEgeria() {
+        QualifiedNameReconciler.Result<String, String> result = reconcile(Arrays.asList("a=1", "b=1"), null);
+
+        assertEquals(Arrays.asList("a=1", "b=1"), result.getAdded());
+        assertTrue(result.getMatched().isEmpty());
+        assertTrue(result.getRemoved().isEmpty());
+    }
+
+    @Test
+    void duplicateEgeriaElements() {
+        QualifiedNameReconciler.Result<String, String> result = reconcile(Collections.singletonList("a=1"), Arrays.asList("a=1", "a=2"));
+
+        assertEquals("a=1", result.getUnchanged().get(0).getElement());
+        assertTrue(result.getRemoved().isEmpty());
+    }
+}
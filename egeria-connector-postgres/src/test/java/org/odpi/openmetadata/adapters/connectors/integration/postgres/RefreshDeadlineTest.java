@@ -0,0 +1,115 @@
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RefreshDeadlineTest {
+
+    private static RefreshDeadline deadline(long millis)
+    {
+        return new RefreshDeadline(Collections.singletonMap(RefreshDeadline.REFRESH_DEADLINE_PROPERTY, String.valueOf(millis)));
+    }
+
+    @Test
+    void noDeadlineByDefault() throws Exception {
+        RefreshDeadline deadline = new RefreshDeadline(Collections.emptyMap());
+        AtomicInteger expiries = new AtomicInteger();
+
+        deadline.start(expiries::incrementAndGet);
+        Thread.sleep(50);
+        deadline.finish();
+
+        assertFalse(deadline.isExpired());
+        assertEquals(0, expiries.get());
+        deadline.shutdown();
+    }
+
+    @Test
+    void expiryRunsOnceAndLastsUntilNextStart() throws Exception {
+        RefreshDeadline deadline = deadline(20);
+        CountDownLatch expired = new CountDownLatch(1);
+
+        deadline.start(expired::countDown);
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        deadline.finish();
+        assertTrue(deadline.isExpired());
+
+        deadline.start(() -> { });
+        assertFalse(deadline.isExpired());
+        deadline.finish();
+        deadline.shutdown();
+    }
+
+    @Test
+    void finishCancelsExpiry() throws Exception {
+        RefreshDeadline deadline = deadline(100);
+        AtomicInteger expiries = new AtomicInteger();
+
+        deadline.start(expiries::incrementAndGet);
+        deadline.finish();
+        Thread.sleep(200);
+
+        assertFalse(deadline.isExpired());
+        assertEquals(0, expiries.get());
+        deadline.shutdown();
+    }
+
+    @Test
+    void finishWaitsForRunningExpiry() throws Exception {
+        RefreshDeadline deadline = deadline(10);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger stops = new AtomicInteger();
+
+        deadline.start(() ->
+                       {
+                           running.countDown();
+                           try
+                           {
+                               release.await(5, TimeUnit.SECONDS);
+                           }
+                           catch (InterruptedException e)
+                           {
+                               Thread.currentThread().interrupt();
+                           }
+                           stops.incrementAndGet();
+                       });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        Thread finisher = new Thread(deadline::finish);
+        finisher.start();
+        finisher.join(200);
+        assertTrue(finisher.isAlive());
+
+        release.countDown();
+        finisher.join(5000);
+        assertFalse(finisher.isAlive());
+        assertEquals(1, stops.get());
+        deadline.shutdown();
+    }
+
+    @Test
+    void expiryOfFinishedRefreshDoesNotRun() throws Exception {
+        RefreshDeadline deadline = deadline(50);
+        AtomicInteger firstExpiries = new AtomicInteger();
+        AtomicInteger secondExpiries = new AtomicInteger();
+
+        deadline.start(firstExpiries::incrementAndGet);
+        deadline.finish();
+        deadline.start(secondExpiries::incrementAndGet);
+        Thread.sleep(200);
+        deadline.finish();
+
+        assertEquals(0, firstExpiries.get());
+        assertEquals(1, secondExpiries.get());
+        deadline.shutdown();
+    }
+}
@@ -0,0 +1,128 @@
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncStateStoreTest {
+
+    @TempDir
+    Path folder;
+
+    private static void populate(SyncStateStore store)
+    {
+        store.put(SyncStateStore.Kind.DATABASE, "db", "g-db", null, 1L, false);
+        store.put(SyncStateStore.Kind.SCHEMA, "db::s", "g-s", "g-db", 2L, false);
+        store.put(SyncStateStore.Kind.TABLE, "db::s::BASE::t", "g-t", "g-s", 3L, false);
+        store.put(SyncStateStore.Kind.VIEW, "db::s::VIEW::v", "g-v", "g-s", 4L, false);
+        store.put(SyncStateStore.Kind.COLUMN, "db::s::t::c", "g-c", "g-t", 5L, true);
+    }
+
+    @Test
+    void missingFileRescans() throws Exception {
+        SyncStateStore store = new SyncStateStore(folder.resolve("state"));
+
+        assertFalse(store.beginRefresh());
+        populate(store);
+        store.completeRefresh();
+
+        assertTrue(store.beginRefresh());
+        assertEquals(5, store.size());
+    }
+
+    @Test
+    void warmRestart() throws Exception {
+        Path file = folder.resolve("state");
+        SyncStateStore store = new SyncStateStore(file);
+        store.beginRefresh();
+        populate(store);
+        store.completeRefresh();
+
+        store.beginRefresh();
+        store.put(SyncStateStore.Kind.COLUMN, "db::s::t::c", "g-c", "g-t", 6L, false);
+        store.remove("db::s::VIEW::v");
+        store.completeRefresh();
+        store.close();
+
+        SyncStateStore restarted = new SyncStateStore(file);
+        assertTrue(restarted.beginRefresh());
+        assertEquals(4, restarted.size());
+        assertEquals(1, restarted.getChildren(SyncStateStore.Kind.TABLE, "g-s").size());
+        assertTrue(restarted.getChildren(SyncStateStore.Kind.VIEW, "g-s").isEmpty());
+
+        SyncStateStore.Entry column = restarted.getChildren(SyncStateStore.Kind.COLUMN, "g-t").get(0);
+        assertEquals(6L, column.getDigest());
+        assertFalse(column.isPrimaryKey());
+        assertEquals(3L, restarted.getRefreshId());
+    }
+
+    @Test
+    void abandonedRefreshRescans() throws Exception {
+        SyncStateStore store = new SyncStateStore(folder.resolve("state"));
+        store.beginRefresh();
+        populate(store);
+        store.completeRefresh();
+
+        assertTrue(store.beginRefresh());
+        store.abandonRefresh();
+
+        assertFalse(store.beginRefresh());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void incompleteLogRescans() throws Exception {
+        Path file = folder.resolve("state");
+        SyncStateStore store = new SyncStateStore(file);
+        store.beginRefresh();
+        populate(store);
+        store.completeRefresh();
+
+        store.beginRefresh();
+        store.remove("db::s::VIEW::v");
+        store.close();
+
+        assertFalse(new SyncStateStore(file).beginRefresh());
+    }
+
+    @Test
+    void corruptFileRescans() throws Exception {
+        Path file = folder.resolve("state");
+        SyncStateStore store = new SyncStateStore(file);
+        store.beginRefresh();
+        populate(store);
+        store.completeRefresh();
+        store.close();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw"))
+        {
+            raf.seek(Files.size(file) / 2);
+            int b = raf.read();
+            raf.seek(Files.size(file) / 2);
+            raf.write(b ^ 0xff);
+        }
+
+        SyncStateStore reloaded = new SyncStateStore(file);
+        assertFalse(reloaded.beginRefresh());
+        assertEquals(0, reloaded.size());
+    }
+
+    @Test
+    void removeCascades() throws Exception {
+        SyncStateStore store = new SyncStateStore(folder.resolve("state"));
+        store.beginRefresh();
+        populate(store);
+
+        store.remove("db::s");
+
+        assertEquals(1, store.size());
+        assertTrue(store.getChildren(SyncStateStore.Kind.COLUMN, "g-t").isEmpty());
+    }
+}
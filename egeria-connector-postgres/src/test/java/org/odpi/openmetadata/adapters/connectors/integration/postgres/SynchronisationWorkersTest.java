@@ -0,0 +1,171 @@
+package org.odpi.openmetadata.adapters.connectors.integration.postgres;
+
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.adapters.connectors.integration.postgres.ffdc.AlreadyHandledException;
+import org.odpi.openmetadata.adapters.connectors.integration.postgres.ffdc.PostgresConnectorErrorCode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SynchronisationWorkersTest {
+
+    private static SynchronisationWorkers workers(int count, boolean parallelTables)
+    {
+        Map<String, Object> props = new HashMap<>();
+        props.put(SynchronisationWorkers.WORKER_COUNT_PROPERTY, String.valueOf(count));
+        props.put(SynchronisationWorkers.QUEUE_DEPTH_PROPERTY, "2");
+        props.put(SynchronisationWorkers.PARALLEL_TABLES_PROPERTY, String.valueOf(parallelTables));
+        return new SynchronisationWorkers(props);
+    }
+
+    private static List<SynchronisationWorkers.Task> tasks(int count, AtomicInteger done, int failing)
+    {
+        List<SynchronisationWorkers.Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            int n = i;
+            tasks.add(() ->
+                      {
+                          done.incrementAndGet();
+                          if (n == failing)
+                          {
+                              throw new AlreadyHandledException(PostgresConnectorErrorCode.UNEXPECTED_ERROR.getMessageDefinition("task"),
+                                                                "test", "task", new IllegalStateException("task failed"));
+                          }
+                      });
+        }
+        return tasks;
+    }
+
+    @Test
+    void failureDoesNotStopSiblingsInline() {
+        SynchronisationWorkers workers = workers(1, false);
+        AtomicInteger done = new AtomicInteger();
+
+        assertThrows(AlreadyHandledException.class, () -> workers.runAll(tasks(5, done, 1)));
+        assertEquals(5, done.get());
+        assertEquals(5, workers.getTaskCount());
+    }
+
+    @Test
+    void failureDoesNotStopSiblingsConcurrently() {
+        SynchronisationWorkers workers = workers(3, false);
+        AtomicInteger done = new AtomicInteger();
+
+        assertThrows(AlreadyHandledException.class, () -> workers.runAll(tasks(20, done, 7)));
+        assertEquals(20, done.get());
+        workers.shutdown();
+    }
+
+    @Test
+    void nestedTablesDoNotDeadlock() throws Exception {
+        SynchronisationWorkers workers = workers(2, true);
+        AtomicInteger done = new AtomicInteger();
+
+        List<SynchronisationWorkers.Task> schemas = new ArrayList<>();
+        for (int i = 0; i < 6; i++)
+        {
+            schemas.add(() ->
+                        {
+                            try
+                            {
+                                workers.runTables(tasks(10, done, -1));
+                            }
+                            catch (InterruptedException error)
+                            {
+                                throw new IllegalStateException(error);
+                            }
+                        });
+        }
+        workers.runAll(schemas);
+
+        assertEquals(60, done.get());
+        assertEquals(66, workers.getTaskCount());
+        workers.shutdown();
+    }
+
+    @Test
+    void tasksAfterShutdownAreSkipped() throws Exception {
+        SynchronisationWorkers workers = workers(2, false);
+        AtomicInteger done = new AtomicInteger();
+        workers.shutdown();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> workers.runAll(tasks(6, done, -1)));
+        assertEquals(0, done.get());
+    }
+
+    @Test
+    void shutdownSkipsQueuedTasks() throws Exception {
+        SynchronisationWorkers workers = workers(2, false);
+        AtomicInteger done = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<SynchronisationWorkers.Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2; i++)
+        {
+            tasks.add(() ->
+                      {
+                          started.countDown();
+                          try
+                          {
+                              release.await();
+                          }
+                          catch (InterruptedException error)
+                          {
+                              Thread.currentThread().interrupt();
+                          }
+                      });
+        }
+        tasks.addAll(tasks(2, done, -1));
+
+        Thread runner = new Thread(() ->
+                                   {
+                                       try
+                                       {
+                                           workers.runAll(tasks);
+                                       }
+                                       catch (Exception error)
+                                       {
+                                           throw new IllegalStateException(error);
+                                       }
+                                   });
+        runner.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        workers.shutdown();
+        release.countDown();
+
+        runner.join(10000);
+        assertFalse(runner.isAlive());
+        assertEquals(0, done.get());
+    }
+
+    @Test
+    void stopSkipsTasksNotYetStarted() throws Exception {
+        SynchronisationWorkers workers = workers(1, false);
+        AtomicInteger done = new AtomicInteger();
+
+        List<SynchronisationWorkers.Task> tasks = tasks(5, done, -1);
+        tasks.add(1, workers::stop);
+        workers.runAll(tasks);
+
+        assertEquals(1, done.get());
+        assertEquals(2, workers.getTaskCount());
+
+        workers.resume();
+        workers.runAll(tasks(5, done, -1));
+        assertEquals(6, done.get());
+    }
+}
@@ -98,4 +98,15 @@ class PostgresDatabaseTest {
         String qName =  database.getName();
         assertEquals(database.getQualifiedName(), qName );
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPropertyDigest() {
+        PostgresDatabase database = new PostgresDatabase("name",
+                "encoding",
+                "collate",
+                "ctype",
+                "version");
+
+        assertEquals(PropertyDigest.of(database.getProperties()), database.getPropertyDigest());
+    }
+}
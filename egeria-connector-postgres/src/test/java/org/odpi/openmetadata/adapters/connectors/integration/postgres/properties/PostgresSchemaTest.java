@@ -143,4 +143,17 @@ class PostgresSchemaTest {
 
         assertEquals(schema.getQualifiedName(), "schema_owner" + "::" + "catalog_name" + "::" + "schema_name" );
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPropertyDigest() {
+        PostgresSchema schema =  new PostgresSchema(   "catalog_name",
+                "schema_name",
+                "schema_owner",
+                "default_catalog_character_set",
+                "default_schema_character_set",
+                "default_character_set_name",
+                "sql_path");
+
+        assertEquals(PropertyDigest.of(schema.getProperties()), schema.getPropertyDigest());
+    }
+}
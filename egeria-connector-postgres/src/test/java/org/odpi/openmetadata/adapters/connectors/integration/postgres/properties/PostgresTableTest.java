@@ -293,4 +293,22 @@ class PostgresTableTest {
         assertEquals( table.getQualifiedName(), qName);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPropertyDigest() {
+        PostgresTable table = new PostgresTable("table_catalog",
+                "table_schema",
+                "table_name",
+                "table_type",
+                "self_referencing_column_name",
+                "reference_generation",
+                "user_defined_type_catalog",
+                "user_defined_type_schema",
+                "user_defined_type_name",
+                "is_insertable_into",
+                "is_typed",
+                "commit_action");
+
+        assertEquals(PropertyDigest.of(table.getProperties()), table.getPropertyDigest());
+    }
+}
@@ -0,0 +1,58 @@
+package org.odpi.openmetadata.adapters.connectors.integration.postgres.properties;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PropertyDigestTest {
+
+    @Test
+    void independentOfOrder() {
+        Map<String, String> first = new LinkedHashMap<>();
+        first.put("a", "1");
+        first.put("b", "2");
+        Map<String, String> second = new LinkedHashMap<>();
+        second.put("b", "2");
+        second.put("a", "1");
+
+        assertEquals(PropertyDigest.of(first), PropertyDigest.of(second));
+        assertEquals(PropertyDigest.of(first), new PropertyDigest().add("b", "2").add("a", "1").getValue());
+    }
+
+    @Test
+    void detectsChanges() {
+        Map<String, String> props = new HashMap<>();
+        props.put("a", "1");
+        props.put("b", null);
+        long digest = PropertyDigest.of(props);
+
+        props.put("b", "");
+        assertNotEquals(digest, PropertyDigest.of(props));
+
+        props.remove("b");
+        assertNotEquals(digest, PropertyDigest.of(props));
+
+        assertNotEquals(new PropertyDigest().add("ab", "c").getValue(), new PropertyDigest().add("a", "bc").getValue());
+    }
+
+    @Test
+    void fromAdditionalProperties() {
+        Map<String, String> props = new HashMap<>();
+        props.put("a", "1");
+        long digest = PropertyDigest.of(props);
+
+        assertEquals(digest, PropertyDigest.fromAdditionalProperties(props));
+
+        props.put(PropertyDigest.PROPERTY_NAME, PropertyDigest.toString(digest));
+        assertEquals(digest, PropertyDigest.of(props));
+        assertEquals(digest, PropertyDigest.fromAdditionalProperties(props));
+
+        props.put(PropertyDigest.PROPERTY_NAME, PropertyDigest.toString(-1L));
+        assertEquals(-1L, PropertyDigest.fromAdditionalProperties(props));
+    }
+}
@@ -0,0 +1,264 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
+
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcCatalog;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcColumn;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcForeignKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcIndex;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcPrimaryKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcSchema;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcTable;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps a {@link JdbcMetadata} and serves the table types, catalogs, schemas, tables, columns, keys and indexes from a
+ * {@link JdbcMetadataCache} while they are within its time to live. Only complete results are held, a call that fails
+ * part way through is made again on the database server the next time. A streamed result is held in memory to be
+ * cached only up to the maximum rows of the cache, a longer result is streamed on without being cached, so that it is
+ * read with the bounded memory of a stream. The other calls are passed on unchanged. The hits and misses of each
+ * instance are counted apart from those of other instances sharing the cache.
+ */
+public class CachingJdbcMetadata implements JdbcMetadata {
+
+    private static final String TABLE_TYPES = "getTableTypes";
+    private static final String CATALOGS = "getCatalogs";
+    private static final String SCHEMAS = "getSchemas";
+    private static final String TABLES = "getTables";
+    private static final String COLUMNS = "getColumns";
+    private static final String PRIMARY_KEYS = "getPrimaryKeys";
+    private static final String IMPORTED_KEYS = "getImportedKeys";
+    private static final String INDEX_INFO = "getIndexInfo";
+
+    private final JdbcMetadata jdbcMetadata;
+    private final JdbcMetadataCache cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // the evictions and expirations of the shared cache when the statistics were last reset
+    private long evictionsAtReset;
+    private long expirationsAtReset;
+
+    /**
+     * @param jdbcMetadata metadata read on a miss
+     * @param cache cache of the results, may be shared with other instances that read the same database server
+     */
+    public CachingJdbcMetadata(JdbcMetadata jdbcMetadata, JdbcMetadataCache cache) {
+        this.jdbcMetadata = jdbcMetadata;
+        this.cache = cache;
+    }
+
+    public JdbcMetadata getJdbcMetadata() {
+        return jdbcMetadata;
+    }
+
+    public JdbcMetadataCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Starts counting hits, misses, evictions and expirations again, typically at the beginning of a refresh
+     */
+    public synchronized void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        evictionsAtReset = cache.getEvictionCount();
+        expirationsAtReset = cache.getExpiredCount();
+    }
+
+    /**
+     * @return calls of this instance served from the cache since the statistics were reset
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return calls of this instance made on the database server since the statistics were reset
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return results evicted from the cache since the statistics were reset, by any instance sharing it
+     */
+    public synchronized long getEvictionCount() {
+        return cache.getEvictionCount() - evictionsAtReset;
+    }
+
+    /**
+     * @return results expired from the cache since the statistics were reset, by any instance sharing it
+     */
+    public synchronized long getExpiredCount() {
+        return cache.getExpiredCount() - expirationsAtReset;
+    }
+
+    /**
+     * Removes every cached result, see {@link JdbcMetadataCache#invalidate()}
+     */
+    public void invalidate() {
+        cache.invalidate();
+    }
+
+    @Override
+    public String getConnectorTypeQualifiedName() {
+        return jdbcMetadata.getConnectorTypeQualifiedName();
+    }
+
+    @Override
+    public int getMetadataSessions() {
+        return jdbcMetadata.getMetadataSessions();
+    }
+
+    @Override
+    public void cancelRunningCalls() {
+        jdbcMetadata.cancelRunningCalls();
+    }
+
+    @Override
+    public boolean open() {
+        return jdbcMetadata.open();
+    }
+
+    @Override
+    public void close() {
+        jdbcMetadata.close();
+    }
+
+    @Override
+    public String getUserName() throws SQLException {
+        return jdbcMetadata.getUserName();
+    }
+
+    @Override
+    public String getDriverName() throws SQLException {
+        return jdbcMetadata.getDriverName();
+    }
+
+    @Override
+    public String getDatabaseProductName() throws SQLException {
+        return jdbcMetadata.getDatabaseProductName();
+    }
+
+    @Override
+    public String getUrl() throws SQLException {
+        return jdbcMetadata.getUrl();
+    }
+
+    @Override
+    public String getDatabaseProductVersion() throws SQLException {
+        return jdbcMetadata.getDatabaseProductVersion();
+    }
+
+    @Override
+    public List<String> getTableTypes() throws SQLException {
+        List<String> tableTypes = cached(TABLE_TYPES);
+        if(tableTypes == null){
+            tableTypes = jdbcMetadata.getTableTypes();
+            cache.put(tableTypes, TABLE_TYPES);
+        }
+        return tableTypes;
+    }
+
+    @Override
+    public List<JdbcCatalog> getCatalogs() throws SQLException {
+        List<JdbcCatalog> catalogs = cached(CATALOGS);
+        if(catalogs == null){
+            catalogs = jdbcMetadata.getCatalogs();
+            cache.put(catalogs, CATALOGS);
+        }
+        return catalogs;
+    }
+
+    @Override
+    public void streamColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern,
+                              JdbcRowConsumer<JdbcColumn> consumer) throws SQLException {
+        stream(consumer, rows -> jdbcMetadata.streamColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern, rows),
+                COLUMNS, catalog, schemaPattern, tableNamePattern, columnNamePattern);
+    }
+
+    @Override
+    public void streamTables(String catalog, String schemaPattern, String tableNamePattern, String[] types,
+                             JdbcRowConsumer<JdbcTable> consumer) throws SQLException {
+        stream(consumer, rows -> jdbcMetadata.streamTables(catalog, schemaPattern, tableNamePattern, types, rows),
+                TABLES, catalog, schemaPattern, tableNamePattern, types);
+    }
+
+    @Override
+    public void streamSchemas(String catalog, String schemaPattern, JdbcRowConsumer<JdbcSchema> consumer) throws SQLException {
+        stream(consumer, rows -> jdbcMetadata.streamSchemas(catalog, schemaPattern, rows), SCHEMAS, catalog, schemaPattern);
+    }
+
+    @Override
+    public void streamPrimaryKeys(String catalog, String schema, String table, JdbcRowConsumer<JdbcPrimaryKey> consumer)
+            throws SQLException {
+        stream(consumer, rows -> jdbcMetadata.streamPrimaryKeys(catalog, schema, table, rows),
+                PRIMARY_KEYS, catalog, schema, table);
+    }
+
+    @Override
+    public void streamImportedKeys(String catalog, String schema, String table, JdbcRowConsumer<JdbcForeignKey> consumer)
+            throws SQLException {
+        stream(consumer, rows -> jdbcMetadata.streamImportedKeys(catalog, schema, table, rows),
+                IMPORTED_KEYS, catalog, schema, table);
+    }
+
+    @Override
+    public void streamIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate,
+                                JdbcRowConsumer<JdbcIndex> consumer) throws SQLException {
+        stream(consumer, rows -> jdbcMetadata.streamIndexInfo(catalog, schema, table, unique, approximate, rows),
+                INDEX_INFO, catalog, schema, table, unique, approximate);
+    }
+
+    /**
+     * One of the streaming calls of the wrapped metadata
+     */
+    private interface StreamCall<T> {
+        void stream(JdbcRowConsumer<T> consumer) throws SQLException;
+    }
+
+    /**
+     * Serves a streamed result from the cache, or streams it from the database server and caches it if it has no more
+     * rows than the maximum rows of the cache
+     */
+    private <T> void stream(JdbcRowConsumer<T> consumer, StreamCall<T> call, String name, Object... arguments)
+            throws SQLException {
+        List<T> rows = cached(name, arguments);
+        if(rows != null){
+            for (T row : rows) {
+                consumer.accept(row);
+            }
+            return;
+        }
+        int maxRows = cache.getMaxRows();
+        List<T> loaded = new ArrayList<>();
+        boolean[] tooLong = {false};
+        call.stream(row -> {
+            if(!tooLong[0]){
+                if(loaded.size() < maxRows){
+                    loaded.add(row);
+                }else{
+                    // too long to hold, the rows held are let go and the rest is streamed without being cached
+                    tooLong[0] = true;
+                    loaded.clear();
+                }
+            }
+            consumer.accept(row);
+        });
+        if(!tooLong[0]){
+            cache.put(loaded, name, arguments);
+        }
+    }
+
+    private <T> List<T> cached(String name, Object... arguments) {
+        List<T> rows = cache.get(name, arguments);
+        (rows == null ? misses : hits).incrementAndGet();
+        return rows;
+    }
+}
@@ -0,0 +1,291 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool of connections obtained from a {@link DataSource}. A connection is leased for a unit of work and
+ * returned when the lease is closed, and it stays open in the pool between units of work, so a connection survives
+ * from one refresh to the next. A connection that has been idle for longer than the validation interval is checked
+ * before it is leased again, and a connection that fails the check is replaced by a new one.
+ *
+ * Generic use case is:
+ * <code>
+ * try (JdbcConnectionPool.Lease lease = pool.lease()) {
+ *     lease.getMetaData().getSchemas();
+ * }
+ * </code>
+ */
+public class JdbcConnectionPool implements AutoCloseable {
+
+    public static final String MAX_CONNECTIONS_PROPERTY = "maxConnections";
+    public static final String VALIDATION_QUERY_PROPERTY = "validationQuery";
+    public static final String VALIDATION_INTERVAL_PROPERTY = "validationIntervalMillis";
+    public static final String VALIDATION_TIMEOUT_PROPERTY = "validationTimeoutSeconds";
+
+    private static final int DEFAULT_MAX_CONNECTIONS = 4;
+    private static final long DEFAULT_VALIDATION_INTERVAL = 30000;
+    private static final int DEFAULT_VALIDATION_TIMEOUT = 5;
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcConnectionPool.class);
+
+    private final DataSource dataSource;
+    private final int maxConnections;
+    private final String validationQuery;
+    private final long validationIntervalMillis;
+    private final int validationTimeoutSeconds;
+
+    private final Semaphore leases;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a pool configured from the configuration properties of a connection
+     *
+     * @param dataSource source of new physical connections
+     * @param configurationProperties configuration properties, may be null
+     */
+    public JdbcConnectionPool(DataSource dataSource, Map<String, Object> configurationProperties) {
+        this(dataSource,
+                (int) getLong(configurationProperties, MAX_CONNECTIONS_PROPERTY, DEFAULT_MAX_CONNECTIONS),
+                configurationProperties == null || configurationProperties.get(VALIDATION_QUERY_PROPERTY) == null
+                        ? null : configurationProperties.get(VALIDATION_QUERY_PROPERTY).toString(),
+                getLong(configurationProperties, VALIDATION_INTERVAL_PROPERTY, DEFAULT_VALIDATION_INTERVAL),
+                (int) getLong(configurationProperties, VALIDATION_TIMEOUT_PROPERTY, DEFAULT_VALIDATION_TIMEOUT));
+    }
+
+    /**
+     * @param dataSource source of new physical connections
+     * @param maxConnections maximum number of connections leased at once
+     * @param validationQuery query run to check an idle connection, null to use {@link Connection#isValid(int)}
+     * @param validationIntervalMillis how long a connection may stay idle before it is checked
+     * @param validationTimeoutSeconds how long the check may take
+     */
+    public JdbcConnectionPool(DataSource dataSource, int maxConnections, String validationQuery,
+                              long validationIntervalMillis, int validationTimeoutSeconds) {
+        this.dataSource = dataSource;
+        this.maxConnections = Math.max(1, maxConnections);
+        this.validationQuery = validationQuery;
+        this.validationIntervalMillis = Math.max(0, validationIntervalMillis);
+        this.validationTimeoutSeconds = Math.max(0, validationTimeoutSeconds);
+        this.leases = new Semaphore(this.maxConnections, true);
+    }
+
+    /**
+     * Leases a usable connection, waiting while the maximum number of connections are leased
+     *
+     * @return the lease, which must be closed to return the connection
+     *
+     * @throws SQLException the pool is closed or no connection could be opened
+     */
+    public Lease lease() throws SQLException {
+        return lease(0, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Leases a usable connection, waiting at most the given time while the maximum number of connections are leased
+     *
+     * @param timeout how long to wait for a connection to be returned, 0 or less to wait for as long as it takes
+     * @param unit unit of the timeout
+     *
+     * @return the lease, which must be closed to return the connection
+     *
+     * @throws SQLTimeoutException no connection was returned in time
+     * @throws SQLException the pool is closed or no connection could be opened
+     */
+    public Lease lease(long timeout, TimeUnit unit) throws SQLException {
+        if(closed){
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if(timeout <= 0){
+                leases.acquire();
+            }else if(!leases.tryAcquire(timeout, unit)){
+                throw new SQLTimeoutException("Timed out waiting for a connection, all " + maxConnections + " are leased");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = takeIdle()) != null) {
+                if(System.currentTimeMillis() - pooled.lastUsed < validationIntervalMillis || isValid(pooled.connection)){
+                    return new Lease(pooled);
+                }
+                log.info("Discarding a pooled connection that is no longer usable");
+                closeQuietly(pooled.connection);
+            }
+            return new Lease(new PooledConnection(dataSource.getConnection()));
+        } catch (SQLException | RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @return number of connections open in the pool and not leased
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Closes the idle connections, leased connections are closed when they are returned
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection pooled;
+        while ((pooled = takeIdle()) != null) {
+            closeQuietly(pooled.connection);
+        }
+    }
+
+    private synchronized PooledConnection takeIdle() {
+        return idle.pollFirst();
+    }
+
+    private void release(PooledConnection pooled, boolean broken) {
+        try {
+            if(!broken && !pooled.connection.isClosed()){
+                pooled.lastUsed = System.currentTimeMillis();
+                synchronized (this) {
+                    if(!closed){
+                        // the most recently used connection is leased first, so surplus connections age out
+                        idle.addFirst(pooled);
+                        return;
+                    }
+                }
+            }
+            closeQuietly(pooled.connection);
+        } catch (SQLException sqlException) {
+            closeQuietly(pooled.connection);
+        } finally {
+            leases.release();
+        }
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            if(connection.isClosed()){
+                return false;
+            }
+            if(validationQuery == null){
+                return connection.isValid(validationTimeoutSeconds);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(validationTimeoutSeconds);
+                statement.execute(validationQuery);
+            }
+            return true;
+        } catch (SQLException sqlException) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException sqlException) {
+            log.debug("Error when closing pooled connection", sqlException);
+        }
+    }
+
+    private static long getLong(Map<String, Object> configurationProperties, String name, long defaultValue) {
+        Object value = configurationProperties == null ? null : configurationProperties.get(name);
+        if(value == null){
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring configuration property {} with non numeric value {}", name, value);
+            return defaultValue;
+        }
+    }
+
+    private static class PooledConnection {
+        private final Connection connection;
+        private DatabaseMetaData metaData;
+        private long lastUsed = System.currentTimeMillis();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * A connection leased from the pool. Closing the lease returns the connection, or closes it if it was invalidated.
+     */
+    public class Lease implements AutoCloseable {
+
+        private final PooledConnection pooled;
+        private boolean broken = false;
+        private boolean returned = false;
+
+        private Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        public Connection getConnection() {
+            return pooled.connection;
+        }
+
+        /**
+         * @return the metadata of the leased connection, obtained once per connection
+         *
+         * @throws SQLException sql exception
+         */
+        public DatabaseMetaData getMetaData() throws SQLException {
+            if(pooled.metaData == null){
+                pooled.metaData = pooled.connection.getMetaData();
+            }
+            return pooled.metaData;
+        }
+
+        /**
+         * Checks the leased connection now, regardless of the validation interval
+         *
+         * @return true if the connection is still usable
+         */
+        public boolean isValid() {
+            return JdbcConnectionPool.this.isValid(pooled.connection);
+        }
+
+        /**
+         * Marks the connection as unusable, it is closed rather than returned to the pool
+         */
+        public void invalidate() {
+            broken = true;
+        }
+
+        @Override
+        public void close() {
+            if(!returned){
+                returned = true;
+                release(pooled, broken);
+            }
+        }
+    }
+}
@@ -3,25 +3,65 @@
 
 package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
 
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect.CatalogQuery;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect.JdbcDialect;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect.JdbcDialects;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcCatalog;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcColumn;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcForeignKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcIndex;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcPrimaryKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcRowMapper;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcSchema;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcTable;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.SocketTimeoutException;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 
 /**
- * JdbcConnector works exclusively with JDBC API to retrieve metadata. It internally manages the connection but specific
- * calls to open and close the connection are needed, and in some cases converts the result into specific objects.
+ * JdbcConnector works exclusively with JDBC API to retrieve metadata. It leases connections from a pool for each call,
+ * and in some cases converts the result into specific objects. The pooled connections stay open between calls to open
+ * and close, so they are reused from one refresh to the next, and they are closed when the connector is disconnected.
+ * A call that fails because its connection was dropped is retried once on a new connection. Columns, tables and
+ * schemas can also be streamed, each row is mapped and handed over as it is fetched, in batches of fetchSize rows.
+ * When nativeCatalogQueries is true, schemas, tables and columns are read with the catalog queries of the
+ * {@link JdbcDialect} of the database product if there is one, and through {@link DatabaseMetaData} otherwise.
+ * Keys and indexes asked for with a null table are read for the whole schema in one call where the driver accepts a
+ * null table. Where it does not, the tables of the schema are listed and read with one call each, on up to
+ * metadataSessions connections at once, and the rows are handed over in the order of the tables. The connector may be
+ * called from as many threads as it has metadata sessions, each call leasing a connection of its own.
+ * Catalog queries time out after queryTimeoutSeconds. Calls made through DatabaseMetaData have no statement to carry a
+ * timeout, they are bounded by the network timeout of their connection instead, set a little beyond the query timeout.
+ * Waiting for a pooled connection while all of them are leased is bounded by the query timeout as well.
+ * A call that times out, or that is cancelled with {@link #cancelRunningCalls()}, fails with a
+ * {@link SQLTimeoutException} and is not made again.
  *
  * Generic use case is:
  * <code>
@@ -36,7 +76,78 @@ public class JdbcConnector extends ConnectorBase implements JdbcMetadata {
 
     private static final Logger log = LoggerFactory.getLogger(JdbcConnector.class);
 
-    private DatabaseMetaData databaseMetaData;
+    public static final String FETCH_SIZE_PROPERTY = "fetchSize";
+    public static final String NATIVE_CATALOG_PROPERTY = "nativeCatalogQueries";
+    public static final String METADATA_SESSIONS_PROPERTY = "metadataSessions";
+    public static final String QUERY_TIMEOUT_PROPERTY = "queryTimeoutSeconds";
+
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int DEFAULT_QUERY_TIMEOUT = 120;
+    private static final int VALIDATION_TIMEOUT = 5;
+    private static final long IDLE_THREAD_TIMEOUT = 60;
+
+    // sql states of a statement cancelled on the server, by Postgres and by the drivers that follow SQL/CLI
+    private static final Set<String> CANCELLED_STATES = Set.of("57014", "HY008");
+
+    // drivers that abort a connection, on a network timeout or on cancel, do it on a thread of its own
+    private static final Executor ABORT_EXECUTOR = runnable -> {
+        Thread thread = new Thread(runnable, "jdbc-metadata-abort");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    private JdbcConnectionPool connectionPool;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private boolean nativeCatalog = false;
+    private int metadataSessions = 0;
+    private int queryTimeoutSeconds = DEFAULT_QUERY_TIMEOUT;
+    private volatile boolean networkTimeoutSupported = true;
+
+    private volatile boolean dialectResolved = false;
+    private volatile JdbcDialect dialect;
+
+    private final Set<String> tableByTableCalls = ConcurrentHashMap.newKeySet();
+    private ExecutorService tableCallExecutor;
+
+    // the calls under way by leased connection, guarded by the lock of the map
+    private final Map<Connection, RunningCall> runningCalls = new HashMap<>();
+
+    /**
+     * A call under way on a leased connection, with the catalog query it runs and whether it has been cancelled. A
+     * call is registered, cancelled and removed while holding the lock of runningCalls, and it is removed before its
+     * connection is returned, so a cancel never reaches a connection that has gone back to the pool.
+     */
+    private static class RunningCall {
+        private final Connection connection;
+        private Statement catalogQuery;
+        private volatile boolean cancelled = false;
+
+        private RunningCall(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * A call made against the metadata of a leased connection
+     */
+    private interface MetadataCall<T> {
+        T apply(DatabaseMetaData databaseMetaData) throws SQLException;
+    }
+
+    /**
+     * A call made for one table, or for every table of a schema with a null table, against the metadata of a leased
+     * connection
+     */
+    private interface TableCall {
+        ResultSet apply(DatabaseMetaData databaseMetaData, String catalog, String schema, String table) throws SQLException;
+    }
+
+    /**
+     * Creates the mapper for the rows of a result set
+     */
+    private interface RowMapperFactory<T> {
+        JdbcRowMapper<T> create(ResultSet resultSet) throws SQLException;
+    }
 
     @Override
     public String getConnectorTypeQualifiedName(){
@@ -45,13 +156,11 @@ public class JdbcConnector extends ConnectorBase implements JdbcMetadata {
 
     @Override
     public boolean open(){
-        String url = (String)connectionProperties.getConfigurationProperties().get("url");
-        String user = connectionProperties.getUserId();
-        String password = connectionProperties.getClearPassword();
-
         try {
-            Connection connection = DriverManager.getConnection(url, user, password);
-            databaseMetaData = connection.getMetaData();
+            // leasing a connection checks that the database server can be reached
+            try (JdbcConnectionPool.Lease lease = getConnectionPool().lease()) {
+                lease.getMetaData();
+            }
             return true;
         } catch (SQLException sqlException){
             log.error("Error when creating connection to database server", sqlException);
@@ -61,118 +170,537 @@ public class JdbcConnector extends ConnectorBase implements JdbcMetadata {
 
     @Override
     public void close() {
-        try{
-            Connection connection = databaseMetaData.getConnection();
-            if(!connection.isClosed()){
-                connection.close();
+        // the pooled connections are kept open for the next refresh, they are closed on disconnect
+    }
+
+    @Override
+    public synchronized void disconnect() throws ConnectorCheckedException {
+        if(tableCallExecutor != null){
+            tableCallExecutor.shutdownNow();
+            tableCallExecutor = null;
+        }
+        if(connectionPool != null){
+            connectionPool.close();
+            connectionPool = null;
+        }
+        super.disconnect();
+    }
+
+    /**
+     * Returns the pool the connector leases its connections from, creating it on first use
+     *
+     * @return the connection pool
+     */
+    public synchronized JdbcConnectionPool getConnectionPool() {
+        if(connectionPool == null){
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+            String url = (String)configurationProperties.get("url");
+            String user = connectionProperties.getUserId();
+            String password = connectionProperties.getClearPassword();
+
+            connectionPool = new JdbcConnectionPool(new DriverManagerDataSource(url, user, password), configurationProperties);
+
+            Object configuredFetchSize = configurationProperties.get(FETCH_SIZE_PROPERTY);
+            if(configuredFetchSize != null){
+                try {
+                    fetchSize = Integer.parseInt(configuredFetchSize.toString().trim());
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring configuration property {} with non numeric value {}", FETCH_SIZE_PROPERTY, configuredFetchSize);
+                }
+            }
+            Object configuredSessions = configurationProperties.get(METADATA_SESSIONS_PROPERTY);
+            if(configuredSessions != null){
+                try {
+                    metadataSessions = Integer.parseInt(configuredSessions.toString().trim());
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring configuration property {} with non numeric value {}", METADATA_SESSIONS_PROPERTY, configuredSessions);
+                }
+            }
+            Object configuredQueryTimeout = configurationProperties.get(QUERY_TIMEOUT_PROPERTY);
+            if(configuredQueryTimeout != null){
+                try {
+                    queryTimeoutSeconds = Math.max(0, Integer.parseInt(configuredQueryTimeout.toString().trim()));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring configuration property {} with non numeric value {}", QUERY_TIMEOUT_PROPERTY, configuredQueryTimeout);
+                }
+            }
+            Object configuredNativeCatalog = configurationProperties.get(NATIVE_CATALOG_PROPERTY);
+            if(configuredNativeCatalog != null){
+                nativeCatalog = Boolean.parseBoolean(configuredNativeCatalog.toString().trim());
+            }
+        }
+        return connectionPool;
+    }
+
+    /**
+     * Returns the number of metadata sessions, metadataSessions if it is configured and maxConnections otherwise. It is
+     * never more than maxConnections, and setting it to 1 keeps the reads of a production database to one connection.
+     *
+     * @return the number of metadata calls made at once
+     */
+    @Override
+    public synchronized int getMetadataSessions() {
+        int maxConnections = getConnectionPool().getMaxConnections();
+        return metadataSessions <= 0 ? maxConnections : Math.min(metadataSessions, maxConnections);
+    }
+
+    /**
+     * Cancels the calls under way. A catalog query is cancelled with {@link Statement#cancel()}, a call made through
+     * DatabaseMetaData does not expose its statement, so its connection is aborted and discarded instead.
+     */
+    @Override
+    public void cancelRunningCalls() {
+        synchronized (runningCalls) {
+            for (RunningCall runningCall : runningCalls.values()) {
+                runningCall.cancelled = true;
+                try {
+                    if(runningCall.catalogQuery != null){
+                        runningCall.catalogQuery.cancel();
+                    }else{
+                        runningCall.connection.abort(ABORT_EXECUTOR);
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    log.debug("Error when cancelling a metadata call", e);
+                }
             }
-        } catch (SQLException sqlException) {
-            log.error("Error when closing connection to database server", sqlException);
         }
-        databaseMetaData = null;
     }
 
     @Override
     public String getUserName() throws SQLException {
-        return this.databaseMetaData.getUserName();
+        return call(DatabaseMetaData::getUserName);
     }
 
     @Override
     public String getDriverName() throws SQLException {
-        return this.databaseMetaData.getDriverName();
+        return call(DatabaseMetaData::getDriverName);
     }
 
     @Override
     public String getDatabaseProductName() throws SQLException {
-        return this.databaseMetaData.getDatabaseProductName();
+        return call(DatabaseMetaData::getDatabaseProductName);
     }
 
     @Override
     public String getUrl() throws SQLException {
-        return this.databaseMetaData.getURL();
+        return call(DatabaseMetaData::getURL);
     }
 
     @Override
     public String getDatabaseProductVersion() throws SQLException {
-        return this.databaseMetaData.getDatabaseProductVersion();
+        return call(DatabaseMetaData::getDatabaseProductVersion);
     }
 
     @Override
     public List<String> getTableTypes() throws SQLException {
-        List<String> result = new ArrayList<>();
+        return call(databaseMetaData -> {
+            List<String> result = new ArrayList<>();
 
-        ResultSet tableTypes = this.databaseMetaData.getTableTypes();
-        while(tableTypes.next()){
-            result.add(tableTypes.getString("TABLE_TYPE"));
-        }
-        close(tableTypes);
+            ResultSet tableTypes = databaseMetaData.getTableTypes();
+            while(tableTypes.next()){
+                result.add(tableTypes.getString("TABLE_TYPE"));
+            }
+            close(tableTypes);
 
-        return result;
+            return result;
+        });
     }
 
     @Override
-    public List<JdbcColumn> getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
-        List<JdbcColumn> result = new ArrayList<>();
+    public void streamColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern,
+                              JdbcRowConsumer<JdbcColumn> consumer) throws SQLException {
+        stream(databaseMetaData -> {
+            ResultSet columns = queryCatalog(databaseMetaData,
+                    jdbcDialect -> jdbcDialect.getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern));
+            return columns != null ? columns : databaseMetaData.getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern);
+        }, JdbcColumn::mapper, consumer);
+    }
 
-        ResultSet columns = this.databaseMetaData.getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern);
-        while(columns.next()){
-            result.add(JdbcColumn.create(columns));
-        }
-        close(columns);
+    @Override
+    public void streamTables(String catalog, String schemaPattern, String tableNamePattern, String[] types,
+                             JdbcRowConsumer<JdbcTable> consumer) throws SQLException {
+        stream(databaseMetaData -> {
+            ResultSet tables = queryCatalog(databaseMetaData,
+                    jdbcDialect -> jdbcDialect.getTables(catalog, schemaPattern, tableNamePattern, types));
+            return tables != null ? tables : databaseMetaData.getTables(catalog, schemaPattern, tableNamePattern, types);
+        }, JdbcTable::mapper, consumer);
+    }
 
-        return result;
+    @Override
+    public void streamSchemas(String catalog, String schemaPattern, JdbcRowConsumer<JdbcSchema> consumer) throws SQLException {
+        stream(databaseMetaData -> {
+            ResultSet schemas = queryCatalog(databaseMetaData, jdbcDialect -> jdbcDialect.getSchemas(catalog, schemaPattern));
+            return schemas != null ? schemas : databaseMetaData.getSchemas(catalog, schemaPattern);
+        }, JdbcSchema::mapper, consumer);
     }
 
     @Override
-    public List<JdbcTable> getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) throws SQLException {
-        List<JdbcTable> result = new ArrayList<>();
+    public List<JdbcCatalog> getCatalogs() throws SQLException {
+        return call(databaseMetaData -> {
+            List<JdbcCatalog> result = new ArrayList<>();
 
-        ResultSet tables = this.databaseMetaData.getTables(catalog, schemaPattern, tableNamePattern, types);
-        while(tables.next()){
-            result.add(JdbcTable.create(tables));
-        }
-        close(tables);
+            ResultSet catalogs = databaseMetaData.getCatalogs();
+            while(catalogs.next()){
+                result.add(JdbcCatalog.create(catalogs));
+            }
+            close(catalogs);
+
+            return result;
+        });
+    }
+
+    @Override
+    public void streamPrimaryKeys(String catalog, String schema, String table, JdbcRowConsumer<JdbcPrimaryKey> consumer)
+            throws SQLException {
+        streamForTables("getPrimaryKeys", catalog, schema, table, DatabaseMetaData::getPrimaryKeys, JdbcPrimaryKey::mapper,
+                consumer);
+    }
 
-        return result;
+    @Override
+    public void streamImportedKeys(String catalog, String schema, String table, JdbcRowConsumer<JdbcForeignKey> consumer)
+            throws SQLException {
+        streamForTables("getImportedKeys", catalog, schema, table, DatabaseMetaData::getImportedKeys, JdbcForeignKey::mapper,
+                consumer);
     }
 
     @Override
-    public List<JdbcSchema> getSchemas(String catalog, String schemaPattern) throws SQLException {
-        List<JdbcSchema> result = new ArrayList<>();
+    public void streamIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate,
+                                JdbcRowConsumer<JdbcIndex> consumer) throws SQLException {
+        streamForTables("getIndexInfo", catalog, schema, table,
+                (databaseMetaData, tableCat, tableSchem, tableName) ->
+                        databaseMetaData.getIndexInfo(tableCat, tableSchem, tableName, unique, approximate),
+                JdbcIndex::mapper, consumer);
+    }
 
-        ResultSet schemas = this.databaseMetaData.getSchemas(catalog, schemaPattern);
-        while(schemas.next()){
-            result.add(JdbcSchema.create(schemas));
+    /**
+     * Streams the rows of a call for one table, or for every table of the schema if the table is null
+     */
+    private <T> void streamForTables(String callName, String catalog, String schema, String table, TableCall tableCall,
+                                     RowMapperFactory<T> rowMappers, JdbcRowConsumer<T> consumer) throws SQLException {
+        if(table != null){
+            stream(databaseMetaData -> tableCall.apply(databaseMetaData, catalog, schema, table), rowMappers, consumer);
+            return;
         }
-        close(schemas);
+        if(!tableByTableCalls.contains(callName)){
+            try {
+                stream(databaseMetaData -> callForSchema(callName, databaseMetaData, tableCall, catalog, schema), rowMappers,
+                        consumer);
+                return;
+            } catch (NullTableRejectedException e) {
+                log.info("The driver does not accept a null table for {}, the tables are read one by one from now on",
+                        callName, e.getCause());
+            }
+        }
+        streamTableByTable(callName, catalog, schema, tableCall, rowMappers, consumer);
+    }
 
-        return result;
+    /**
+     * Makes the call with a null table, which the JDBC api leaves to the driver
+     */
+    private ResultSet callForSchema(String callName, DatabaseMetaData databaseMetaData, TableCall tableCall, String catalog,
+                                    String schema) throws SQLException {
+        try {
+            return tableCall.apply(databaseMetaData, catalog, schema, null);
+        } catch (SQLException | RuntimeException e) {
+            if(e instanceof SQLException && (isTimeout(e) || !databaseMetaData.getConnection().isValid(VALIDATION_TIMEOUT))){
+                throw (SQLException) e;
+            }
+            // the driver rejects the null table, some with an exception of their own
+            tableByTableCalls.add(callName);
+            throw new NullTableRejectedException(e);
+        }
     }
 
-    @Override
-    public List<JdbcSchema> getSchemas() throws SQLException {
-        List<JdbcSchema> result = new ArrayList<>();
+    /**
+     * Makes the call for each table of the schema, on as many connections at once as the pool allows, and hands over
+     * the rows table by table in the order the tables were listed
+     */
+    private <T> void streamTableByTable(String callName, String catalog, String schema, TableCall tableCall,
+                                        RowMapperFactory<T> rowMappers, JdbcRowConsumer<T> consumer) throws SQLException {
+        List<JdbcTable> tables = new ArrayList<>();
+        streamTables(catalog, schema, null, null, jdbcTable -> {
+            // the schema is a pattern to getTables, so other schemas may match it
+            if(schema == null || schema.equals(jdbcTable.getTableSchem())){
+                tables.add(jdbcTable);
+            }
+        });
 
-        ResultSet schemas = this.databaseMetaData.getSchemas();
-        while(schemas.next()){
-            result.add(JdbcSchema.create(schemas));
+        ExecutorService executor = getTableCallExecutor();
+        List<Future<List<T>>> results = new ArrayList<>(tables.size());
+        try {
+            for (JdbcTable jdbcTable : tables) {
+                results.add(executor.submit(() -> {
+                    List<T> rows = new ArrayList<>();
+                    stream(databaseMetaData -> tableCall.apply(databaseMetaData, jdbcTable.getTableCat(),
+                            jdbcTable.getTableSchem(), jdbcTable.getTableName()), rowMappers, rows::add);
+                    return rows;
+                }));
+            }
+            for (Future<List<T>> result : results) {
+                for (T row : result.get()) {
+                    consumer.accept(row);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while reading " + callName + " for schema " + schema, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof SQLException ? (SQLException) cause : new SQLException(cause);
+        } finally {
+            // the calls not yet started are dropped, those under way finish and return their connections
+            results.forEach(result -> result.cancel(false));
         }
-        close(schemas);
+    }
 
-        return result;
+    /**
+     * Returns the executor of the table by table calls, its threads end when they have been idle for a while
+     */
+    private synchronized ExecutorService getTableCallExecutor() {
+        if(tableCallExecutor == null){
+            int threads = getMetadataSessions();
+            AtomicInteger count = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, IDLE_THREAD_TIMEOUT, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "jdbc-metadata-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            tableCallExecutor = executor;
+        }
+        return tableCallExecutor;
     }
 
-    @Override
-    public List<JdbcCatalog> getCatalogs() throws SQLException {
-        List<JdbcCatalog> result = new ArrayList<>();
+    /**
+     * Runs a metadata query and hands each row to the consumer as it is fetched, the result set is never held in full
+     */
+    private <T> void stream(MetadataCall<ResultSet> query, RowMapperFactory<T> rowMappers, JdbcRowConsumer<T> consumer) throws SQLException {
+        int[] delivered = {0};
+        call(databaseMetaData -> {
+            try (ResultSet rows = query.apply(databaseMetaData)) {
+                applyFetchSize(rows);
+                JdbcRowMapper<T> rowMapper = rowMappers.create(rows);
+                while(rows.next()){
+                    consumer.accept(rowMapper.map(rows));
+                    delivered[0]++;
+                }
+            }
+            return null;
+        }, () -> delivered[0] == 0);
+    }
+
+    /**
+     * Returns the dialect of the database product, found on first use
+     */
+    private JdbcDialect getDialect(DatabaseMetaData databaseMetaData) throws SQLException {
+        if(!dialectResolved){
+            if(nativeCatalog){
+                dialect = JdbcDialects.forProduct(databaseMetaData.getDatabaseProductName());
+                if(dialect != null){
+                    log.info("Reading the catalog with {}", dialect.getClass().getSimpleName());
+                }
+            }
+            dialectResolved = true;
+        }
+        return dialect;
+    }
+
+    /**
+     * Runs the catalog query of the dialect for a call
+     *
+     * @return the rows, or null if the call is to be made through DatabaseMetaData
+     */
+    private ResultSet queryCatalog(DatabaseMetaData databaseMetaData, Function<JdbcDialect, CatalogQuery> dialectQuery) throws SQLException {
+        JdbcDialect jdbcDialect = getDialect(databaseMetaData);
+        CatalogQuery catalogQuery = jdbcDialect == null ? null : dialectQuery.apply(jdbcDialect);
+        if(catalogQuery == null){
+            return null;
+        }
+
+        Connection connection = databaseMetaData.getConnection();
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(catalogQuery.getSql());
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            startCatalogQuery(connection, statement);
+            List<String> parameters = catalogQuery.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setString(i + 1, parameters.get(i));
+            }
+            if(fetchSize > 0){
+                statement.setFetchSize(fetchSize);
+            }
+            ResultSet resultSet = statement.executeQuery();
+            statement.closeOnCompletion();
+            return resultSet;
+        } catch (SQLException sqlException) {
+            close(statement);
+            if(isTimeout(sqlException) || isCancelled(connection) || !connection.isValid(VALIDATION_TIMEOUT)){
+                throw sqlException;
+            }
+            // the server does not accept the query, such as a version without the catalog views it reads
+            log.warn("Catalog query of {} failed, the catalog is read through DatabaseMetaData from now on",
+                    jdbcDialect.getClass().getSimpleName(), sqlException);
+            dialect = null;
+            return null;
+        }
+    }
+
+    private void applyFetchSize(ResultSet resultSet) {
+        if(fetchSize <= 0){
+            return;
+        }
+        try {
+            resultSet.setFetchSize(fetchSize);
+        } catch (SQLException sqlException) {
+            // the fetch size is only a hint, some drivers do not accept it on metadata result sets
+            log.debug("Fetch size not applied to metadata result set", sqlException);
+        }
+    }
+
+    private <T> T call(MetadataCall<T> metadataCall) throws SQLException {
+        return call(metadataCall, () -> true);
+    }
 
-        ResultSet catalogs = this.databaseMetaData.getCatalogs();
-        while(catalogs.next()){
-            result.add(JdbcCatalog.create(catalogs));
+    /**
+     * Makes a call on a leased connection, making it once more on a new connection if the first one was dropped and
+     * the call can be repeated
+     */
+    private <T> T call(MetadataCall<T> metadataCall, BooleanSupplier repeatable) throws SQLException {
+        JdbcConnectionPool pool = getConnectionPool();
+        for (int attempt = 1; ; attempt++) {
+            // waiting for a connection counts against the query timeout of the call
+            JdbcConnectionPool.Lease lease = pool.lease(queryTimeoutSeconds, TimeUnit.SECONDS);
+            Connection connection = lease.getConnection();
+            applyNetworkTimeout(connection);
+            RunningCall runningCall = startCall(connection);
+            try {
+                return metadataCall.apply(lease.getMetaData());
+            } catch (SQLException sqlException) {
+                if(runningCall.cancelled || isTimeout(sqlException)){
+                    // a call that ran out of time is not made again, its connection is discarded if the timeout closed it
+                    if(!lease.isValid()){
+                        lease.invalidate();
+                    }
+                    throw asTimeout(sqlException);
+                }
+                if(attempt > 1 || lease.isValid()){
+                    throw sqlException;
+                }
+                if(!repeatable.getAsBoolean()){
+                    lease.invalidate();
+                    throw sqlException;
+                }
+                // the connection was dropped, it is discarded and the call is made once more on a new connection
+                lease.invalidate();
+                log.warn("Connection to database server lost, reconnecting", sqlException);
+            } finally {
+                finishCall(runningCall);
+                lease.close();
+            }
+        }
+    }
+
+    private RunningCall startCall(Connection connection) {
+        RunningCall runningCall = new RunningCall(connection);
+        synchronized (runningCalls) {
+            runningCalls.put(connection, runningCall);
         }
-        close(catalogs);
+        return runningCall;
+    }
+
+    private void finishCall(RunningCall runningCall) {
+        synchronized (runningCalls) {
+            runningCalls.remove(runningCall.connection, runningCall);
+        }
+    }
 
-        return result;
+    /**
+     * Records the catalog query run by the call under way on a connection, so that a cancel reaches it
+     *
+     * @throws SQLTimeoutException the call was cancelled before its query was started
+     */
+    private void startCatalogQuery(Connection connection, Statement statement) throws SQLTimeoutException {
+        synchronized (runningCalls) {
+            RunningCall runningCall = runningCalls.get(connection);
+            if(runningCall == null){
+                return;
+            }
+            if(runningCall.cancelled){
+                throw new SQLTimeoutException("Metadata call cancelled");
+            }
+            runningCall.catalogQuery = statement;
+        }
+    }
+
+    private boolean isCancelled(Connection connection) {
+        synchronized (runningCalls) {
+            RunningCall runningCall = runningCalls.get(connection);
+            return runningCall != null && runningCall.cancelled;
+        }
+    }
+
+    /**
+     * Bounds the calls made through DatabaseMetaData on a connection. The network timeout is a little longer than the
+     * query timeout, so that a catalog query is cancelled on the server before its connection is given up on.
+     */
+    private void applyNetworkTimeout(Connection connection) {
+        if(queryTimeoutSeconds <= 0 || !networkTimeoutSupported){
+            return;
+        }
+        try {
+            connection.setNetworkTimeout(ABORT_EXECUTOR, (int) TimeUnit.SECONDS.toMillis(queryTimeoutSeconds + VALIDATION_TIMEOUT));
+        } catch (SQLFeatureNotSupportedException e) {
+            networkTimeoutSupported = false;
+            log.info("The driver does not support network timeouts, calls made through DatabaseMetaData are not bounded");
+        } catch (SQLException e) {
+            log.debug("Network timeout not applied to connection", e);
+        }
+    }
+
+    /**
+     * Returns true if the error, or one of its causes, reports a call that ran out of time or was cancelled
+     */
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if(cause instanceof SQLTimeoutException || cause instanceof SocketTimeoutException){
+                return true;
+            }
+            String sqlState = cause instanceof SQLException ? ((SQLException) cause).getSQLState() : null;
+            if(sqlState != null && CANCELLED_STATES.contains(sqlState)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SQLTimeoutException asTimeout(SQLException sqlException) {
+        if(sqlException instanceof SQLTimeoutException){
+            return (SQLTimeoutException) sqlException;
+        }
+        return new SQLTimeoutException(sqlException.getMessage(), sqlException.getSQLState(), sqlException.getErrorCode(),
+                sqlException);
+    }
+
+    /**
+     * The driver does not accept a null table for a call, the cause is the error it raised
+     */
+    private static class NullTableRejectedException extends SQLException {
+        private NullTableRejectedException(Throwable cause) {
+            super("Null table rejected by the driver", cause);
+        }
+    }
+
+    private void close(PreparedStatement statement) {
+        if(statement == null){
+            return;
+        }
+        try {
+            statement.close();
+        } catch (SQLException sqlException) {
+            log.debug("Error when closing catalog query", sqlException);
+        }
     }
 
     private void close(ResultSet resultSet) throws SQLException {
@@ -5,11 +5,15 @@ package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
 
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcCatalog;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcColumn;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcForeignKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcIndex;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcPrimaryKey;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcSchema;
 import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcTable;
 
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 public interface JdbcMetadata {
@@ -19,6 +23,21 @@ public interface JdbcMetadata {
      */
     String getConnectorTypeQualifiedName();
 
+    /**
+     * Returns how many metadata calls may be made at once, each on its own connection. Calls made from more threads
+     * than that wait for a connection to be free.
+     */
+    default int getMetadataSessions() {
+        return 1;
+    }
+
+    /**
+     * Cancels the metadata calls under way, from a thread other than the ones making them. A cancelled call fails with
+     * a {@link java.sql.SQLException}, the calls made afterwards are not affected.
+     */
+    default void cancelRunningCalls() {
+    }
+
     /**
      * Opens a connection to designated server
      */
@@ -73,7 +92,11 @@ public interface JdbcMetadata {
      *
      * See {@link DatabaseMetaData#getColumns(String, String, String, String)}
      */
-    List<JdbcColumn> getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException;
+    default List<JdbcColumn> getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
+        List<JdbcColumn> result = new ArrayList<>();
+        streamColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern, result::add);
+        return result;
+    }
 
     /**
      * Parses the result and converts to {@link JdbcTable}
@@ -89,7 +112,11 @@ public interface JdbcMetadata {
      *
      * See {@link DatabaseMetaData#getTables(String, String, String, String[])}
      */
-    List<JdbcTable> getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) throws SQLException;
+    default List<JdbcTable> getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) throws SQLException {
+        List<JdbcTable> result = new ArrayList<>();
+        streamTables(catalog, schemaPattern, tableNamePattern, types, result::add);
+        return result;
+    }
 
     /**
      * Parses the result and converts to {@link JdbcSchema}
@@ -103,7 +130,11 @@ public interface JdbcMetadata {
      *
      * See {@link DatabaseMetaData#getSchemas(String, String)}
      */
-    List<JdbcSchema> getSchemas(String catalog, String schemaPattern) throws SQLException;
+    default List<JdbcSchema> getSchemas(String catalog, String schemaPattern) throws SQLException {
+        List<JdbcSchema> result = new ArrayList<>();
+        streamSchemas(catalog, schemaPattern, result::add);
+        return result;
+    }
 
     /**
      * Parses the result and converts to {@link JdbcSchema}
@@ -114,7 +145,71 @@ public interface JdbcMetadata {
      *
      * See {@link DatabaseMetaData#getSchemas()}
      */
-    List<JdbcSchema> getSchemas() throws SQLException;
+    default List<JdbcSchema> getSchemas() throws SQLException {
+        List<JdbcSchema> result = new ArrayList<>();
+        streamSchemas(null, null, result::add);
+        return result;
+    }
+
+    /**
+     * Parses the result and converts to {@link JdbcPrimaryKey}
+     *
+     * @param catalog catalog
+     * @param schema schema
+     * @param table table, or null for every table of the schema
+     *
+     * @return jdbc primary keys
+     *
+     * @throws  SQLException sql exception
+     *
+     * See {@link DatabaseMetaData#getPrimaryKeys(String, String, String)}
+     */
+    default List<JdbcPrimaryKey> getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
+        List<JdbcPrimaryKey> result = new ArrayList<>();
+        streamPrimaryKeys(catalog, schema, table, result::add);
+        return result;
+    }
+
+    /**
+     * Parses the result and converts to {@link JdbcForeignKey}
+     *
+     * @param catalog catalog
+     * @param schema schema
+     * @param table table, or null for every table of the schema
+     *
+     * @return jdbc foreign keys
+     *
+     * @throws  SQLException sql exception
+     *
+     * See {@link DatabaseMetaData#getImportedKeys(String, String, String)}
+     */
+    default List<JdbcForeignKey> getImportedKeys(String catalog, String schema, String table) throws SQLException {
+        List<JdbcForeignKey> result = new ArrayList<>();
+        streamImportedKeys(catalog, schema, table, result::add);
+        return result;
+    }
+
+    /**
+     * Parses the result and converts to {@link JdbcIndex}
+     *
+     * @param catalog catalog
+     * @param schema schema
+     * @param table table, or null for every table of the schema
+     * @param unique only unique indexes
+     * @param approximate statistics may be approximate
+     *
+     * @return jdbc indexes
+     *
+     * @throws  SQLException sql exception
+     *
+     * See {@link DatabaseMetaData#getIndexInfo(String, String, String, boolean, boolean)}
+     */
+    default List<JdbcIndex> getIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate)
+            throws SQLException {
+        List<JdbcIndex> result = new ArrayList<>();
+        streamIndexInfo(catalog, schema, table, unique, approximate, result::add);
+        return result;
+    }
 
     /**
      * Parses the result and converts to {@link JdbcCatalog}
@@ -126,4 +221,98 @@ public interface JdbcMetadata {
      * See {@link DatabaseMetaData#getCatalogs()}
      */
     List<JdbcCatalog> getCatalogs() throws SQLException;
+
+    /**
+     * Maps the columns to {@link JdbcColumn} one row at a time, as they are fetched from the database server
+     *
+     * @param catalog catalog
+     * @param schemaPattern schema
+     * @param tableNamePattern table
+     * @param columnNamePattern column
+     * @param consumer receives each column
+     *
+     * @throws  SQLException sql exception
+     *
+     * See {@link DatabaseMetaData#getColumns(String, String, String, String)}
+     */
+    void streamColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern,
+                       JdbcRowConsumer<JdbcColumn> consumer) throws SQLException;
+
+    /**
+     * Maps the tables to {@link JdbcTable} one row at a time, as they are fetched from the database server
+     *
+     * @param catalog catalog
+     * @param schemaPattern schema
+     * @param tableNamePattern table
+     * @param types types
+     * @param consumer receives each table
+     *
+     * @throws  SQLException sql exception
+     *
+     * See {@link DatabaseMetaData#getTables(String, String, String, String[])}
+     */
+    void streamTables(String catalog, String schemaPattern, String tableNamePattern, String[] types,
+                      JdbcRowConsumer<JdbcTable> consumer) throws SQLException;
+
+    /**
+     * Maps the schemas to {@link JdbcSchema} one row at a time, as they are fetched from the database server
+     *
+     * @param catalog catalog
+     * @param schemaPattern schema
+     * @param consumer receives each schema
+     *
+     * @throws  SQLException sql exception
+     *
+     * See {@link DatabaseMetaData#getSchemas(String, String)}
+     */
+    void streamSchemas(String catalog, String schemaPattern, JdbcRowConsumer<JdbcSchema> consumer) throws SQLException;
+
+    /**
+     * Maps the primary keys to {@link JdbcPrimaryKey} one row at a time. With a null table the keys of every table of the
+     * schema are read, in one call where the driver accepts a null table and with one call for each table otherwise.
+     *
+     * @param catalog catalog
+     * @param schema schema
+     * @param table table, or null for every table of the schema
+     * @param consumer receives each primary key column
+     *
+     * @throws  SQLException sql exception
+     *
+     * See {@link DatabaseMetaData#getPrimaryKeys(String, String, String)}
+     */
+    void streamPrimaryKeys(String catalog, String schema, String table, JdbcRowConsumer<JdbcPrimaryKey> consumer) throws SQLException;
+
+    /**
+     * Maps the foreign keys of a table to {@link JdbcForeignKey} one row at a time. With a null table the keys of every
+     * table of the schema are read, in one call where the driver accepts a null table and with one call for each table
+     * otherwise.
+     *
+     * @param catalog catalog
+     * @param schema schema
+     * @param table table, or null for every table of the schema
+     * @param consumer receives each foreign key column
+     *
+     * @throws  SQLException sql exception
+     *
+     * See {@link DatabaseMetaData#getImportedKeys(String, String, String)}
+     */
+    void streamImportedKeys(String catalog, String schema, String table, JdbcRowConsumer<JdbcForeignKey> consumer) throws SQLException;
+
+    /**
+     * Maps the indexes to {@link JdbcIndex} one row at a time. With a null table the indexes of every table of the
+     * schema are read, in one call where the driver accepts a null table and with one call for each table otherwise.
+     *
+     * @param catalog catalog
+     * @param schema schema
+     * @param table table, or null for every table of the schema
+     * @param unique only unique indexes
+     * @param approximate statistics may be approximate
+     * @param consumer receives each index column
+     *
+     * @throws  SQLException sql exception
+     *
+     * See {@link DatabaseMetaData#getIndexInfo(String, String, String, boolean, boolean)}
+     */
+    void streamIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate,
+                         JdbcRowConsumer<JdbcIndex> consumer) throws SQLException;
 }
@@ -0,0 +1,232 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the results of metadata calls for a time to live, keyed by the call and its arguments. The cache holds at most
+ * a maximum number of results, when it is full the least recently used result is evicted, and a result with more than
+ * the maximum number of rows is not held, see {@link CachingJdbcMetadata}. A cache may be shared by
+ * several {@link CachingJdbcMetadata}s that read the same database server, so that a catalog read by one integration
+ * connector is not read again by the others within the time to live.
+ */
+public class JdbcMetadataCache {
+
+    public static final String TTL_PROPERTY = "metadataCacheTtlMillis";
+    public static final String MAX_ENTRIES_PROPERTY = "metadataCacheMaxEntries";
+    public static final String MAX_ROWS_PROPERTY = "metadataCacheMaxRows";
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final int DEFAULT_MAX_ROWS = 10000;
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcMetadataCache.class);
+
+    private static final Map<String, JdbcMetadataCache> sharedCaches = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final int maxRows;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * @param ttlMillis how long a result is used before the call is made again
+     * @param maxEntries maximum number of results held
+     */
+    public JdbcMetadataCache(long ttlMillis, int maxEntries) {
+        this(ttlMillis, maxEntries, DEFAULT_MAX_ROWS);
+    }
+
+    /**
+     * @param ttlMillis how long a result is used before the call is made again
+     * @param maxEntries maximum number of results held
+     * @param maxRows maximum number of rows of a streamed result that is held
+     */
+    public JdbcMetadataCache(long ttlMillis, int maxEntries, int maxRows) {
+        this.ttlNanos = Math.max(0, ttlMillis) * 1_000_000L;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxRows = Math.max(0, maxRows);
+    }
+
+    /**
+     * Returns the cache shared by every caller that names the same source, creating it on first use. The time to live,
+     * the maximum number of entries and the maximum number of rows of the first caller apply.
+     *
+     * @param source identifies the database server, such as its url and user, and any recording replayed in its place
+     * @param configurationProperties configuration properties, may be null
+     *
+     * @return the shared cache, or null if no time to live is configured
+     */
+    public static JdbcMetadataCache shared(String source, Map<String, Object> configurationProperties) {
+        long ttlMillis = getLong(configurationProperties, TTL_PROPERTY, 0);
+        if(ttlMillis <= 0){
+            return null;
+        }
+        int maxEntries = (int) getLong(configurationProperties, MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES);
+        int maxRows = (int) getLong(configurationProperties, MAX_ROWS_PROPERTY, DEFAULT_MAX_ROWS);
+        return sharedCaches.computeIfAbsent(source, key -> new JdbcMetadataCache(ttlMillis, maxEntries, maxRows));
+    }
+
+    /**
+     * Removes every result, the next call of each kind is made on the database server
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+    }
+
+    /**
+     * @return number of results held, including any that have expired but not yet been removed
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return maximum number of rows of a streamed result that is held
+     */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of results removed to make room for others
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * @return number of results removed because they outlived the time to live
+     */
+    public long getExpiredCount() {
+        return expirations.get();
+    }
+
+    @Override
+    public String toString() {
+        return "JdbcMetadataCache{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", expired=" + expirations + ", size=" + size() + "}";
+    }
+
+    /**
+     * Returns the result of a call if it is held and still within the time to live
+     *
+     * @param call name of the call
+     * @param arguments arguments of the call
+     *
+     * @return the result, or null on a miss
+     */
+    synchronized <T> List<T> get(String call, Object... arguments) {
+        Key key = new Key(call, arguments);
+        Entry entry = entries.get(key);
+        if(entry != null && System.nanoTime() - entry.loadedAt > ttlNanos){
+            entries.remove(key);
+            expirations.incrementAndGet();
+            entry = null;
+        }
+        if(entry == null){
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) entry.result;
+        return result;
+    }
+
+    /**
+     * Holds the complete result of a call, evicting the least recently used results beyond the maximum
+     */
+    synchronized void put(List<?> result, String call, Object... arguments) {
+        entries.put(new Key(call, arguments), new Entry(Collections.unmodifiableList(new ArrayList<>(result))));
+        Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+        while (entries.size() > maxEntries && leastRecentlyUsed.hasNext()) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static long getLong(Map<String, Object> configurationProperties, String name, long defaultValue) {
+        Object value = configurationProperties == null ? null : configurationProperties.get(name);
+        if(value == null){
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring configuration property {} with non numeric value {}", name, value);
+            return defaultValue;
+        }
+    }
+
+    private static class Entry {
+        private final List<?> result;
+        private final long loadedAt = System.nanoTime();
+
+        private Entry(List<?> result) {
+            this.result = result;
+        }
+    }
+
+    private static final class Key {
+        private final String call;
+        private final Object[] arguments;
+        private final int hash;
+
+        private Key(String call, Object[] arguments) {
+            this.call = call;
+            this.arguments = arguments.clone();
+            // array arguments such as the table types are copied, so the caller may reuse them
+            for (int i = 0; i < this.arguments.length; i++) {
+                if(this.arguments[i] instanceof Object[]){
+                    this.arguments[i] = ((Object[]) this.arguments[i]).clone();
+                }
+            }
+            this.hash = 31 * call.hashCode() + Arrays.deepHashCode(this.arguments);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o){
+                return true;
+            }
+            if(!(o instanceof Key)){
+                return false;
+            }
+            Key key = (Key) o;
+            return call.equals(key.call) && Arrays.deepEquals(arguments, key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
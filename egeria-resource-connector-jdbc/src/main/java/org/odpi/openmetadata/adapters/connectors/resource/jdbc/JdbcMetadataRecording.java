@@ -0,0 +1,243 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
+
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcCatalog;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcColumn;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcForeignKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcIndex;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcModelReader;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcModelWriter;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcPrimaryKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcSchema;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The responses of metadata calls, keyed by the call and its arguments, as captured by a {@link RecordingJdbcMetadata}
+ * and served by a {@link ReplayJdbcMetadata}. A recording is saved to and loaded from a compressed binary file, see
+ * {@link JdbcModelWriter} for the encoding of the rows. The database server details and the table types are held as
+ * lists of strings.
+ */
+public class JdbcMetadataRecording {
+
+    static final String CONNECTOR_TYPE = "getConnectorTypeQualifiedName";
+    static final String METADATA_SESSIONS = "getMetadataSessions";
+    static final String USER_NAME = "getUserName";
+    static final String DRIVER_NAME = "getDriverName";
+    static final String PRODUCT_NAME = "getDatabaseProductName";
+    static final String URL = "getURL";
+    static final String PRODUCT_VERSION = "getDatabaseProductVersion";
+    static final String TABLE_TYPES = "getTableTypes";
+    static final String CATALOGS = "getCatalogs";
+    static final String SCHEMAS = "getSchemas";
+    static final String TABLES = "getTables";
+    static final String COLUMNS = "getColumns";
+    static final String PRIMARY_KEYS = "getPrimaryKeys";
+    static final String IMPORTED_KEYS = "getImportedKeys";
+    static final String INDEX_INFO = "getIndexInfo";
+
+    private static final int MAGIC = 0x454A4D52;
+    private static final int VERSION = 1;
+
+    // responses by call, then by arguments
+    private final Map<String, Map<String, List<?>>> responses = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the complete response of a call, replacing any recorded before for the same arguments
+     */
+    void put(List<?> rows, String call, Object... arguments) {
+        responses.computeIfAbsent(call, c -> new ConcurrentHashMap<>())
+                .put(key(arguments), Collections.unmodifiableList(new ArrayList<>(rows)));
+    }
+
+    /**
+     * @return the response recorded for the call, or null if the call was not recorded with these arguments
+     */
+    <T> List<T> get(String call, Object... arguments) {
+        Map<String, List<?>> byArguments = responses.get(call);
+        @SuppressWarnings("unchecked")
+        List<T> rows = byArguments == null ? null : (List<T>) byArguments.get(key(arguments));
+        return rows;
+    }
+
+    /**
+     * @return number of calls recorded, counting each set of arguments once
+     */
+    public int size() {
+        return responses.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Writes the recording to a file. It is written next to the file and then moved over it, so a reader never sees a
+     * partly written recording.
+     *
+     * @param file the file, replaced if it exists
+     *
+     * @throws IOException io exception
+     */
+    public void save(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path written = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(written), 1 << 16)))) {
+                out.writeInt(MAGIC);
+                JdbcModelWriter writer = new JdbcModelWriter(out);
+                writer.writeNumber(VERSION);
+                Map<String, Map<String, List<?>>> snapshot = snapshot();
+                writer.writeNumber(snapshot.values().stream().mapToInt(Map::size).sum());
+                for (Map.Entry<String, Map<String, List<?>>> call : snapshot.entrySet()) {
+                    for (Map.Entry<String, List<?>> response : call.getValue().entrySet()) {
+                        writer.writeString(call.getKey());
+                        writer.writeString(response.getKey());
+                        writer.writeNumber(response.getValue().size());
+                        for (Object row : response.getValue()) {
+                            writeRow(writer, call.getKey(), row);
+                        }
+                    }
+                }
+            }
+            Files.move(written, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(written);
+        }
+    }
+
+    /**
+     * Copies the responses once, so the count written and the responses written agree while calls are still being
+     * recorded. Sorted, so that recordings of the same catalog are identical.
+     */
+    private Map<String, Map<String, List<?>>> snapshot() {
+        Map<String, Map<String, List<?>>> snapshot = new TreeMap<>();
+        for (Map.Entry<String, Map<String, List<?>>> call : responses.entrySet()) {
+            snapshot.put(call.getKey(), new TreeMap<>(call.getValue()));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reads a recording written by {@link #save(Path)}
+     *
+     * @param file the file
+     *
+     * @return the recording
+     *
+     * @throws IOException io exception, including a file that is not a recording
+     */
+    public static JdbcMetadataRecording load(Path file) throws IOException {
+        JdbcMetadataRecording recording = new JdbcMetadataRecording();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16)))) {
+            if(in.readInt() != MAGIC){
+                throw new StreamCorruptedException(file + " is not a metadata recording");
+            }
+            JdbcModelReader reader = new JdbcModelReader(in);
+            long version = reader.readNumber();
+            if(version != VERSION){
+                throw new StreamCorruptedException(file + " is a metadata recording of unknown version " + version);
+            }
+            long responses = reader.readNumber();
+            for (long i = 0; i < responses; i++) {
+                String call = reader.readString();
+                String arguments = reader.readString();
+                int count = reader.readInt();
+                List<Object> rows = new ArrayList<>(count);
+                for (int row = 0; row < count; row++) {
+                    rows.add(readRow(reader, call));
+                }
+                recording.responses.computeIfAbsent(call, c -> new ConcurrentHashMap<>())
+                        .put(arguments, Collections.unmodifiableList(rows));
+            }
+        }
+        return recording;
+    }
+
+    private static void writeRow(JdbcModelWriter writer, String call, Object row) throws IOException {
+        switch (call) {
+            case CATALOGS:
+                writer.writeCatalog((JdbcCatalog) row);
+                break;
+            case SCHEMAS:
+                writer.writeSchema((JdbcSchema) row);
+                break;
+            case TABLES:
+                writer.writeTable((JdbcTable) row);
+                break;
+            case COLUMNS:
+                writer.writeColumn((JdbcColumn) row);
+                break;
+            case PRIMARY_KEYS:
+                writer.writePrimaryKey((JdbcPrimaryKey) row);
+                break;
+            case IMPORTED_KEYS:
+                writer.writeForeignKey((JdbcForeignKey) row);
+                break;
+            case INDEX_INFO:
+                writer.writeIndex((JdbcIndex) row);
+                break;
+            default:
+                writer.writeString((String) row);
+        }
+    }
+
+    private static Object readRow(JdbcModelReader reader, String call) throws IOException {
+        switch (call) {
+            case CATALOGS:
+                return reader.readCatalog();
+            case SCHEMAS:
+                return reader.readSchema();
+            case TABLES:
+                return reader.readTable();
+            case COLUMNS:
+                return reader.readColumn();
+            case PRIMARY_KEYS:
+                return reader.readPrimaryKey();
+            case IMPORTED_KEYS:
+                return reader.readForeignKey();
+            case INDEX_INFO:
+                return reader.readIndex();
+            default:
+                return reader.readString();
+        }
+    }
+
+    /**
+     * Joins the arguments of a call into one string, a null argument is told apart from the string "null"
+     */
+    static String key(Object... arguments) {
+        StringBuilder key = new StringBuilder();
+        for (Object argument : arguments) {
+            if(key.length() > 0){
+                key.append('\u001F');
+            }
+            if(argument == null){
+                key.append('\u0000');
+            }else if(argument instanceof Object[]){
+                key.append(Arrays.toString((Object[]) argument));
+            }else{
+                key.append(argument);
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,22 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Receives the rows of a metadata query one at a time, as they are read from the database server
+ *
+ * @param <T> the row type
+ */
+@FunctionalInterface
+public interface JdbcRowConsumer<T> {
+
+    /**
+     * @param row the row, mapped from the current position of the result set
+     *
+     * @throws SQLException sql exception, it stops the query
+     */
+    void accept(T row) throws SQLException;
+}
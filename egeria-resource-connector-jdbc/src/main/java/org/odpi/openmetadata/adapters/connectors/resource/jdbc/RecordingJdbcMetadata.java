@@ -0,0 +1,223 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
+
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcCatalog;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcColumn;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcForeignKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcIndex;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcPrimaryKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcSchema;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wraps a {@link JdbcMetadata} and records the response of every call into a {@link JdbcMetadataRecording}, which is
+ * saved to a file each time the metadata is closed. The file can be served by a {@link ReplayJdbcMetadata}, to run a
+ * transfer against a copy of the catalog with no database server. Only complete responses are recorded, the calls are
+ * otherwise passed on unchanged.
+ */
+public class RecordingJdbcMetadata implements JdbcMetadata {
+
+    public static final String RECORD_FILE_PROPERTY = "metadataRecordFile";
+
+    private static final Logger log = LoggerFactory.getLogger(RecordingJdbcMetadata.class);
+
+    private final JdbcMetadata jdbcMetadata;
+    private final Path file;
+    private final JdbcMetadataRecording recording = new JdbcMetadataRecording();
+
+    /**
+     * @param jdbcMetadata metadata to record
+     * @param file file the recording is saved to, replaced on every close
+     */
+    public RecordingJdbcMetadata(JdbcMetadata jdbcMetadata, Path file) {
+        this.jdbcMetadata = jdbcMetadata;
+        this.file = file;
+    }
+
+    /**
+     * Wraps the metadata in a recording if the configuration properties name a file to record to
+     *
+     * @param jdbcMetadata metadata to record
+     * @param configurationProperties configuration properties, may be null
+     *
+     * @return the recording metadata, or null if no file is configured
+     */
+    public static RecordingJdbcMetadata configured(JdbcMetadata jdbcMetadata, Map<String, Object> configurationProperties) {
+        Object file = configurationProperties == null ? null : configurationProperties.get(RECORD_FILE_PROPERTY);
+        return file == null ? null : new RecordingJdbcMetadata(jdbcMetadata, Paths.get(file.toString()));
+    }
+
+    public JdbcMetadataRecording getRecording() {
+        return recording;
+    }
+
+    /**
+     * Writes the calls recorded so far to the file
+     *
+     * @throws IOException io exception
+     */
+    public void save() throws IOException {
+        recording.save(file);
+    }
+
+    @Override
+    public String getConnectorTypeQualifiedName() {
+        String connectorType = jdbcMetadata.getConnectorTypeQualifiedName();
+        recording.put(Collections.singletonList(connectorType), JdbcMetadataRecording.CONNECTOR_TYPE);
+        return connectorType;
+    }
+
+    @Override
+    public int getMetadataSessions() {
+        int sessions = jdbcMetadata.getMetadataSessions();
+        recording.put(Collections.singletonList(String.valueOf(sessions)), JdbcMetadataRecording.METADATA_SESSIONS);
+        return sessions;
+    }
+
+    @Override
+    public void cancelRunningCalls() {
+        jdbcMetadata.cancelRunningCalls();
+    }
+
+    @Override
+    public boolean open() {
+        return jdbcMetadata.open();
+    }
+
+    /**
+     * Closes the wrapped metadata and saves the recording, a recording that cannot be saved is logged and kept for the
+     * next close
+     */
+    @Override
+    public void close() {
+        jdbcMetadata.close();
+        try {
+            save();
+            log.debug("Saved {} metadata calls to {}", recording.size(), file);
+        } catch (IOException e) {
+            log.warn("Could not save the metadata recording to {}", file, e);
+        }
+    }
+
+    @Override
+    public String getUserName() throws SQLException {
+        return record(jdbcMetadata.getUserName(), JdbcMetadataRecording.USER_NAME);
+    }
+
+    @Override
+    public String getDriverName() throws SQLException {
+        return record(jdbcMetadata.getDriverName(), JdbcMetadataRecording.DRIVER_NAME);
+    }
+
+    @Override
+    public String getDatabaseProductName() throws SQLException {
+        return record(jdbcMetadata.getDatabaseProductName(), JdbcMetadataRecording.PRODUCT_NAME);
+    }
+
+    @Override
+    public String getUrl() throws SQLException {
+        return record(jdbcMetadata.getUrl(), JdbcMetadataRecording.URL);
+    }
+
+    @Override
+    public String getDatabaseProductVersion() throws SQLException {
+        return record(jdbcMetadata.getDatabaseProductVersion(), JdbcMetadataRecording.PRODUCT_VERSION);
+    }
+
+    @Override
+    public List<String> getTableTypes() throws SQLException {
+        List<String> tableTypes = jdbcMetadata.getTableTypes();
+        recording.put(tableTypes, JdbcMetadataRecording.TABLE_TYPES);
+        return tableTypes;
+    }
+
+    @Override
+    public List<JdbcCatalog> getCatalogs() throws SQLException {
+        List<JdbcCatalog> catalogs = jdbcMetadata.getCatalogs();
+        recording.put(catalogs, JdbcMetadataRecording.CATALOGS);
+        return catalogs;
+    }
+
+    @Override
+    public void streamColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern,
+                              JdbcRowConsumer<JdbcColumn> consumer) throws SQLException {
+        List<JdbcColumn> recorded = new ArrayList<>();
+        jdbcMetadata.streamColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern, column -> {
+            recorded.add(column);
+            consumer.accept(column);
+        });
+        recording.put(recorded, JdbcMetadataRecording.COLUMNS, catalog, schemaPattern, tableNamePattern, columnNamePattern);
+    }
+
+    @Override
+    public void streamTables(String catalog, String schemaPattern, String tableNamePattern, String[] types,
+                             JdbcRowConsumer<JdbcTable> consumer) throws SQLException {
+        List<JdbcTable> recorded = new ArrayList<>();
+        jdbcMetadata.streamTables(catalog, schemaPattern, tableNamePattern, types, table -> {
+            recorded.add(table);
+            consumer.accept(table);
+        });
+        recording.put(recorded, JdbcMetadataRecording.TABLES, catalog, schemaPattern, tableNamePattern, types);
+    }
+
+    @Override
+    public void streamSchemas(String catalog, String schemaPattern, JdbcRowConsumer<JdbcSchema> consumer) throws SQLException {
+        List<JdbcSchema> recorded = new ArrayList<>();
+        jdbcMetadata.streamSchemas(catalog, schemaPattern, schema -> {
+            recorded.add(schema);
+            consumer.accept(schema);
+        });
+        recording.put(recorded, JdbcMetadataRecording.SCHEMAS, catalog, schemaPattern);
+    }
+
+    @Override
+    public void streamPrimaryKeys(String catalog, String schema, String table, JdbcRowConsumer<JdbcPrimaryKey> consumer)
+            throws SQLException {
+        List<JdbcPrimaryKey> recorded = new ArrayList<>();
+        jdbcMetadata.streamPrimaryKeys(catalog, schema, table, primaryKey -> {
+            recorded.add(primaryKey);
+            consumer.accept(primaryKey);
+        });
+        recording.put(recorded, JdbcMetadataRecording.PRIMARY_KEYS, catalog, schema, table);
+    }
+
+    @Override
+    public void streamImportedKeys(String catalog, String schema, String table, JdbcRowConsumer<JdbcForeignKey> consumer)
+            throws SQLException {
+        List<JdbcForeignKey> recorded = new ArrayList<>();
+        jdbcMetadata.streamImportedKeys(catalog, schema, table, foreignKey -> {
+            recorded.add(foreignKey);
+            consumer.accept(foreignKey);
+        });
+        recording.put(recorded, JdbcMetadataRecording.IMPORTED_KEYS, catalog, schema, table);
+    }
+
+    @Override
+    public void streamIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate,
+                                JdbcRowConsumer<JdbcIndex> consumer) throws SQLException {
+        List<JdbcIndex> recorded = new ArrayList<>();
+        jdbcMetadata.streamIndexInfo(catalog, schema, table, unique, approximate, index -> {
+            recorded.add(index);
+            consumer.accept(index);
+        });
+        recording.put(recorded, JdbcMetadataRecording.INDEX_INFO, catalog, schema, table, unique, approximate);
+    }
+
+    private String record(String value, String call) {
+        recording.put(Collections.singletonList(value), call);
+        return value;
+    }
+}
@@ -0,0 +1,231 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
+
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcCatalog;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcColumn;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcForeignKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcIndex;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcPrimaryKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcSchema;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Serves the metadata calls from a recording saved by a {@link RecordingJdbcMetadata}, with no database server. Each
+ * call may be delayed by a fixed latency, to stand in for the round trip to the server that was recorded. A call that
+ * was not recorded with the same arguments fails with an {@link SQLException}. The recording is loaded when the metadata
+ * is first opened.
+ */
+public class ReplayJdbcMetadata implements JdbcMetadata {
+
+    public static final String REPLAY_FILE_PROPERTY = "metadataReplayFile";
+    public static final String REPLAY_LATENCY_PROPERTY = "metadataReplayLatencyMillis";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplayJdbcMetadata.class);
+
+    private final Path file;
+    private final long latencyNanos;
+
+    private volatile JdbcMetadataRecording recording;
+
+    /**
+     * @param file recording to serve
+     * @param latencyMillis time each call takes before it responds, 0 for none
+     */
+    public ReplayJdbcMetadata(Path file, long latencyMillis) {
+        this.file = file;
+        this.latencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, latencyMillis));
+    }
+
+    /**
+     * @param recording recording to serve
+     * @param latencyMillis time each call takes before it responds, 0 for none
+     */
+    public ReplayJdbcMetadata(JdbcMetadataRecording recording, long latencyMillis) {
+        this((Path) null, latencyMillis);
+        this.recording = recording;
+    }
+
+    /**
+     * Creates the replay of the recording named by the configuration properties
+     *
+     * @param configurationProperties configuration properties, may be null
+     *
+     * @return the replay, or null if no recording is configured
+     */
+    public static ReplayJdbcMetadata configured(Map<String, Object> configurationProperties) {
+        Object file = configurationProperties == null ? null : configurationProperties.get(REPLAY_FILE_PROPERTY);
+        if(file == null){
+            return null;
+        }
+        long latencyMillis = 0;
+        Object latency = configurationProperties.get(REPLAY_LATENCY_PROPERTY);
+        if(latency != null){
+            try {
+                latencyMillis = Long.parseLong(latency.toString().trim());
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring configuration property {} with non numeric value {}", REPLAY_LATENCY_PROPERTY, latency);
+            }
+        }
+        return new ReplayJdbcMetadata(Paths.get(file.toString()), latencyMillis);
+    }
+
+    @Override
+    public String getConnectorTypeQualifiedName() {
+        List<String> connectorType = getRecording().get(JdbcMetadataRecording.CONNECTOR_TYPE);
+        return connectorType == null ? null : connectorType.get(0);
+    }
+
+    @Override
+    public int getMetadataSessions() {
+        List<String> sessions = getRecording().get(JdbcMetadataRecording.METADATA_SESSIONS);
+        return sessions == null ? 1 : Integer.parseInt(sessions.get(0));
+    }
+
+    @Override
+    public synchronized boolean open() {
+        if(recording != null){
+            return true;
+        }
+        try {
+            recording = JdbcMetadataRecording.load(file);
+            log.debug("Loaded {} metadata calls from {}", recording.size(), file);
+            return true;
+        } catch (IOException e) {
+            log.error("Could not load the metadata recording {}", file, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String getUserName() throws SQLException {
+        return replayValue(JdbcMetadataRecording.USER_NAME);
+    }
+
+    @Override
+    public String getDriverName() throws SQLException {
+        return replayValue(JdbcMetadataRecording.DRIVER_NAME);
+    }
+
+    @Override
+    public String getDatabaseProductName() throws SQLException {
+        return replayValue(JdbcMetadataRecording.PRODUCT_NAME);
+    }
+
+    @Override
+    public String getUrl() throws SQLException {
+        return replayValue(JdbcMetadataRecording.URL);
+    }
+
+    @Override
+    public String getDatabaseProductVersion() throws SQLException {
+        return replayValue(JdbcMetadataRecording.PRODUCT_VERSION);
+    }
+
+    @Override
+    public List<String> getTableTypes() throws SQLException {
+        return recorded(JdbcMetadataRecording.TABLE_TYPES);
+    }
+
+    @Override
+    public List<JdbcCatalog> getCatalogs() throws SQLException {
+        return recorded(JdbcMetadataRecording.CATALOGS);
+    }
+
+    @Override
+    public void streamColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern,
+                              JdbcRowConsumer<JdbcColumn> consumer) throws SQLException {
+        replay(consumer, JdbcMetadataRecording.COLUMNS, catalog, schemaPattern, tableNamePattern, columnNamePattern);
+    }
+
+    @Override
+    public void streamTables(String catalog, String schemaPattern, String tableNamePattern, String[] types,
+                             JdbcRowConsumer<JdbcTable> consumer) throws SQLException {
+        replay(consumer, JdbcMetadataRecording.TABLES, catalog, schemaPattern, tableNamePattern, types);
+    }
+
+    @Override
+    public void streamSchemas(String catalog, String schemaPattern, JdbcRowConsumer<JdbcSchema> consumer) throws SQLException {
+        replay(consumer, JdbcMetadataRecording.SCHEMAS, catalog, schemaPattern);
+    }
+
+    @Override
+    public void streamPrimaryKeys(String catalog, String schema, String table, JdbcRowConsumer<JdbcPrimaryKey> consumer)
+            throws SQLException {
+        replay(consumer, JdbcMetadataRecording.PRIMARY_KEYS, catalog, schema, table);
+    }
+
+    @Override
+    public void streamImportedKeys(String catalog, String schema, String table, JdbcRowConsumer<JdbcForeignKey> consumer)
+            throws SQLException {
+        replay(consumer, JdbcMetadataRecording.IMPORTED_KEYS, catalog, schema, table);
+    }
+
+    @Override
+    public void streamIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate,
+                                JdbcRowConsumer<JdbcIndex> consumer) throws SQLException {
+        replay(consumer, JdbcMetadataRecording.INDEX_INFO, catalog, schema, table, unique, approximate);
+    }
+
+    private JdbcMetadataRecording getRecording() {
+        if(recording == null){
+            throw new IllegalStateException("The metadata recording " + file + " has not been opened");
+        }
+        return recording;
+    }
+
+    private String replayValue(String call) throws SQLException {
+        List<String> value = recorded(call);
+        return value.get(0);
+    }
+
+    private <T> void replay(JdbcRowConsumer<T> consumer, String call, Object... arguments) throws SQLException {
+        List<T> rows = recorded(call, arguments);
+        for (T row : rows) {
+            consumer.accept(row);
+        }
+    }
+
+    private <T> List<T> recorded(String call, Object... arguments) throws SQLException {
+        List<T> rows = getRecording().get(call, arguments);
+        if(rows == null){
+            throw new SQLException("No response to " + call + Arrays.deepToString(arguments) + " was recorded in " + file);
+        }
+        pause();
+        return rows;
+    }
+
+    /**
+     * Waits for the latency of a call, an interrupted wait fails the call like a cancelled query
+     */
+    private void pause() throws SQLException {
+        if(latencyNanos == 0){
+            return;
+        }
+        long end = System.nanoTime() + latencyNanos;
+        for (long remaining = latencyNanos; remaining > 0; remaining = end - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            if(Thread.interrupted()){
+                Thread.currentThread().interrupt();
+                throw new SQLException("Metadata call interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A query of the catalog of a database server, with the values of its parameters. The result of the query carries the
+ * column labels of the {@link java.sql.DatabaseMetaData} call it replaces, so its rows are read the same way.
+ */
+public final class CatalogQuery {
+
+    private final String sql;
+    private final List<String> parameters;
+
+    private CatalogQuery(String sql, List<String> parameters) {
+        this.sql = sql;
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return the values of the parameters of the query, in order
+     */
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogQuery{sql='" + sql + "', parameters=" + parameters + "}";
+    }
+
+    /**
+     * Builds a query one clause at a time, keeping its parameters in the order they appear
+     */
+    public static class Builder {
+
+        private final StringBuilder sql = new StringBuilder();
+        private final List<String> parameters = new ArrayList<>();
+
+        public Builder append(String clause) {
+            sql.append(clause);
+            return this;
+        }
+
+        /**
+         * Appends a clause holding one parameter marker, for the given value
+         */
+        public Builder append(String clause, String value) {
+            sql.append(clause);
+            parameters.add(value);
+            return this;
+        }
+
+        /**
+         * Appends the clause when the pattern restricts the result, a null or empty pattern matches everything
+         */
+        public Builder appendPattern(String clause, String pattern) {
+            if(pattern != null && !pattern.isEmpty()){
+                append(clause, pattern);
+            }
+            return this;
+        }
+
+        /**
+         * Appends a list of parameter markers, one for each value, separated by commas. An empty list is written as
+         * NULL, which matches no value
+         */
+        public Builder appendValues(String[] values) {
+            if(values.length == 0){
+                sql.append("NULL");
+                return this;
+            }
+            for (int i = 0; i < values.length; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+                parameters.add(values[i]);
+            }
+            return this;
+        }
+
+        public CatalogQuery build() {
+            return new CatalogQuery(sql.toString(), new ArrayList<>(parameters));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect;
+
+/**
+ * Reads the catalog of H2 2.x from its INFORMATION_SCHEMA. The driver builds its metadata from every table in the
+ * database before filtering it, the views are filtered as they are read. The values match those of the driver, apart
+ * from the type names of ENUM and ROW columns, which leave out their values and fields, and of ARRAY columns, which
+ * leave out the length, precision or scale of their elements.
+ */
+public class H2Dialect implements JdbcDialect {
+
+    private static final String FRACTION = "CASE WHEN c.DATETIME_PRECISION > 0 THEN c.DATETIME_PRECISION + 1 ELSE 0 END";
+
+    private static final String SIZE = "CASE WHEN c.NUMERIC_PRECISION IS NOT NULL THEN c.NUMERIC_PRECISION"
+            + "  WHEN c.CHARACTER_MAXIMUM_LENGTH IS NOT NULL THEN LEAST(c.CHARACTER_MAXIMUM_LENGTH, 2147483647)"
+            + "  WHEN c.DATA_TYPE = 'DATE' THEN 10"
+            + "  WHEN c.DATA_TYPE = 'TIME' THEN 8 + " + FRACTION
+            + "  WHEN c.DATA_TYPE = 'TIME WITH TIME ZONE' THEN 14 + " + FRACTION
+            + "  WHEN c.DATA_TYPE = 'TIMESTAMP' THEN 19 + " + FRACTION
+            + "  WHEN c.DATA_TYPE = 'TIMESTAMP WITH TIME ZONE' THEN 25 + " + FRACTION
+            + "  WHEN c.DATA_TYPE = 'INTERVAL' THEN c.INTERVAL_PRECISION"
+            + "  WHEN c.DATA_TYPE = 'BOOLEAN' THEN 1"
+            + "  WHEN c.DATA_TYPE = 'UUID' THEN 16"
+            + "  WHEN c.DATA_TYPE = 'ARRAY' THEN c.MAXIMUM_CARDINALITY"
+            + "  WHEN c.DATA_TYPE = 'GEOMETRY' THEN 1000000000"
+            + "  ELSE 2147483647 END";
+
+    private static final String COLUMN_VALUES = " c.COLUMN_NAME,"
+            + " CASE c.DATA_TYPE WHEN 'CHARACTER' THEN 1 WHEN 'CHARACTER VARYING' THEN 12 WHEN 'VARCHAR_IGNORECASE' THEN 12"
+            + "  WHEN 'CHARACTER LARGE OBJECT' THEN 2005 WHEN 'BINARY' THEN -2 WHEN 'BINARY VARYING' THEN -3"
+            + "  WHEN 'BINARY LARGE OBJECT' THEN 2004 WHEN 'BOOLEAN' THEN 16 WHEN 'TINYINT' THEN -6 WHEN 'SMALLINT' THEN 5"
+            + "  WHEN 'INTEGER' THEN 4 WHEN 'BIGINT' THEN -5"
+            + "  WHEN 'NUMERIC' THEN CASE c.DECLARED_DATA_TYPE WHEN 'DECIMAL' THEN 3 ELSE 2 END"
+            + "  WHEN 'REAL' THEN CASE c.DECLARED_DATA_TYPE WHEN 'FLOAT' THEN 6 ELSE 7 END"
+            + "  WHEN 'DOUBLE PRECISION' THEN CASE c.DECLARED_DATA_TYPE WHEN 'FLOAT' THEN 6 ELSE 8 END"
+            + "  WHEN 'DECFLOAT' THEN 2 WHEN 'DATE' THEN 91 WHEN 'TIME' THEN 92 WHEN 'TIME WITH TIME ZONE' THEN 2013"
+            + "  WHEN 'TIMESTAMP' THEN 93 WHEN 'TIMESTAMP WITH TIME ZONE' THEN 2014 WHEN 'JAVA_OBJECT' THEN 2000"
+            + "  WHEN 'UUID' THEN -2 WHEN 'ARRAY' THEN 2003 ELSE 1111 END AS DATA_TYPE,"
+            + " CASE WHEN c.DATA_TYPE = 'ARRAY' THEN (SELECT"
+            + "   CASE WHEN e.DATA_TYPE = 'INTERVAL' THEN 'INTERVAL ' || e.INTERVAL_TYPE ELSE e.DATA_TYPE END || ' ARRAY'"
+            + "   FROM INFORMATION_SCHEMA.ELEMENT_TYPES e WHERE e.OBJECT_CATALOG = c.TABLE_CATALOG"
+            + "   AND e.OBJECT_SCHEMA = c.TABLE_SCHEMA AND e.OBJECT_NAME = c.TABLE_NAME AND e.OBJECT_TYPE = 'TABLE'"
+            + "   AND e.COLLECTION_TYPE_IDENTIFIER = c.DTD_IDENTIFIER)"
+            + "  WHEN c.DATA_TYPE = 'INTERVAL' THEN 'INTERVAL ' || c.INTERVAL_TYPE"
+            + "  WHEN c.DATA_TYPE = 'NUMERIC' AND c.DECLARED_DATA_TYPE = 'DECIMAL' THEN 'DECIMAL'"
+            + "  ELSE c.DATA_TYPE END AS TYPE_NAME,"
+            + " " + SIZE + " AS COLUMN_SIZE,"
+            + " NULL AS BUFFER_LENGTH, COALESCE(c.NUMERIC_SCALE, c.DATETIME_PRECISION, 0) AS DECIMAL_DIGITS,"
+            + " c.NUMERIC_PRECISION_RADIX AS NUM_PREC_RADIX, CASE c.IS_NULLABLE WHEN 'NO' THEN 0 ELSE 1 END AS NULLABLE,"
+            + " c.REMARKS, c.COLUMN_DEFAULT AS COLUMN_DEF, NULL AS SQL_DATA_TYPE, NULL AS SQL_DATETIME_SUB,"
+            + " " + SIZE + " AS CHAR_OCTET_LENGTH,"
+            + " c.ORDINAL_POSITION, c.IS_NULLABLE, NULL AS SCOPE_CATALOG, NULL AS SCOPE_SCHEMA, NULL AS SCOPE_TABLE,"
+            + " NULL AS SOURCE_DATA_TYPE, c.IS_IDENTITY AS IS_AUTOINCREMENT,"
+            + " CASE c.IS_GENERATED WHEN 'ALWAYS' THEN 'YES' ELSE 'NO' END AS IS_GENERATEDCOLUMN";
+
+    private static final String TABLE_COLUMNS = "SELECT c.TABLE_CATALOG AS TABLE_CAT, c.TABLE_SCHEMA AS TABLE_SCHEM, c.TABLE_NAME,"
+            + COLUMN_VALUES
+            + " FROM INFORMATION_SCHEMA.COLUMNS c"
+            + " WHERE true";
+
+    /**
+     * The driver lists the columns of the table a synonym stands for under the name of the synonym as well
+     */
+    private static final String SYNONYM_COLUMNS = "SELECT s.SYNONYM_CATALOG, s.SYNONYM_SCHEMA, s.SYNONYM_NAME,"
+            + COLUMN_VALUES
+            + " FROM INFORMATION_SCHEMA.SYNONYMS s"
+            + " JOIN INFORMATION_SCHEMA.COLUMNS c ON (c.TABLE_CATALOG = s.SYNONYM_CATALOG"
+            + "  AND c.TABLE_SCHEMA = s.SYNONYM_FOR_SCHEMA AND c.TABLE_NAME = s.SYNONYM_FOR)"
+            + " WHERE true";
+
+    private static final String TABLES = "SELECT TABLE_CAT, TABLE_SCHEM, TABLE_NAME, TABLE_TYPE, REMARKS, NULL AS TYPE_CAT,"
+            + " NULL AS TYPE_SCHEM, NULL AS TYPE_NAME, NULL AS SELF_REFERENCING_COL_NAME, NULL AS REF_GENERATION FROM ("
+            + " SELECT TABLE_CATALOG AS TABLE_CAT, TABLE_SCHEMA AS TABLE_SCHEM, TABLE_NAME, TABLE_TYPE, REMARKS"
+            + " FROM INFORMATION_SCHEMA.TABLES"
+            + " UNION ALL"
+            + " SELECT s.SYNONYM_CATALOG, s.SYNONYM_SCHEMA, s.SYNONYM_NAME, 'SYNONYM', t.REMARKS"
+            + " FROM INFORMATION_SCHEMA.SYNONYMS s LEFT JOIN INFORMATION_SCHEMA.TABLES t ON (t.TABLE_CATALOG = s.SYNONYM_CATALOG"
+            + "  AND t.TABLE_SCHEMA = s.SYNONYM_FOR_SCHEMA AND t.TABLE_NAME = s.SYNONYM_FOR)"
+            + ") t WHERE true";
+
+    @Override
+    public boolean supports(String databaseProductName) {
+        return "H2".equalsIgnoreCase(databaseProductName);
+    }
+
+    @Override
+    public CatalogQuery getSchemas(String catalog, String schemaPattern) {
+        CatalogQuery.Builder query = new CatalogQuery.Builder()
+                .append("SELECT SCHEMA_NAME AS TABLE_SCHEM, CATALOG_NAME AS TABLE_CATALOG FROM INFORMATION_SCHEMA.SCHEMATA WHERE true");
+        if(catalog != null){
+            query.append(" AND CATALOG_NAME = ?", catalog);
+        }
+        appendPattern(query, " AND SCHEMA_NAME LIKE ?", schemaPattern);
+        return query.append(" ORDER BY TABLE_CATALOG, TABLE_SCHEM").build();
+    }
+
+    @Override
+    public CatalogQuery getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) {
+        CatalogQuery.Builder query = new CatalogQuery.Builder().append(TABLES);
+        if(catalog != null){
+            query.append(" AND TABLE_CAT = ?", catalog);
+        }
+        appendPattern(query, " AND TABLE_SCHEM LIKE ?", schemaPattern);
+        appendPattern(query, " AND TABLE_NAME LIKE ?", tableNamePattern);
+        if(types != null){
+            query.append(" AND TABLE_TYPE IN (").appendValues(tableTypes(types)).append(")");
+        }
+        return query.append(" ORDER BY TABLE_TYPE, TABLE_CAT, TABLE_SCHEM, TABLE_NAME").build();
+    }
+
+    @Override
+    public CatalogQuery getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) {
+        CatalogQuery.Builder query = new CatalogQuery.Builder().append(TABLE_COLUMNS);
+        appendFilters(query, "c.TABLE_CATALOG", "c.TABLE_SCHEMA", "c.TABLE_NAME", catalog, schemaPattern, tableNamePattern);
+        appendPattern(query, " AND c.COLUMN_NAME LIKE ?", columnNamePattern);
+        query.append(" UNION ALL ").append(SYNONYM_COLUMNS);
+        appendFilters(query, "s.SYNONYM_CATALOG", "s.SYNONYM_SCHEMA", "s.SYNONYM_NAME", catalog, schemaPattern, tableNamePattern);
+        appendPattern(query, " AND c.COLUMN_NAME LIKE ?", columnNamePattern);
+        return query.append(" ORDER BY TABLE_CAT, TABLE_SCHEM, TABLE_NAME, ORDINAL_POSITION").build();
+    }
+
+    /**
+     * H2 reports ordinary tables as BASE TABLE, the driver takes TABLE, the type JDBC names them by, as the same type
+     */
+    private static String[] tableTypes(String[] types) {
+        String[] tableTypes = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            tableTypes[i] = "TABLE".equals(types[i]) ? "BASE TABLE" : types[i];
+        }
+        return tableTypes;
+    }
+
+    /**
+     * Each branch of the union is filtered on its own, so H2 can narrow the catalog views it builds
+     */
+    private void appendFilters(CatalogQuery.Builder query, String catalogColumn, String schemaColumn, String tableColumn,
+                               String catalog, String schemaPattern, String tableNamePattern) {
+        if(catalog != null){
+            query.append(" AND " + catalogColumn + " = ?", catalog);
+        }
+        appendPattern(query, " AND " + schemaColumn + " LIKE ?", schemaPattern);
+        appendPattern(query, " AND " + tableColumn + " LIKE ?", tableNamePattern);
+    }
+
+    /**
+     * Unlike PostgreSQL, H2 takes an empty pattern literally, so only a null pattern matches everything
+     */
+    private void appendPattern(CatalogQuery.Builder query, String clause, String pattern) {
+        if(pattern != null){
+            query.append(clause, pattern);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect;
+
+import java.sql.DatabaseMetaData;
+
+/**
+ * Reads the catalog of one kind of database server with its own catalog views rather than through
+ * {@link DatabaseMetaData}. Dialects are found with the {@link java.util.ServiceLoader}, and the first one that
+ * supports the product name reported by the driver is used. A call the dialect returns no query for is made through
+ * {@link DatabaseMetaData}.
+ *
+ * The queries return the column labels of the {@link DatabaseMetaData} call they replace, with the same values, and
+ * order their rows the same way.
+ */
+public interface JdbcDialect {
+
+    /**
+     * @param databaseProductName as reported by {@link DatabaseMetaData#getDatabaseProductName()}
+     *
+     * @return true if the dialect reads the catalog of the product
+     */
+    boolean supports(String databaseProductName);
+
+    /**
+     * See {@link DatabaseMetaData#getSchemas(String, String)}
+     *
+     * @return the query, or null to use {@link DatabaseMetaData}
+     */
+    default CatalogQuery getSchemas(String catalog, String schemaPattern) {
+        return null;
+    }
+
+    /**
+     * See {@link DatabaseMetaData#getTables(String, String, String, String[])}
+     *
+     * @return the query, or null to use {@link DatabaseMetaData}
+     */
+    default CatalogQuery getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) {
+        return null;
+    }
+
+    /**
+     * See {@link DatabaseMetaData#getColumns(String, String, String, String)}
+     *
+     * @return the query, or null to use {@link DatabaseMetaData}
+     */
+    default CatalogQuery getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) {
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Finds the {@link JdbcDialect} of a database product among the dialects registered with the {@link ServiceLoader}
+ */
+public final class JdbcDialects {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcDialects.class);
+
+    private static volatile List<JdbcDialect> dialects;
+
+    private JdbcDialects() {
+    }
+
+    /**
+     * @param databaseProductName as reported by the driver
+     *
+     * @return the first dialect that supports the product, or null if there is none
+     */
+    public static JdbcDialect forProduct(String databaseProductName) {
+        if(databaseProductName == null){
+            return null;
+        }
+        for (JdbcDialect dialect : getDialects()) {
+            if(dialect.supports(databaseProductName)){
+                return dialect;
+            }
+        }
+        return null;
+    }
+
+    private static List<JdbcDialect> getDialects() {
+        if(dialects == null){
+            List<JdbcDialect> loaded = new ArrayList<>();
+            try {
+                ServiceLoader.load(JdbcDialect.class, JdbcDialect.class.getClassLoader()).forEach(loaded::add);
+            } catch (ServiceConfigurationError error) {
+                log.warn("Dialects could not be loaded, the catalog is read through DatabaseMetaData", error);
+            }
+            dialects = Collections.unmodifiableList(loaded);
+        }
+        return dialects;
+    }
+}
@@ -0,0 +1,207 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect;
+
+/**
+ * Reads the catalog of PostgreSQL from pg_catalog. The PostgreSQL driver reads every column into memory and then maps
+ * the type of each one in the client, querying the server for each type it has not seen. Here the type mapping of the
+ * driver is done in the query, so the columns are returned as the server produces them. The values match those of the
+ * driver, including its choice of java.sql.Types, sizes and type names.
+ */
+public class PostgresDialect implements JdbcDialect {
+
+    private static final String UNKNOWN_LENGTH = "2147483647";
+
+    /**
+     * Arrays of the types the driver knows by name, their sizes are those of their elements
+     */
+    private static final String KNOWN_ARRAY_OIDS = "1005, 1007, 1028, 1016, 791, 1231, 1021, 1022, 1002, 1014, 1015, "
+            + "1009, 1003, 1001, 1000, 1561, 1182, 1183, 1270, 1115, 1185, 2201, 199, 1017";
+
+    /**
+     * The columns are numbered within each schema and table name, rather than each table oid, so the rows come out of
+     * the numbering already in the order of the result and are sorted only once
+     */
+    private static final String COLUMNS = "SELECT NULL AS TABLE_CAT, TABLE_SCHEM, TABLE_NAME, COLUMN_NAME, DATA_TYPE,"
+            + " CASE WHEN adsrc LIKE '%nextval(%' AND TYPE_NAME = 'int4' THEN 'serial'"
+            + "  WHEN adsrc LIKE '%nextval(%' AND TYPE_NAME = 'int8' THEN 'bigserial'"
+            + "  WHEN adsrc LIKE '%nextval(%' AND TYPE_NAME = 'int2' THEN 'smallserial'"
+            + "  ELSE TYPE_NAME END AS TYPE_NAME,"
+            + " COLUMN_SIZE, NULL AS BUFFER_LENGTH,"
+            + " CASE WHEN DATA_TYPE IN (2, 3) AND atttypmod = -1 THEN NULL ELSE col_scale END AS DECIMAL_DIGITS,"
+            + " CASE WHEN TYPE_NAME IN ('bit', 'varbit') THEN 2 ELSE 10 END AS NUM_PREC_RADIX,"
+            + " CASE WHEN attnotnull THEN 0 ELSE 1 END AS NULLABLE, description AS REMARKS, adsrc AS COLUMN_DEF,"
+            + " NULL AS SQL_DATA_TYPE, NULL AS SQL_DATETIME_SUB, COLUMN_SIZE AS CHAR_OCTET_LENGTH,"
+            + " attnum AS ORDINAL_POSITION, CASE WHEN attnotnull THEN 'NO' ELSE 'YES' END AS IS_NULLABLE,"
+            + " NULL AS SCOPE_CATALOG, NULL AS SCOPE_SCHEMA, NULL AS SCOPE_TABLE,"
+            + " CASE WHEN typtype = 'd' THEN base_data_type END AS SOURCE_DATA_TYPE,"
+            + " CASE WHEN adsrc LIKE '%nextval(%' OR attidentity IS NOT NULL THEN 'YES' ELSE 'NO' END AS IS_AUTOINCREMENT,"
+            + " CASE WHEN attgenerated IS NOT NULL THEN 'YES' ELSE 'NO' END AS IS_GENERATEDCOLUMN"
+            + " FROM ("
+            + "  SELECT TABLE_SCHEM, TABLE_NAME, COLUMN_NAME, DATA_TYPE, TYPE_NAME, atttypmod, typtype, attnum, attnum_raw,"
+            + "  attnotnull,"
+            + "  adsrc, description, attidentity, attgenerated, base_data_type,"
+            + "  CASE WHEN typtype = 'd' AND typtypmod <> -1 AND typbasetype = 1700 THEN " + scale("1700", "typtypmod")
+            + "   WHEN typtype = 'd' THEN " + scale("base_size_oid", "atttypmod")
+            + "   ELSE " + scale("size_oid", "atttypmod") + " END AS col_scale,"
+            + "  CASE WHEN typtype = 'd' AND typtypmod = -1 THEN " + precision("base_size_oid", "atttypmod")
+            + "   WHEN typtype = 'd' AND typbasetype = 1700 THEN " + precision("1700", "typtypmod")
+            + "   WHEN typtype = 'd' THEN typtypmod"
+            + "   WHEN size_oid = 1700 AND atttypmod = -1 AND DATA_TYPE <> 2 THEN 131089"
+            + "   ELSE " + precision("size_oid", "atttypmod") + " END AS COLUMN_SIZE"
+            + "  FROM ("
+            + "   SELECT n.nspname AS TABLE_SCHEM, c.relname AS TABLE_NAME, a.attname AS COLUMN_NAME, a.atttypmod, t.typtype,"
+            + "   row_number() OVER (PARTITION BY n.nspname, c.relname ORDER BY a.attnum) AS attnum, a.attnum AS attnum_raw,"
+            + "   a.attnotnull OR (t.typtype = 'd' AND t.typnotnull) AS attnotnull,"
+            + "   CASE t.typtype WHEN 'c' THEN 2002 WHEN 'd' THEN 2001 WHEN 'e' THEN 12 ELSE " + sqlType("t") + " END AS DATA_TYPE,"
+            + "   " + typeName("t", "tn") + " AS TYPE_NAME,"
+            + "   CASE WHEN t.oid IN (" + KNOWN_ARRAY_OIDS + ") THEN t.typelem ELSE t.oid END AS size_oid,"
+            + "   t.typbasetype, t.typtypmod,"
+            + "   CASE WHEN b.oid IN (" + KNOWN_ARRAY_OIDS + ") THEN b.typelem ELSE b.oid END AS base_size_oid,"
+            + "   " + sqlType("b") + " AS base_data_type,"
+            + "   pg_catalog.pg_get_expr(def.adbin, def.adrelid) AS adsrc, dsc.description,"
+            + "   nullif(a.attidentity, '') AS attidentity, nullif(a.attgenerated, '') AS attgenerated"
+            + "   FROM pg_catalog.pg_namespace n"
+            + "   JOIN pg_catalog.pg_class c ON (c.relnamespace = n.oid)"
+            + "   JOIN pg_catalog.pg_attribute a ON (a.attrelid = c.oid)"
+            + "   JOIN pg_catalog.pg_type t ON (a.atttypid = t.oid)"
+            + "   JOIN pg_catalog.pg_namespace tn ON (t.typnamespace = tn.oid)"
+            + "   LEFT JOIN pg_catalog.pg_type b ON (t.typtype = 'd' AND t.typbasetype = b.oid)"
+            + "   LEFT JOIN pg_catalog.pg_attrdef def ON (a.attrelid = def.adrelid AND a.attnum = def.adnum)"
+            + "   LEFT JOIN pg_catalog.pg_description dsc ON (c.oid = dsc.objoid AND a.attnum = dsc.objsubid"
+            + "    AND dsc.classoid = 'pg_catalog.pg_class'::regclass)"
+            + "   WHERE c.relkind IN ('r', 'p', 'v', 'f', 'm') AND a.attnum > 0 AND NOT a.attisdropped";
+
+    private static final String TABLES = "SELECT * FROM ("
+            + " SELECT NULL AS TABLE_CAT, n.nspname AS TABLE_SCHEM, c.relname AS TABLE_NAME,"
+            + " CASE WHEN n.nspname = 'pg_catalog' OR n.nspname = 'information_schema' THEN"
+            + "   CASE c.relkind WHEN 'r' THEN 'SYSTEM TABLE' WHEN 'v' THEN 'SYSTEM VIEW' WHEN 'i' THEN 'SYSTEM INDEX' END"
+            + "  WHEN n.nspname = 'pg_toast' THEN"
+            + "   CASE c.relkind WHEN 'r' THEN 'SYSTEM TOAST TABLE' WHEN 'i' THEN 'SYSTEM TOAST INDEX' END"
+            + "  WHEN n.nspname ~ '^pg_' THEN"
+            + "   CASE c.relkind WHEN 'r' THEN 'TEMPORARY TABLE' WHEN 'p' THEN 'TEMPORARY TABLE' WHEN 'i' THEN 'TEMPORARY INDEX'"
+            + "   WHEN 'S' THEN 'TEMPORARY SEQUENCE' WHEN 'v' THEN 'TEMPORARY VIEW' END"
+            + "  ELSE CASE c.relkind WHEN 'r' THEN 'TABLE' WHEN 'p' THEN 'PARTITIONED TABLE' WHEN 'i' THEN 'INDEX'"
+            + "   WHEN 'I' THEN 'PARTITIONED INDEX' WHEN 'S' THEN 'SEQUENCE' WHEN 'v' THEN 'VIEW' WHEN 'c' THEN 'TYPE'"
+            + "   WHEN 'f' THEN 'FOREIGN TABLE' WHEN 'm' THEN 'MATERIALIZED VIEW' END"
+            + " END AS TABLE_TYPE, d.description AS REMARKS,"
+            + " '' AS TYPE_CAT, '' AS TYPE_SCHEM, '' AS TYPE_NAME, '' AS SELF_REFERENCING_COL_NAME, '' AS REF_GENERATION"
+            + " FROM pg_catalog.pg_namespace n"
+            + " JOIN pg_catalog.pg_class c ON (c.relnamespace = n.oid)"
+            + " LEFT JOIN pg_catalog.pg_description d ON (c.oid = d.objoid AND d.objsubid = 0"
+            + "  AND d.classoid = 'pg_catalog.pg_class'::regclass)"
+            + " WHERE true";
+
+    private static final String SCHEMAS = "SELECT nspname AS TABLE_SCHEM, NULL AS TABLE_CATALOG"
+            + " FROM pg_catalog.pg_namespace"
+            + " WHERE nspname <> 'pg_toast'"
+            + " AND (nspname !~ '^pg_temp_' OR nspname = (pg_catalog.current_schemas(true))[1])"
+            + " AND (nspname !~ '^pg_toast_temp_'"
+            + "  OR nspname = replace((pg_catalog.current_schemas(true))[1], 'pg_temp_', 'pg_toast_temp_'))";
+
+    @Override
+    public boolean supports(String databaseProductName) {
+        return "PostgreSQL".equalsIgnoreCase(databaseProductName);
+    }
+
+    @Override
+    public CatalogQuery getSchemas(String catalog, String schemaPattern) {
+        return new CatalogQuery.Builder()
+                .append(SCHEMAS)
+                .appendPattern(" AND nspname LIKE ?", schemaPattern)
+                .append(" ORDER BY TABLE_SCHEM")
+                .build();
+    }
+
+    @Override
+    public CatalogQuery getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) {
+        CatalogQuery.Builder query = new CatalogQuery.Builder()
+                .append(TABLES)
+                .appendPattern(" AND n.nspname LIKE ?", schemaPattern)
+                .appendPattern(" AND c.relname LIKE ?", tableNamePattern)
+                .append(") tables");
+        if(types != null){
+            query.append(" WHERE TABLE_TYPE IN (").appendValues(types).append(")");
+        }
+        return query.append(" ORDER BY TABLE_TYPE, TABLE_SCHEM, TABLE_NAME").build();
+    }
+
+    @Override
+    public CatalogQuery getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) {
+        return new CatalogQuery.Builder()
+                .append(COLUMNS)
+                .appendPattern(" AND n.nspname LIKE ?", schemaPattern)
+                .appendPattern(" AND c.relname LIKE ?", tableNamePattern)
+                .append(") attributes) sizes WHERE true")
+                .appendPattern(" AND COLUMN_NAME LIKE ?", columnNamePattern)
+                .append(" ORDER BY TABLE_SCHEM, TABLE_NAME, attnum_raw")
+                .build();
+    }
+
+    /**
+     * The java.sql.Types of a type: the types the driver knows by name, then arrays, composites and domains. The
+     * built-in types of pg_catalog are matched by their oids, which do not change between releases
+     */
+    private static String sqlType(String type) {
+        return "CASE " + type + ".oid"
+                + " WHEN 21 THEN 5 WHEN 23 THEN 4 WHEN 26 THEN -5 WHEN 20 THEN -5 WHEN 790 THEN 8 WHEN 701 THEN 8"
+                + " WHEN 1700 THEN 2 WHEN 700 THEN 7 WHEN 18 THEN 1 WHEN 1042 THEN 1"
+                + " WHEN 1043 THEN 12 WHEN 25 THEN 12 WHEN 19 THEN 12 WHEN 17 THEN -2 WHEN 16 THEN -7 WHEN 1560 THEN -7"
+                + " WHEN 1082 THEN 91 WHEN 1083 THEN 92 WHEN 1266 THEN 92 WHEN 1114 THEN 93 WHEN 1184 THEN 93"
+                + " WHEN 1790 THEN 2012 WHEN 142 THEN 2009"
+                + " ELSE CASE WHEN " + type + ".typinput = 'pg_catalog.array_in'::regproc THEN 2003"
+                + "  WHEN " + type + ".typtype = 'c' THEN 2002"
+                + "  WHEN " + type + ".typtype = 'd' THEN 2001"
+                + "  ELSE 1111 END END";
+    }
+
+    /**
+     * The name of a type, qualified by its schema when that schema is not on the search path. The search path is read
+     * once for the query rather than for each row
+     */
+    private static String typeName(String type, String namespace) {
+        return "CASE WHEN " + namespace + ".nspname IN (SELECT pg_catalog.unnest(pg_catalog.current_schemas(true))) THEN " + type + ".typname"
+                + " ELSE '\"' || " + namespace + ".nspname || '\".\"' || " + type + ".typname || '\"' END";
+    }
+
+    /**
+     * The column size the driver reports for a type and type modifier
+     */
+    private static String precision(String oid, String typmod) {
+        return "CASE " + oid
+                + " WHEN 16 THEN 1 WHEN 18 THEN 1 WHEN 21 THEN 5 WHEN 23 THEN 10 WHEN 26 THEN 10 WHEN 20 THEN 19"
+                + " WHEN 700 THEN 8 WHEN 701 THEN 17"
+                + " WHEN 1700 THEN CASE WHEN " + typmod + " = -1 THEN 0 ELSE ((" + typmod + " - 4) >> 16) & 65535 END"
+                + " WHEN 1042 THEN CASE WHEN " + typmod + " = -1 THEN " + UNKNOWN_LENGTH + " ELSE " + typmod + " - 4 END"
+                + " WHEN 1043 THEN CASE WHEN " + typmod + " = -1 THEN " + UNKNOWN_LENGTH + " ELSE " + typmod + " - 4 END"
+                + " WHEN 1082 THEN 13"
+                + " WHEN 1083 THEN 8 + " + secondsSize(typmod)
+                + " WHEN 1266 THEN 14 + " + secondsSize(typmod)
+                + " WHEN 1114 THEN 22 + " + secondsSize(typmod)
+                + " WHEN 1184 THEN 28 + " + secondsSize(typmod)
+                + " WHEN 1186 THEN 49"
+                + " WHEN 1560 THEN " + typmod
+                + " WHEN 1562 THEN CASE WHEN " + typmod + " = -1 THEN " + UNKNOWN_LENGTH + " ELSE " + typmod + " END"
+                + " ELSE " + UNKNOWN_LENGTH + " END";
+    }
+
+    private static String secondsSize(String typmod) {
+        return "CASE " + typmod + " WHEN -1 THEN 7 WHEN 0 THEN 0 WHEN 1 THEN 3 ELSE " + typmod + " + 1 END";
+    }
+
+    /**
+     * The decimal digits the driver reports for a type and type modifier
+     */
+    private static String scale(String oid, String typmod) {
+        return "CASE " + oid
+                + " WHEN 700 THEN 8 WHEN 701 THEN 17"
+                + " WHEN 1700 THEN CASE WHEN " + typmod + " = -1 THEN 0 ELSE (" + typmod + " - 4) & 65535 END"
+                + " WHEN 1083 THEN CASE WHEN " + typmod + " = -1 THEN 6 ELSE " + typmod + " END"
+                + " WHEN 1114 THEN CASE WHEN " + typmod + " = -1 THEN 6 ELSE " + typmod + " END"
+                + " WHEN 1184 THEN CASE WHEN " + typmod + " = -1 THEN 6 ELSE " + typmod + " END"
+                + " WHEN 1266 THEN CASE WHEN " + typmod + " = -1 THEN 6 ELSE " + typmod + " END"
+                + " WHEN 1186 THEN CASE WHEN " + typmod + " = -1 THEN 6 ELSE " + typmod + " & 65535 END"
+                + " ELSE 0 END";
+    }
+}
@@ -4,7 +4,6 @@ package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
 
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 
 /**
@@ -14,25 +13,18 @@ public class JdbcCatalog {
 
     private final String tableCat;
 
-    private final ResultSetMetaData resultSetMetaData;
-
-    public JdbcCatalog(String tableCat, ResultSetMetaData resultSetMetaData){
+    public JdbcCatalog(String tableCat){
         this.tableCat = tableCat;
-        this.resultSetMetaData = resultSetMetaData;
     }
 
     public String getTableCat() {
         return tableCat;
     }
 
-    public ResultSetMetaData getResultSetMetaData() {
-        return resultSetMetaData;
-    }
-
     public static JdbcCatalog create(ResultSet resultSet) throws SQLException {
         String tableCat = resultSet.getString("TABLE_CAT");
 
-        return new JdbcCatalog(tableCat, resultSet.getMetaData());
+        return new JdbcCatalog(tableCat);
     }
 
 }
@@ -4,11 +4,11 @@ package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
 
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 
 /**
- * Represents a column as returned by the JDBC api. Fields are the ones described in {@link DatabaseMetaData}
+ * Represents a column as returned by the JDBC api. Fields are the ones described in {@link DatabaseMetaData}. Instances
+ * are immutable and hold no reference to the result set they were read from.
  */
 public class JdbcColumn {
 
@@ -34,13 +34,11 @@ public class JdbcColumn {
     private final String isAutoIncrement;
     private final String isGeneratedColumn;
 
-    private final ResultSetMetaData resultSetMetaData;
-
-    private JdbcColumn(String tableCat, String tableSchem, String tableName, String columnName, int dataType,
+    JdbcColumn(String tableCat, String tableSchem, String tableName, String columnName, int dataType,
                        String typeName, int columnSize, int decimalDigits, int numPrecRadix, int nullable,
                        String remarks, String columnDef, int charOctetLength, int ordinalPosition, String isNullable,
                        String scopeCatalog, String scopeSchema, String scopeTable, short sourceDataType,
-                       String isAutoIncrement, String isGeneratedColumn, ResultSetMetaData resultSetMetaData) {
+                       String isAutoIncrement, String isGeneratedColumn) {
         this.tableCat = tableCat;
         this.tableSchem = tableSchem;
         this.tableName = tableName;
@@ -62,8 +60,6 @@ public class JdbcColumn {
         this.sourceDataType = sourceDataType;
         this.isAutoIncrement = isAutoIncrement;
         this.isGeneratedColumn = isGeneratedColumn;
-
-        this.resultSetMetaData = resultSetMetaData;
     }
 
     public String getTableCat() {
@@ -150,36 +146,96 @@ public class JdbcColumn {
         return isGeneratedColumn;
     }
 
-    public ResultSetMetaData getResultSetMetaData() {
-        return resultSetMetaData;
-    }
-
     public static JdbcColumn create(ResultSet resultSet) throws SQLException {
-        String tableCat = resultSet.getString("TABLE_CAT");
-        String tableSchem = resultSet.getString("TABLE_SCHEM");
-        String tableName = resultSet.getString("TABLE_NAME");
-        String columnName = resultSet.getString("COLUMN_NAME");
-        int dataType = resultSet.getInt("DATA_TYPE");
-        String typeName = resultSet.getString("TYPE_NAME");
-        int columnSize = resultSet.getInt("COLUMN_SIZE");
-        int decimalDigits = resultSet.getInt("DECIMAL_DIGITS");
-        int numPrecRadix = resultSet.getInt("NUM_PREC_RADIX");
-        int nullable = resultSet.getInt("NULLABLE");
-        String remarks = resultSet.getString("REMARKS");
-        String columnDef = resultSet.getString("COLUMN_DEF");
-        int charOctetLength = resultSet.getInt("CHAR_OCTET_LENGTH");
-        int ordinalPosition = resultSet.getInt("ORDINAL_POSITION");
-        String isNullable = resultSet.getString("IS_NULLABLE");
-        String scopeCatalog = resultSet.getString("SCOPE_CATALOG");
-        String scopeSchema = resultSet.getString("SCOPE_SCHEMA");
-        String scopeTable = resultSet.getString("SCOPE_TABLE");
-        short sourceDataType = resultSet.getShort("SOURCE_DATA_TYPE");
-        String isAutoIncrement = resultSet.getString("IS_AUTOINCREMENT");
-        String isGeneratedColumn = resultSet.getString("IS_GENERATEDCOLUMN");
-
-        return new JdbcColumn(tableCat, tableSchem, tableName, columnName, dataType, typeName, columnSize, decimalDigits,
-                numPrecRadix, nullable, remarks, columnDef, charOctetLength, ordinalPosition, isNullable, scopeCatalog,
-                scopeSchema, scopeTable, sourceDataType, isAutoIncrement, isGeneratedColumn, resultSet.getMetaData());
+        return mapper(resultSet).map(resultSet);
+    }
+
+    /**
+     * Creates a mapper for the rows of a result set returned by {@link DatabaseMetaData#getColumns(String, String, String, String)}
+     *
+     * @param resultSet the result set
+     *
+     * @return the mapper
+     */
+    public static JdbcRowMapper<JdbcColumn> mapper(ResultSet resultSet) {
+        return new Mapper(resultSet);
+    }
+
+    private static class Mapper extends JdbcRowMapper<JdbcColumn> {
+
+        private final int tableCat;
+        private final int tableSchem;
+        private final int tableName;
+        private final int columnName;
+        private final int dataType;
+        private final int typeName;
+        private final int columnSize;
+        private final int decimalDigits;
+        private final int numPrecRadix;
+        private final int nullable;
+        private final int remarks;
+        private final int columnDef;
+        private final int charOctetLength;
+        private final int ordinalPosition;
+        private final int isNullable;
+        private final int scopeCatalog;
+        private final int scopeSchema;
+        private final int scopeTable;
+        private final int sourceDataType;
+        private final int isAutoIncrement;
+        private final int isGeneratedColumn;
+
+        private final Interner names = new Interner();
+        private final Deduplicator tableNames = new Deduplicator();
+
+        private Mapper(ResultSet resultSet) {
+            tableCat = indexOf(resultSet, "TABLE_CAT");
+            tableSchem = indexOf(resultSet, "TABLE_SCHEM");
+            tableName = indexOf(resultSet, "TABLE_NAME");
+            columnName = indexOf(resultSet, "COLUMN_NAME");
+            dataType = indexOf(resultSet, "DATA_TYPE");
+            typeName = indexOf(resultSet, "TYPE_NAME");
+            columnSize = indexOf(resultSet, "COLUMN_SIZE");
+            decimalDigits = indexOf(resultSet, "DECIMAL_DIGITS");
+            numPrecRadix = indexOf(resultSet, "NUM_PREC_RADIX");
+            nullable = indexOf(resultSet, "NULLABLE");
+            remarks = indexOf(resultSet, "REMARKS");
+            columnDef = indexOf(resultSet, "COLUMN_DEF");
+            charOctetLength = indexOf(resultSet, "CHAR_OCTET_LENGTH");
+            ordinalPosition = indexOf(resultSet, "ORDINAL_POSITION");
+            isNullable = indexOf(resultSet, "IS_NULLABLE");
+            scopeCatalog = indexOf(resultSet, "SCOPE_CATALOG");
+            scopeSchema = indexOf(resultSet, "SCOPE_SCHEMA");
+            scopeTable = indexOf(resultSet, "SCOPE_TABLE");
+            sourceDataType = indexOf(resultSet, "SOURCE_DATA_TYPE");
+            isAutoIncrement = indexOf(resultSet, "IS_AUTOINCREMENT");
+            isGeneratedColumn = indexOf(resultSet, "IS_GENERATEDCOLUMN");
+        }
+
+        @Override
+        public JdbcColumn map(ResultSet resultSet) throws SQLException {
+            return new JdbcColumn(names.of(getString(resultSet, tableCat)),
+                    names.of(getString(resultSet, tableSchem)),
+                    tableNames.of(getString(resultSet, tableName)),
+                    getString(resultSet, columnName),
+                    getInt(resultSet, dataType),
+                    names.of(getString(resultSet, typeName)),
+                    getInt(resultSet, columnSize),
+                    getInt(resultSet, decimalDigits),
+                    getInt(resultSet, numPrecRadix),
+                    getInt(resultSet, nullable),
+                    getString(resultSet, remarks),
+                    getString(resultSet, columnDef),
+                    getInt(resultSet, charOctetLength),
+                    getInt(resultSet, ordinalPosition),
+                    flag(getString(resultSet, isNullable)),
+                    getString(resultSet, scopeCatalog),
+                    getString(resultSet, scopeSchema),
+                    getString(resultSet, scopeTable),
+                    getShort(resultSet, sourceDataType),
+                    flag(getString(resultSet, isAutoIncrement)),
+                    flag(getString(resultSet, isGeneratedColumn)));
+        }
     }
 
 }
@@ -0,0 +1,183 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Represents one column of a foreign key, with the primary key column it refers to, as returned by the JDBC api.
+ * Fields are the ones described in {@link DatabaseMetaData}. Instances are immutable and hold no reference to the result
+ * set they were read from.
+ */
+public class JdbcForeignKey {
+
+    private final String pktableCat;
+    private final String pktableSchem;
+    private final String pktableName;
+    private final String pkcolumnName;
+    private final String fktableCat;
+    private final String fktableSchem;
+    private final String fktableName;
+    private final String fkcolumnName;
+    private final short keySeq;
+    private final short updateRule;
+    private final short deleteRule;
+    private final String fkName;
+    private final String pkName;
+    private final short deferrability;
+
+    JdbcForeignKey(String pktableCat, String pktableSchem, String pktableName, String pkcolumnName,
+                           String fktableCat, String fktableSchem, String fktableName, String fkcolumnName,
+                           short keySeq, short updateRule, short deleteRule, String fkName, String pkName,
+                           short deferrability) {
+        this.pktableCat = pktableCat;
+        this.pktableSchem = pktableSchem;
+        this.pktableName = pktableName;
+        this.pkcolumnName = pkcolumnName;
+        this.fktableCat = fktableCat;
+        this.fktableSchem = fktableSchem;
+        this.fktableName = fktableName;
+        this.fkcolumnName = fkcolumnName;
+        this.keySeq = keySeq;
+        this.updateRule = updateRule;
+        this.deleteRule = deleteRule;
+        this.fkName = fkName;
+        this.pkName = pkName;
+        this.deferrability = deferrability;
+    }
+
+    public String getPktableCat() {
+        return pktableCat;
+    }
+
+    public String getPktableSchem() {
+        return pktableSchem;
+    }
+
+    public String getPktableName() {
+        return pktableName;
+    }
+
+    public String getPkcolumnName() {
+        return pkcolumnName;
+    }
+
+    public String getFktableCat() {
+        return fktableCat;
+    }
+
+    public String getFktableSchem() {
+        return fktableSchem;
+    }
+
+    public String getFktableName() {
+        return fktableName;
+    }
+
+    public String getFkcolumnName() {
+        return fkcolumnName;
+    }
+
+    /**
+     * @return position of the column in the key, starting at 1
+     */
+    public short getKeySeq() {
+        return keySeq;
+    }
+
+    public short getUpdateRule() {
+        return updateRule;
+    }
+
+    public short getDeleteRule() {
+        return deleteRule;
+    }
+
+    public String getFkName() {
+        return fkName;
+    }
+
+    public String getPkName() {
+        return pkName;
+    }
+
+    public short getDeferrability() {
+        return deferrability;
+    }
+
+    public static JdbcForeignKey create(ResultSet resultSet) throws SQLException {
+        return mapper(resultSet).map(resultSet);
+    }
+
+    /**
+     * Creates a mapper for the rows of a result set returned by {@link DatabaseMetaData#getImportedKeys(String, String, String)}
+     *
+     * @param resultSet the result set
+     *
+     * @return the mapper
+     */
+    public static JdbcRowMapper<JdbcForeignKey> mapper(ResultSet resultSet) {
+        return new Mapper(resultSet);
+    }
+
+    private static class Mapper extends JdbcRowMapper<JdbcForeignKey> {
+
+        private final int pktableCat;
+        private final int pktableSchem;
+        private final int pktableName;
+        private final int pkcolumnName;
+        private final int fktableCat;
+        private final int fktableSchem;
+        private final int fktableName;
+        private final int fkcolumnName;
+        private final int keySeq;
+        private final int updateRule;
+        private final int deleteRule;
+        private final int fkName;
+        private final int pkName;
+        private final int deferrability;
+
+        private final Interner names = new Interner();
+        private final Deduplicator tableNames = new Deduplicator();
+        private final Deduplicator keyNames = new Deduplicator();
+
+        private Mapper(ResultSet resultSet) {
+            pktableCat = indexOf(resultSet, "PKTABLE_CAT");
+            pktableSchem = indexOf(resultSet, "PKTABLE_SCHEM");
+            pktableName = indexOf(resultSet, "PKTABLE_NAME");
+            pkcolumnName = indexOf(resultSet, "PKCOLUMN_NAME");
+            fktableCat = indexOf(resultSet, "FKTABLE_CAT");
+            fktableSchem = indexOf(resultSet, "FKTABLE_SCHEM");
+            fktableName = indexOf(resultSet, "FKTABLE_NAME");
+            fkcolumnName = indexOf(resultSet, "FKCOLUMN_NAME");
+            keySeq = indexOf(resultSet, "KEY_SEQ");
+            updateRule = indexOf(resultSet, "UPDATE_RULE");
+            deleteRule = indexOf(resultSet, "DELETE_RULE");
+            fkName = indexOf(resultSet, "FK_NAME");
+            pkName = indexOf(resultSet, "PK_NAME");
+            deferrability = indexOf(resultSet, "DEFERRABILITY");
+        }
+
+        @Override
+        public JdbcForeignKey map(ResultSet resultSet) throws SQLException {
+            // the referenced tables vary from row to row, their names are shared like those of catalogs and schemas
+            return new JdbcForeignKey(names.of(getString(resultSet, pktableCat)),
+                    names.of(getString(resultSet, pktableSchem)),
+                    names.of(getString(resultSet, pktableName)),
+                    getString(resultSet, pkcolumnName),
+                    names.of(getString(resultSet, fktableCat)),
+                    names.of(getString(resultSet, fktableSchem)),
+                    tableNames.of(getString(resultSet, fktableName)),
+                    getString(resultSet, fkcolumnName),
+                    getShort(resultSet, keySeq),
+                    getShort(resultSet, updateRule),
+                    getShort(resultSet, deleteRule),
+                    keyNames.of(getString(resultSet, fkName)),
+                    names.of(getString(resultSet, pkName)),
+                    getShort(resultSet, deferrability));
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Represents one column of an index, or the statistics of a table, as returned by the JDBC api. Fields are the ones
+ * described in {@link DatabaseMetaData}. Instances are immutable and hold no reference to the result set they were read
+ * from.
+ */
+public class JdbcIndex {
+
+    private final String tableCat;
+    private final String tableSchem;
+    private final String tableName;
+    private final boolean nonUnique;
+    private final String indexQualifier;
+    private final String indexName;
+    private final short type;
+    private final short ordinalPosition;
+    private final String columnName;
+    private final String ascOrDesc;
+    private final long cardinality;
+    private final long pages;
+    private final String filterCondition;
+
+    JdbcIndex(String tableCat, String tableSchem, String tableName, boolean nonUnique, String indexQualifier,
+                      String indexName, short type, short ordinalPosition, String columnName, String ascOrDesc,
+                      long cardinality, long pages, String filterCondition) {
+        this.tableCat = tableCat;
+        this.tableSchem = tableSchem;
+        this.tableName = tableName;
+        this.nonUnique = nonUnique;
+        this.indexQualifier = indexQualifier;
+        this.indexName = indexName;
+        this.type = type;
+        this.ordinalPosition = ordinalPosition;
+        this.columnName = columnName;
+        this.ascOrDesc = ascOrDesc;
+        this.cardinality = cardinality;
+        this.pages = pages;
+        this.filterCondition = filterCondition;
+    }
+
+    public String getTableCat() {
+        return tableCat;
+    }
+
+    public String getTableSchem() {
+        return tableSchem;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public boolean isNonUnique() {
+        return nonUnique;
+    }
+
+    public String getIndexQualifier() {
+        return indexQualifier;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    /**
+     * @return one of the tableIndex constants of {@link DatabaseMetaData}
+     */
+    public short getType() {
+        return type;
+    }
+
+    public short getOrdinalPosition() {
+        return ordinalPosition;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public String getAscOrDesc() {
+        return ascOrDesc;
+    }
+
+    public long getCardinality() {
+        return cardinality;
+    }
+
+    public long getPages() {
+        return pages;
+    }
+
+    public String getFilterCondition() {
+        return filterCondition;
+    }
+
+    public static JdbcIndex create(ResultSet resultSet) throws SQLException {
+        return mapper(resultSet).map(resultSet);
+    }
+
+    /**
+     * Creates a mapper for the rows of a result set returned by
+     * {@link DatabaseMetaData#getIndexInfo(String, String, String, boolean, boolean)}
+     *
+     * @param resultSet the result set
+     *
+     * @return the mapper
+     */
+    public static JdbcRowMapper<JdbcIndex> mapper(ResultSet resultSet) {
+        return new Mapper(resultSet);
+    }
+
+    private static class Mapper extends JdbcRowMapper<JdbcIndex> {
+
+        private final int tableCat;
+        private final int tableSchem;
+        private final int tableName;
+        private final int nonUnique;
+        private final int indexQualifier;
+        private final int indexName;
+        private final int type;
+        private final int ordinalPosition;
+        private final int columnName;
+        private final int ascOrDesc;
+        private final int cardinality;
+        private final int pages;
+        private final int filterCondition;
+
+        private final Interner names = new Interner();
+        private final Deduplicator tableNames = new Deduplicator();
+        private final Deduplicator indexNames = new Deduplicator();
+
+        private Mapper(ResultSet resultSet) {
+            tableCat = indexOf(resultSet, "TABLE_CAT");
+            tableSchem = indexOf(resultSet, "TABLE_SCHEM");
+            tableName = indexOf(resultSet, "TABLE_NAME");
+            nonUnique = indexOf(resultSet, "NON_UNIQUE");
+            indexQualifier = indexOf(resultSet, "INDEX_QUALIFIER");
+            indexName = indexOf(resultSet, "INDEX_NAME");
+            type = indexOf(resultSet, "TYPE");
+            ordinalPosition = indexOf(resultSet, "ORDINAL_POSITION");
+            columnName = indexOf(resultSet, "COLUMN_NAME");
+            ascOrDesc = indexOf(resultSet, "ASC_OR_DESC");
+            cardinality = indexOf(resultSet, "CARDINALITY");
+            pages = indexOf(resultSet, "PAGES");
+            filterCondition = indexOf(resultSet, "FILTER_CONDITION");
+        }
+
+        @Override
+        public JdbcIndex map(ResultSet resultSet) throws SQLException {
+            return new JdbcIndex(names.of(getString(resultSet, tableCat)),
+                    names.of(getString(resultSet, tableSchem)),
+                    tableNames.of(getString(resultSet, tableName)),
+                    getBoolean(resultSet, nonUnique),
+                    names.of(getString(resultSet, indexQualifier)),
+                    indexNames.of(getString(resultSet, indexName)),
+                    getShort(resultSet, type),
+                    getShort(resultSet, ordinalPosition),
+                    getString(resultSet, columnName),
+                    names.of(getString(resultSet, ascOrDesc)),
+                    getLong(resultSet, cardinality),
+                    getLong(resultSet, pages),
+                    getString(resultSet, filterCondition));
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the model objects written by a {@link JdbcModelWriter}, in the order they were written. Strings that were
+ * written once and referred to afterwards are read back as one shared instance.
+ */
+public class JdbcModelReader {
+
+    private final DataInput in;
+    private final List<String> strings = new ArrayList<>();
+
+    public JdbcModelReader(DataInput in) {
+        this.in = in;
+    }
+
+    public long readNumber() throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0){
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new StreamCorruptedException("Number longer than 64 bits");
+    }
+
+    public String readString() throws IOException {
+        long reference = readNumber();
+        if(reference == 0){
+            return null;
+        }
+        if(reference > 1){
+            if(reference - 2 >= strings.size()){
+                throw new StreamCorruptedException("Reference to string " + (reference - 2) + " not yet read");
+            }
+            return strings.get((int) (reference - 2));
+        }
+        byte[] bytes = new byte[readInt()];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+
+    public int readInt() throws IOException {
+        return (int) readNumber();
+    }
+
+    private short readShort() throws IOException {
+        return (short) readNumber();
+    }
+
+    public JdbcCatalog readCatalog() throws IOException {
+        return new JdbcCatalog(readString());
+    }
+
+    public JdbcSchema readSchema() throws IOException {
+        return new JdbcSchema(readString(), readString());
+    }
+
+    public JdbcTable readTable() throws IOException {
+        return new JdbcTable(readString(), readString(), readString(), readString(), readString(), readString(),
+                readString(), readString(), readString(), readString());
+    }
+
+    public JdbcColumn readColumn() throws IOException {
+        return new JdbcColumn(readString(), readString(), readString(), readString(), readInt(), readString(),
+                readInt(), readInt(), readInt(), readInt(), readString(), readString(), readInt(), readInt(),
+                readString(), readString(), readString(), readString(), readShort(), readString(), readString());
+    }
+
+    public JdbcPrimaryKey readPrimaryKey() throws IOException {
+        return new JdbcPrimaryKey(readString(), readString(), readString(), readString(), readShort(), readString());
+    }
+
+    public JdbcForeignKey readForeignKey() throws IOException {
+        return new JdbcForeignKey(readString(), readString(), readString(), readString(), readString(), readString(),
+                readString(), readString(), readShort(), readShort(), readShort(), readString(), readString(),
+                readShort());
+    }
+
+    public JdbcIndex readIndex() throws IOException {
+        return new JdbcIndex(readString(), readString(), readString(), readNumber() != 0, readString(), readString(),
+                readShort(), readShort(), readString(), readString(), readNumber(), readNumber(), readString());
+    }
+}
@@ -0,0 +1,144 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes model objects to a compact binary stream, they are read back by a {@link JdbcModelReader}. Numbers take as
+ * few bytes as their value needs and each distinct string is written once, later occurrences refer to the first, so
+ * the catalog, schema, table and type names repeated on every row cost a byte or two.
+ */
+public class JdbcModelWriter {
+
+    private final DataOutput out;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    public JdbcModelWriter(DataOutput out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes a signed number, small values in either direction take a single byte
+     */
+    public void writeNumber(long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    /**
+     * Writes a string that may be null, a string already written is replaced by a reference to its first occurrence
+     */
+    public void writeString(String value) throws IOException {
+        if(value == null){
+            writeNumber(0);
+            return;
+        }
+        Integer index = strings.get(value);
+        if(index != null){
+            writeNumber(index + 2L);
+            return;
+        }
+        strings.put(value, strings.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeNumber(1);
+        writeNumber(bytes.length);
+        out.write(bytes);
+    }
+
+    public void writeCatalog(JdbcCatalog catalog) throws IOException {
+        writeString(catalog.getTableCat());
+    }
+
+    public void writeSchema(JdbcSchema schema) throws IOException {
+        writeString(schema.getTableSchem());
+        writeString(schema.getTableCatalog());
+    }
+
+    public void writeTable(JdbcTable table) throws IOException {
+        writeString(table.getTableCat());
+        writeString(table.getTableSchem());
+        writeString(table.getTableName());
+        writeString(table.getTableType());
+        writeString(table.getRemarks());
+        writeString(table.getTypeCat());
+        writeString(table.getTypeSchem());
+        writeString(table.getTypeName());
+        writeString(table.getSelfReferencingColName());
+        writeString(table.getRefGeneration());
+    }
+
+    public void writeColumn(JdbcColumn column) throws IOException {
+        writeString(column.getTableCat());
+        writeString(column.getTableSchem());
+        writeString(column.getTableName());
+        writeString(column.getColumnName());
+        writeNumber(column.getDataType());
+        writeString(column.getTypeName());
+        writeNumber(column.getColumnSize());
+        writeNumber(column.getDecimalDigits());
+        writeNumber(column.getNumPrecRadix());
+        writeNumber(column.getNullable());
+        writeString(column.getRemarks());
+        writeString(column.getColumnDef());
+        writeNumber(column.getCharOctetLength());
+        writeNumber(column.getOrdinalPosition());
+        writeString(column.getIsNullable());
+        writeString(column.getScopeCatalog());
+        writeString(column.getScopeSchema());
+        writeString(column.getScopeTable());
+        writeNumber(column.getSourceDataType());
+        writeString(column.getIsAutoIncrement());
+        writeString(column.getIsGeneratedColumn());
+    }
+
+    public void writePrimaryKey(JdbcPrimaryKey primaryKey) throws IOException {
+        writeString(primaryKey.getTableCat());
+        writeString(primaryKey.getTableSchem());
+        writeString(primaryKey.getTableName());
+        writeString(primaryKey.getColumnName());
+        writeNumber(primaryKey.getKeySeq());
+        writeString(primaryKey.getPkName());
+    }
+
+    public void writeForeignKey(JdbcForeignKey foreignKey) throws IOException {
+        writeString(foreignKey.getPktableCat());
+        writeString(foreignKey.getPktableSchem());
+        writeString(foreignKey.getPktableName());
+        writeString(foreignKey.getPkcolumnName());
+        writeString(foreignKey.getFktableCat());
+        writeString(foreignKey.getFktableSchem());
+        writeString(foreignKey.getFktableName());
+        writeString(foreignKey.getFkcolumnName());
+        writeNumber(foreignKey.getKeySeq());
+        writeNumber(foreignKey.getUpdateRule());
+        writeNumber(foreignKey.getDeleteRule());
+        writeString(foreignKey.getFkName());
+        writeString(foreignKey.getPkName());
+        writeNumber(foreignKey.getDeferrability());
+    }
+
+    public void writeIndex(JdbcIndex index) throws IOException {
+        writeString(index.getTableCat());
+        writeString(index.getTableSchem());
+        writeString(index.getTableName());
+        writeNumber(index.isNonUnique() ? 1 : 0);
+        writeString(index.getIndexQualifier());
+        writeString(index.getIndexName());
+        writeNumber(index.getType());
+        writeNumber(index.getOrdinalPosition());
+        writeString(index.getColumnName());
+        writeString(index.getAscOrDesc());
+        writeNumber(index.getCardinality());
+        writeNumber(index.getPages());
+        writeString(index.getFilterCondition());
+    }
+}
@@ -0,0 +1,107 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Represents one column of a primary key as returned by the JDBC api. Fields are the ones described in
+ * {@link DatabaseMetaData}. Instances are immutable and hold no reference to the result set they were read from.
+ */
+public class JdbcPrimaryKey {
+
+    private final String tableCat;
+    private final String tableSchem;
+    private final String tableName;
+    private final String columnName;
+    private final short keySeq;
+    private final String pkName;
+
+    JdbcPrimaryKey(String tableCat, String tableSchem, String tableName, String columnName, short keySeq,
+                           String pkName) {
+        this.tableCat = tableCat;
+        this.tableSchem = tableSchem;
+        this.tableName = tableName;
+        this.columnName = columnName;
+        this.keySeq = keySeq;
+        this.pkName = pkName;
+    }
+
+    public String getTableCat() {
+        return tableCat;
+    }
+
+    public String getTableSchem() {
+        return tableSchem;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * @return position of the column in the key, starting at 1
+     */
+    public short getKeySeq() {
+        return keySeq;
+    }
+
+    public String getPkName() {
+        return pkName;
+    }
+
+    public static JdbcPrimaryKey create(ResultSet resultSet) throws SQLException {
+        return mapper(resultSet).map(resultSet);
+    }
+
+    /**
+     * Creates a mapper for the rows of a result set returned by {@link DatabaseMetaData#getPrimaryKeys(String, String, String)}
+     *
+     * @param resultSet the result set
+     *
+     * @return the mapper
+     */
+    public static JdbcRowMapper<JdbcPrimaryKey> mapper(ResultSet resultSet) {
+        return new Mapper(resultSet);
+    }
+
+    private static class Mapper extends JdbcRowMapper<JdbcPrimaryKey> {
+
+        private final int tableCat;
+        private final int tableSchem;
+        private final int tableName;
+        private final int columnName;
+        private final int keySeq;
+        private final int pkName;
+
+        private final Interner names = new Interner();
+        private final Deduplicator tableNames = new Deduplicator();
+        private final Deduplicator keyNames = new Deduplicator();
+
+        private Mapper(ResultSet resultSet) {
+            tableCat = indexOf(resultSet, "TABLE_CAT");
+            tableSchem = indexOf(resultSet, "TABLE_SCHEM");
+            tableName = indexOf(resultSet, "TABLE_NAME");
+            columnName = indexOf(resultSet, "COLUMN_NAME");
+            keySeq = indexOf(resultSet, "KEY_SEQ");
+            pkName = indexOf(resultSet, "PK_NAME");
+        }
+
+        @Override
+        public JdbcPrimaryKey map(ResultSet resultSet) throws SQLException {
+            return new JdbcPrimaryKey(names.of(getString(resultSet, tableCat)),
+                    names.of(getString(resultSet, tableSchem)),
+                    tableNames.of(getString(resultSet, tableName)),
+                    getString(resultSet, columnName),
+                    getShort(resultSet, keySeq),
+                    keyNames.of(getString(resultSet, pkName)));
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the rows of one result set to model objects. The indexes of the columns are resolved by label once, when the
+ * mapper is created, rather than on every row. A label the driver does not return maps to null, or 0 for numbers.
+ *
+ * @param <T> the model type
+ */
+public abstract class JdbcRowMapper<T> {
+
+    /**
+     * Maps the current row of the result set
+     *
+     * @param resultSet the result set the mapper was created for
+     *
+     * @return the model object, it holds no reference to the result set
+     *
+     * @throws SQLException sql exception
+     */
+    public abstract T map(ResultSet resultSet) throws SQLException;
+
+    /**
+     * @return the index of the column with the given label, or 0 if the result set has no such column
+     */
+    protected static int indexOf(ResultSet resultSet, String label) {
+        try {
+            return resultSet.findColumn(label);
+        } catch (SQLException sqlException) {
+            return 0;
+        }
+    }
+
+    protected static String getString(ResultSet resultSet, int index) throws SQLException {
+        return index == 0 ? null : resultSet.getString(index);
+    }
+
+    protected static int getInt(ResultSet resultSet, int index) throws SQLException {
+        return index == 0 ? 0 : resultSet.getInt(index);
+    }
+
+    protected static short getShort(ResultSet resultSet, int index) throws SQLException {
+        return index == 0 ? 0 : resultSet.getShort(index);
+    }
+
+    protected static long getLong(ResultSet resultSet, int index) throws SQLException {
+        return index == 0 ? 0 : resultSet.getLong(index);
+    }
+
+    protected static boolean getBoolean(ResultSet resultSet, int index) throws SQLException {
+        return index != 0 && resultSet.getBoolean(index);
+    }
+
+    /**
+     * Returns the shared constant for the common YES, NO and empty values of the JDBC metadata flags
+     */
+    protected static String flag(String value) {
+        if(value == null){
+            return null;
+        }
+        switch (value) {
+            case "YES":
+                return "YES";
+            case "NO":
+                return "NO";
+            case "":
+                return "";
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Shares one string between all the rows that hold equal values, for values with few distinct occurrences such as
+     * catalog, schema and type names. Once the limit of distinct values is reached further values are not shared.
+     */
+    protected static final class Interner {
+
+        private static final int MAX_VALUES = 1024;
+
+        private Map<String, String> values;
+
+        public String of(String value) {
+            if(value == null){
+                return null;
+            }
+            if(values == null){
+                values = new HashMap<>();
+            }
+            String shared = values.get(value);
+            if(shared != null){
+                return shared;
+            }
+            if(values.size() < MAX_VALUES){
+                values.put(value, value);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Shares one string between consecutive rows that hold equal values. Metadata result sets are ordered by catalog,
+     * schema and table, so the rows of one table share a single copy of the table name.
+     */
+    protected static final class Deduplicator {
+
+        private String last;
+
+        public String of(String value) {
+            if(value != null && value.equals(last)){
+                return last;
+            }
+            last = value;
+            return value;
+        }
+    }
+}
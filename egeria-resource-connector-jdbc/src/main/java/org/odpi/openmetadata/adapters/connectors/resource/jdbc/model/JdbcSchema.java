@@ -4,7 +4,6 @@ package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
 
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 
 /**
@@ -15,12 +14,9 @@ public class JdbcSchema {
     private final String tableSchem;
     private final String tableCatalog;
 
-    private final ResultSetMetaData resultSetMetaData;
-
-    public JdbcSchema(String tableSchem, String tableCatalog, ResultSetMetaData resultSetMetaData){
+    public JdbcSchema(String tableSchem, String tableCatalog){
         this.tableSchem = tableSchem;
         this.tableCatalog = tableCatalog;
-        this.resultSetMetaData = resultSetMetaData;
     }
 
     public String getTableSchem() {
@@ -31,15 +27,26 @@ public class JdbcSchema {
         return tableCatalog;
     }
 
-    public ResultSetMetaData getResultSetMetaData() {
-        return resultSetMetaData;
-    }
-
     public static JdbcSchema create(ResultSet resultSet) throws SQLException {
-        String tableSchem = resultSet.getString("TABLE_SCHEM");
-        String tableCat = resultSet.getString("TABLE_CATALOG");
+        return mapper(resultSet).map(resultSet);
+    }
 
-        return new JdbcSchema(tableSchem, tableCat, resultSet.getMetaData());
+    /**
+     * Creates a mapper for the rows of a result set returned by {@link DatabaseMetaData#getSchemas(String, String)}
+     *
+     * @param resultSet the result set
+     *
+     * @return the mapper
+     */
+    public static JdbcRowMapper<JdbcSchema> mapper(ResultSet resultSet) {
+        int tableSchem = JdbcRowMapper.indexOf(resultSet, "TABLE_SCHEM");
+        int tableCat = JdbcRowMapper.indexOf(resultSet, "TABLE_CATALOG");
+        return new JdbcRowMapper<>() {
+            @Override
+            public JdbcSchema map(ResultSet resultSet) throws SQLException {
+                return new JdbcSchema(getString(resultSet, tableSchem), getString(resultSet, tableCat));
+            }
+        };
     }
 
 }
@@ -4,11 +4,11 @@ package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
 
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 
 /**
- * Represents a table as returned by the JDBC api. Fields are the ones described in {@link DatabaseMetaData}
+ * Represents a table as returned by the JDBC api. Fields are the ones described in {@link DatabaseMetaData}. Instances
+ * are immutable and hold no reference to the result set they were read from.
  */
 public class JdbcTable {
 
@@ -23,11 +23,8 @@ public class JdbcTable {
     private final String selfReferencingColName;
     private final String refGeneration;
 
-    private final ResultSetMetaData resultSetMetaData;
-
-    private JdbcTable(String tableCat, String tableSchem, String tableName, String tableType, String remarks, String typeCat,
-                      String typeSchem, String typeName, String selfReferencingColName, String refGeneration,
-                      ResultSetMetaData resultSetMetaData){
+    JdbcTable(String tableCat, String tableSchem, String tableName, String tableType, String remarks, String typeCat,
+                      String typeSchem, String typeName, String selfReferencingColName, String refGeneration){
         this.tableCat = tableCat;
         this.tableSchem = tableSchem;
         this. tableName = tableName;
@@ -38,8 +35,6 @@ public class JdbcTable {
         this.typeName = typeName;
         this.selfReferencingColName = selfReferencingColName;
         this.refGeneration = refGeneration;
-
-        this.resultSetMetaData = resultSetMetaData;
     }
 
     public String getTableCat() {
@@ -82,25 +77,50 @@ public class JdbcTable {
         return refGeneration;
     }
 
-    public ResultSetMetaData getResultSetMetaData() {
-        return resultSetMetaData;
+    public static JdbcTable create(ResultSet resultSet) throws SQLException {
+        return mapper(resultSet).map(resultSet);
+    }
+
+    /**
+     * Creates a mapper for the rows of a result set returned by {@link DatabaseMetaData#getTables(String, String, String, String[])}
+     *
+     * @param resultSet the result set
+     *
+     * @return the mapper
+     */
+    public static JdbcRowMapper<JdbcTable> mapper(ResultSet resultSet) {
+        return new Mapper(resultSet);
     }
 
-    public static JdbcTable create(ResultSet resultSet) throws SQLException {
-        String tableCat = resultSet.getString("TABLE_CAT");
-        String tableSchem = resultSet.getString("TABLE_SCHEM");
-        String tableName = resultSet.getString("TABLE_NAME");
-        String tableType = resultSet.getString("TABLE_TYPE");
-        String remarks = resultSet.getString("REMARKS");
-        // issues with below jdbc fields. defaulting to empty string for now
-        String typeCat = "";//resultSet.getString("TYPE_CAT");
-        String typeSchem = "";//resultSet.getString("TYPE_SCHEM");
-        String typeName = "";//resultSet.getString("TYPE_NAME");
-        String selfReferencingColName = "";//resultSet.getString("SELF_REFERENCING_COL_NAME");
-        String refGeneration = "";//resultSet.getString("REF_GENERATION");
-
-        return new JdbcTable(tableCat, tableSchem, tableName, tableType, remarks, typeCat, typeSchem, typeName,
-                selfReferencingColName, refGeneration, resultSet.getMetaData());
+    private static class Mapper extends JdbcRowMapper<JdbcTable> {
+
+        private final int tableCat;
+        private final int tableSchem;
+        private final int tableName;
+        private final int tableType;
+        private final int remarks;
+
+        private final Interner names = new Interner();
+
+        private Mapper(ResultSet resultSet) {
+            tableCat = indexOf(resultSet, "TABLE_CAT");
+            tableSchem = indexOf(resultSet, "TABLE_SCHEM");
+            tableName = indexOf(resultSet, "TABLE_NAME");
+            tableType = indexOf(resultSet, "TABLE_TYPE");
+            remarks = indexOf(resultSet, "REMARKS");
+        }
+
+        @Override
+        public JdbcTable map(ResultSet resultSet) throws SQLException {
+            // issues with the TYPE_CAT, TYPE_SCHEM, TYPE_NAME, SELF_REFERENCING_COL_NAME and REF_GENERATION jdbc fields.
+            // defaulting to empty string for now
+            return new JdbcTable(names.of(getString(resultSet, tableCat)),
+                    names.of(getString(resultSet, tableSchem)),
+                    getString(resultSet, tableName),
+                    names.of(getString(resultSet, tableType)),
+                    getString(resultSet, remarks),
+                    "", "", "", "", "");
+        }
     }
 
 }
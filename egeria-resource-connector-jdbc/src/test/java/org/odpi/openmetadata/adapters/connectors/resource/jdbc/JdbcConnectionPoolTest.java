@@ -0,0 +1,74 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcConnectionPoolTest {
+
+    private final JdbcConnectionPool pool = new JdbcConnectionPool(
+            new DriverManagerDataSource("jdbc:h2:mem:pool", "sa", ""), 1, null, 30000, 5);
+
+    @AfterEach
+    void closePool() {
+        pool.close();
+    }
+
+    @Test
+    void connectionIsReused() throws SQLException {
+        Connection connection;
+        try (JdbcConnectionPool.Lease lease = pool.lease()) {
+            connection = lease.getConnection();
+        }
+        assertEquals(1, pool.getIdleCount());
+        try (JdbcConnectionPool.Lease lease = pool.lease()) {
+            assertSame(connection, lease.getConnection());
+        }
+    }
+
+    @Test
+    void invalidatedConnectionIsClosed() throws SQLException {
+        Connection connection;
+        try (JdbcConnectionPool.Lease lease = pool.lease()) {
+            connection = lease.getConnection();
+            lease.invalidate();
+        }
+        assertTrue(connection.isClosed());
+        assertEquals(0, pool.getIdleCount());
+        try (JdbcConnectionPool.Lease lease = pool.lease()) {
+            assertNotSame(connection, lease.getConnection());
+        }
+    }
+
+    @Test
+    void leaseTimesOutWhileAllConnectionsAreLeased() throws SQLException {
+        try (JdbcConnectionPool.Lease lease = pool.lease()) {
+            long start = System.nanoTime();
+            assertThrows(SQLTimeoutException.class, () -> pool.lease(200, TimeUnit.MILLISECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+        }
+        // the connection returned, and no lease was lost to the timeout
+        try (JdbcConnectionPool.Lease lease = pool.lease(200, TimeUnit.MILLISECONDS)) {
+            lease.getMetaData();
+        }
+    }
+
+    @Test
+    void closedPoolRefusesLeases() {
+        pool.close();
+        assertThrows(SQLException.class, pool::lease);
+    }
+}
@@ -0,0 +1,266 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcCatalog;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcColumn;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcForeignKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcIndex;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcModelReader;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcModelWriter;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcPrimaryKey;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcRowMapper;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcSchema;
+import org.odpi.openmetadata.adapters.connectors.resource.jdbc.model.JdbcTable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JdbcMetadataRecordingTest {
+
+    private static Connection connection;
+    private static DatabaseMetaData metaData;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void createDatabase() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:recording;DB_CLOSE_DELAY=-1", "sa", "");
+        metaData = connection.getMetaData();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA SALES");
+            statement.execute("CREATE TABLE SALES.CUSTOMER (ID BIGINT PRIMARY KEY, NAME VARCHAR(80) NOT NULL,"
+                    + " CODE CHAR(4) DEFAULT 'NONE', TINY TINYINT, RAW BINARY(8), BALANCE DECIMAL(12, 2),"
+                    + " NOTE_\u00e9 VARCHAR(10))");
+            statement.execute("COMMENT ON TABLE SALES.CUSTOMER IS 'Customers \u2013 all of them'");
+            statement.execute("CREATE TABLE SALES.ORDERS (ID INT, LINE INT, CUSTOMER_ID BIGINT,"
+                    + " PRIMARY KEY (ID, LINE), FOREIGN KEY (CUSTOMER_ID) REFERENCES SALES.CUSTOMER (ID) ON DELETE CASCADE)");
+            statement.execute("CREATE UNIQUE INDEX ORDERS_CUSTOMER ON SALES.ORDERS (CUSTOMER_ID, LINE DESC)");
+            statement.execute("CREATE VIEW SALES.V_ORDERS AS SELECT ID FROM SALES.ORDERS");
+        }
+    }
+
+    @AfterAll
+    static void dropDatabase() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    private static <T> List<T> read(ResultSet resultSet, Function<ResultSet, JdbcRowMapper<T>> mapper) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        try (ResultSet results = resultSet) {
+            JdbcRowMapper<T> rowMapper = mapper.apply(results);
+            while (results.next()) {
+                rows.add(rowMapper.map(results));
+            }
+        }
+        assertFalse(rows.isEmpty());
+        return rows;
+    }
+
+    private static List<JdbcCatalog> catalogs() throws SQLException {
+        List<JdbcCatalog> catalogs = new ArrayList<>();
+        try (ResultSet results = metaData.getCatalogs()) {
+            while (results.next()) {
+                catalogs.add(JdbcCatalog.create(results));
+            }
+        }
+        return catalogs;
+    }
+
+    /**
+     * A recording holding every kind of row, with arguments the way {@link RecordingJdbcMetadata} records them
+     */
+    private static JdbcMetadataRecording record() throws SQLException {
+        JdbcMetadataRecording recording = new JdbcMetadataRecording();
+        recording.put(Collections.singletonList("H2 Connector"), JdbcMetadataRecording.CONNECTOR_TYPE);
+        recording.put(Collections.singletonList("4"), JdbcMetadataRecording.METADATA_SESSIONS);
+        recording.put(Collections.singletonList(null), JdbcMetadataRecording.USER_NAME);
+        recording.put(Collections.singletonList(metaData.getURL()), JdbcMetadataRecording.URL);
+        recording.put(Arrays.asList("BASE TABLE", "VIEW", ""), JdbcMetadataRecording.TABLE_TYPES);
+        recording.put(catalogs(), JdbcMetadataRecording.CATALOGS);
+        recording.put(read(metaData.getSchemas(null, "SALES"), JdbcSchema::mapper),
+                JdbcMetadataRecording.SCHEMAS, null, "SALES");
+        recording.put(read(metaData.getTables(null, "SALES", null, new String[]{"TABLE", "VIEW"}), JdbcTable::mapper),
+                JdbcMetadataRecording.TABLES, null, "SALES", null, new String[]{"TABLE", "VIEW"});
+        recording.put(read(metaData.getColumns(null, "SALES", null, null), JdbcColumn::mapper),
+                JdbcMetadataRecording.COLUMNS, null, "SALES", null, null);
+        recording.put(read(metaData.getPrimaryKeys(null, "SALES", "ORDERS"), JdbcPrimaryKey::mapper),
+                JdbcMetadataRecording.PRIMARY_KEYS, null, "SALES", "ORDERS");
+        recording.put(read(metaData.getImportedKeys(null, "SALES", "ORDERS"), JdbcForeignKey::mapper),
+                JdbcMetadataRecording.IMPORTED_KEYS, null, "SALES", "ORDERS");
+        recording.put(read(metaData.getIndexInfo(null, "SALES", "ORDERS", false, true), JdbcIndex::mapper),
+                JdbcMetadataRecording.INDEX_INFO, null, "SALES", "ORDERS", false, true);
+        recording.put(Collections.emptyList(), JdbcMetadataRecording.TABLES, null, "EMPTY", null, null);
+        return recording;
+    }
+
+    private static final Object[][] CALLS = {
+            {JdbcMetadataRecording.CONNECTOR_TYPE},
+            {JdbcMetadataRecording.METADATA_SESSIONS},
+            {JdbcMetadataRecording.USER_NAME},
+            {JdbcMetadataRecording.URL},
+            {JdbcMetadataRecording.TABLE_TYPES},
+            {JdbcMetadataRecording.CATALOGS},
+            {JdbcMetadataRecording.SCHEMAS, null, "SALES"},
+            {JdbcMetadataRecording.TABLES, null, "SALES", null, new String[]{"TABLE", "VIEW"}},
+            {JdbcMetadataRecording.COLUMNS, null, "SALES", null, null},
+            {JdbcMetadataRecording.PRIMARY_KEYS, null, "SALES", "ORDERS"},
+            {JdbcMetadataRecording.IMPORTED_KEYS, null, "SALES", "ORDERS"},
+            {JdbcMetadataRecording.INDEX_INFO, null, "SALES", "ORDERS", false, true},
+            {JdbcMetadataRecording.TABLES, null, "EMPTY", null, null},
+    };
+
+    private static List<?> get(JdbcMetadataRecording recording, Object[] call) {
+        return recording.get((String) call[0], Arrays.copyOfRange(call, 1, call.length));
+    }
+
+    /**
+     * The model classes have no equals, so rows are compared field by field
+     */
+    private static void assertSameRows(List<?> expected, List<?> actual, String call) throws IllegalAccessException {
+        assertNotNull(actual, call);
+        assertEquals(expected.size(), actual.size(), call);
+        for (int i = 0; i < expected.size(); i++) {
+            Object expectedRow = expected.get(i);
+            Object actualRow = actual.get(i);
+            if(expectedRow == null || expectedRow instanceof String){
+                assertEquals(expectedRow, actualRow, call);
+                continue;
+            }
+            assertEquals(expectedRow.getClass(), actualRow.getClass(), call);
+            for (Field field : expectedRow.getClass().getDeclaredFields()) {
+                if(Modifier.isStatic(field.getModifiers())){
+                    continue;
+                }
+                field.setAccessible(true);
+                assertEquals(field.get(expectedRow), field.get(actualRow), call + " " + field.getName());
+            }
+        }
+    }
+
+    @Test
+    void roundTripsEveryRowType() throws Exception {
+        JdbcMetadataRecording recording = record();
+        Path file = directory.resolve("catalog.rec");
+        recording.save(file);
+
+        JdbcMetadataRecording loaded = JdbcMetadataRecording.load(file);
+
+        assertEquals(CALLS.length, recording.size());
+        assertEquals(recording.size(), loaded.size());
+        for (Object[] call : CALLS) {
+            assertSameRows(get(recording, call), get(loaded, call), (String) call[0]);
+        }
+        assertNull(loaded.get(JdbcMetadataRecording.TABLES, null, "SALES", null, null));
+        assertNull(loaded.get(JdbcMetadataRecording.SCHEMAS, null, "null"));
+    }
+
+    @Test
+    void sameRecordingSameFile() throws Exception {
+        Path first = directory.resolve("first.rec");
+        Path second = directory.resolve("second.rec");
+        record().save(first);
+        JdbcMetadataRecording.load(first).save(second);
+
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+    }
+
+    /**
+     * Calls go on being recorded while the recording is saved, as when a schema read abandoned at the deadline is still
+     * running. Each file saved must load, whatever was added while it was written.
+     */
+    @Test
+    void saveWhileRecording() throws Exception {
+        JdbcMetadataRecording recording = record();
+        Path file = directory.resolve("busy.rec");
+        Thread recorder = new Thread(() -> {
+            for (int i = 0; i < 200_000; i++) {
+                recording.put(Collections.singletonList("value " + i), "call" + (i % 10), "argument " + i);
+            }
+        });
+        recorder.start();
+        try {
+            int saves = 0;
+            while (recorder.isAlive() || saves == 0) {
+                recording.save(file);
+                JdbcMetadataRecording loaded = JdbcMetadataRecording.load(file);
+                // the calls recorded before the save sort after those being added, so a short count would lose them
+                for (Object[] call : CALLS) {
+                    assertNotNull(get(loaded, call), (String) call[0]);
+                }
+                saves++;
+            }
+        } finally {
+            recorder.join();
+        }
+    }
+
+    @Test
+    void notARecording() throws IOException {
+        Path file = directory.resolve("other.rec");
+        try (java.util.zip.GZIPOutputStream out = new java.util.zip.GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(new byte[]{1, 2, 3, 4, 5});
+        }
+
+        assertThrows(StreamCorruptedException.class, () -> JdbcMetadataRecording.load(file));
+    }
+
+    @Test
+    void numbersAndStrings() throws IOException {
+        long[] numbers = {0, 1, -1, 63, -64, 64, 127, 128, -129, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE};
+        String[] strings = {null, "", "TABLE", "TABLE", "\u00e9\u2013\uD83D\uDE00", null, ""};
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JdbcModelWriter writer = new JdbcModelWriter(new DataOutputStream(bytes));
+        for (long number : numbers) {
+            writer.writeNumber(number);
+        }
+        for (String string : strings) {
+            writer.writeString(string);
+        }
+
+        JdbcModelReader reader = new JdbcModelReader(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        for (long number : numbers) {
+            assertEquals(number, reader.readNumber());
+        }
+        for (String string : strings) {
+            assertEquals(string, reader.readString());
+        }
+    }
+}
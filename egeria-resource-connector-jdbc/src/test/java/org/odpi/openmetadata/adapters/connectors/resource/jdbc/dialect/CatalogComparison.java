@@ -0,0 +1,65 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the result of a dialect query with the {@link java.sql.DatabaseMetaData} call it replaces: the same labels,
+ * and the same rows in the same order, each value compared as the string the driver reads it as
+ */
+final class CatalogComparison {
+
+    private CatalogComparison() {
+    }
+
+    /**
+     * @return the number of rows, so a test can check that the case compared is not empty
+     */
+    static int assertSameResult(Connection connection, ResultSet expected, CatalogQuery query) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query.getSql())) {
+            for (int i = 0; i < query.getParameters().size(); i++) {
+                statement.setString(i + 1, query.getParameters().get(i));
+            }
+            try (ResultSet actual = statement.executeQuery()) {
+                List<String> labels = labels(expected);
+                assertEquals(labels, labels(actual), query::toString);
+                List<List<String>> expectedRows = rows(expected, labels);
+                assertEquals(expectedRows, rows(actual, labels), query::toString);
+                return expectedRows.size();
+            }
+        } finally {
+            expected.close();
+        }
+    }
+
+    private static List<String> labels(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        List<String> labels = new ArrayList<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            labels.add(metaData.getColumnLabel(i).toUpperCase());
+        }
+        return labels;
+    }
+
+    private static List<List<String>> rows(ResultSet resultSet, List<String> labels) throws SQLException {
+        List<List<String>> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            List<String> row = new ArrayList<>(labels.size());
+            for (String label : labels) {
+                row.add(label + "=" + resultSet.getString(label));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,131 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs each query of the {@link H2Dialect} against an in-memory H2 database and compares it with the driver
+ */
+class H2DialectTest {
+
+    private static final String[][] TYPES = {
+            null, {"TABLE"}, {"VIEW"}, {"TABLE", "VIEW"}, {"BASE TABLE"}, {"SYNONYM"}, {"TABLE", "SYNONYM"}, {}
+    };
+
+    private static final String[] SCHEMA_PATTERNS = {null, "S1", "S_2", "S%", "NONE"};
+
+    private static final String[] TABLE_PATTERNS = {null, "CUSTOMER", "ORDER%", "V\\_%", "NONE"};
+
+    private static Connection connection;
+    private static DatabaseMetaData metaData;
+
+    private final H2Dialect dialect = new H2Dialect();
+
+    @BeforeAll
+    static void createDatabase() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:h2dialect;DB_CLOSE_DELAY=-1", "sa", "");
+        metaData = connection.getMetaData();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA S1");
+            statement.execute("CREATE SCHEMA S_2");
+            statement.execute("CREATE SCHEMA SX2");
+            statement.execute("CREATE TABLE S1.CUSTOMER (ID BIGINT AUTO_INCREMENT PRIMARY KEY,"
+                    + " NAME VARCHAR(80) NOT NULL, CODE CHAR(4), BALANCE DECIMAL(12, 2), RATE NUMERIC(5), SCORE REAL,"
+                    + " WEIGHT DOUBLE PRECISION, RATIO FLOAT, ACTIVE BOOLEAN DEFAULT TRUE, SMALL SMALLINT, TINY TINYINT,"
+                    + " BORN DATE, WAKES TIME, WAKES_AT TIME(3) WITH TIME ZONE, CREATED TIMESTAMP(6),"
+                    + " CHANGED TIMESTAMP WITH TIME ZONE, NOTES CLOB, PHOTO BLOB, TOKEN UUID, RAW BINARY(8),"
+                    + " RAW_VARYING VARBINARY(16), UPPER_NAME VARCHAR(80) GENERATED ALWAYS AS (UPPER(NAME)),"
+                    + " WAIT INTERVAL DAY TO SECOND)");
+            statement.execute("COMMENT ON TABLE S1.CUSTOMER IS 'Customers'");
+            statement.execute("COMMENT ON COLUMN S1.CUSTOMER.NAME IS 'Full name'");
+            statement.execute("CREATE TABLE S1.ORDERS (ID INT PRIMARY KEY, CUSTOMER_ID BIGINT, TOTAL DECIMAL(10, 2))");
+            statement.execute("CREATE TABLE S1.ORDER_LINES (ORDER_ID INT, LINE INT, ITEM VARCHAR(20))");
+            statement.execute("CREATE VIEW S1.V_ORDERS AS SELECT ID, TOTAL FROM S1.ORDERS");
+            statement.execute("CREATE TABLE S_2.CUSTOMER (ID INT, NAME VARCHAR_IGNORECASE(40))");
+            statement.execute("CREATE TABLE SX2.CUSTOMER (ID INT)");
+            statement.execute("CREATE TABLE SX2.ORDERS (ID INT)");
+            statement.execute("CREATE SYNONYM S_2.ORDERS_SYNONYM FOR S1.ORDERS");
+        }
+    }
+
+    @AfterAll
+    static void dropDatabase() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    void schemas() throws SQLException {
+        for (String schemaPattern : SCHEMA_PATTERNS) {
+            CatalogComparison.assertSameResult(connection, metaData.getSchemas(null, schemaPattern),
+                    dialect.getSchemas(null, schemaPattern));
+        }
+        assertTrue(CatalogComparison.assertSameResult(connection, metaData.getSchemas(),
+                dialect.getSchemas(null, null)) > 3);
+        CatalogComparison.assertSameResult(connection, metaData.getSchemas("H2DIALECT", "S%"),
+                dialect.getSchemas("H2DIALECT", "S%"));
+        CatalogComparison.assertSameResult(connection, metaData.getSchemas("OTHER", null),
+                dialect.getSchemas("OTHER", null));
+    }
+
+    @Test
+    void tables() throws SQLException {
+        for (String schemaPattern : SCHEMA_PATTERNS) {
+            for (String tablePattern : TABLE_PATTERNS) {
+                for (String[] types : TYPES) {
+                    CatalogComparison.assertSameResult(connection,
+                            metaData.getTables(null, schemaPattern, tablePattern, types),
+                            dialect.getTables(null, schemaPattern, tablePattern, types));
+                }
+            }
+        }
+        CatalogComparison.assertSameResult(connection, metaData.getTables("H2DIALECT", "S1", null, null),
+                dialect.getTables("H2DIALECT", "S1", null, null));
+    }
+
+    /**
+     * The call the transfer makes for each schema
+     */
+    @Test
+    void tablesOfSchema() throws SQLException {
+        assertEquals(3, CatalogComparison.assertSameResult(connection,
+                metaData.getTables(null, "S1", null, new String[]{"TABLE"}),
+                dialect.getTables(null, "S1", null, new String[]{"TABLE"})));
+        assertEquals(1, CatalogComparison.assertSameResult(connection,
+                metaData.getTables(null, "S1", null, new String[]{"VIEW"}),
+                dialect.getTables(null, "S1", null, new String[]{"VIEW"})));
+    }
+
+    @Test
+    void columns() throws SQLException {
+        for (String schemaPattern : SCHEMA_PATTERNS) {
+            for (String tablePattern : TABLE_PATTERNS) {
+                for (String columnPattern : new String[]{null, "ID", "%NAME", "NONE"}) {
+                    CatalogComparison.assertSameResult(connection,
+                            metaData.getColumns(null, schemaPattern, tablePattern, columnPattern),
+                            dialect.getColumns(null, schemaPattern, tablePattern, columnPattern));
+                }
+            }
+        }
+        assertEquals(23, CatalogComparison.assertSameResult(connection,
+                metaData.getColumns(null, "S1", "CUSTOMER", null),
+                dialect.getColumns(null, "S1", "CUSTOMER", null)));
+        CatalogComparison.assertSameResult(connection, metaData.getColumns("H2DIALECT", "S_2", null, null),
+                dialect.getColumns("H2DIALECT", "S_2", null, null));
+    }
+}
@@ -0,0 +1,154 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.dialect;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs each query of the {@link PostgresDialect} against a PostgreSQL server and compares it with the driver. The server
+ * is given by the postgres.test.url, postgres.test.user and postgres.test.password system properties, or the
+ * POSTGRES_TEST_URL, POSTGRES_TEST_USER and POSTGRES_TEST_PASSWORD environment variables, and defaults to the postgres
+ * database on localhost. The tests are skipped when there is no server to connect to.
+ */
+class PostgresDialectTest {
+
+    private static final String[][] TYPES = {
+            null, {"TABLE"}, {"VIEW"}, {"TABLE", "VIEW"}, {"MATERIALIZED VIEW"}, {"PARTITIONED TABLE"}, {"SEQUENCE"}, {}
+    };
+
+    private static final String[] SCHEMA_PATTERNS = {"dialect_s1", "dialect\\_s\\_2", "dialect_s_2", "dialect%"};
+
+    private static final String[] TABLE_PATTERNS = {null, "customer", "order%", "v\\_%", "none"};
+
+    private static Connection connection;
+    private static DatabaseMetaData metaData;
+
+    private final PostgresDialect dialect = new PostgresDialect();
+
+    @BeforeAll
+    static void createSchemas() throws SQLException {
+        try {
+            connection = DriverManager.getConnection(setting("postgres.test.url", "POSTGRES_TEST_URL",
+                    "jdbc:postgresql://localhost:5432/postgres"), setting("postgres.test.user", "POSTGRES_TEST_USER",
+                    "postgres"), setting("postgres.test.password", "POSTGRES_TEST_PASSWORD", "postgres"));
+        } catch (SQLException e) {
+            assumeTrue(false, "No PostgreSQL server: " + e.getMessage());
+        }
+        metaData = connection.getMetaData();
+        dropSchemas();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA dialect_s1");
+            statement.execute("CREATE SCHEMA dialect_s_2");
+            statement.execute("CREATE SCHEMA dialect_sx2");
+            statement.execute("CREATE DOMAIN dialect_s1.amount AS numeric(12, 2) NOT NULL");
+            statement.execute("CREATE DOMAIN dialect_s1.label AS varchar(30)");
+            statement.execute("CREATE TYPE dialect_s1.mood AS ENUM ('sad', 'happy')");
+            statement.execute("CREATE TYPE dialect_s1.point3 AS (x float8, y float8, z float8)");
+            statement.execute("CREATE TABLE dialect_s1.customer (id serial PRIMARY KEY,"
+                    + " big_id bigserial, small_id smallserial, ident int GENERATED ALWAYS AS IDENTITY,"
+                    + " name varchar(80) NOT NULL, code char(4), initial \"char\", notes text, whole numeric,"
+                    + " money_value numeric(10, 3), balance dialect_s1.amount, tag dialect_s1.label,"
+                    + " score real, weight double precision, active boolean DEFAULT true, flags bit(3), bits varbit(8),"
+                    + " born date, wakes time(2), wakes_tz time with time zone, created timestamp(3),"
+                    + " changed timestamptz, wait interval, photo bytea, token uuid, document json, body jsonb,"
+                    + " feeling dialect_s1.mood, location dialect_s1.point3, scores int[], names varchar(20)[],"
+                    + " upper_name varchar(80) GENERATED ALWAYS AS (upper(name)) STORED, address inet)");
+            statement.execute("COMMENT ON TABLE dialect_s1.customer IS 'Customers'");
+            statement.execute("COMMENT ON COLUMN dialect_s1.customer.name IS 'Full name'");
+            statement.execute("ALTER TABLE dialect_s1.customer DROP COLUMN address");
+            statement.execute("CREATE TABLE dialect_s1.orders (id int PRIMARY KEY, customer_id bigint, total numeric(10, 2))");
+            statement.execute("CREATE TABLE dialect_s1.order_lines (order_id int, line int, item varchar(20))"
+                    + " PARTITION BY RANGE (order_id)");
+            statement.execute("CREATE VIEW dialect_s1.v_orders AS SELECT id, total FROM dialect_s1.orders");
+            statement.execute("CREATE MATERIALIZED VIEW dialect_s1.orders_total AS SELECT sum(total) AS total"
+                    + " FROM dialect_s1.orders");
+            statement.execute("CREATE TABLE dialect_s_2.customer (id int, name text)");
+            statement.execute("CREATE TABLE dialect_sx2.customer (id int)");
+            statement.execute("CREATE TABLE dialect_sx2.orders (id int)");
+        }
+    }
+
+    @AfterAll
+    static void dropDatabase() throws SQLException {
+        if(connection != null){
+            dropSchemas();
+            connection.close();
+        }
+    }
+
+    private static void dropSchemas() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS dialect_s1, dialect_s_2, dialect_sx2 CASCADE");
+        }
+    }
+
+    private static String setting(String property, String variable, String defaultValue) {
+        String value = System.getProperty(property, System.getenv(variable));
+        return value == null ? defaultValue : value;
+    }
+
+    @Test
+    void schemas() throws SQLException {
+        for (String schemaPattern : SCHEMA_PATTERNS) {
+            CatalogComparison.assertSameResult(connection, metaData.getSchemas(null, schemaPattern),
+                    dialect.getSchemas(null, schemaPattern));
+        }
+        assertTrue(CatalogComparison.assertSameResult(connection, metaData.getSchemas(),
+                dialect.getSchemas(null, null)) > 3);
+    }
+
+    @Test
+    void tables() throws SQLException {
+        for (String schemaPattern : SCHEMA_PATTERNS) {
+            for (String tablePattern : TABLE_PATTERNS) {
+                for (String[] types : TYPES) {
+                    CatalogComparison.assertSameResult(connection,
+                            metaData.getTables(null, schemaPattern, tablePattern, types),
+                            dialect.getTables(null, schemaPattern, tablePattern, types));
+                }
+            }
+        }
+    }
+
+    /**
+     * The call the transfer makes for each schema
+     */
+    @Test
+    void tablesOfSchema() throws SQLException {
+        assertEquals(2, CatalogComparison.assertSameResult(connection,
+                metaData.getTables(null, "dialect_s1", null, new String[]{"TABLE"}),
+                dialect.getTables(null, "dialect_s1", null, new String[]{"TABLE"})));
+        assertEquals(1, CatalogComparison.assertSameResult(connection,
+                metaData.getTables(null, "dialect_s1", null, new String[]{"VIEW"}),
+                dialect.getTables(null, "dialect_s1", null, new String[]{"VIEW"})));
+    }
+
+    @Test
+    void columns() throws SQLException {
+        for (String schemaPattern : SCHEMA_PATTERNS) {
+            for (String tablePattern : TABLE_PATTERNS) {
+                for (String columnPattern : new String[]{null, "id", "%name", "none"}) {
+                    CatalogComparison.assertSameResult(connection,
+                            metaData.getColumns(null, schemaPattern, tablePattern, columnPattern),
+                            dialect.getColumns(null, schemaPattern, tablePattern, columnPattern));
+                }
+            }
+        }
+        assertEquals(32, CatalogComparison.assertSameResult(connection,
+                metaData.getColumns(null, "dialect_s1", "customer", null),
+                dialect.getColumns(null, "dialect_s1", "customer", null)));
+    }
+}
@@ -0,0 +1,261 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.resource.jdbc.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcRowMapperTest {
+
+    private static final String[] COLUMN_LABELS = {"TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "DATA_TYPE",
+            "TYPE_NAME", "COLUMN_SIZE", "BUFFER_LENGTH", "DECIMAL_DIGITS", "NUM_PREC_RADIX", "NULLABLE", "REMARKS",
+            "COLUMN_DEF", "SQL_DATA_TYPE", "SQL_DATETIME_SUB", "CHAR_OCTET_LENGTH", "ORDINAL_POSITION", "IS_NULLABLE",
+            "SCOPE_CATALOG", "SCOPE_SCHEMA", "SCOPE_TABLE", "SOURCE_DATA_TYPE", "IS_AUTOINCREMENT", "IS_GENERATEDCOLUMN"};
+
+    /**
+     * A result set over rows held in memory. Like a driver, it returns a new string for every value read, and it
+     * counts the labels looked up. Its metadata is not available, a mapper must not need it.
+     */
+    private static class StubResultSet {
+
+        private final List<String> labels;
+        private final List<Object[]> rows;
+        private int row = -1;
+        private int findColumnCalls = 0;
+
+        private StubResultSet(String[] labels, List<Object[]> rows) {
+            this.labels = Arrays.asList(labels);
+            this.rows = rows;
+        }
+
+        private ResultSet proxy() {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, arguments) -> {
+                        switch (method.getName()) {
+                            case "next":
+                                return ++row < rows.size();
+                            case "findColumn":
+                                findColumnCalls++;
+                                int index = labels.indexOf(arguments[0]);
+                                if(index < 0){
+                                    throw new SQLException("Column " + arguments[0] + " not found");
+                                }
+                                return index + 1;
+                            case "getString":
+                                Object value = value(arguments[0]);
+                                return value == null ? null : new String(value.toString().toCharArray());
+                            case "getInt":
+                                return value(arguments[0]) == null ? 0 : ((Number) value(arguments[0])).intValue();
+                            case "getShort":
+                                return value(arguments[0]) == null ? (short) 0 : ((Number) value(arguments[0])).shortValue();
+                            case "getLong":
+                                return value(arguments[0]) == null ? 0L : ((Number) value(arguments[0])).longValue();
+                            case "getBoolean":
+                                return Boolean.TRUE.equals(value(arguments[0]));
+                            case "getMetaData":
+                                throw new SQLException("The mapper asked for the result set metadata");
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == arguments[0];
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        private Object value(Object index) throws SQLException {
+            if(!(index instanceof Integer)){
+                throw new SQLException("Read by label " + index + " rather than by index");
+            }
+            return rows.get(row)[(Integer) index - 1];
+        }
+    }
+
+    /**
+     * A row of getColumns, in the label order above
+     */
+    private static Object[] columnRow(String table, String column, int position) {
+        return new Object[]{"CAT", "SALES", table, column, 12, "VARCHAR", 80, null, 0, 10, 1, "remark " + column,
+                "'none'", null, null, 80, position, "YES", null, null, null, null, "NO", "NO"};
+    }
+
+    private static <T> List<T> map(StubResultSet stub, Function<ResultSet, JdbcRowMapper<T>> mapperFor) throws SQLException {
+        ResultSet resultSet = stub.proxy();
+        JdbcRowMapper<T> mapper = mapperFor.apply(resultSet);
+        List<T> mapped = new ArrayList<>();
+        while (resultSet.next()) {
+            mapped.add(mapper.map(resultSet));
+        }
+        return mapped;
+    }
+
+    @Test
+    void labelsResolveToTheirIndexes() throws SQLException {
+        // the labels in another order, with one the mapper does not know about
+        List<String> shuffled = new ArrayList<>(Arrays.asList(COLUMN_LABELS));
+        java.util.Collections.reverse(shuffled);
+        shuffled.add(3, "VENDOR_EXTRA");
+        Object[] source = columnRow("CUSTOMER", "NAME", 2);
+        source[9] = 2;
+        source[21] = (short) 4;
+        Object[] row = new Object[shuffled.size()];
+        for (int i = 0; i < row.length; i++) {
+            int sourceIndex = Arrays.asList(COLUMN_LABELS).indexOf(shuffled.get(i));
+            row[i] = sourceIndex < 0 ? "extra" : source[sourceIndex];
+        }
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row);
+        rows.add(row);
+        StubResultSet stub = new StubResultSet(shuffled.toArray(new String[0]), rows);
+
+        List<JdbcColumn> columns = map(stub, JdbcColumn::mapper);
+
+        assertEquals(2, columns.size());
+        JdbcColumn column = columns.get(0);
+        assertEquals("CAT", column.getTableCat());
+        assertEquals("SALES", column.getTableSchem());
+        assertEquals("CUSTOMER", column.getTableName());
+        assertEquals("NAME", column.getColumnName());
+        assertEquals(12, column.getDataType());
+        assertEquals("VARCHAR", column.getTypeName());
+        assertEquals(80, column.getColumnSize());
+        assertEquals(2, column.getNumPrecRadix());
+        assertEquals("remark NAME", column.getRemarks());
+        assertEquals("'none'", column.getColumnDef());
+        assertEquals(2, column.getOrdinalPosition());
+        assertEquals("YES", column.getIsNullable());
+        assertEquals(4, column.getSourceDataType());
+        assertEquals("NO", column.getIsGeneratedColumn());
+        // resolved once for the result set, not for each row
+        assertEquals(21, stub.findColumnCalls);
+    }
+
+    @Test
+    void missingLabelsMapToDefaults() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"CUSTOMER", "NAME"});
+        StubResultSet stub = new StubResultSet(new String[]{"TABLE_NAME", "COLUMN_NAME"}, rows);
+
+        JdbcColumn column = map(stub, JdbcColumn::mapper).get(0);
+
+        assertEquals("CUSTOMER", column.getTableName());
+        assertEquals("NAME", column.getColumnName());
+        assertNull(column.getTableCat());
+        assertNull(column.getTypeName());
+        assertNull(column.getIsNullable());
+        assertEquals(0, column.getDataType());
+        assertEquals(0, column.getColumnSize());
+        assertEquals(0, column.getSourceDataType());
+
+        StubResultSet empty = new StubResultSet(new String[]{"OTHER"}, rows);
+        JdbcIndex index = map(empty, JdbcIndex::mapper).get(0);
+        assertNull(index.getIndexName());
+        assertFalse(index.isNonUnique());
+        assertEquals(0, index.getCardinality());
+        JdbcTable table = map(new StubResultSet(new String[]{"OTHER"}, rows), JdbcTable::mapper).get(0);
+        assertNull(table.getTableName());
+    }
+
+    @Test
+    void repeatedNamesAreShared() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int table = 0; table < 3; table++) {
+            for (int column = 0; column < 4; column++) {
+                rows.add(columnRow("TABLE" + table, "COLUMN" + column, column + 1));
+            }
+        }
+
+        List<JdbcColumn> columns = map(new StubResultSet(COLUMN_LABELS, rows), JdbcColumn::mapper);
+
+        JdbcColumn first = columns.get(0);
+        for (JdbcColumn column : columns) {
+            assertSame(first.getTableCat(), column.getTableCat());
+            assertSame(first.getTableSchem(), column.getTableSchem());
+            assertSame(first.getTypeName(), column.getTypeName());
+            assertSame("YES", column.getIsNullable());
+            assertSame("NO", column.getIsAutoIncrement());
+        }
+        // the rows of one table share its name, each table has its own
+        assertSame(columns.get(0).getTableName(), columns.get(3).getTableName());
+        assertSame(columns.get(4).getTableName(), columns.get(7).getTableName());
+        assertNotSame(columns.get(0).getTableName(), columns.get(4).getTableName());
+    }
+
+    @Test
+    void noReferenceToTheResultSet() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(columnRow("CUSTOMER", "NAME", 1));
+        StubResultSet stub = new StubResultSet(COLUMN_LABELS, rows);
+        ResultSet resultSet = stub.proxy();
+
+        for (Object mapped : new Object[]{JdbcColumn.mapper(resultSet), JdbcTable.mapper(resultSet),
+                JdbcSchema.mapper(resultSet), JdbcPrimaryKey.mapper(resultSet), JdbcForeignKey.mapper(resultSet),
+                JdbcIndex.mapper(resultSet), map(stub, JdbcColumn::mapper).get(0)}) {
+            for (Class<?> type = mapped.getClass(); type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    assertFalse(ResultSet.class.isAssignableFrom(field.getType()), type + "." + field.getName());
+                    assertFalse(ResultSetMetaData.class.isAssignableFrom(field.getType()), type + "." + field.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Holds the columns of 10,000 tables of 20 columns each, as read from getColumns, and checks the heap they take.
+     * A column takes about 200 bytes; without the names and flags shared it takes over 500.
+     */
+    @Test
+    void columnFootprint() throws SQLException {
+        int tables = 10_000;
+        int columnsPerTable = 20;
+        List<Object[]> rows = new ArrayList<>(tables * columnsPerTable);
+        for (int table = 0; table < tables; table++) {
+            for (int column = 0; column < columnsPerTable; column++) {
+                Object[] row = columnRow("TABLE_" + table, "COLUMN_" + column, column + 1);
+                row[11] = null;
+                rows.add(row);
+            }
+        }
+        StubResultSet stub = new StubResultSet(COLUMN_LABELS, rows);
+
+        long before = usedHeap();
+        List<JdbcColumn> columns = map(stub, JdbcColumn::mapper);
+        long perColumn = (usedHeap() - before) / columns.size();
+
+        // the rows read stay reachable until the columns are measured
+        assertEquals(rows.size(), columns.size());
+        assertTrue(perColumn < 300, perColumn + " bytes per column");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // collect until the heap stops shrinking
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if(now >= used){
+                return now;
+            }
+            used = now;
+        }
+        return used;
+    }
+}